@@ -80,6 +80,13 @@ class Partido(db.Model):
         self.puntos_visitante = puntos_visitante
         self.finalizado = True
 
+    def actualizar_marcador(self, puntos_local, puntos_visitante):
+        """
+        Actualiza el marcador de un partido en juego sin finalizarlo.
+        """
+        self.puntos_local = puntos_local
+        self.puntos_visitante = puntos_visitante
+
     def to_dict(self):
         """
         Convierte el partido a un diccionario para ser serializado a JSON.
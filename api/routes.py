@@ -19,11 +19,34 @@ import requests
 from flask_cors import CORS
 import traceback
 from datetime import datetime
+from sqlalchemy import or_
+from sqlalchemy.orm import joinedload
 
 # CREO UN BLUEPRINT PARA LA API
 api = Blueprint('api', __name__, url_prefix='/api')  # Corregir __name__ (está con ** que es un error)
 CORS(api)
 
+# MÁXIMO DE ELEMENTOS POR PÁGINA EN LOS LISTADOS PAGINADOS
+TAMANO_MAXIMO_PAGINA = 200
+
+
+@api.after_request
+def anadir_etag(response):
+    """
+    Añade un ETag a las respuestas GET correctas y responde 304 si el cliente
+    ya tiene esa misma versión (cabecera If-None-Match).
+
+    Args:
+        response: Respuesta generada por el endpoint
+
+    Returns:
+        Respuesta con ETag, o 304 sin cuerpo si no ha cambiado
+    """
+    if request.method == 'GET' and response.status_code == 200 and not response.direct_passthrough:
+        response.add_etag()
+        response = response.make_conditional(request)
+    return response
+
 @api.route('/healthcheck', methods=['GET'])
 def healthcheck():
     """
@@ -57,6 +80,10 @@ def get_pokemon(pokemon_id):
 
         # Realizo la petición HTTP
         response = requests.get(url)
+
+        # Si el Pokémon no existe devuelvo 404 (el frontend lo guarda como "no encontrado")
+        if response.status_code == 404:
+            return jsonify({'error': f'No existe el Pokémon {pokemon_id}'}), 404
         response.raise_for_status()  # Lanza una excepción si hay error
 
         # Extraigo los datos relevantes
@@ -113,6 +140,36 @@ def get_equipos():
         return jsonify({'error': 'Error al obtener equipos', 'details': str(e)}), 500
 
 
+@api.route('/equipos/pagina', methods=['GET'])
+def get_equipos_pagina():
+    """
+    Obtiene una página de equipos ordenados por ID, filtrando y paginando en la base de datos.
+
+    Parámetros de la URL (todos opcionales):
+        nombre: Solo los equipos cuyo nombre contenga este texto (sin distinguir mayúsculas)
+        pagina: Número de página, empezando en 0 (por defecto 0)
+        tamano: Equipos por página (por defecto 20)
+
+    Returns:
+        Total de equipos que cumplen el filtro y los de la página en formato JSON
+    """
+    try:
+        pagina, tamano = _leer_pagina()
+        consulta = Equipo.query
+        nombre = request.args.get('nombre')
+        if nombre:
+            consulta = consulta.filter(Equipo.nombre.icontains(nombre, autoescape=True))
+
+        total = consulta.count()
+        equipos = consulta.order_by(Equipo.id).offset(pagina * tamano).limit(tamano).all()
+        return jsonify({'total': total, 'equipos': [equipo.to_dict() for equipo in equipos]})
+    except ValueError as e:
+        return jsonify({'error': 'Parámetros incorrectos', 'details': str(e)}), 400
+    except Exception as e:
+        logger.error(f"Error al obtener la página de equipos: {str(e)}")
+        return jsonify({'error': 'Error al obtener equipos', 'details': str(e)}), 500
+
+
 @api.route('/equipos/<int:id>', methods=['GET'])
 def get_equipo(id):
     """
@@ -268,6 +325,66 @@ def get_partidos():
         return jsonify({'error': 'Error al obtener partidos', 'details': str(e)}), 500
 
 
+@api.route('/partidos/pagina', methods=['GET'])
+def get_partidos_pagina():
+    """
+    Obtiene una página de partidos ordenados por fecha, filtrando y paginando en la base de datos.
+
+    Parámetros de la URL (todos opcionales):
+        equipo_id: Solo los partidos de este equipo (local o visitante)
+        desde: Solo los partidos desde esta fecha y hora (ISO, incluida)
+        hasta: Solo los partidos anteriores a esta fecha y hora (ISO, excluida)
+        finalizado: Solo los partidos finalizados (true) o pendientes (false)
+        pagina: Número de página, empezando en 0 (por defecto 0)
+        tamano: Partidos por página (por defecto 20)
+
+    Returns:
+        Total de partidos que cumplen los filtros y los de la página en formato JSON
+    """
+    try:
+        pagina, tamano = _leer_pagina()
+        consulta = Partido.query
+        equipo_id = request.args.get('equipo_id', type=int)
+        if equipo_id is not None:
+            consulta = consulta.filter(or_(Partido.equipo_local_id == equipo_id,
+                                           Partido.equipo_visitante_id == equipo_id))
+        if request.args.get('desde'):
+            consulta = consulta.filter(Partido.fecha >= datetime.fromisoformat(request.args['desde']))
+        if request.args.get('hasta'):
+            consulta = consulta.filter(Partido.fecha < datetime.fromisoformat(request.args['hasta']))
+        if request.args.get('finalizado'):
+            consulta = consulta.filter(Partido.finalizado == (request.args['finalizado'].lower() == 'true'))
+
+        total = consulta.count()
+
+        # CARGO LOS EQUIPOS EN LA MISMA CONSULTA (TO_DICT USA SUS NOMBRES)
+        partidos = (consulta.options(joinedload(Partido.equipo_local), joinedload(Partido.equipo_visitante))
+                    .order_by(Partido.fecha, Partido.id).offset(pagina * tamano).limit(tamano).all())
+        return jsonify({'total': total, 'partidos': [partido.to_dict() for partido in partidos]})
+    except ValueError as e:
+        return jsonify({'error': 'Parámetros incorrectos', 'details': str(e)}), 400
+    except Exception as e:
+        logger.error(f"Error al obtener la página de partidos: {str(e)}")
+        return jsonify({'error': 'Error al obtener partidos', 'details': str(e)}), 500
+
+
+def _leer_pagina():
+    """
+    Lee los parámetros de paginación de la URL.
+
+    Returns:
+        Número de página y elementos por página
+
+    Raises:
+        ValueError: Si están fuera de rango
+    """
+    pagina = request.args.get('pagina', 0, type=int)
+    tamano = request.args.get('tamano', 20, type=int)
+    if pagina < 0 or tamano < 1 or tamano > TAMANO_MAXIMO_PAGINA:
+        raise ValueError(f'pagina debe ser >= 0 y tamano estar entre 1 y {TAMANO_MAXIMO_PAGINA}')
+    return pagina, tamano
+
+
 @api.route('/partidos/<int:id>', methods=['GET'])
 def get_partido(id):
     """
@@ -381,6 +498,51 @@ def registrar_resultado(id):
         return jsonify({'error': 'Error al registrar resultado', 'details': str(e)}), 500
 
 
+@api.route('/partidos/<int:id>/marcador', methods=['PUT'])
+def actualizar_marcador(id):
+    """
+    Actualiza el marcador de un partido en juego sin finalizarlo.
+
+    Args:
+        id: ID del partido
+
+    Returns:
+        Datos del partido actualizado en formato JSON
+    """
+    try:
+        logger.info(f"Actualizando marcador del partido con ID: {id}")
+        from models import Partido
+        from app import db
+        partido = Partido.query.get(id)
+
+        if not partido:
+            return jsonify({'error': 'Partido no encontrado'}), 404
+
+        # UN PARTIDO FINALIZADO YA NO ADMITE CAMBIOS EN EL MARCADOR
+        if partido.finalizado:
+            return jsonify({'error': 'El partido ya está finalizado'}), 400
+
+        data = request.get_json()
+
+        # VERIFICO QUE LOS DATOS REQUERIDOS ESTÉN PRESENTES
+        if not all(k in data for k in ['puntos_local', 'puntos_visitante']):
+            return jsonify({'error': 'Faltan datos requeridos (puntos_local, puntos_visitante)'}), 400
+
+        # VERIFICO QUE LOS PUNTOS SEAN POSITIVOS
+        if data['puntos_local'] < 0 or data['puntos_visitante'] < 0:
+            return jsonify({'error': 'Los puntos no pueden ser negativos'}), 400
+
+        partido.actualizar_marcador(data['puntos_local'], data['puntos_visitante'])
+        db.session.commit()
+
+        return jsonify(partido.to_dict())
+    except Exception as e:
+        from app import db
+        db.session.rollback()
+        logger.error(f"Error al actualizar marcador del partido {id}: {str(e)}")
+        return jsonify({'error': 'Error al actualizar marcador', 'details': str(e)}), 500
+
+
 @api.route('/partidos/<int:id>', methods=['DELETE'])
 def delete_partido(id):
     """
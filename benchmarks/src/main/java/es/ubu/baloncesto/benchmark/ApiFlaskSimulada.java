@@ -0,0 +1,849 @@
+package es.ubu.baloncesto.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * API Flask simulada dentro de la JVM, para medir los servicios sin el proceso de Python
+ * ni su base de datos SQLite.
+ * Implementa los mismos contratos que {@code api/routes.py} para equipos, partidos,
+ * páginas filtradas, resultados, marcador y healthcheck (incluidos los ETag y las respuestas 304), y permite
+ * añadir latencia, errores 503 y respuestas cortadas. Los datos y la latencia de cada
+ * petición salen de una semilla y del número de la petición, así que dos ejecuciones
+ * con la misma carga ven exactamente lo mismo.
+ * También se puede lanzar sola (por ejemplo en el puerto 5000, en lugar de Flask):
+ * {@code java -cp benchmarks.jar es.ubu.baloncesto.benchmark.ApiFlaskSimulada puerto=5000 partidos=10000 latencia=lognormal:20:0.5 errores=0.01}
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+public final class ApiFlaskSimulada implements AutoCloseable {
+
+    /**
+     * Logger para registrar operaciones.
+     */
+    private static final Logger LOGGER = Logger.getLogger(ApiFlaskSimulada.class.getName());
+
+    /**
+     * Mapper para leer y escribir JSON.
+     */
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * Rutas de equipos y partidos: colección, elemento y acciones sobre un partido.
+     */
+    private static final Pattern RUTA = Pattern.compile("^/api/(equipos|partidos)(?:/(\\d+)(?:/(resultado|marcador))?)?/?$");
+
+    /**
+     * Rutas de las páginas filtradas de equipos y partidos.
+     */
+    private static final Pattern RUTA_PAGINA = Pattern.compile("^/api/(equipos|partidos)/pagina/?$");
+
+    /**
+     * Servidor HTTP del JDK.
+     */
+    private final HttpServer servidor;
+
+    /**
+     * Hilos que atienden las peticiones.
+     */
+    private final ExecutorService hilos;
+
+    /**
+     * Configuración del servidor.
+     */
+    private final Configuracion configuracion;
+
+    /**
+     * Equipos por ID.
+     */
+    private final ConcurrentNavigableMap<Integer, Map<String, Object>> equipos = new ConcurrentSkipListMap<>();
+
+    /**
+     * Partidos por ID. Los mapas no se modifican: cada cambio sustituye el partido por una copia.
+     */
+    private final ConcurrentNavigableMap<Integer, Map<String, Object>> partidos = new ConcurrentSkipListMap<>();
+
+    /**
+     * Siguiente ID de partido.
+     */
+    private final AtomicInteger siguientePartido;
+
+    /**
+     * Versión de los partidos (cambia con cada escritura y sirve de ETag).
+     */
+    private final AtomicLong versionPartidos = new AtomicLong(1);
+
+    /**
+     * Última lista de partidos serializada.
+     */
+    private volatile Instantanea listaPartidos;
+
+    /**
+     * Lista de equipos serializada (los equipos no cambian).
+     */
+    private final Instantanea listaEquipos;
+
+    /**
+     * Peticiones recibidas.
+     */
+    private final AtomicLong peticiones = new AtomicLong();
+
+    /**
+     * Errores 503 inyectados.
+     */
+    private final AtomicLong erroresInyectados = new AtomicLong();
+
+    /**
+     * Respuestas cortadas a propósito.
+     */
+    private final AtomicLong cortesInyectados = new AtomicLong();
+
+    /**
+     * Genera los datos y arranca el servidor.
+     *
+     * @param configuracion Configuración del servidor
+     * @throws IOException Si no se puede abrir el puerto
+     */
+    public ApiFlaskSimulada(Configuracion configuracion) throws IOException {
+        this.configuracion = configuracion;
+
+        // GENERO LOS DATOS CON LAS MISMAS CLAVES QUE DEVUELVE FLASK
+        for (Map<String, Object> equipo : DatosFlask.equipos(configuracion.equipos)) {
+            equipos.put((Integer) equipo.get("id"), equipo);
+        }
+        for (Map<String, Object> partido : DatosFlask.partidos(configuracion.partidos)) {
+            partidos.put((Integer) partido.get("id"), partido);
+        }
+        siguientePartido = new AtomicInteger(configuracion.partidos + 1);
+        listaEquipos = new Instantanea(1, DatosFlask.json(List.copyOf(equipos.values())));
+
+        servidor = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), configuracion.puerto), 0);
+        servidor.createContext("/api/", this::atender);
+        hilos = Executors.newFixedThreadPool(configuracion.hilos);
+        servidor.setExecutor(hilos);
+        servidor.start();
+        LOGGER.info("API Flask simulada en " + getUrl() + " con " + configuracion.equipos + " equipos y "
+                + configuracion.partidos + " partidos");
+    }
+
+    /**
+     * Obtiene el puerto en el que escucha el servidor.
+     *
+     * @return Puerto
+     */
+    public int getPuerto() {
+        return servidor.getAddress().getPort();
+    }
+
+    /**
+     * Obtiene la URL base de la API.
+     *
+     * @return URL terminada en /api
+     */
+    public String getUrl() {
+        return "http://127.0.0.1:" + getPuerto() + "/api";
+    }
+
+    /**
+     * Obtiene las peticiones recibidas.
+     *
+     * @return Peticiones
+     */
+    public long getPeticiones() {
+        return peticiones.get();
+    }
+
+    /**
+     * Obtiene los errores 503 inyectados.
+     *
+     * @return Errores inyectados
+     */
+    public long getErroresInyectados() {
+        return erroresInyectados.get();
+    }
+
+    /**
+     * Obtiene las respuestas cortadas a propósito.
+     *
+     * @return Respuestas cortadas
+     */
+    public long getCortesInyectados() {
+        return cortesInyectados.get();
+    }
+
+    /**
+     * Para el servidor.
+     */
+    @Override
+    public void close() {
+        servidor.stop(0);
+        hilos.shutdownNow();
+    }
+
+    /**
+     * Atiende una petición: aplica la latencia y los fallos configurados y la despacha.
+     *
+     * @param intercambio Petición y respuesta
+     * @throws IOException Si falla la conexión
+     */
+    private void atender(HttpExchange intercambio) throws IOException {
+        // CADA PETICIÓN TIENE SU PROPIO GENERADOR, DERIVADO DE LA SEMILLA Y DE SU NÚMERO
+        long numero = peticiones.getAndIncrement();
+        SplittableRandom random = new SplittableRandom(configuracion.semilla + numero * 0x9E3779B97F4A7C15L);
+
+        try {
+            String ruta = intercambio.getRequestURI().getPath();
+            if ("/api/healthcheck".equals(ruta)) {
+                healthcheck(intercambio);
+                return;
+            }
+
+            long esperaMs = configuracion.latencia.siguienteMs(random);
+            if (esperaMs > 0) {
+                Thread.sleep(esperaMs);
+            }
+
+            double tirada = random.nextDouble();
+            if (tirada < configuracion.tasaCortes) {
+                // ANUNCIO UN CUERPO QUE NUNCA LLEGA: EL CLIENTE VE LA CONEXIÓN CORTADA
+                cortesInyectados.incrementAndGet();
+                intercambio.sendResponseHeaders(200, 1024);
+                return;
+            }
+            if (tirada < configuracion.tasaCortes + configuracion.tasaErrores) {
+                erroresInyectados.incrementAndGet();
+                responder(intercambio, 503, Map.of("error", "Error simulado"));
+                return;
+            }
+
+            despachar(intercambio, ruta);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Error en la API simulada", e);
+            responder(intercambio, 500, Map.of("error", "Error interno", "details", String.valueOf(e.getMessage())));
+        } finally {
+            intercambio.close();
+        }
+    }
+
+    /**
+     * Despacha una petición de equipos o partidos.
+     *
+     * @param intercambio Petición y respuesta
+     * @param ruta Ruta de la petición
+     * @throws IOException Si falla la conexión
+     */
+    private void despachar(HttpExchange intercambio, String ruta) throws IOException {
+        Matcher pagina = RUTA_PAGINA.matcher(ruta);
+        if (pagina.matches()) {
+            if ("GET".equals(intercambio.getRequestMethod())) {
+                responderPagina(intercambio, "partidos".equals(pagina.group(1)));
+            } else {
+                responder(intercambio, 405, Map.of("error", "Método no permitido"));
+            }
+            return;
+        }
+
+        Matcher coincidencia = RUTA.matcher(ruta);
+        if (!coincidencia.matches()) {
+            responder(intercambio, 404, Map.of("error", "Ruta no encontrada"));
+            return;
+        }
+
+        String metodo = intercambio.getRequestMethod();
+        boolean esPartido = "partidos".equals(coincidencia.group(1));
+        Integer id = (coincidencia.group(2) != null) ? Integer.valueOf(coincidencia.group(2)) : null;
+        String accion = coincidencia.group(3);
+
+        if (!esPartido) {
+            if (!"GET".equals(metodo)) {
+                responder(intercambio, 405, Map.of("error", "Método no permitido en la API simulada"));
+            } else if (id == null) {
+                responderLista(intercambio, listaEquipos);
+            } else {
+                responderElemento(intercambio, equipos.get(id), "Equipo no encontrado");
+            }
+            return;
+        }
+
+        if (id == null) {
+            if ("GET".equals(metodo)) {
+                responderLista(intercambio, listaPartidos());
+            } else if ("POST".equals(metodo)) {
+                crearPartido(intercambio);
+            } else {
+                responder(intercambio, 405, Map.of("error", "Método no permitido"));
+            }
+        } else if (accion == null) {
+            if ("GET".equals(metodo)) {
+                responderElemento(intercambio, partidos.get(id), "Partido no encontrado");
+            } else if ("DELETE".equals(metodo)) {
+                eliminarPartido(intercambio, id);
+            } else {
+                responder(intercambio, 405, Map.of("error", "Método no permitido"));
+            }
+        } else if ("resultado".equals(accion) && "POST".equals(metodo)) {
+            cambiarPuntos(intercambio, id, true);
+        } else if ("marcador".equals(accion) && "PUT".equals(metodo)) {
+            cambiarPuntos(intercambio, id, false);
+        } else {
+            responder(intercambio, 405, Map.of("error", "Método no permitido"));
+        }
+    }
+
+    /**
+     * Responde al healthcheck (sin latencia ni fallos, para no confundir a los balanceadores).
+     *
+     * @param intercambio Petición y respuesta
+     * @throws IOException Si falla la conexión
+     */
+    private void healthcheck(HttpExchange intercambio) throws IOException {
+        Map<String, Object> datos = new LinkedHashMap<>();
+        datos.put("status", "ok");
+        datos.put("message", "API de baloncesto funcionando correctamente");
+        datos.put("timestamp", LocalDateTime.now().toString());
+        responder(intercambio, 200, datos);
+    }
+
+    /**
+     * Crea un partido (POST /api/partidos).
+     *
+     * @param intercambio Petición y respuesta
+     * @throws IOException Si falla la conexión
+     */
+    private void crearPartido(HttpExchange intercambio) throws IOException {
+        Map<String, Object> datos = leerCuerpo(intercambio);
+        if (!datos.containsKey("equipo_local_id") || !datos.containsKey("equipo_visitante_id")
+                || !datos.containsKey("fecha")) {
+            responder(intercambio, 400,
+                    Map.of("error", "Faltan datos requeridos (equipo_local_id, equipo_visitante_id, fecha)"));
+            return;
+        }
+        int local = ((Number) datos.get("equipo_local_id")).intValue();
+        int visitante = ((Number) datos.get("equipo_visitante_id")).intValue();
+        if (local == visitante) {
+            responder(intercambio, 400, Map.of("error", "El equipo local y visitante no pueden ser el mismo"));
+            return;
+        }
+
+        int id = siguientePartido.getAndIncrement();
+        Map<String, Object> partido = new LinkedHashMap<>();
+        partido.put("id", id);
+        partido.put("equipo_local_id", local);
+        partido.put("equipo_visitante_id", visitante);
+        partido.put("equipo_local", nombreEquipo(local));
+        partido.put("equipo_visitante", nombreEquipo(visitante));
+        partido.put("fecha", DatosFlask.fecha(LocalDateTime.parse((String) datos.get("fecha"))));
+        partido.put("puntos_local", 0);
+        partido.put("puntos_visitante", 0);
+        partido.put("finalizado", false);
+        partido.put("ganador", null);
+        partido.put("fecha_creacion", DatosFlask.fecha(LocalDateTime.now()));
+        partidos.put(id, partido);
+        versionPartidos.incrementAndGet();
+        responder(intercambio, 201, partido);
+    }
+
+    /**
+     * Registra el resultado (POST .../resultado) o actualiza el marcador (PUT .../marcador).
+     *
+     * @param intercambio Petición y respuesta
+     * @param id ID del partido
+     * @param finalizar true para registrar el resultado final
+     * @throws IOException Si falla la conexión
+     */
+    private void cambiarPuntos(HttpExchange intercambio, int id, boolean finalizar) throws IOException {
+        Map<String, Object> actual = partidos.get(id);
+        if (actual == null) {
+            responder(intercambio, 404, Map.of("error", "Partido no encontrado"));
+            return;
+        }
+        if (Boolean.TRUE.equals(actual.get("finalizado"))) {
+            responder(intercambio, 400, Map.of("error", "El partido ya está finalizado"));
+            return;
+        }
+
+        Map<String, Object> datos = leerCuerpo(intercambio);
+        if (!(datos.get("puntos_local") instanceof Number) || !(datos.get("puntos_visitante") instanceof Number)) {
+            responder(intercambio, 400, Map.of("error", "Faltan datos requeridos (puntos_local, puntos_visitante)"));
+            return;
+        }
+        int local = ((Number) datos.get("puntos_local")).intValue();
+        int visitante = ((Number) datos.get("puntos_visitante")).intValue();
+        if (local < 0 || visitante < 0) {
+            responder(intercambio, 400, Map.of("error", "Los puntos no pueden ser negativos"));
+            return;
+        }
+
+        // SUSTITUYO EL PARTIDO POR UNA COPIA PARA NO CAMBIARLO MIENTRAS OTRO HILO LO SERIALIZA
+        Map<String, Object> partido = new LinkedHashMap<>(actual);
+        partido.put("puntos_local", local);
+        partido.put("puntos_visitante", visitante);
+        partido.put("finalizado", finalizar);
+        partido.put("ganador", DatosFlask.ganador(partido));
+        if (!partidos.replace(id, actual, partido)) {
+            responder(intercambio, 409, Map.of("error", "El partido ha cambiado mientras se actualizaba"));
+            return;
+        }
+        versionPartidos.incrementAndGet();
+        responder(intercambio, 200, partido);
+    }
+
+    /**
+     * Elimina un partido (DELETE /api/partidos/{id}).
+     *
+     * @param intercambio Petición y respuesta
+     * @param id ID del partido
+     * @throws IOException Si falla la conexión
+     */
+    private void eliminarPartido(HttpExchange intercambio, int id) throws IOException {
+        if (partidos.remove(id) == null) {
+            responder(intercambio, 404, Map.of("error", "Partido no encontrado"));
+            return;
+        }
+        versionPartidos.incrementAndGet();
+        responder(intercambio, 200, Map.of("message", "Partido " + id + " eliminado correctamente"));
+    }
+
+    /**
+     * Obtiene la lista de partidos serializada, volviendo a serializarla solo si ha cambiado.
+     *
+     * @return Lista serializada con su versión
+     */
+    private Instantanea listaPartidos() {
+        long version = versionPartidos.get();
+        Instantanea actual = listaPartidos;
+        if (actual == null || actual.version != version) {
+            actual = new Instantanea(version, DatosFlask.json(List.copyOf(partidos.values())));
+            listaPartidos = actual;
+        }
+        return actual;
+    }
+
+    /**
+     * Responde una lista con su ETag, o 304 si el cliente ya tiene esa versión
+     * (salvo que los ETag estén desactivados para medir siempre la respuesta completa).
+     *
+     * @param intercambio Petición y respuesta
+     * @param lista Lista serializada
+     * @throws IOException Si falla la conexión
+     */
+    private void responderLista(HttpExchange intercambio, Instantanea lista) throws IOException {
+        if (!configuracion.etag) {
+            enviar(intercambio, 200, lista.json);
+            return;
+        }
+        String etag = "\"" + lista.version + "-" + lista.json.length + "\"";
+        intercambio.getResponseHeaders().set("ETag", etag);
+        if (etag.equals(intercambio.getRequestHeaders().getFirst("If-None-Match"))) {
+            intercambio.sendResponseHeaders(304, -1);
+            return;
+        }
+        enviar(intercambio, 200, lista.json);
+    }
+
+    /**
+     * Responde un elemento, o 404 si no existe.
+     *
+     * @param intercambio Petición y respuesta
+     * @param elemento Elemento, o null
+     * @param noEncontrado Mensaje del 404
+     * @throws IOException Si falla la conexión
+     */
+    private void responderElemento(HttpExchange intercambio, Map<String, Object> elemento, String noEncontrado)
+            throws IOException {
+        if (elemento == null) {
+            responder(intercambio, 404, Map.of("error", noEncontrado));
+        } else {
+            responder(intercambio, 200, elemento);
+        }
+    }
+
+    /**
+     * Responde con una página filtrada de equipos (por nombre, ordenados por ID) o de partidos
+     * (por equipo, fechas y estado, ordenados por fecha), con los mismos parámetros que Flask.
+     *
+     * @param intercambio Petición y respuesta
+     * @param esPartido true para partidos, false para equipos
+     * @throws IOException Si falla la conexión
+     */
+    private void responderPagina(HttpExchange intercambio, boolean esPartido) throws IOException {
+        Map<String, String> parametros = leerParametros(intercambio);
+        int pagina = Integer.parseInt(parametros.getOrDefault("pagina", "0"));
+        int tamano = Integer.parseInt(parametros.getOrDefault("tamano", "20"));
+        if (pagina < 0 || tamano < 1 || tamano > 200) {
+            responder(intercambio, 400, Map.of("error", "Parámetros incorrectos"));
+            return;
+        }
+
+        List<Map<String, Object>> filtrados;
+        if (esPartido) {
+            Integer equipoId = parametros.containsKey("equipo_id") ? Integer.valueOf(parametros.get("equipo_id")) : null;
+            LocalDateTime desde = parametros.containsKey("desde") ? LocalDateTime.parse(parametros.get("desde")) : null;
+            LocalDateTime hasta = parametros.containsKey("hasta") ? LocalDateTime.parse(parametros.get("hasta")) : null;
+            Boolean finalizado = parametros.containsKey("finalizado")
+                    ? Boolean.valueOf(parametros.get("finalizado")) : null;
+            filtrados = partidos.values().stream()
+                    .filter(p -> equipoId == null || equipoId.equals(p.get("equipo_local_id"))
+                            || equipoId.equals(p.get("equipo_visitante_id")))
+                    .filter(p -> desde == null || !LocalDateTime.parse((String) p.get("fecha")).isBefore(desde))
+                    .filter(p -> hasta == null || LocalDateTime.parse((String) p.get("fecha")).isBefore(hasta))
+                    .filter(p -> finalizado == null || finalizado.equals(p.get("finalizado")))
+                    .sorted(Comparator.comparing((Map<String, Object> p) -> LocalDateTime.parse((String) p.get("fecha"))))
+                    .collect(Collectors.toList());
+        } else {
+            String nombre = parametros.getOrDefault("nombre", "").toLowerCase();
+            filtrados = equipos.values().stream()
+                    .filter(e -> ((String) e.get("nombre")).toLowerCase().contains(nombre))
+                    .collect(Collectors.toList());
+        }
+
+        Map<String, Object> respuesta = new LinkedHashMap<>();
+        respuesta.put("total", filtrados.size());
+        respuesta.put(esPartido ? "partidos" : "equipos",
+                filtrados.stream().skip((long) pagina * tamano).limit(tamano).collect(Collectors.toList()));
+        responder(intercambio, 200, respuesta);
+    }
+
+    /**
+     * Lee los parámetros de la URL de una petición, sin los vacíos (igual que los trata Flask).
+     *
+     * @param intercambio Petición
+     * @return Parámetros con valor
+     */
+    private static Map<String, String> leerParametros(HttpExchange intercambio) {
+        Map<String, String> parametros = new HashMap<>();
+        String consulta = intercambio.getRequestURI().getRawQuery();
+        if (consulta == null) {
+            return parametros;
+        }
+        for (String parametro : consulta.split("&")) {
+            int igual = parametro.indexOf('=');
+            if (igual > 0 && igual < parametro.length() - 1) {
+                parametros.put(URLDecoder.decode(parametro.substring(0, igual), StandardCharsets.UTF_8),
+                        URLDecoder.decode(parametro.substring(igual + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return parametros;
+    }
+
+    /**
+     * Responde con un objeto serializado a JSON.
+     *
+     * @param intercambio Petición y respuesta
+     * @param estado Código de estado
+     * @param datos Datos de la respuesta
+     * @throws IOException Si falla la conexión
+     */
+    private void responder(HttpExchange intercambio, int estado, Object datos) throws IOException {
+        enviar(intercambio, estado, DatosFlask.json(datos));
+    }
+
+    /**
+     * Envía un cuerpo JSON.
+     *
+     * @param intercambio Petición y respuesta
+     * @param estado Código de estado
+     * @param json Cuerpo
+     * @throws IOException Si falla la conexión
+     */
+    private static void enviar(HttpExchange intercambio, int estado, byte[] json) throws IOException {
+        intercambio.getResponseHeaders().set("Content-Type", "application/json");
+        intercambio.sendResponseHeaders(estado, json.length);
+        try (OutputStream salida = intercambio.getResponseBody()) {
+            salida.write(json);
+        }
+    }
+
+    /**
+     * Lee el cuerpo JSON de una petición.
+     *
+     * @param intercambio Petición
+     * @return Datos del cuerpo (vacío si no hay)
+     * @throws IOException Si falla la conexión o el JSON no es válido
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> leerCuerpo(HttpExchange intercambio) throws IOException {
+        try (InputStream entrada = intercambio.getRequestBody()) {
+            byte[] cuerpo = entrada.readAllBytes();
+            return (cuerpo.length == 0) ? Map.of() : MAPPER.readValue(cuerpo, Map.class);
+        }
+    }
+
+    /**
+     * Obtiene el nombre de un equipo.
+     *
+     * @param id ID del equipo
+     * @return Nombre, o null si no existe
+     */
+    private String nombreEquipo(int id) {
+        Map<String, Object> equipo = equipos.get(id);
+        return (equipo != null) ? (String) equipo.get("nombre") : null;
+    }
+
+    /**
+     * Arranca la API simulada hasta que se pare el proceso.
+     * Acepta opciones {@code clave=valor}: puerto, equipos, partidos, latencia, errores, cortes, semilla, hilos y etag.
+     *
+     * @param args Opciones
+     * @throws IOException Si no se puede abrir el puerto
+     */
+    public static void main(String[] args) throws IOException {
+        Configuracion configuracion = new Configuracion().puerto(5000);
+        for (String arg : args) {
+            String[] opcion = arg.split("=", 2);
+            if (opcion.length != 2) {
+                throw new IllegalArgumentException("Opción no válida (se esperaba clave=valor): " + arg);
+            }
+            switch (opcion[0]) {
+                case "puerto":
+                    configuracion.puerto(Integer.parseInt(opcion[1]));
+                    break;
+                case "equipos":
+                    configuracion.equipos(Integer.parseInt(opcion[1]));
+                    break;
+                case "partidos":
+                    configuracion.partidos(Integer.parseInt(opcion[1]));
+                    break;
+                case "latencia":
+                    configuracion.latencia(Latencia.leer(opcion[1]));
+                    break;
+                case "errores":
+                    configuracion.tasaErrores(Double.parseDouble(opcion[1]));
+                    break;
+                case "cortes":
+                    configuracion.tasaCortes(Double.parseDouble(opcion[1]));
+                    break;
+                case "semilla":
+                    configuracion.semilla(Long.parseLong(opcion[1]));
+                    break;
+                case "hilos":
+                    configuracion.hilos(Integer.parseInt(opcion[1]));
+                    break;
+                case "etag":
+                    configuracion.etag(Boolean.parseBoolean(opcion[1]));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Opción desconocida: " + opcion[0]);
+            }
+        }
+
+        ApiFlaskSimulada api = new ApiFlaskSimulada(configuracion);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            LOGGER.info("Peticiones: " + api.getPeticiones() + ", errores inyectados: " + api.getErroresInyectados()
+                    + ", respuestas cortadas: " + api.getCortesInyectados());
+            api.close();
+        }));
+    }
+
+    /**
+     * Configuración de la API simulada. Cada método devuelve la propia configuración
+     * para poder encadenarlos.
+     */
+    public static final class Configuracion {
+
+        /**
+         * Puerto (0 para uno libre).
+         */
+        private int puerto;
+
+        /**
+         * Equipos generados.
+         */
+        private int equipos = DatosFlask.EQUIPOS;
+
+        /**
+         * Partidos generados.
+         */
+        private int partidos = 1000;
+
+        /**
+         * Latencia añadida a cada respuesta.
+         */
+        private Latencia latencia = Latencia.NINGUNA;
+
+        /**
+         * Proporción de respuestas 503.
+         */
+        private double tasaErrores;
+
+        /**
+         * Proporción de respuestas cortadas.
+         */
+        private double tasaCortes;
+
+        /**
+         * Semilla de la latencia y de los fallos.
+         */
+        private long semilla = 42;
+
+        /**
+         * Hilos del servidor.
+         */
+        private int hilos = 16;
+
+        /**
+         * Si las listas llevan ETag y se responde 304 cuando no han cambiado.
+         */
+        private boolean etag = true;
+
+        /**
+         * Establece el puerto.
+         *
+         * @param puerto Puerto (0 para uno libre)
+         * @return Esta configuración
+         */
+        public Configuracion puerto(int puerto) {
+            this.puerto = puerto;
+            return this;
+        }
+
+        /**
+         * Establece el número de equipos.
+         *
+         * @param equipos Equipos generados (al menos 2)
+         * @return Esta configuración
+         */
+        public Configuracion equipos(int equipos) {
+            if (equipos < 2) {
+                throw new IllegalArgumentException("Hacen falta al menos 2 equipos");
+            }
+            this.equipos = equipos;
+            return this;
+        }
+
+        /**
+         * Establece el número de partidos.
+         *
+         * @param partidos Partidos generados
+         * @return Esta configuración
+         */
+        public Configuracion partidos(int partidos) {
+            this.partidos = partidos;
+            return this;
+        }
+
+        /**
+         * Establece la latencia.
+         *
+         * @param latencia Latencia añadida a cada respuesta
+         * @return Esta configuración
+         */
+        public Configuracion latencia(Latencia latencia) {
+            this.latencia = latencia;
+            return this;
+        }
+
+        /**
+         * Establece la proporción de respuestas 503.
+         *
+         * @param tasaErrores Proporción entre 0 y 1
+         * @return Esta configuración
+         */
+        public Configuracion tasaErrores(double tasaErrores) {
+            this.tasaErrores = tasaErrores;
+            return this;
+        }
+
+        /**
+         * Establece la proporción de respuestas cortadas (el cliente recibe un error de E/S).
+         *
+         * @param tasaCortes Proporción entre 0 y 1
+         * @return Esta configuración
+         */
+        public Configuracion tasaCortes(double tasaCortes) {
+            this.tasaCortes = tasaCortes;
+            return this;
+        }
+
+        /**
+         * Establece la semilla.
+         *
+         * @param semilla Semilla de la latencia y de los fallos
+         * @return Esta configuración
+         */
+        public Configuracion semilla(long semilla) {
+            this.semilla = semilla;
+            return this;
+        }
+
+        /**
+         * Activa o desactiva los ETag de las listas.
+         *
+         * @param etag false para devolver siempre la lista completa
+         * @return Esta configuración
+         */
+        public Configuracion etag(boolean etag) {
+            this.etag = etag;
+            return this;
+        }
+
+        /**
+         * Establece los hilos del servidor.
+         *
+         * @param hilos Hilos que atienden peticiones a la vez
+         * @return Esta configuración
+         */
+        public Configuracion hilos(int hilos) {
+            this.hilos = hilos;
+            return this;
+        }
+    }
+
+    /**
+     * Lista serializada con la versión de los datos que contiene.
+     */
+    private static final class Instantanea {
+
+        /**
+         * Versión de los datos.
+         */
+        private final long version;
+
+        /**
+         * JSON de la lista.
+         */
+        private final byte[] json;
+
+        /**
+         * Constructor con todos los campos.
+         *
+         * @param version Versión de los datos
+         * @param json JSON de la lista
+         */
+        Instantanea(long version, byte[] json) {
+            this.version = version;
+            this.json = json;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package es.ubu.baloncesto.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generador de respuestas JSON con el mismo formato que la API Flask.
+ * Los datos son aleatorios pero reproducibles (semilla fija).
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+public final class DatosFlask {
+
+    /**
+     * Equipos de la liga simulada.
+     */
+    public static final int EQUIPOS = 30;
+
+    /**
+     * Mapper para serializar las respuestas.
+     */
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * Formato de fecha de Flask (isoformat de Python, siempre con segundos).
+     */
+    private static final DateTimeFormatter FORMATO_FECHA = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+    /**
+     * Constructor privado: solo tiene métodos estáticos.
+     */
+    private DatosFlask() {
+    }
+
+    /**
+     * Genera la lista de partidos que devolvería GET /api/partidos.
+     *
+     * @param numero Número de partidos
+     * @return Partidos en forma de mapas, con las mismas claves que la API
+     */
+    public static List<Map<String, Object>> partidos(int numero) {
+        Random random = new Random(42);
+        LocalDateTime inicio = LocalDateTime.of(2024, 10, 1, 18, 0);
+        List<Map<String, Object>> partidos = new ArrayList<>(numero);
+        for (int i = 0; i < numero; i++) {
+            int local = random.nextInt(EQUIPOS);
+            int visitante = (local + 1 + random.nextInt(EQUIPOS - 1)) % EQUIPOS;
+            boolean finalizado = random.nextInt(4) != 0;
+
+            Map<String, Object> partido = new LinkedHashMap<>();
+            partido.put("id", i + 1);
+            partido.put("fecha", fecha(inicio.plusMinutes(30L * i)));
+            partido.put("equipo_local", nombreEquipo(local));
+            partido.put("equipo_local_id", local + 1);
+            partido.put("equipo_visitante", nombreEquipo(visitante));
+            partido.put("equipo_visitante_id", visitante + 1);
+            partido.put("puntos_local", finalizado ? 60 + random.nextInt(60) : 0);
+            partido.put("puntos_visitante", finalizado ? 60 + random.nextInt(60) : 0);
+            partido.put("finalizado", finalizado);
+            partido.put("ganador", ganador(partido));
+            partido.put("fecha_creacion", fecha(inicio.minusDays(30)));
+            partidos.add(partido);
+        }
+        return partidos;
+    }
+
+    /**
+     * Genera la lista de equipos que devolvería GET /api/equipos.
+     *
+     * @param numero Número de equipos
+     * @return Equipos en forma de mapas, con las mismas claves que la API
+     */
+    public static List<Map<String, Object>> equipos(int numero) {
+        List<Map<String, Object>> equipos = new ArrayList<>(numero);
+        for (int i = 0; i < numero; i++) {
+            Map<String, Object> equipo = new LinkedHashMap<>();
+            equipo.put("id", i + 1);
+            equipo.put("nombre", nombreEquipo(i));
+            equipo.put("ciudad", "Ciudad " + (i + 1));
+            equipo.put("entrenador", "Entrenador " + (i + 1));
+            equipo.put("fecha_creacion", "2024-09-01T12:00:00");
+            equipos.add(equipo);
+        }
+        return equipos;
+    }
+
+    /**
+     * Escribe una fecha como la escribe Flask.
+     *
+     * @param fecha Fecha
+     * @return Fecha en formato ISO con segundos
+     */
+    public static String fecha(LocalDateTime fecha) {
+        return fecha.format(FORMATO_FECHA);
+    }
+
+    /**
+     * Calcula el ganador de un partido como lo hace la API Flask.
+     *
+     * @param partido Partido en forma de mapa
+     * @return Nombre del ganador, "Empate", o null si no ha finalizado
+     */
+    public static String ganador(Map<String, Object> partido) {
+        if (!Boolean.TRUE.equals(partido.get("finalizado"))) {
+            return null;
+        }
+        int local = ((Number) partido.get("puntos_local")).intValue();
+        int visitante = ((Number) partido.get("puntos_visitante")).intValue();
+        if (local > visitante) {
+            return (String) partido.get("equipo_local");
+        } else if (visitante > local) {
+            return (String) partido.get("equipo_visitante");
+        }
+        return "Empate";
+    }
+
+    /**
+     * Serializa una respuesta a JSON.
+     *
+     * @param datos Datos de la respuesta
+     * @return JSON en UTF-8
+     */
+    public static byte[] json(Object datos) {
+        try {
+            return MAPPER.writeValueAsBytes(datos);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Convierte JSON en mapas igual que lo hace el cliente HTTP de la aplicación
+     * (los números pequeños quedan como Integer).
+     *
+     * @param json JSON de una lista
+     * @return Lista de mapas
+     */
+    @SuppressWarnings("unchecked")
+    public static List<Map<String, Object>> leer(byte[] json) {
+        try {
+            return MAPPER.readValue(json, List.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Nombre de un equipo.
+     *
+     * @param indice Índice del equipo
+     * @return Nombre
+     */
+    private static String nombreEquipo(int indice) {
+        return "Equipo " + (indice + 1);
+    }
+}
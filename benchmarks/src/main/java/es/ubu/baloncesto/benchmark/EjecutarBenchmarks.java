@@ -0,0 +1,70 @@
+package es.ubu.baloncesto.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+
+/**
+ * Punto de entrada de benchmarks.jar.
+ * Acepta las mismas opciones que JMH, pero si no se indican otras activa el perfilador
+ * de GC (tasa de asignación y recolecciones) y guarda los resultados en
+ * {@code jmh-result.json} para poder compararlos entre versiones.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+public final class EjecutarBenchmarks {
+
+    /**
+     * Fichero de resultados por defecto.
+     */
+    private static final String RESULTADOS = "jmh-result.json";
+
+    /**
+     * Constructor privado: solo tiene el método main.
+     */
+    private EjecutarBenchmarks() {
+    }
+
+    /**
+     * Lanza los benchmarks.
+     *
+     * @param args Opciones de JMH (por ejemplo, un patrón con los benchmarks que se lanzan)
+     * @throws CommandLineOptionException Si las opciones no son válidas
+     * @throws RunnerException Si falla algún benchmark
+     * @throws IOException Si no se puede mostrar la ayuda
+     */
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException, IOException {
+        CommandLineOptions linea = new CommandLineOptions(args);
+        if (linea.shouldHelp()) {
+            linea.showHelp();
+            return;
+        }
+
+        ChainedOptionsBuilder opciones = new OptionsBuilder().parent(linea);
+        if (linea.getProfilers().isEmpty()) {
+            opciones.addProfiler(GCProfiler.class);
+        }
+        if (!linea.getResultFormat().hasValue()) {
+            opciones.resultFormat(ResultFormatType.JSON);
+        }
+        if (!linea.getResult().hasValue()) {
+            opciones.result(RESULTADOS);
+        }
+
+        Runner runner = new Runner(opciones.build());
+        if (linea.shouldList()) {
+            runner.list();
+            return;
+        }
+        runner.run();
+    }
+}
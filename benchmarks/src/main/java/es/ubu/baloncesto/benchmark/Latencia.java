@@ -0,0 +1,112 @@
+package es.ubu.baloncesto.benchmark;
+
+import java.util.SplittableRandom;
+
+/**
+ * Distribución de la latencia que añade la API Flask simulada a cada respuesta.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+@FunctionalInterface
+public interface Latencia {
+
+    /**
+     * Sin latencia añadida.
+     */
+    Latencia NINGUNA = random -> 0;
+
+    /**
+     * Obtiene la latencia de una respuesta.
+     *
+     * @param random Generador de la petición (reproducible)
+     * @return Milisegundos de espera
+     */
+    long siguienteMs(SplittableRandom random);
+
+    /**
+     * Latencia constante.
+     *
+     * @param ms Milisegundos
+     * @return Distribución
+     */
+    static Latencia fija(long ms) {
+        return random -> ms;
+    }
+
+    /**
+     * Latencia uniforme entre dos valores.
+     *
+     * @param minimoMs Mínimo
+     * @param maximoMs Máximo (incluido)
+     * @return Distribución
+     */
+    static Latencia uniforme(long minimoMs, long maximoMs) {
+        return random -> minimoMs + random.nextLong(maximoMs - minimoMs + 1);
+    }
+
+    /**
+     * Latencia log-normal, la forma habitual de la latencia de un servicio real:
+     * la mayoría cerca de la mediana y una cola larga hacia la derecha.
+     *
+     * @param medianaMs Mediana
+     * @param sigma Dispersión (0.5 da un p99 de unas 3 veces la mediana)
+     * @return Distribución
+     */
+    static Latencia lognormal(double medianaMs, double sigma) {
+        return random -> {
+            // BOX-MULLER PARA SACAR UNA NORMAL ESTÁNDAR
+            double u1 = 1.0 - random.nextDouble();
+            double u2 = random.nextDouble();
+            double normal = Math.sqrt(-2.0 * Math.log(u1)) * Math.cos(2.0 * Math.PI * u2);
+            return Math.round(medianaMs * Math.exp(sigma * normal));
+        };
+    }
+
+    /**
+     * Añade a esta distribución una cola: con cierta probabilidad la respuesta tarda mucho más.
+     *
+     * @param probabilidad Proporción de respuestas lentas
+     * @param lentaMs Latencia de las respuestas lentas
+     * @return Distribución
+     */
+    default Latencia conCola(double probabilidad, long lentaMs) {
+        return random -> (random.nextDouble() < probabilidad) ? lentaMs : siguienteMs(random);
+    }
+
+    /**
+     * Lee una distribución escrita como texto: {@code 0}, {@code fija:20}, {@code uniforme:5:50},
+     * {@code lognormal:20:0.5}, con una cola opcional al final: {@code lognormal:20:0.5,cola:0.01:1000}.
+     *
+     * @param texto Descripción de la distribución
+     * @return Distribución
+     * @throws IllegalArgumentException Si el texto no es válido
+     */
+    static Latencia leer(String texto) {
+        String[] partes = texto.trim().split(",");
+        String[] base = partes[0].split(":");
+        Latencia latencia;
+        switch (base[0]) {
+            case "fija":
+                latencia = fija(Long.parseLong(base[1]));
+                break;
+            case "uniforme":
+                latencia = uniforme(Long.parseLong(base[1]), Long.parseLong(base[2]));
+                break;
+            case "lognormal":
+                latencia = lognormal(Double.parseDouble(base[1]), Double.parseDouble(base[2]));
+                break;
+            default:
+                latencia = fija(Long.parseLong(base[0]));
+        }
+        if (partes.length > 1) {
+            String[] cola = partes[1].split(":");
+            if (!"cola".equals(cola[0]) || cola.length != 3) {
+                throw new IllegalArgumentException("Cola de latencia no válida: " + partes[1]);
+            }
+            latencia = latencia.conCola(Double.parseDouble(cola[1]), Long.parseLong(cola[2]));
+        }
+        return latencia;
+    }
+}
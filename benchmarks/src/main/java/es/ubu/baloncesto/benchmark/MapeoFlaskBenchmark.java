@@ -0,0 +1,113 @@
+package es.ubu.baloncesto.benchmark;
+
+import es.ubu.baloncesto.model.Equipo;
+import es.ubu.baloncesto.model.Partido;
+import es.ubu.baloncesto.service.MapeoFlask;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de la conversión de las respuestas de la API Flask a objetos del modelo.
+ * Mide por separado la conversión de mapas a objetos y el camino completo desde el JSON.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapeoFlaskBenchmark {
+
+    /**
+     * Partidos de la respuesta.
+     */
+    @Param({"10", "1000", "100000"})
+    private int partidos;
+
+    /**
+     * Partidos ya leídos como mapas.
+     */
+    private List<Map<String, Object>> mapasPartidos;
+
+    /**
+     * Equipos ya leídos como mapas.
+     */
+    private List<Map<String, Object>> mapasEquipos;
+
+    /**
+     * JSON de los partidos.
+     */
+    private byte[] jsonPartidos;
+
+    /**
+     * Genera la respuesta y la lee una vez.
+     */
+    @Setup(Level.Trial)
+    public void preparar() {
+        jsonPartidos = DatosFlask.json(DatosFlask.partidos(partidos));
+        mapasPartidos = DatosFlask.leer(jsonPartidos);
+        mapasEquipos = DatosFlask.leer(DatosFlask.json(DatosFlask.equipos(DatosFlask.EQUIPOS)));
+    }
+
+    /**
+     * Convierte los mapas de partidos en objetos.
+     *
+     * @return Partidos (para que JMH no elimine el cálculo)
+     */
+    @Benchmark
+    public List<Partido> mapToPartido() {
+        List<Partido> resultado = new ArrayList<>(mapasPartidos.size());
+        for (Map<String, Object> mapa : mapasPartidos) {
+            resultado.add(MapeoFlask.mapToPartido(mapa));
+        }
+        return resultado;
+    }
+
+    /**
+     * Lee el JSON y convierte los partidos, como hace findAll con cada respuesta nueva.
+     *
+     * @return Partidos (para que JMH no elimine el cálculo)
+     */
+    @Benchmark
+    public List<Partido> leerYMapearPartidos() {
+        List<Map<String, Object>> mapas = DatosFlask.leer(jsonPartidos);
+        List<Partido> resultado = new ArrayList<>(mapas.size());
+        for (Map<String, Object> mapa : mapas) {
+            resultado.add(MapeoFlask.mapToPartido(mapa));
+        }
+        return resultado;
+    }
+
+    /**
+     * Convierte los mapas de equipos en objetos (la liga completa, no depende del número de partidos).
+     *
+     * @return Equipos (para que JMH no elimine el cálculo)
+     */
+    @Benchmark
+    public List<Equipo> mapToEquipo() {
+        List<Equipo> resultado = new ArrayList<>(mapasEquipos.size());
+        for (Map<String, Object> mapa : mapasEquipos) {
+            resultado.add(MapeoFlask.mapToEquipo(mapa));
+        }
+        return resultado;
+    }
+}
@@ -0,0 +1,74 @@
+package es.ubu.baloncesto.benchmark;
+
+import es.ubu.baloncesto.service.MarcadorEnVivo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark del buffer circular del marcador en vivo.
+ * Mide anotaciones por segundo registrando un lote que cabe en el buffer
+ * y compactándolo a continuación, como hace el servicio en cada ciclo.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MarcadorEnVivoBenchmark {
+
+    /**
+     * Anotaciones registradas en cada invocación.
+     */
+    private static final int LOTE = 1024;
+
+    /**
+     * Huecos del buffer.
+     */
+    @Param({"1024", "4096"})
+    private int capacidad;
+
+    /**
+     * Marcador sobre el que se mide.
+     */
+    private MarcadorEnVivo marcador;
+
+    /**
+     * Crea un marcador vacío.
+     */
+    @Setup(Level.Trial)
+    public void preparar() {
+        marcador = new MarcadorEnVivo(capacidad, 0, 0);
+    }
+
+    /**
+     * Registra un lote de anotaciones y lo compacta.
+     *
+     * @return Anotaciones compactadas (para que JMH no elimine el cálculo)
+     */
+    @Benchmark
+    @OperationsPerInvocation(LOTE)
+    public int registrarYCompactar() {
+        for (int i = 0; i < LOTE; i++) {
+            marcador.registrar(1 + (i & 3), (i & 1) == 0, 1 + (i % 3));
+        }
+        return marcador.compactar();
+    }
+}
@@ -0,0 +1,128 @@
+package es.ubu.baloncesto.benchmark;
+
+import es.ubu.baloncesto.model.Equipo;
+import es.ubu.baloncesto.model.Partido;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de los métodos del modelo que se usan al recorrer la temporada:
+ * registrar resultados, obtener ganadores y calcular porcentajes de victorias.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ModeloBenchmark {
+
+    /**
+     * Partidos de la temporada.
+     */
+    @Param({"10", "1000", "100000"})
+    private int partidos;
+
+    /**
+     * Equipos de la liga.
+     */
+    private Equipo[] equipos;
+
+    /**
+     * Partidos de la temporada.
+     */
+    private Partido[] temporada;
+
+    /**
+     * Puntos del equipo local de cada partido.
+     */
+    private int[] puntosLocal;
+
+    /**
+     * Puntos del equipo visitante de cada partido.
+     */
+    private int[] puntosVisitante;
+
+    /**
+     * Genera una temporada reproducible con resultados ya registrados.
+     */
+    @Setup(Level.Trial)
+    public void preparar() {
+        Random random = new Random(42);
+        equipos = new Equipo[DatosFlask.EQUIPOS];
+        for (int i = 0; i < equipos.length; i++) {
+            equipos[i] = new Equipo("Equipo " + (i + 1), "Ciudad " + (i + 1), "Entrenador " + (i + 1));
+        }
+
+        LocalDateTime inicio = LocalDateTime.of(2024, 10, 1, 18, 0);
+        temporada = new Partido[partidos];
+        puntosLocal = new int[partidos];
+        puntosVisitante = new int[partidos];
+        for (int i = 0; i < partidos; i++) {
+            int local = random.nextInt(equipos.length);
+            int visitante = (local + 1 + random.nextInt(equipos.length - 1)) % equipos.length;
+            temporada[i] = new Partido(equipos[local], equipos[visitante], inicio.plusMinutes(30L * i));
+            puntosLocal[i] = 60 + random.nextInt(60);
+            puntosVisitante[i] = 60 + random.nextInt(60);
+            temporada[i].registrarResultado(puntosLocal[i], puntosVisitante[i]);
+        }
+    }
+
+    /**
+     * Registra el resultado de todos los partidos.
+     *
+     * @param bh Sumidero de JMH
+     */
+    @Benchmark
+    public void registrarResultado(Blackhole bh) {
+        for (int i = 0; i < temporada.length; i++) {
+            temporada[i].registrarResultado(puntosLocal[i], puntosVisitante[i]);
+        }
+        bh.consume(equipos[0].getVictorias());
+    }
+
+    /**
+     * Obtiene el ganador de todos los partidos.
+     *
+     * @param bh Sumidero de JMH
+     */
+    @Benchmark
+    public void getGanador(Blackhole bh) {
+        for (Partido partido : temporada) {
+            bh.consume(partido.getGanador());
+        }
+    }
+
+    /**
+     * Calcula el porcentaje de victorias de los dos equipos de cada partido,
+     * como al pintar una tabla de partidos con la racha de cada equipo.
+     *
+     * @param bh Sumidero de JMH
+     */
+    @Benchmark
+    public void calcularPorcentajeVictorias(Blackhole bh) {
+        for (Partido partido : temporada) {
+            bh.consume(partido.getEquipoLocal().calcularPorcentajeVictorias());
+            bh.consume(partido.getEquipoVisitante().calcularPorcentajeVictorias());
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package es.ubu.baloncesto.benchmark;
+
+import es.ubu.baloncesto.model.Partido;
+import es.ubu.baloncesto.repository.PartidoRepository;
+import es.ubu.baloncesto.service.CoberturaLlamadasService;
+import es.ubu.baloncesto.service.PartidoServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.client.support.HttpRequestWrapper;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Benchmark de extremo a extremo de {@code PartidoServiceImpl.findAll}: petición HTTP real
+ * contra la API Flask simulada dentro del proceso, lectura del JSON y conversión a partidos.
+ * El servicio se crea a mano (sin Spring), con un cliente que redirige las llamadas
+ * de localhost:5000 al puerto de la API simulada. Con errores inyectados se mide también
+ * el respaldo local, que aquí es un repositorio vacío.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PartidoServiceFindAllBenchmark {
+
+    /**
+     * Partidos que devuelve la API simulada.
+     */
+    @Param({"10", "1000", "100000"})
+    private int partidos;
+
+    /**
+     * Si la API responde 304 cuando la lista no ha cambiado (el servicio reutiliza la que ya tiene).
+     */
+    @Param({"false", "true"})
+    private boolean etag;
+
+    /**
+     * Proporción de peticiones a las que la API responde 503.
+     */
+    @Param({"0", "0.1"})
+    private double errores;
+
+    /**
+     * API Flask simulada.
+     */
+    private ApiFlaskSimulada api;
+
+    /**
+     * Servicio medido.
+     */
+    private PartidoServiceImpl servicio;
+
+    /**
+     * Arranca la API simulada y crea el servicio.
+     *
+     * @throws IOException Si no se puede arrancar el servidor
+     */
+    @Setup(Level.Trial)
+    public void preparar() throws IOException {
+        api = new ApiFlaskSimulada(new ApiFlaskSimulada.Configuracion()
+                .partidos(partidos).etag(etag).tasaErrores(errores));
+        int puerto = api.getPuerto();
+
+        // LAS URLS DEL SERVICIO APUNTAN A LOCALHOST:5000; LAS MANDO A LA API SIMULADA
+        RestTemplate cliente = new RestTemplate();
+        cliente.getInterceptors().add((peticion, cuerpo, ejecucion) ->
+                ejecucion.execute(new HttpRequestWrapper(peticion) {
+                    @Override
+                    public URI getURI() {
+                        return UriComponentsBuilder.fromUri(peticion.getURI()).port(puerto).build(true).toUri();
+                    }
+                }, cuerpo));
+
+        servicio = new PartidoServiceImpl(repositorioVacio(), evento -> { }, cliente, new SinCobertura(),
+                new SimpleMeterRegistry());
+    }
+
+    /**
+     * Para la API simulada.
+     */
+    @TearDown(Level.Trial)
+    public void detener() {
+        api.close();
+    }
+
+    /**
+     * Obtiene todos los partidos.
+     *
+     * @return Partidos (para que JMH no elimine el cálculo)
+     */
+    @Benchmark
+    public List<Partido> findAll() {
+        return servicio.findAll();
+    }
+
+    /**
+     * Crea un repositorio local sin partidos, para que el respaldo cueste siempre lo mismo.
+     *
+     * @return Repositorio que responde listas vacías
+     */
+    private static PartidoRepository repositorioVacio() {
+        return (PartidoRepository) Proxy.newProxyInstance(PartidoRepository.class.getClassLoader(),
+                new Class<?>[] {PartidoRepository.class}, (proxy, metodo, argumentos) -> {
+                    if (metodo.getReturnType() == List.class) {
+                        return List.of();
+                    }
+                    if (metodo.getReturnType() == Optional.class) {
+                        return Optional.empty();
+                    }
+                    if (metodo.getDeclaringClass() == Object.class) {
+                        switch (metodo.getName()) {
+                            case "equals":
+                                return proxy == argumentos[0];
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+                            default:
+                                return "PartidoRepository vacío";
+                        }
+                    }
+                    throw new UnsupportedOperationException(metodo.getName());
+                });
+    }
+
+    /**
+     * Servicio de cobertura que llama directamente, para medir solo el camino de findAll.
+     */
+    private static final class SinCobertura implements CoberturaLlamadasService {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public <T> T ejecutar(String operacion, Supplier<T> llamada) {
+            return llamada.get();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Map<String, Map<String, Object>> getEstadisticas() {
+            return Map.of();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package es.ubu.baloncesto.benchmark;
+
+import es.ubu.baloncesto.service.SimuladorTemporada;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark del simulador Monte Carlo de temporada.
+ * El resultado se expresa directamente en temporadas simuladas por segundo.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SimuladorTemporadaBenchmark {
+
+    /**
+     * Temporadas simuladas en cada invocación.
+     */
+    private static final int SIMULACIONES = 100_000;
+
+    /**
+     * Tiempo máximo por invocación (suficiente para no cortar nunca la simulación).
+     */
+    private static final long SIN_LIMITE = TimeUnit.HOURS.toNanos(1);
+
+    /**
+     * Pool de un solo hilo para la referencia secuencial.
+     */
+    private static final ForkJoinPool POOL_UN_HILO = new ForkJoinPool(1);
+
+    /**
+     * Número de equipos de la liga.
+     */
+    @Param({"18", "30"})
+    private int numEquipos;
+
+    /**
+     * Número de partidos pendientes.
+     */
+    @Param({"50", "500"})
+    private int partidosPendientes;
+
+    /**
+     * Simulador preparado con datos aleatorios.
+     */
+    private SimuladorTemporada simulador;
+
+    /**
+     * Genera una liga aleatoria reproducible.
+     */
+    @Setup(Level.Trial)
+    public void preparar() {
+        Random random = new Random(42);
+        int[] victorias = new int[numEquipos];
+        int[] desempate = new int[numEquipos];
+        for (int i = 0; i < numEquipos; i++) {
+            victorias[i] = random.nextInt(20);
+            desempate[i] = i;
+        }
+
+        int[] locales = new int[partidosPendientes];
+        int[] visitantes = new int[partidosPendientes];
+        double[] probabilidades = new double[partidosPendientes];
+        for (int m = 0; m < partidosPendientes; m++) {
+            locales[m] = random.nextInt(numEquipos);
+            visitantes[m] = (locales[m] + 1 + random.nextInt(numEquipos - 1)) % numEquipos;
+            probabilidades[m] = 0.3 + random.nextDouble() * 0.5;
+        }
+
+        simulador = new SimuladorTemporada(victorias, locales, visitantes, probabilidades, desempate, 8);
+    }
+
+    /**
+     * Simula un lote de temporadas con todos los núcleos.
+     *
+     * @return Resultado (para que JMH no elimine el cálculo)
+     */
+    @Benchmark
+    @OperationsPerInvocation(SIMULACIONES)
+    public SimuladorTemporada.Resultado simularParalelo() {
+        return simulador.simular(SIMULACIONES, SIN_LIMITE, 7L, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Simula un lote de temporadas en un único hilo, como referencia.
+     *
+     * @return Resultado (para que JMH no elimine el cálculo)
+     */
+    @Benchmark
+    @OperationsPerInvocation(SIMULACIONES)
+    public SimuladorTemporada.Resultado simularUnHilo() {
+        return simulador.simular(SIMULACIONES, SIN_LIMITE, 7L, POOL_UN_HILO);
+    }
+}
@@ -0,0 +1,544 @@
+package es.ubu.baloncesto.carga;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Generador de carga contra el frontend, para estimar cuánta carga aguanta antes de cada temporada.
+ * Cada usuario virtual inicia sesión con el formulario de login y recorre una mezcla de
+ * operaciones (consultar la lista de partidos, crear partidos y registrar resultados)
+ * repartiéndose entre todos la tasa objetivo. Las latencias se miden desde el instante en que
+ * cada petición debía salir, no desde que salió, para que un servidor saturado no parezca
+ * más rápido de lo que es. Al final muestra, por operación, el rendimiento y los percentiles.
+ * Uso: {@code java -jar carga.jar url=http://localhost:8080 tasa=50 usuarios=20 duracion=120}
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+public final class GeneradorCarga {
+
+    /**
+     * Logger para registrar operaciones.
+     */
+    private static final Logger LOGGER = Logger.getLogger(GeneradorCarga.class.getName());
+
+    /**
+     * Percentiles que se muestran.
+     */
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    /**
+     * Configuración de la carga.
+     */
+    private final Configuracion configuracion;
+
+    /**
+     * Medidas de cada operación, sumando todos los usuarios.
+     */
+    private final Map<Operacion, Medicion> mediciones = new EnumMap<>(Operacion.class);
+
+    /**
+     * Peticiones que no se llegaron a enviar porque los usuarios iban retrasados.
+     */
+    private long noEnviadas;
+
+    /**
+     * Constructor con la configuración de la carga.
+     *
+     * @param configuracion Configuración
+     */
+    public GeneradorCarga(Configuracion configuracion) {
+        this.configuracion = configuracion;
+        for (Operacion operacion : Operacion.values()) {
+            mediciones.put(operacion, new Medicion());
+        }
+    }
+
+    /**
+     * Inicia sesión con todos los usuarios, lanza la carga y espera a que termine.
+     *
+     * @throws IOException Si algún usuario no puede iniciar sesión
+     * @throws InterruptedException Si se interrumpe la espera
+     */
+    public void ejecutar() throws IOException, InterruptedException {
+        // INICIO LAS SESIONES ANTES DE EMPEZAR (EL LOGIN NO FORMA PARTE DE LA MEZCLA)
+        List<UsuarioVirtual> usuarios = new ArrayList<>();
+        for (int i = 0; i < configuracion.usuarios; i++) {
+            usuarios.add(new UsuarioVirtual(i, configuracion));
+        }
+        iniciarSesiones(usuarios);
+        LOGGER.info(usuarios.size() + " sesiones iniciadas como " + configuracion.usuario);
+
+        // CADA USUARIO LLEVA SU PARTE DE LA TASA, DESFASADOS PARA NO SALIR TODOS A LA VEZ
+        long periodo = (long) (TimeUnit.SECONDS.toNanos(1) * configuracion.usuarios / configuracion.tasa);
+        long inicio = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        long inicioMedida = inicio + configuracion.calentamiento.toNanos();
+        long fin = inicioMedida + configuracion.duracion.toNanos();
+
+        List<Thread> hilos = new ArrayList<>();
+        for (int i = 0; i < usuarios.size(); i++) {
+            UsuarioVirtual usuario = usuarios.get(i);
+            long primera = inicio + periodo * i / usuarios.size();
+            Thread hilo = new Thread(() -> usuario.ejecutar(primera, inicioMedida, fin, periodo), "carga-usuario-" + i);
+            hilo.setDaemon(true);
+            hilos.add(hilo);
+            hilo.start();
+        }
+        for (Thread hilo : hilos) {
+            hilo.join();
+        }
+
+        // SUMO LAS MEDIDAS DE TODOS LOS USUARIOS
+        for (UsuarioVirtual usuario : usuarios) {
+            usuario.getMediciones().forEach((operacion, medicion) -> mediciones.get(operacion).sumar(medicion));
+            noEnviadas += usuario.getNoEnviadas();
+        }
+    }
+
+    /**
+     * Inicia las sesiones en paralelo (el login con BCrypt es lento a propósito).
+     *
+     * @param usuarios Usuarios virtuales
+     * @throws IOException Si algún usuario no puede iniciar sesión
+     * @throws InterruptedException Si se interrumpe la espera
+     */
+    private static void iniciarSesiones(List<UsuarioVirtual> usuarios) throws IOException, InterruptedException {
+        ExecutorService logins = Executors.newFixedThreadPool(Math.min(usuarios.size(), 8));
+        try {
+            List<Future<Void>> pendientes = new ArrayList<>();
+            for (UsuarioVirtual usuario : usuarios) {
+                pendientes.add(logins.submit(() -> {
+                    usuario.iniciarSesion();
+                    return null;
+                }));
+            }
+            for (Future<Void> pendiente : pendientes) {
+                try {
+                    pendiente.get();
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof IOException) {
+                        throw (IOException) e.getCause();
+                    }
+                    throw new IOException("Error al iniciar sesión", e.getCause());
+                }
+            }
+        } finally {
+            logins.shutdownNow();
+        }
+    }
+
+    /**
+     * Muestra el informe: rendimiento, errores y percentiles de latencia por operación y en total.
+     *
+     * @param salida Donde se escribe
+     */
+    public void imprimir(PrintStream salida) {
+        double segundos = configuracion.duracion.toMillis() / 1000.0;
+        Medicion total = total();
+        salida.printf(Locale.ROOT, "Objetivo %.1f pet/s con %d usuarios durante %.0f s (tras %d s de calentamiento), mezcla %s%n",
+                configuracion.tasa, configuracion.usuarios, segundos, configuracion.calentamiento.toSeconds(),
+                configuracion.mezcla);
+        salida.printf(Locale.ROOT, "Conseguido %.1f pet/s, %d errores%n", total.getPeticiones() / segundos, total.getErrores());
+        salida.println("Latencias en ms desde el instante previsto de cada petición; servicio = desde que se envió");
+        salida.println();
+        salida.printf(Locale.ROOT, "%-32s %8s %8s %8s %9s %9s %9s %9s %9s | %9s %9s%n",
+                "operación", "pet.", "errores", "pet/s", "p50", "p90", "p99", "p99.9", "máx", "serv. p50", "serv. p99");
+        for (Map.Entry<Operacion, Medicion> entrada : mediciones.entrySet()) {
+            if (entrada.getValue().getPeticiones() > 0) {
+                imprimirFila(salida, entrada.getKey().getPeticion(), entrada.getValue(), segundos);
+            }
+        }
+        imprimirFila(salida, "total", total, segundos);
+
+        // SI LOS USUARIOS NO HAN PODIDO SEGUIR EL RITMO, LOS PERCENTILES SE QUEDAN CORTOS
+        if (noEnviadas > 0) {
+            salida.println();
+            salida.printf("Aviso: %d peticiones previstas no llegaron a enviarse porque los usuarios iban retrasados;"
+                    + " el frontend no aguanta esta tasa o hacen falta más usuarios%n", noEnviadas);
+        }
+    }
+
+    /**
+     * Escribe una fila del informe.
+     *
+     * @param salida Donde se escribe
+     * @param nombre Nombre de la fila
+     * @param medicion Medidas
+     * @param segundos Duración de la medida
+     */
+    private static void imprimirFila(PrintStream salida, String nombre, Medicion medicion, double segundos) {
+        Histograma latencia = medicion.getLatencia();
+        salida.printf(Locale.ROOT, "%-32s %8d %8d %8.1f", nombre, medicion.getPeticiones(), medicion.getErrores(),
+                medicion.getPeticiones() / segundos);
+        for (double percentil : PERCENTILES) {
+            salida.printf(Locale.ROOT, " %9.2f", latencia.percentil(percentil) / 1000.0);
+        }
+        salida.printf(Locale.ROOT, " %9.2f | %9.2f %9.2f%n", latencia.getMaximo() / 1000.0,
+                medicion.getServicio().percentil(50) / 1000.0, medicion.getServicio().percentil(99) / 1000.0);
+    }
+
+    /**
+     * Guarda el informe en CSV (una fila por operación y otra con el total) para comparar ejecuciones.
+     *
+     * @param fichero Fichero de salida
+     * @throws IOException Si no se puede escribir
+     */
+    public void guardarCsv(Path fichero) throws IOException {
+        double segundos = configuracion.duracion.toMillis() / 1000.0;
+        try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(fichero, StandardCharsets.UTF_8))) {
+            csv.println("operacion,peticiones,errores,peticiones_s,p50_ms,p90_ms,p99_ms,p999_ms,max_ms,media_ms,"
+                    + "servicio_p50_ms,servicio_p99_ms");
+            for (Map.Entry<Operacion, Medicion> entrada : mediciones.entrySet()) {
+                escribirFila(csv, entrada.getKey().getNombre(), entrada.getValue(), segundos);
+            }
+            escribirFila(csv, "total", total(), segundos);
+        }
+    }
+
+    /**
+     * Escribe una fila del CSV.
+     *
+     * @param csv Fichero
+     * @param nombre Nombre de la fila
+     * @param medicion Medidas
+     * @param segundos Duración de la medida
+     */
+    private static void escribirFila(PrintWriter csv, String nombre, Medicion medicion, double segundos) {
+        Histograma latencia = medicion.getLatencia();
+        csv.printf(Locale.ROOT, "%s,%d,%d,%.2f", nombre, medicion.getPeticiones(), medicion.getErrores(),
+                medicion.getPeticiones() / segundos);
+        for (double percentil : PERCENTILES) {
+            csv.printf(Locale.ROOT, ",%.3f", latencia.percentil(percentil) / 1000.0);
+        }
+        csv.printf(Locale.ROOT, ",%.3f,%.3f,%.3f,%.3f%n", latencia.getMaximo() / 1000.0, latencia.getMedia() / 1000.0,
+                medicion.getServicio().percentil(50) / 1000.0, medicion.getServicio().percentil(99) / 1000.0);
+    }
+
+    /**
+     * Suma las medidas de todas las operaciones.
+     *
+     * @return Medidas totales
+     */
+    private Medicion total() {
+        Medicion total = new Medicion();
+        mediciones.values().forEach(total::sumar);
+        return total;
+    }
+
+    /**
+     * Lanza la carga desde la línea de comandos.
+     * Acepta opciones {@code clave=valor}: url, usuario, clave, tasa, usuarios, duracion,
+     * calentamiento (en segundos), mezcla, timeout (en segundos), semilla y salida (CSV).
+     *
+     * @param args Opciones
+     * @throws IOException Si no se puede iniciar sesión o escribir el CSV
+     * @throws InterruptedException Si se interrumpe la carga
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Configuracion configuracion = new Configuracion();
+        Path salida = null;
+        for (String arg : args) {
+            String[] opcion = arg.split("=", 2);
+            if (opcion.length != 2) {
+                throw new IllegalArgumentException("Opción no válida (se esperaba clave=valor): " + arg);
+            }
+            switch (opcion[0]) {
+                case "url":
+                    configuracion.url(opcion[1]);
+                    break;
+                case "usuario":
+                    configuracion.usuario(opcion[1]);
+                    break;
+                case "clave":
+                    configuracion.clave(opcion[1]);
+                    break;
+                case "tasa":
+                    configuracion.tasa(Double.parseDouble(opcion[1]));
+                    break;
+                case "usuarios":
+                    configuracion.usuarios(Integer.parseInt(opcion[1]));
+                    break;
+                case "duracion":
+                    configuracion.duracion(Duration.ofSeconds(Long.parseLong(opcion[1])));
+                    break;
+                case "calentamiento":
+                    configuracion.calentamiento(Duration.ofSeconds(Long.parseLong(opcion[1])));
+                    break;
+                case "mezcla":
+                    configuracion.mezcla(Mezcla.leer(opcion[1]));
+                    break;
+                case "timeout":
+                    configuracion.timeout(Duration.ofSeconds(Long.parseLong(opcion[1])));
+                    break;
+                case "semilla":
+                    configuracion.semilla(Long.parseLong(opcion[1]));
+                    break;
+                case "salida":
+                    salida = Path.of(opcion[1]);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Opción desconocida: " + opcion[0]);
+            }
+        }
+
+        GeneradorCarga generador = new GeneradorCarga(configuracion);
+        generador.ejecutar();
+        generador.imprimir(System.out);
+        if (salida != null) {
+            generador.guardarCsv(salida);
+            LOGGER.info("Resultados guardados en " + salida);
+        }
+    }
+
+    /**
+     * Configuración de la carga.
+     */
+    public static final class Configuracion {
+
+        /**
+         * URL base del frontend, sin barra final.
+         */
+        private String url = "http://localhost:8080";
+
+        /**
+         * Usuario con el que inician sesión los usuarios virtuales.
+         */
+        private String usuario = "user";
+
+        /**
+         * Contraseña del usuario.
+         */
+        private String clave = "password";
+
+        /**
+         * Peticiones por segundo entre todos los usuarios.
+         */
+        private double tasa = 10;
+
+        /**
+         * Usuarios virtuales (sesiones con una petición en curso como mucho cada una).
+         */
+        private int usuarios = 10;
+
+        /**
+         * Duración de la medida.
+         */
+        private Duration duracion = Duration.ofSeconds(60);
+
+        /**
+         * Carga previa que no se mide (JIT, cachés, conexiones).
+         */
+        private Duration calentamiento = Duration.ofSeconds(10);
+
+        /**
+         * Proporción de cada operación.
+         */
+        private Mezcla mezcla = Mezcla.leer("listar:80,guardar:10,resultado:10");
+
+        /**
+         * Tiempo máximo de cada petición.
+         */
+        private Duration timeout = Duration.ofSeconds(30);
+
+        /**
+         * Semilla de las operaciones y los datos.
+         */
+        private long semilla = 42;
+
+        /**
+         * Establece la URL del frontend.
+         *
+         * @param url URL base, por ejemplo http://localhost:8080
+         * @return Esta configuración
+         */
+        public Configuracion url(String url) {
+            this.url = url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+            return this;
+        }
+
+        /**
+         * Establece el usuario.
+         *
+         * @param usuario Nombre de usuario
+         * @return Esta configuración
+         */
+        public Configuracion usuario(String usuario) {
+            this.usuario = usuario;
+            return this;
+        }
+
+        /**
+         * Establece la contraseña.
+         *
+         * @param clave Contraseña
+         * @return Esta configuración
+         */
+        public Configuracion clave(String clave) {
+            this.clave = clave;
+            return this;
+        }
+
+        /**
+         * Establece la tasa objetivo.
+         *
+         * @param tasa Peticiones por segundo, mayor que 0
+         * @return Esta configuración
+         */
+        public Configuracion tasa(double tasa) {
+            if (tasa <= 0) {
+                throw new IllegalArgumentException("La tasa debe ser mayor que 0");
+            }
+            this.tasa = tasa;
+            return this;
+        }
+
+        /**
+         * Establece los usuarios virtuales.
+         *
+         * @param usuarios Número de usuarios, al menos 1
+         * @return Esta configuración
+         */
+        public Configuracion usuarios(int usuarios) {
+            if (usuarios < 1) {
+                throw new IllegalArgumentException("Hace falta al menos un usuario");
+            }
+            this.usuarios = usuarios;
+            return this;
+        }
+
+        /**
+         * Establece la duración de la medida.
+         *
+         * @param duracion Duración
+         * @return Esta configuración
+         */
+        public Configuracion duracion(Duration duracion) {
+            this.duracion = duracion;
+            return this;
+        }
+
+        /**
+         * Establece el calentamiento.
+         *
+         * @param calentamiento Duración del calentamiento
+         * @return Esta configuración
+         */
+        public Configuracion calentamiento(Duration calentamiento) {
+            this.calentamiento = calentamiento;
+            return this;
+        }
+
+        /**
+         * Establece la mezcla de operaciones.
+         *
+         * @param mezcla Mezcla
+         * @return Esta configuración
+         */
+        Configuracion mezcla(Mezcla mezcla) {
+            this.mezcla = mezcla;
+            return this;
+        }
+
+        /**
+         * Establece el tiempo máximo de cada petición.
+         *
+         * @param timeout Tiempo máximo
+         * @return Esta configuración
+         */
+        public Configuracion timeout(Duration timeout) {
+            this.timeout = timeout;
+            return this;
+        }
+
+        /**
+         * Establece la semilla.
+         *
+         * @param semilla Semilla
+         * @return Esta configuración
+         */
+        public Configuracion semilla(long semilla) {
+            this.semilla = semilla;
+            return this;
+        }
+
+        /**
+         * Obtiene la URL del frontend.
+         *
+         * @return URL base
+         */
+        String getUrl() {
+            return url;
+        }
+
+        /**
+         * Obtiene el usuario.
+         *
+         * @return Nombre de usuario
+         */
+        String getUsuario() {
+            return usuario;
+        }
+
+        /**
+         * Obtiene la contraseña.
+         *
+         * @return Contraseña
+         */
+        String getClave() {
+            return clave;
+        }
+
+        /**
+         * Obtiene los usuarios virtuales.
+         *
+         * @return Número de usuarios
+         */
+        int getUsuarios() {
+            return usuarios;
+        }
+
+        /**
+         * Obtiene la mezcla de operaciones.
+         *
+         * @return Mezcla
+         */
+        Mezcla getMezcla() {
+            return mezcla;
+        }
+
+        /**
+         * Obtiene el tiempo máximo de cada petición.
+         *
+         * @return Tiempo máximo
+         */
+        Duration getTimeout() {
+            return timeout;
+        }
+
+        /**
+         * Obtiene la semilla.
+         *
+         * @return Semilla
+         */
+        long getSemilla() {
+            return semilla;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package es.ubu.baloncesto.carga;
+
+/**
+ * Histograma de latencias en microsegundos con precisión relativa constante.
+ * Hasta 255 µs cada valor tiene su propia casilla; a partir de ahí cada potencia de dos
+ * se reparte en 128 casillas, así que el error de un percentil es menor del 1 %
+ * y el histograma ocupa siempre lo mismo (unos 30 KB) aunque se registren millones de valores.
+ * No es seguro entre hilos: cada usuario virtual tiene los suyos y se suman al final.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+final class Histograma {
+
+    /**
+     * Bits de la parte significativa de cada casilla.
+     */
+    private static final int BITS = 7;
+
+    /**
+     * Casillas por potencia de dos.
+     */
+    private static final int SUBCASILLAS = 1 << BITS;
+
+    /**
+     * Valores que tienen casilla propia.
+     */
+    private static final int EXACTOS = 2 * SUBCASILLAS;
+
+    /**
+     * Mayor valor que se distingue (unas 19 horas); los mayores se cuentan en la última casilla.
+     */
+    private static final long MAXIMO = (1L << 36) - 1;
+
+    /**
+     * Veces que se ha registrado cada casilla.
+     */
+    private final long[] casillas = new long[indice(MAXIMO) + 1];
+
+    /**
+     * Valores registrados.
+     */
+    private long total;
+
+    /**
+     * Suma de los valores registrados, para la media.
+     */
+    private long suma;
+
+    /**
+     * Mayor valor registrado.
+     */
+    private long mayor;
+
+    /**
+     * Registra un valor.
+     *
+     * @param micros Latencia en microsegundos
+     */
+    void registrar(long micros) {
+        long valor = Math.max(0, Math.min(micros, MAXIMO));
+        casillas[indice(valor)]++;
+        total++;
+        suma += valor;
+        mayor = Math.max(mayor, valor);
+    }
+
+    /**
+     * Añade a este histograma los valores de otro.
+     *
+     * @param otro Histograma que se suma
+     */
+    void sumar(Histograma otro) {
+        for (int i = 0; i < casillas.length; i++) {
+            casillas[i] += otro.casillas[i];
+        }
+        total += otro.total;
+        suma += otro.suma;
+        mayor = Math.max(mayor, otro.mayor);
+    }
+
+    /**
+     * Obtiene el número de valores registrados.
+     *
+     * @return Valores registrados
+     */
+    long getTotal() {
+        return total;
+    }
+
+    /**
+     * Obtiene la media de los valores.
+     *
+     * @return Media en microsegundos, o 0 si está vacío
+     */
+    double getMedia() {
+        return (total == 0) ? 0 : (double) suma / total;
+    }
+
+    /**
+     * Obtiene el mayor valor registrado.
+     *
+     * @return Máximo en microsegundos
+     */
+    long getMaximo() {
+        return mayor;
+    }
+
+    /**
+     * Obtiene el valor por debajo del cual queda un porcentaje de los registros.
+     * Devuelve el extremo superior de la casilla, como HdrHistogram, para no
+     * dar nunca una latencia mejor que la medida.
+     *
+     * @param porcentaje Percentil entre 0 y 100
+     * @return Valor en microsegundos, o 0 si está vacío
+     */
+    long percentil(double porcentaje) {
+        if (total == 0) {
+            return 0;
+        }
+        long objetivo = Math.max(1, (long) Math.ceil(porcentaje / 100.0 * total));
+        long acumulado = 0;
+        for (int i = 0; i < casillas.length; i++) {
+            acumulado += casillas[i];
+            if (acumulado >= objetivo) {
+                return Math.min(superior(i), mayor);
+            }
+        }
+        return mayor;
+    }
+
+    /**
+     * Calcula la casilla de un valor.
+     *
+     * @param valor Valor entre 0 y {@link #MAXIMO}
+     * @return Índice de la casilla
+     */
+    private static int indice(long valor) {
+        if (valor < EXACTOS) {
+            return (int) valor;
+        }
+        // ME QUEDO CON LOS BITS + 1 BITS MÁS ALTOS DEL VALOR
+        int desplazamiento = (63 - Long.numberOfLeadingZeros(valor)) - BITS;
+        return EXACTOS + (desplazamiento - 1) * SUBCASILLAS + (int) ((valor >>> desplazamiento) - SUBCASILLAS);
+    }
+
+    /**
+     * Calcula el mayor valor que cae en una casilla.
+     *
+     * @param indice Índice de la casilla
+     * @return Extremo superior de la casilla
+     */
+    private static long superior(int indice) {
+        if (indice < EXACTOS) {
+            return indice;
+        }
+        int desplazamiento = (indice - EXACTOS) / SUBCASILLAS + 1;
+        long base = (indice - EXACTOS) % SUBCASILLAS + SUBCASILLAS;
+        return ((base + 1) << desplazamiento) - 1;
+    }
+}
@@ -0,0 +1,92 @@
+package es.ubu.baloncesto.carga;
+
+/**
+ * Medidas de una operación: latencia desde el instante en que se debía enviar,
+ * tiempo de servicio desde que se envió de verdad y errores.
+ * La diferencia entre las dos latencias es el tiempo que la petición ha esperado
+ * porque el usuario virtual seguía ocupado con las anteriores, que es justo lo que
+ * se pierde si solo se mide el tiempo de servicio (omisión coordinada).
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+final class Medicion {
+
+    /**
+     * Latencia desde el instante previsto.
+     */
+    private final Histograma latencia = new Histograma();
+
+    /**
+     * Tiempo de servicio desde el envío.
+     */
+    private final Histograma servicio = new Histograma();
+
+    /**
+     * Peticiones fallidas (también cuentan en las latencias).
+     */
+    private long errores;
+
+    /**
+     * Registra una petición.
+     *
+     * @param latenciaNanos Nanosegundos desde el instante previsto hasta la respuesta
+     * @param servicioNanos Nanosegundos desde el envío hasta la respuesta
+     * @param correcta false si la petición ha fallado
+     */
+    void registrar(long latenciaNanos, long servicioNanos, boolean correcta) {
+        latencia.registrar(latenciaNanos / 1_000);
+        servicio.registrar(servicioNanos / 1_000);
+        if (!correcta) {
+            errores++;
+        }
+    }
+
+    /**
+     * Añade a esta medición las peticiones de otra.
+     *
+     * @param otra Medición que se suma
+     */
+    void sumar(Medicion otra) {
+        latencia.sumar(otra.latencia);
+        servicio.sumar(otra.servicio);
+        errores += otra.errores;
+    }
+
+    /**
+     * Obtiene la latencia desde el instante previsto.
+     *
+     * @return Histograma en microsegundos
+     */
+    Histograma getLatencia() {
+        return latencia;
+    }
+
+    /**
+     * Obtiene el tiempo de servicio.
+     *
+     * @return Histograma en microsegundos
+     */
+    Histograma getServicio() {
+        return servicio;
+    }
+
+    /**
+     * Obtiene las peticiones registradas.
+     *
+     * @return Número de peticiones
+     */
+    long getPeticiones() {
+        return latencia.getTotal();
+    }
+
+    /**
+     * Obtiene las peticiones fallidas.
+     *
+     * @return Número de errores
+     */
+    long getErrores() {
+        return errores;
+    }
+}
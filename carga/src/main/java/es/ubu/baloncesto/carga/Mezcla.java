@@ -0,0 +1,116 @@
+package es.ubu.baloncesto.carga;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Proporción de cada operación en la carga, por ejemplo {@code listar:80,guardar:10,resultado:10}.
+ * Los pesos no tienen que sumar 100: cada operación sale con probabilidad peso / suma de pesos.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+final class Mezcla {
+
+    /**
+     * Peso de cada operación.
+     */
+    private final Map<Operacion, Integer> pesos;
+
+    /**
+     * Operaciones con peso, en orden.
+     */
+    private final Operacion[] operaciones;
+
+    /**
+     * Peso acumulado hasta cada operación (incluida).
+     */
+    private final int[] acumulados;
+
+    /**
+     * Constructor con los pesos de cada operación.
+     *
+     * @param pesos Peso de cada operación
+     */
+    private Mezcla(Map<Operacion, Integer> pesos) {
+        this.pesos = pesos;
+        this.operaciones = pesos.keySet().toArray(new Operacion[0]);
+        this.acumulados = new int[operaciones.length];
+        int suma = 0;
+        for (int i = 0; i < operaciones.length; i++) {
+            suma += pesos.get(operaciones[i]);
+            acumulados[i] = suma;
+        }
+    }
+
+    /**
+     * Lee una mezcla escrita como {@code operacion:peso,operacion:peso}.
+     *
+     * @param texto Mezcla
+     * @return Mezcla leída
+     * @throws IllegalArgumentException Si el formato no es válido o ningún peso es positivo
+     */
+    static Mezcla leer(String texto) {
+        Map<Operacion, Integer> pesos = new EnumMap<>(Operacion.class);
+        for (String parte : texto.split(",")) {
+            String[] campos = parte.split(":");
+            if (campos.length != 2) {
+                throw new IllegalArgumentException("Se esperaba operacion:peso y se ha recibido " + parte);
+            }
+            int peso = Integer.parseInt(campos[1].trim());
+            if (peso < 0) {
+                throw new IllegalArgumentException("El peso de " + campos[0] + " no puede ser negativo");
+            }
+            if (peso > 0) {
+                pesos.put(Operacion.deNombre(campos[0]), peso);
+            }
+        }
+        if (pesos.isEmpty()) {
+            throw new IllegalArgumentException("La mezcla no tiene ninguna operación con peso");
+        }
+        return new Mezcla(pesos);
+    }
+
+    /**
+     * Elige una operación al azar según los pesos.
+     *
+     * @param aleatorio Generador del usuario virtual
+     * @return Operación elegida
+     */
+    Operacion elegir(SplittableRandom aleatorio) {
+        int valor = aleatorio.nextInt(acumulados[acumulados.length - 1]);
+        for (int i = 0; i < acumulados.length; i++) {
+            if (valor < acumulados[i]) {
+                return operaciones[i];
+            }
+        }
+        return operaciones[operaciones.length - 1];
+    }
+
+    /**
+     * Indica si la mezcla incluye una operación.
+     *
+     * @param operacion Operación
+     * @return true si tiene peso
+     */
+    boolean incluye(Operacion operacion) {
+        return pesos.containsKey(operacion);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        StringBuilder texto = new StringBuilder();
+        pesos.forEach((operacion, peso) -> {
+            if (texto.length() > 0) {
+                texto.append(',');
+            }
+            texto.append(operacion.getNombre()).append(':').append(peso);
+        });
+        return texto.toString();
+    }
+}
@@ -0,0 +1,81 @@
+package es.ubu.baloncesto.carga;
+
+/**
+ * Operaciones que hace un usuario virtual sobre el frontend.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+enum Operacion {
+
+    /**
+     * Consultar la lista de partidos ({@code GET /partidos}), con ETag como un navegador.
+     */
+    LISTAR("listar", "GET /partidos"),
+
+    /**
+     * Crear un partido ({@code POST /partidos/guardar}).
+     */
+    GUARDAR("guardar", "POST /partidos/guardar"),
+
+    /**
+     * Registrar el resultado de un partido pendiente ({@code POST /partidos/resultado/{id}}).
+     */
+    RESULTADO("resultado", "POST /partidos/resultado/{id}");
+
+    /**
+     * Nombre con el que se indica en la mezcla.
+     */
+    private final String nombre;
+
+    /**
+     * Petición que se hace, para el informe.
+     */
+    private final String peticion;
+
+    /**
+     * Constructor con todos los campos.
+     *
+     * @param nombre Nombre en la mezcla
+     * @param peticion Petición que se hace
+     */
+    Operacion(String nombre, String peticion) {
+        this.nombre = nombre;
+        this.peticion = peticion;
+    }
+
+    /**
+     * Obtiene el nombre con el que se indica en la mezcla.
+     *
+     * @return Nombre de la operación
+     */
+    String getNombre() {
+        return nombre;
+    }
+
+    /**
+     * Obtiene la petición que se hace.
+     *
+     * @return Método y ruta
+     */
+    String getPeticion() {
+        return peticion;
+    }
+
+    /**
+     * Busca una operación por su nombre en la mezcla.
+     *
+     * @param nombre Nombre de la operación
+     * @return Operación
+     * @throws IllegalArgumentException Si no existe
+     */
+    static Operacion deNombre(String nombre) {
+        for (Operacion operacion : values()) {
+            if (operacion.nombre.equalsIgnoreCase(nombre.trim())) {
+                return operacion;
+            }
+        }
+        throw new IllegalArgumentException("Operación desconocida: " + nombre);
+    }
+}
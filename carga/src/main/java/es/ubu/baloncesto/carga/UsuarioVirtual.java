@@ -0,0 +1,427 @@
+package es.ubu.baloncesto.carga;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Usuario virtual: una sesión del frontend (cookie y token CSRF propios, como un navegador)
+ * que envía una petición detrás de otra al ritmo que le toca.
+ * Cada petición tiene un instante previsto; si el usuario va retrasado porque la anterior
+ * ha tardado, la siguiente sale en cuanto puede, pero su latencia se sigue contando desde
+ * el instante previsto. Así un parón del servidor aparece en los percentiles con todo lo
+ * que habría esperado un usuario real, en lugar de ocultarse (omisión coordinada).
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+final class UsuarioVirtual {
+
+    /**
+     * Logger para registrar operaciones.
+     */
+    private static final Logger LOGGER = Logger.getLogger(UsuarioVirtual.class.getName());
+
+    /**
+     * Campo oculto con el token CSRF que Spring Security añade a los formularios.
+     */
+    private static final Pattern CSRF = Pattern.compile("name=\"_csrf\"[^>]*value=\"([^\"]+)\"");
+
+    /**
+     * Opciones de equipo del formulario de nuevo partido.
+     */
+    private static final Pattern EQUIPO = Pattern.compile("<option value=\"(\\d+)\"");
+
+    /**
+     * Enlaces para registrar el resultado de los partidos pendientes.
+     */
+    private static final Pattern PENDIENTE = Pattern.compile("/partidos/resultado/(\\d+)\"");
+
+    /**
+     * Formato del campo fecha del formulario (el de un input datetime-local).
+     */
+    private static final DateTimeFormatter FORMATO_FECHA = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
+
+    /**
+     * Número de este usuario (de 0 a usuarios - 1).
+     */
+    private final int indice;
+
+    /**
+     * Usuarios virtuales en total.
+     */
+    private final int usuarios;
+
+    /**
+     * Configuración de la carga.
+     */
+    private final GeneradorCarga.Configuracion configuracion;
+
+    /**
+     * Generador de este usuario (las operaciones y los datos se repiten con la misma semilla).
+     */
+    private final SplittableRandom aleatorio;
+
+    /**
+     * Cliente HTTP propio, con su cookie de sesión y su conexión.
+     */
+    private final HttpClient cliente;
+
+    /**
+     * Medidas de cada operación.
+     */
+    private final Map<Operacion, Medicion> mediciones = new EnumMap<>(Operacion.class);
+
+    /**
+     * Partidos pendientes de los que este usuario puede registrar el resultado.
+     * Cada usuario solo se queda con los IDs que le tocan para no pisarse con los demás.
+     */
+    private final ArrayDeque<Long> pendientes = new ArrayDeque<>();
+
+    /**
+     * IDs de los equipos que ofrece el formulario.
+     */
+    private List<Long> equipos = List.of();
+
+    /**
+     * Token CSRF de la sesión.
+     */
+    private String csrf;
+
+    /**
+     * ETag de la última lista de partidos recibida.
+     */
+    private String etag;
+
+    /**
+     * Peticiones de la ventana de medida que no se llegaron a enviar porque se acabó el tiempo.
+     */
+    private long noEnviadas;
+
+    /**
+     * Constructor con la posición del usuario y la configuración.
+     *
+     * @param indice Número de este usuario
+     * @param configuracion Configuración de la carga
+     */
+    UsuarioVirtual(int indice, GeneradorCarga.Configuracion configuracion) {
+        this.indice = indice;
+        this.usuarios = configuracion.getUsuarios();
+        this.configuracion = configuracion;
+        this.aleatorio = new SplittableRandom(configuracion.getSemilla() + indice * 0x9E3779B97F4A7C15L);
+        this.cliente = HttpClient.newBuilder()
+                .cookieHandler(new CookieManager())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(configuracion.getTimeout())
+                .build();
+        for (Operacion operacion : Operacion.values()) {
+            mediciones.put(operacion, new Medicion());
+        }
+    }
+
+    /**
+     * Inicia sesión con el formulario de login y prepara el token CSRF y los equipos.
+     *
+     * @throws IOException Si el frontend no responde o rechaza las credenciales
+     * @throws InterruptedException Si se interrumpe la espera
+     */
+    void iniciarSesion() throws IOException, InterruptedException {
+        // EL FORMULARIO DE LOGIN LLEVA SU PROPIO TOKEN CSRF
+        HttpResponse<String> pagina = get("/login", null);
+        if (pagina.statusCode() != 200) {
+            throw new IOException("GET /login ha respondido " + pagina.statusCode());
+        }
+        csrf = extraerCsrf(pagina.body());
+
+        Map<String, String> campos = new LinkedHashMap<>();
+        campos.put("username", configuracion.getUsuario());
+        campos.put("password", configuracion.getClave());
+        HttpResponse<String> login = post("/login", campos);
+        String destino = login.headers().firstValue("Location").orElse("");
+        if (login.statusCode() != 302 || destino.contains("/login")) {
+            throw new IOException("No se ha podido iniciar sesión como " + configuracion.getUsuario());
+        }
+
+        // AL INICIAR SESIÓN SPRING SECURITY CAMBIA EL TOKEN: LO TOMO DEL FORMULARIO DE NUEVO PARTIDO
+        HttpResponse<String> formulario = get("/partidos/nuevo", null);
+        if (formulario.statusCode() != 200) {
+            throw new IOException("GET /partidos/nuevo ha respondido " + formulario.statusCode());
+        }
+        csrf = extraerCsrf(formulario.body());
+        // LOS EQUIPOS APARECEN DOS VECES (LOCAL Y VISITANTE)
+        Set<Long> ids = new LinkedHashSet<>();
+        Matcher opcion = EQUIPO.matcher(formulario.body());
+        while (opcion.find()) {
+            ids.add(Long.parseLong(opcion.group(1)));
+        }
+        equipos = List.copyOf(ids);
+        if (configuracion.getMezcla().incluye(Operacion.GUARDAR) && equipos.size() < 2) {
+            throw new IOException("Hacen falta al menos dos equipos para crear partidos");
+        }
+    }
+
+    /**
+     * Envía peticiones al ritmo de este usuario hasta el final de la prueba.
+     * Solo se registran las previstas a partir del final del calentamiento.
+     *
+     * @param primera Instante previsto (nanoTime) de la primera petición
+     * @param inicioMedida Instante (nanoTime) en que acaba el calentamiento
+     * @param fin Instante (nanoTime) en que acaba la prueba
+     * @param periodo Nanosegundos entre dos peticiones de este usuario
+     */
+    void ejecutar(long primera, long inicioMedida, long fin, long periodo) {
+        long prevista = primera;
+        while (prevista - fin < 0 && System.nanoTime() - fin < 0) {
+            // ESPERO AL INSTANTE PREVISTO; SI VOY RETRASADO, ENVÍO YA
+            long espera;
+            while ((espera = prevista - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(espera);
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+
+            Operacion operacion = configuracion.getMezcla().elegir(aleatorio);
+            if (operacion == Operacion.RESULTADO && pendientes.isEmpty()) {
+                // SIN PARTIDOS PENDIENTES, EL USUARIO VUELVE A LA LISTA PARA BUSCARLOS
+                operacion = Operacion.LISTAR;
+            }
+
+            long envio = System.nanoTime();
+            boolean correcta = ejecutar(operacion);
+            long respuesta = System.nanoTime();
+            if (prevista - inicioMedida >= 0) {
+                mediciones.get(operacion).registrar(respuesta - prevista, respuesta - envio, correcta);
+            }
+            prevista += periodo;
+        }
+
+        // SI EL TIEMPO SE HA ACABADO CON PETICIONES ATRASADAS, LAS CUENTO PARA AVISAR
+        long desde = Math.max(prevista, inicioMedida);
+        if (fin - desde > 0) {
+            noEnviadas = (fin - desde + periodo - 1) / periodo;
+        }
+    }
+
+    /**
+     * Hace una operación y comprueba que el frontend ha respondido lo esperado.
+     *
+     * @param operacion Operación
+     * @return true si ha ido bien
+     */
+    private boolean ejecutar(Operacion operacion) {
+        try {
+            HttpResponse<String> respuesta;
+            boolean correcta;
+            switch (operacion) {
+                case GUARDAR:
+                    respuesta = guardar();
+                    correcta = redirigeA(respuesta, "/partidos");
+                    break;
+                case RESULTADO:
+                    respuesta = registrarResultado();
+                    correcta = redirigeA(respuesta, "/partidos");
+                    break;
+                default:
+                    respuesta = listar();
+                    correcta = respuesta.statusCode() == 200 || respuesta.statusCode() == 304;
+                    break;
+            }
+
+            // SI LA SESIÓN HA CADUCADO O EL TOKEN YA NO VALE, VUELVO A ENTRAR
+            if (respuesta.statusCode() == 403 || redirigeA(respuesta, "/login")) {
+                iniciarSesion();
+            }
+            return correcta;
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Petición fallida: " + operacion.getPeticion(), e);
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Consulta la lista de partidos y se queda con los pendientes que le tocan.
+     *
+     * @return Respuesta del frontend
+     * @throws IOException Si falla la petición
+     * @throws InterruptedException Si se interrumpe la espera
+     */
+    private HttpResponse<String> listar() throws IOException, InterruptedException {
+        HttpResponse<String> respuesta = get("/partidos", etag);
+        if (respuesta.statusCode() == 200) {
+            etag = respuesta.headers().firstValue("ETag").orElse(null);
+            pendientes.clear();
+            Matcher enlace = PENDIENTE.matcher(respuesta.body());
+            while (enlace.find()) {
+                long id = Long.parseLong(enlace.group(1));
+                if (id % usuarios == indice) {
+                    pendientes.add(id);
+                }
+            }
+        }
+        return respuesta;
+    }
+
+    /**
+     * Crea un partido entre dos equipos distintos en una fecha de los próximos meses.
+     *
+     * @return Respuesta del frontend
+     * @throws IOException Si falla la petición
+     * @throws InterruptedException Si se interrumpe la espera
+     */
+    private HttpResponse<String> guardar() throws IOException, InterruptedException {
+        int local = aleatorio.nextInt(equipos.size());
+        int visitante = (local + 1 + aleatorio.nextInt(equipos.size() - 1)) % equipos.size();
+        LocalDateTime fecha = LocalDateTime.now().plusDays(1 + aleatorio.nextInt(180))
+                .withHour(18 + aleatorio.nextInt(4)).withMinute(aleatorio.nextBoolean() ? 0 : 30);
+
+        Map<String, String> campos = new LinkedHashMap<>();
+        campos.put("equipoLocalId", String.valueOf(equipos.get(local)));
+        campos.put("equipoVisitanteId", String.valueOf(equipos.get(visitante)));
+        campos.put("fecha", fecha.format(FORMATO_FECHA));
+        return post("/partidos/guardar", campos);
+    }
+
+    /**
+     * Registra el resultado de uno de los partidos pendientes de este usuario.
+     *
+     * @return Respuesta del frontend
+     * @throws IOException Si falla la petición
+     * @throws InterruptedException Si se interrumpe la espera
+     */
+    private HttpResponse<String> registrarResultado() throws IOException, InterruptedException {
+        long id = pendientes.poll();
+        int puntosLocal = 60 + aleatorio.nextInt(60);
+        int puntosVisitante = 60 + aleatorio.nextInt(60);
+
+        Map<String, String> campos = new LinkedHashMap<>();
+        campos.put("puntosLocal", String.valueOf(puntosLocal));
+        campos.put("puntosVisitante", String.valueOf(puntosVisitante));
+        return post("/partidos/resultado/" + id, campos);
+    }
+
+    /**
+     * Hace una petición GET.
+     *
+     * @param ruta Ruta del frontend
+     * @param etag ETag que ya se tiene, o null
+     * @return Respuesta
+     * @throws IOException Si falla la petición
+     * @throws InterruptedException Si se interrumpe la espera
+     */
+    private HttpResponse<String> get(String ruta, String etag) throws IOException, InterruptedException {
+        HttpRequest.Builder peticion = HttpRequest.newBuilder(uri(ruta)).timeout(configuracion.getTimeout()).GET();
+        if (etag != null) {
+            peticion.header("If-None-Match", etag);
+        }
+        return cliente.send(peticion.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * Envía un formulario con el token CSRF de la sesión.
+     *
+     * @param ruta Ruta del frontend
+     * @param campos Campos del formulario
+     * @return Respuesta
+     * @throws IOException Si falla la petición
+     * @throws InterruptedException Si se interrumpe la espera
+     */
+    private HttpResponse<String> post(String ruta, Map<String, String> campos) throws IOException, InterruptedException {
+        StringBuilder cuerpo = new StringBuilder();
+        for (Map.Entry<String, String> campo : campos.entrySet()) {
+            cuerpo.append(URLEncoder.encode(campo.getKey(), StandardCharsets.UTF_8)).append('=')
+                    .append(URLEncoder.encode(campo.getValue(), StandardCharsets.UTF_8)).append('&');
+        }
+        cuerpo.append("_csrf=").append(URLEncoder.encode(csrf, StandardCharsets.UTF_8));
+
+        HttpRequest peticion = HttpRequest.newBuilder(uri(ruta))
+                .timeout(configuracion.getTimeout())
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(cuerpo.toString()))
+                .build();
+        return cliente.send(peticion, HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * Construye la URI de una ruta del frontend.
+     *
+     * @param ruta Ruta que empieza por /
+     * @return URI completa
+     */
+    private URI uri(String ruta) {
+        return URI.create(configuracion.getUrl() + ruta);
+    }
+
+    /**
+     * Comprueba si una respuesta redirige a una ruta.
+     *
+     * @param respuesta Respuesta
+     * @param ruta Ruta esperada (sin parámetros)
+     * @return true si es una redirección a esa ruta
+     */
+    private static boolean redirigeA(HttpResponse<String> respuesta, String ruta) {
+        if (respuesta.statusCode() != 302 && respuesta.statusCode() != 303) {
+            return false;
+        }
+        String destino = respuesta.headers().firstValue("Location").orElse("");
+        int parametros = destino.indexOf('?');
+        return (parametros >= 0 ? destino.substring(0, parametros) : destino).endsWith(ruta);
+    }
+
+    /**
+     * Extrae el token CSRF de una página.
+     *
+     * @param html Página
+     * @return Token
+     * @throws IOException Si la página no tiene formulario con token
+     */
+    private static String extraerCsrf(String html) throws IOException {
+        Matcher campo = CSRF.matcher(html);
+        if (!campo.find()) {
+            throw new IOException("La página no contiene el token CSRF");
+        }
+        return campo.group(1);
+    }
+
+    /**
+     * Obtiene las medidas de cada operación.
+     *
+     * @return Medidas por operación
+     */
+    Map<Operacion, Medicion> getMediciones() {
+        return mediciones;
+    }
+
+    /**
+     * Obtiene las peticiones que no se llegaron a enviar.
+     *
+     * @return Peticiones atrasadas al acabar la prueba
+     */
+    long getNoEnviadas() {
+        return noEnviadas;
+    }
+}
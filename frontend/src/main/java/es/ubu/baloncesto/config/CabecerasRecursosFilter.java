@@ -0,0 +1,69 @@
+package es.ubu.baloncesto.config;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.util.regex.Pattern;
+
+/**
+ * Filtro que ajusta las cabeceras de caché de los recursos estáticos.
+ * Las URLs con el hash del contenido no cambian nunca, así que se marcan como inmutables;
+ * las que no lo llevan (enlaces escritos a mano) se revalidan en cada visita para que
+ * un despliegue nuevo se vea al momento.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+public class CabecerasRecursosFilter extends OncePerRequestFilter {
+
+    /**
+     * Nombre de fichero con el hash MD5 del contenido (por ejemplo styles-0a1b...9f.css).
+     */
+    private static final Pattern CON_HASH = Pattern.compile(".*-[0-9a-f]{32}\\.[a-z0-9]+$");
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean versionado = CON_HASH.matcher(request.getRequestURI()).matches();
+
+        // ESTOS RECURSOS NO PASAN POR SPRING SECURITY, ASÍ QUE PONGO YO ESTA CABECERA
+        response.setHeader("X-Content-Type-Options", "nosniff");
+
+        chain.doFilter(request, new HttpServletResponseWrapper(response) {
+            @Override
+            public void setHeader(String name, String value) {
+                super.setHeader(name, ajustar(name, value, versionado));
+            }
+
+            @Override
+            public void addHeader(String name, String value) {
+                super.addHeader(name, ajustar(name, value, versionado));
+            }
+        });
+    }
+
+    /**
+     * Ajusta el valor de Cache-Control según la URL esté versionada o no.
+     *
+     * @param name Nombre de la cabecera
+     * @param value Valor propuesto
+     * @param versionado true si la URL lleva el hash del contenido
+     * @return Valor definitivo
+     */
+    private static String ajustar(String name, String value, boolean versionado) {
+        if (!HttpHeaders.CACHE_CONTROL.equalsIgnoreCase(name)) {
+            return value;
+        }
+        return versionado ? value + ", immutable" : "no-cache";
+    }
+}
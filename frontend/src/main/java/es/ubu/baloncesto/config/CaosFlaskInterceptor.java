@@ -0,0 +1,448 @@
+package es.ubu.baloncesto.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Interceptor del modo caos: inyecta latencia, respuestas de error, conexiones reiniciadas
+ * y cuerpos lentos en las llamadas a la API Flask, según reglas por ruta.
+ * Sirve para medir cómo se comportan los respaldos locales, los reintentos, la cobertura
+ * y las cachés con la API degradada sin tocar Flask. Va detrás del de reintentos,
+ * así que cada intento sortea sus fallos por separado.
+ * Cada llamada usa un generador derivado de la semilla y de su número de orden, de modo que
+ * la misma secuencia de llamadas recibe siempre los mismos fallos.
+ * Los tiempos de espera se respetan como con una API lenta de verdad: si la latencia o
+ * una pausa del cuerpo superan la espera de lectura o el plazo de la petición, la llamada
+ * falla con un tiempo de espera agotado.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+public class CaosFlaskInterceptor implements ClientHttpRequestInterceptor {
+
+    /**
+     * Logger para registrar operaciones.
+     */
+    private static final Logger LOGGER = Logger.getLogger(CaosFlaskInterceptor.class.getName());
+
+    /**
+     * Constante para separar los generadores de llamadas consecutivas.
+     */
+    private static final long SALTO = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Bytes que entrega cada lectura de un cuerpo lento.
+     */
+    private static final int TROZO = 512;
+
+    /**
+     * Reglas en orden (se aplica la primera que encaje).
+     */
+    private final List<ReglaCaos> reglas;
+
+    /**
+     * Semilla de los sorteos.
+     */
+    private final long semilla;
+
+    /**
+     * Milisegundos de espera de respuesta en las lecturas (GET) del cliente.
+     */
+    private final int lecturaMs;
+
+    /**
+     * Milisegundos de espera de respuesta en las escrituras del cliente.
+     */
+    private final int escrituraMs;
+
+    /**
+     * Llamadas vistas (da el número de orden de cada una).
+     */
+    private final AtomicLong llamadas = new AtomicLong();
+
+    /**
+     * Llamadas a las que se ha añadido latencia.
+     */
+    private final AtomicLong latencias = new AtomicLong();
+
+    /**
+     * Respuestas de error inyectadas.
+     */
+    private final AtomicLong errores = new AtomicLong();
+
+    /**
+     * Conexiones reiniciadas.
+     */
+    private final AtomicLong resets = new AtomicLong();
+
+    /**
+     * Respuestas con el cuerpo lento.
+     */
+    private final AtomicLong lentas = new AtomicLong();
+
+    /**
+     * Llamadas que han agotado la espera por culpa de lo inyectado.
+     */
+    private final AtomicLong esperasAgotadas = new AtomicLong();
+
+    /**
+     * Constructor con las reglas y las esperas del cliente al que se añade.
+     *
+     * @param reglas Reglas del modo caos
+     * @param semilla Semilla de los sorteos
+     * @param lecturaMs Milisegundos de espera en las lecturas
+     * @param escrituraMs Milisegundos de espera en las escrituras
+     */
+    CaosFlaskInterceptor(List<ReglaCaos> reglas, long semilla, int lecturaMs, int escrituraMs) {
+        this.reglas = List.copyOf(reglas);
+        this.semilla = semilla;
+        this.lecturaMs = lecturaMs;
+        this.escrituraMs = escrituraMs;
+        LOGGER.warning("Modo caos activo en las llamadas a la API Flask con las reglas " + this.reglas);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        ReglaCaos regla = buscar(request);
+        if (regla == null) {
+            return execution.execute(request, body);
+        }
+        SplittableRandom aleatorio = new SplittableRandom(semilla + llamadas.getAndIncrement() * SALTO);
+        long esperaMs = Math.min(request.getMethod() == HttpMethod.GET ? lecturaMs : escrituraMs,
+                PlazoPeticion.getRestanteMs());
+
+        // LA LATENCIA VA ANTES DE LA RESPUESTA: SI NO CABE EN LA ESPERA, LA LLAMADA CADUCA
+        long latenciaMs = regla.latenciaMs(aleatorio);
+        if (latenciaMs > 0) {
+            latencias.incrementAndGet();
+            dormir(Math.min(latenciaMs, esperaMs));
+            if (latenciaMs >= esperaMs) {
+                esperasAgotadas.incrementAndGet();
+                throw new SocketTimeoutException("Read timed out (caos en " + regla + ")");
+            }
+        }
+
+        int fallo = regla.fallo(aleatorio);
+        if (fallo < 0) {
+            resets.incrementAndGet();
+            throw new SocketException("Connection reset (caos en " + regla + ")");
+        }
+        if (fallo > 0) {
+            errores.incrementAndGet();
+            return new RespuestaSimulada(fallo);
+        }
+
+        long lentoMs = regla.lentoMs(aleatorio);
+        ClientHttpResponse respuesta = execution.execute(request, body);
+        if (lentoMs > 0) {
+            lentas.incrementAndGet();
+            return new RespuestaLenta(respuesta, lentoMs, esperaMs);
+        }
+        return respuesta;
+    }
+
+    /**
+     * Busca la primera regla que se aplica a una llamada.
+     *
+     * @param request Petición
+     * @return Regla, o null si ninguna encaja
+     */
+    private ReglaCaos buscar(HttpRequest request) {
+        for (ReglaCaos regla : reglas) {
+            if (regla.aplica(request)) {
+                return regla;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Duerme el hilo de la llamada.
+     *
+     * @param ms Milisegundos
+     * @throws InterruptedIOException Si se interrumpe la espera
+     */
+    private static void dormir(long ms) throws InterruptedIOException {
+        if (ms <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Espera del modo caos interrumpida");
+        }
+    }
+
+    /**
+     * Publica los contadores en el registro de métricas, con la etiqueta del cliente.
+     *
+     * @param registro Registro de métricas
+     * @param cliente Nombre del cliente (flask o pokemon)
+     */
+    public void registrarMetricas(MeterRegistry registro, String cliente) {
+        contador(registro, cliente, "latencia", latencias);
+        contador(registro, cliente, "error", errores);
+        contador(registro, cliente, "reset", resets);
+        contador(registro, cliente, "lento", lentas);
+        contador(registro, cliente, "espera-agotada", esperasAgotadas);
+    }
+
+    /**
+     * Publica un contador de fallos inyectados.
+     *
+     * @param registro Registro de métricas
+     * @param cliente Nombre del cliente
+     * @param tipo Tipo de fallo
+     * @param valor Contador
+     */
+    private static void contador(MeterRegistry registro, String cliente, String tipo, AtomicLong valor) {
+        FunctionCounter.builder("baloncesto.flask.caos", valor, AtomicLong::get)
+                .description("Fallos inyectados por el modo caos en las llamadas a la API Flask")
+                .tag("cliente", cliente).tag("tipo", tipo).register(registro);
+    }
+
+    /**
+     * Respuesta de error generada sin llamar a Flask, con un cuerpo JSON como los suyos.
+     */
+    private static final class RespuestaSimulada implements ClientHttpResponse {
+
+        /**
+         * Código HTTP.
+         */
+        private final int estado;
+
+        /**
+         * Cuerpo de la respuesta.
+         */
+        private final byte[] cuerpo;
+
+        /**
+         * Constructor con el código HTTP.
+         *
+         * @param estado Código HTTP
+         */
+        RespuestaSimulada(int estado) {
+            this.estado = estado;
+            this.cuerpo = ("{\"error\": \"Fallo simulado (" + estado + ")\"}").getBytes(StandardCharsets.UTF_8);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public HttpStatus getStatusCode() {
+            return HttpStatus.valueOf(estado);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int getRawStatusCode() {
+            return estado;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String getStatusText() {
+            HttpStatus conocido = HttpStatus.resolve(estado);
+            return (conocido != null) ? conocido.getReasonPhrase() : "";
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public HttpHeaders getHeaders() {
+            HttpHeaders cabeceras = new HttpHeaders();
+            cabeceras.setContentType(MediaType.APPLICATION_JSON);
+            cabeceras.setContentLength(cuerpo.length);
+            return cabeceras;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(cuerpo);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void close() {
+            // NO HAY CONEXIÓN QUE CERRAR
+        }
+    }
+
+    /**
+     * Respuesta real cuyo cuerpo se entrega a trozos, repartiendo una pausa total entre ellos.
+     */
+    private final class RespuestaLenta implements ClientHttpResponse {
+
+        /**
+         * Respuesta real.
+         */
+        private final ClientHttpResponse respuesta;
+
+        /**
+         * Milisegundos que tarda en llegar el cuerpo completo.
+         */
+        private final long totalMs;
+
+        /**
+         * Milisegundos que se espera como mucho a cada trozo.
+         */
+        private final long esperaMs;
+
+        /**
+         * Cuerpo lento (se crea la primera vez que se pide).
+         */
+        private InputStream cuerpo;
+
+        /**
+         * Constructor con la respuesta real y los tiempos.
+         *
+         * @param respuesta Respuesta real
+         * @param totalMs Milisegundos que tarda el cuerpo completo
+         * @param esperaMs Milisegundos que se espera como mucho a cada trozo
+         */
+        RespuestaLenta(ClientHttpResponse respuesta, long totalMs, long esperaMs) {
+            this.respuesta = respuesta;
+            this.totalMs = totalMs;
+            this.esperaMs = esperaMs;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public HttpStatus getStatusCode() throws IOException {
+            return respuesta.getStatusCode();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int getRawStatusCode() throws IOException {
+            return respuesta.getRawStatusCode();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String getStatusText() throws IOException {
+            return respuesta.getStatusText();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public HttpHeaders getHeaders() {
+            return respuesta.getHeaders();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public InputStream getBody() throws IOException {
+            if (cuerpo == null) {
+                // REPARTO LA PAUSA ENTRE LOS TROZOS; SIN LONGITUD CONOCIDA, TODA ANTES DEL PRIMERO
+                long longitud = respuesta.getHeaders().getContentLength();
+                long trozos = (longitud > 0) ? (longitud + TROZO - 1) / TROZO : 1;
+                cuerpo = new CuerpoLento(respuesta.getBody(), Math.max(1, totalMs / trozos));
+            }
+            return cuerpo;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void close() {
+            respuesta.close();
+        }
+
+        /**
+         * Flujo que hace una pausa antes de cada trozo, como una red lenta.
+         */
+        private final class CuerpoLento extends FilterInputStream {
+
+            /**
+             * Pausa antes de cada trozo, en milisegundos.
+             */
+            private final long pausaMs;
+
+            /**
+             * Constructor con el flujo real y la pausa.
+             *
+             * @param entrada Flujo real
+             * @param pausaMs Pausa antes de cada trozo
+             */
+            CuerpoLento(InputStream entrada, long pausaMs) {
+                super(entrada);
+                this.pausaMs = pausaMs;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public int read() throws IOException {
+                byte[] uno = new byte[1];
+                int leidos = read(uno, 0, 1);
+                return (leidos < 0) ? -1 : (uno[0] & 0xFF);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public int read(byte[] destino, int desde, int cuantos) throws IOException {
+                // CADA PAUSA CUENTA COMO LA ESPERA DE UNA LECTURA DEL SOCKET
+                long limiteMs = Math.min(esperaMs, PlazoPeticion.getRestanteMs());
+                dormir(Math.min(pausaMs, limiteMs));
+                if (pausaMs >= limiteMs) {
+                    esperasAgotadas.incrementAndGet();
+                    throw new SocketTimeoutException("Read timed out (caos, cuerpo lento)");
+                }
+                return super.read(destino, desde, Math.min(cuantos, TROZO));
+            }
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package es.ubu.baloncesto.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Configuración de los clientes HTTP de la API Flask.
+ * Todos los servicios comparten el mismo cliente, con tiempos de espera por operación,
+ * sujetos al plazo de la petición en curso y con reintentos de las lecturas.
+ * Se crean con el RestTemplateBuilder de Spring Boot para que sus llamadas queden
+ * medidas en la métrica http.client.requests. Con el modo caos activo se les añade
+ * además el interceptor que inyecta fallos, solo para pruebas de rendimiento.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+@Configuration
+public class ClienteFlaskConfig {
+
+    /**
+     * Interceptor de los eventos de Flight Recorder (sin estado, lo comparten los dos clientes).
+     */
+    private static final LlamadasFlaskJfrInterceptor LLAMADAS_JFR = new LlamadasFlaskJfrInterceptor();
+
+    /**
+     * Milisegundos para conectar con la API Flask.
+     */
+    @Value("${flask.timeout.conexion-ms:1000}")
+    private int conexionMs;
+
+    /**
+     * Milisegundos de espera de respuesta en las lecturas.
+     */
+    @Value("${flask.timeout.lectura-ms:3000}")
+    private int lecturaMs;
+
+    /**
+     * Milisegundos de espera de respuesta en las escrituras.
+     */
+    @Value("${flask.timeout.escritura-ms:5000}")
+    private int escrituraMs;
+
+    /**
+     * Milisegundos de espera en las consultas de Pokémon (Flask llama a su vez a una API externa).
+     */
+    @Value("${flask.timeout.pokemon-ms:8000}")
+    private int pokemonMs;
+
+    /**
+     * Milisegundos mínimos que tienen que quedar del plazo para intentar una llamada.
+     */
+    @Value("${flask.plazo-minimo-ms:50}")
+    private long minimoMs;
+
+    /**
+     * Plazo total de cada petición.
+     */
+    @Value("${flask.plazo-peticion-ms:10000}")
+    private long plazoPeticionMs;
+
+    /**
+     * Intentos como máximo de cada lectura, contando el primero.
+     */
+    @Value("${flask.reintentos.max-intentos:3}")
+    private int maxIntentos;
+
+    /**
+     * Espera base antes del primer reintento.
+     */
+    @Value("${flask.reintentos.espera-base-ms:100}")
+    private long esperaBaseMs;
+
+    /**
+     * Espera máxima entre intentos.
+     */
+    @Value("${flask.reintentos.espera-maxima-ms:1000}")
+    private long esperaMaximaMs;
+
+    /**
+     * Códigos HTTP que se reintentan.
+     */
+    @Value("${flask.reintentos.estados:429,502,503,504}")
+    private Set<Integer> estadosReintentables;
+
+    /**
+     * Reintentos permitidos por cada petición correcta.
+     */
+    @Value("${flask.reintentos.proporcion:0.1}")
+    private double proporcionReintentos;
+
+    /**
+     * Reintentos que se pueden acumular como máximo.
+     */
+    @Value("${flask.reintentos.maximo:10}")
+    private int maximoReintentos;
+
+    /**
+     * Si se inyectan fallos en las llamadas a la API Flask (nunca en producción).
+     */
+    @Value("${flask.caos.activo:false}")
+    private boolean caosActivo;
+
+    /**
+     * Reglas del modo caos, separadas por punto y coma (ver {@link ReglaCaos}).
+     */
+    @Value("${flask.caos.reglas:}")
+    private String reglasCaos;
+
+    /**
+     * Semilla de los sorteos del modo caos.
+     */
+    @Value("${flask.caos.semilla:42}")
+    private long semillaCaos;
+
+    /**
+     * Política de reintentos de las lecturas, con un presupuesto común a los dos clientes.
+     *
+     * @param meterRegistry Registro de métricas
+     * @return Interceptor de reintentos
+     */
+    @Bean
+    public ReintentosFlaskInterceptor reintentosFlask(MeterRegistry meterRegistry) {
+        ReintentosFlaskInterceptor reintentos = new ReintentosFlaskInterceptor(maxIntentos, esperaBaseMs, esperaMaximaMs,
+                estadosReintentables, proporcionReintentos, maximoReintentos);
+        reintentos.registrarMetricas(meterRegistry);
+        return reintentos;
+    }
+
+    /**
+     * Cliente de la API Flask para los servicios de partidos y equipos.
+     *
+     * @param builder Constructor de clientes de Spring Boot
+     * @param reintentosFlask Política de reintentos de las lecturas
+     * @param meterRegistry Registro de métricas (para los fallos del modo caos)
+     * @return Cliente HTTP
+     */
+    @Bean
+    public RestTemplate clienteFlask(RestTemplateBuilder builder, ReintentosFlaskInterceptor reintentosFlask,
+                                     MeterRegistry meterRegistry) {
+        return builder
+                .requestFactory(() -> new FabricaPeticionesFlask(conexionMs, lecturaMs, escrituraMs, minimoMs))
+                .additionalInterceptors(interceptores(reintentosFlask, "flask", lecturaMs, escrituraMs, meterRegistry))
+                .build();
+    }
+
+    /**
+     * Cliente de la API Flask para las consultas de Pokémon.
+     *
+     * @param builder Constructor de clientes de Spring Boot
+     * @param reintentosFlask Política de reintentos de las lecturas
+     * @param meterRegistry Registro de métricas (para los fallos del modo caos)
+     * @return Cliente HTTP
+     */
+    @Bean
+    public RestTemplate clientePokemon(RestTemplateBuilder builder, ReintentosFlaskInterceptor reintentosFlask,
+                                       MeterRegistry meterRegistry) {
+        return builder
+                .requestFactory(() -> new FabricaPeticionesFlask(conexionMs, pokemonMs, pokemonMs, minimoMs))
+                .additionalInterceptors(interceptores(reintentosFlask, "pokemon", pokemonMs, pokemonMs, meterRegistry))
+                .build();
+    }
+
+    /**
+     * Monta la cadena de interceptores de un cliente: reintentos, modo caos (si está activo)
+     * y eventos de Flight Recorder. El caos va detrás de los reintentos para que cada intento
+     * sortee sus fallos, y delante de los eventos para que estos solo registren llamadas reales.
+     *
+     * @param reintentosFlask Política de reintentos de las lecturas
+     * @param cliente Nombre del cliente (etiqueta de las métricas del modo caos)
+     * @param lecturaMs Espera de las lecturas del cliente
+     * @param escrituraMs Espera de las escrituras del cliente
+     * @param meterRegistry Registro de métricas
+     * @return Interceptores en orden
+     */
+    private List<ClientHttpRequestInterceptor> interceptores(ReintentosFlaskInterceptor reintentosFlask, String cliente,
+                                                             int lecturaMs, int escrituraMs, MeterRegistry meterRegistry) {
+        List<ClientHttpRequestInterceptor> interceptores = new ArrayList<>();
+        interceptores.add(reintentosFlask);
+        if (caosActivo) {
+            CaosFlaskInterceptor caos = new CaosFlaskInterceptor(ReglaCaos.leer(reglasCaos), semillaCaos, lecturaMs, escrituraMs);
+            caos.registrarMetricas(meterRegistry, cliente);
+            interceptores.add(caos);
+        }
+        interceptores.add(LLAMADAS_JFR);
+        return interceptores;
+    }
+
+    /**
+     * Registra el filtro que pone en marcha el plazo de cada petición.
+     *
+     * @return Registro del filtro
+     */
+    @Bean
+    public FilterRegistrationBean<PlazoPeticionFilter> plazoPeticionFilter() {
+        FilterRegistrationBean<PlazoPeticionFilter> registro = new FilterRegistrationBean<>(new PlazoPeticionFilter(plazoPeticionMs));
+        registro.addUrlPatterns("/*");
+        registro.setName("plazoPeticionFilter");
+        return registro;
+    }
+}
@@ -0,0 +1,267 @@
+package es.ubu.baloncesto.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpSession;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compartimento estanco de una clase de prioridad: cuántas peticiones de la clase se atienden
+ * a la vez, cuántas pueden esperar turno y durante cuánto tiempo.
+ * Los huecos se reservan para su clase; solo las clases de más prioridad pueden usar
+ * los que estén libres, y nunca esperan por ellos.
+ * Una clase puede ser solo para usuarios con sesión iniciada: como el filtro va delante de
+ * Spring Security, la sesión se comprueba aquí, y las peticiones sin ella no entran en la clase
+ * (la seguridad las rechaza después sin llegar a Flask).
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+final class Compartimento {
+
+    /**
+     * Nombre de la clase (etiqueta de las métricas).
+     */
+    private final String nombre;
+
+    /**
+     * Rutas de la clase.
+     */
+    private final RutasPeticion rutas;
+
+    /**
+     * Si solo entran las peticiones con una sesión autenticada.
+     */
+    private final boolean soloAutenticadas;
+
+    /**
+     * Peticiones que se atienden a la vez.
+     */
+    private final int capacidad;
+
+    /**
+     * Peticiones que pueden esperar turno a la vez.
+     */
+    private final int maximoCola;
+
+    /**
+     * Espera máxima de turno, en nanosegundos.
+     */
+    private final long esperaMaximaNanos;
+
+    /**
+     * Huecos libres (en orden de llegada para que nadie espere más de la cuenta).
+     */
+    private final Semaphore huecos;
+
+    /**
+     * Peticiones esperando turno.
+     */
+    private final AtomicInteger enCola = new AtomicInteger();
+
+    /**
+     * Peticiones de la clase atendidas.
+     */
+    private final AtomicLong admitidas = new AtomicLong();
+
+    /**
+     * Huecos de esta clase usados por clases de más prioridad.
+     */
+    private final AtomicLong prestados = new AtomicLong();
+
+    /**
+     * Peticiones rechazadas por cola llena o espera agotada.
+     */
+    private final AtomicLong rechazadas = new AtomicLong();
+
+    /**
+     * Tiempo de espera de turno de las peticiones admitidas.
+     */
+    private final Timer espera;
+
+    /**
+     * Constructor con la configuración de la clase.
+     *
+     * @param nombre Nombre de la clase
+     * @param rutas Rutas de la clase
+     * @param soloAutenticadas Si solo entran las peticiones con una sesión autenticada
+     * @param capacidad Peticiones que se atienden a la vez
+     * @param maximoCola Peticiones que pueden esperar turno
+     * @param esperaMaximaMs Espera máxima de turno
+     * @param registro Registro de métricas
+     */
+    Compartimento(String nombre, RutasPeticion rutas, boolean soloAutenticadas, int capacidad, int maximoCola,
+                  long esperaMaximaMs, MeterRegistry registro) {
+        if (capacidad < 1 || maximoCola < 0 || esperaMaximaMs < 0) {
+            throw new IllegalArgumentException("Configuración no válida de la clase de prioridad " + nombre);
+        }
+        this.nombre = nombre;
+        this.rutas = rutas;
+        this.soloAutenticadas = soloAutenticadas;
+        this.capacidad = capacidad;
+        this.maximoCola = maximoCola;
+        this.esperaMaximaNanos = TimeUnit.MILLISECONDS.toNanos(esperaMaximaMs);
+        this.huecos = new Semaphore(capacidad, true);
+
+        // PUBLICO EL ESTADO DE LA CLASE CON SU NOMBRE COMO ETIQUETA
+        this.espera = Timer.builder("baloncesto.prioridad.espera")
+                .description("Espera de turno de las peticiones admitidas").tag("clase", nombre).register(registro);
+        Gauge.builder("baloncesto.prioridad.cola", enCola, AtomicInteger::get)
+                .description("Peticiones esperando turno").tag("clase", nombre).register(registro);
+        Gauge.builder("baloncesto.prioridad.en-uso", this, Compartimento::getEnUso)
+                .description("Huecos ocupados").tag("clase", nombre).register(registro);
+        FunctionCounter.builder("baloncesto.prioridad.rechazadas", rechazadas, AtomicLong::get)
+                .description("Peticiones rechazadas con 503 por falta de turno").tag("clase", nombre).register(registro);
+    }
+
+    /**
+     * Comprueba si una petición es de esta clase.
+     *
+     * @param request Petición
+     * @return true si encaja en alguna de sus rutas (y tiene sesión autenticada, si la clase la pide)
+     */
+    boolean encaja(HttpServletRequest request) {
+        return rutas.encaja(request) && (!soloAutenticadas || conSesionAutenticada(request));
+    }
+
+    /**
+     * Comprueba si la petición trae una sesión en la que ya se ha iniciado sesión.
+     * Es lo mismo que lee Spring Security al empezar su cadena, sin crear la sesión si no existe.
+     *
+     * @param request Petición
+     * @return true si la sesión tiene un usuario autenticado que no es anónimo
+     */
+    private static boolean conSesionAutenticada(HttpServletRequest request) {
+        HttpSession sesion = request.getSession(false);
+        if (sesion == null) {
+            return false;
+        }
+        Object contexto = sesion.getAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY);
+        if (!(contexto instanceof SecurityContext)) {
+            return false;
+        }
+        Authentication usuario = ((SecurityContext) contexto).getAuthentication();
+        return usuario != null && usuario.isAuthenticated() && !(usuario instanceof AnonymousAuthenticationToken);
+    }
+
+    /**
+     * Ocupa un hueco propio si hay alguno libre y nadie de la clase está esperando, sin esperar.
+     *
+     * @return true si se ha ocupado (hay que llamar después a {@link #soltar()})
+     * @throws InterruptedException Si se interrumpe el hilo
+     */
+    boolean tomar() throws InterruptedException {
+        // CON PLAZO 0 EL SEMÁFORO RESPETA EL ORDEN: NO ME COLO DELANTE DE LOS QUE ESPERAN
+        if (huecos.tryAcquire(0, TimeUnit.NANOSECONDS)) {
+            admitidas.incrementAndGet();
+            espera.record(0, TimeUnit.NANOSECONDS);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Presta un hueco libre a una clase de más prioridad, sin esperar.
+     *
+     * @return true si se ha prestado (hay que llamar después a {@link #soltar()})
+     */
+    boolean prestar() {
+        // SIN PLAZO EL SEMÁFORO NO RESPETA EL ORDEN: LA CLASE DE MÁS PRIORIDAD PASA DELANTE DE LA COLA DE ESTA
+        if (huecos.tryAcquire()) {
+            prestados.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Anota una petición de la clase atendida con un hueco prestado por otra.
+     */
+    void anotarPrestamo() {
+        admitidas.incrementAndGet();
+        espera.record(0, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Espera turno en la cola de la clase.
+     *
+     * @return true si se ha ocupado un hueco, false si la cola está llena o se agota la espera
+     * @throws InterruptedException Si se interrumpe la espera
+     */
+    boolean esperar() throws InterruptedException {
+        if (enCola.incrementAndGet() > maximoCola) {
+            enCola.decrementAndGet();
+            rechazadas.incrementAndGet();
+            return false;
+        }
+        long inicio = System.nanoTime();
+        try {
+            if (huecos.tryAcquire(esperaMaximaNanos, TimeUnit.NANOSECONDS)) {
+                admitidas.incrementAndGet();
+                espera.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+                return true;
+            }
+            rechazadas.incrementAndGet();
+            return false;
+        } finally {
+            enCola.decrementAndGet();
+        }
+    }
+
+    /**
+     * Libera un hueco ocupado con {@link #tomar()}, {@link #prestar()} o {@link #esperar()}.
+     */
+    void soltar() {
+        huecos.release();
+    }
+
+    /**
+     * Obtiene el nombre de la clase.
+     *
+     * @return Nombre
+     */
+    String getNombre() {
+        return nombre;
+    }
+
+    /**
+     * Obtiene los huecos ocupados (por la clase o prestados).
+     *
+     * @return Huecos ocupados
+     */
+    int getEnUso() {
+        return capacidad - huecos.availablePermits();
+    }
+
+    /**
+     * Obtiene las estadísticas de la clase.
+     *
+     * @return Capacidad, huecos ocupados, cola, admitidas, prestados, rechazadas y espera de turno en milisegundos
+     */
+    Map<String, Object> getEstadisticas() {
+        Map<String, Object> estadisticas = new LinkedHashMap<>();
+        estadisticas.put("capacidad", capacidad);
+        estadisticas.put("enUso", getEnUso());
+        estadisticas.put("enCola", enCola.get());
+        estadisticas.put("admitidas", admitidas.get());
+        estadisticas.put("prestados", prestados.get());
+        estadisticas.put("rechazadas", rechazadas.get());
+        estadisticas.put("esperaMediaMs", espera.mean(TimeUnit.MILLISECONDS));
+        estadisticas.put("esperaMaximaMs", espera.max(TimeUnit.MILLISECONDS));
+        return estadisticas;
+    }
+}
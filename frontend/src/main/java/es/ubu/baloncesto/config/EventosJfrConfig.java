@@ -0,0 +1,29 @@
+package es.ubu.baloncesto.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuración de los eventos de Flight Recorder de la aplicación.
+ * Los eventos están desactivados por defecto; para grabarlos se usa el perfil
+ * {@code frontend/jfr/baloncesto.jfc}, que explica cómo arrancar la grabación.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+@Configuration
+public class EventosJfrConfig implements WebMvcConfigurer {
+
+    /**
+     * Registra el interceptor del renderizado de las vistas.
+     *
+     * @param registry Registro de interceptores
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RenderizadoVistasJfrInterceptor())
+                .excludePathPatterns("/css/**", "/js/**", "/api/**", "/rest/**");
+    }
+}
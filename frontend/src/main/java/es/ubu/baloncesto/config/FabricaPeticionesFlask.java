@@ -0,0 +1,85 @@
+package es.ubu.baloncesto.config;
+
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+
+/**
+ * Fábrica de conexiones HTTP con tiempos de espera por tipo de operación,
+ * recortados a lo que quede del plazo de la petición en curso.
+ * Si ya no queda tiempo suficiente, la llamada falla al momento en vez de
+ * conectar y esperar una respuesta que llegaría tarde.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+public class FabricaPeticionesFlask extends SimpleClientHttpRequestFactory {
+
+    /**
+     * Milisegundos para conectar.
+     */
+    private final int conexionMs;
+
+    /**
+     * Milisegundos de espera de respuesta en las lecturas (GET).
+     */
+    private final int lecturaMs;
+
+    /**
+     * Milisegundos de espera de respuesta en las escrituras (POST, PUT, DELETE).
+     */
+    private final int escrituraMs;
+
+    /**
+     * Milisegundos mínimos que tienen que quedar del plazo para intentar la llamada.
+     */
+    private final long minimoMs;
+
+    /**
+     * Constructor con todos los tiempos.
+     *
+     * @param conexionMs Milisegundos para conectar
+     * @param lecturaMs Milisegundos de espera en las lecturas
+     * @param escrituraMs Milisegundos de espera en las escrituras
+     * @param minimoMs Milisegundos mínimos del plazo para intentar la llamada
+     */
+    public FabricaPeticionesFlask(int conexionMs, int lecturaMs, int escrituraMs, long minimoMs) {
+        this.conexionMs = conexionMs;
+        this.lecturaMs = lecturaMs;
+        this.escrituraMs = escrituraMs;
+        this.minimoMs = minimoMs;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void prepareConnection(HttpURLConnection connection, String httpMethod) throws IOException {
+        super.prepareConnection(connection, httpMethod);
+
+        // SI NO DA TIEMPO, NI LO INTENTO (RESTTEMPLATE LO CONVIERTE EN RESOURCEACCESSEXCEPTION)
+        long restante = PlazoPeticion.getRestanteMs();
+        if (restante < minimoMs) {
+            throw new IOException("Plazo de la petición agotado (quedan " + Math.max(restante, 0) + " ms)");
+        }
+
+        // CADA ESPERA ES LA DE SU OPERACIÓN, PERO NUNCA MÁS DE LO QUE QUEDA DE PLAZO
+        int respuesta = "GET".equals(httpMethod) ? lecturaMs : escrituraMs;
+        connection.setConnectTimeout(recortar(conexionMs, restante));
+        connection.setReadTimeout(recortar(respuesta, restante));
+    }
+
+    /**
+     * Recorta un tiempo de espera al plazo restante.
+     * Nunca devuelve 0 porque HttpURLConnection lo interpreta como espera infinita.
+     *
+     * @param espera Tiempo de espera configurado
+     * @param restante Milisegundos que quedan del plazo
+     * @return Tiempo de espera a usar
+     */
+    private static int recortar(int espera, long restante) {
+        return (int) Math.max(1, Math.min(espera, restante));
+    }
+}
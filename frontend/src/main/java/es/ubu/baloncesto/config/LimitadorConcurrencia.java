@@ -0,0 +1,272 @@
+package es.ubu.baloncesto.config;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Límite adaptativo de peticiones simultáneas de un grupo de endpoints, por gradiente de latencia.
+ * Compara la latencia media de cada ventana con la latencia sin cola (el percentil 10 de la ventana):
+ * mientras son parecidas el límite crece poco a poco, y cuando la de la ventana sube (se está
+ * formando cola en Flask o en la base de datos) el límite baja en la misma proporción.
+ * Si el tráfico no llega ni a la mitad del límite, este no crece, para que no suba sin medida en
+ * los ratos tranquilos; esos ratos sirven en cambio para actualizar la latencia sin cola, por si
+ * Flask se ha vuelto más lento de verdad.
+ * Solo cuentan las peticiones que terminan bien: un 404 o un 500 que responde enseguida no dice nada
+ * de la cola, y si contara bajaría la latencia sin cola hasta que cualquier petición normal pareciera
+ * estar esperando.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+final class LimitadorConcurrencia {
+
+    /**
+     * Muestras mínimas de una ventana para recalcular el límite.
+     */
+    private static final int MUESTRAS_MINIMAS = 10;
+
+    /**
+     * Muestras que se guardan de cada ventana para calcular el percentil (las últimas).
+     */
+    private static final int MUESTRAS_GUARDADAS = 512;
+
+    /**
+     * Percentil de la ventana que se toma como latencia sin cola.
+     */
+    private static final double PERCENTIL_SIN_COLA = 0.1;
+
+    /**
+     * Peso de cada ventana sin cola al actualizar la latencia sin cola.
+     */
+    private static final double PESO_SIN_COLA = 0.1;
+
+    /**
+     * Peso del límite nuevo al suavizarlo con el anterior.
+     */
+    private static final double SUAVIZADO = 0.2;
+
+    /**
+     * Límite mínimo.
+     */
+    private final int minimo;
+
+    /**
+     * Límite máximo.
+     */
+    private final int maximo;
+
+    /**
+     * Cuánto puede subir la latencia de la ventana sobre la latencia sin cola sin bajar el límite.
+     */
+    private final double tolerancia;
+
+    /**
+     * Duración mínima de una ventana, en nanosegundos.
+     */
+    private final long ventanaNanos;
+
+    /**
+     * Límite actual (con decimales para que los ajustes pequeños se acumulen).
+     */
+    private volatile double limite;
+
+    /**
+     * Peticiones en curso.
+     */
+    private final AtomicInteger enCurso = new AtomicInteger();
+
+    /**
+     * Máximo de peticiones en curso durante la ventana actual.
+     */
+    private final AtomicInteger maximoEnCurso = new AtomicInteger();
+
+    /**
+     * Peticiones rechazadas por estar en el límite.
+     */
+    private final AtomicLong rechazadas = new AtomicLong();
+
+    /**
+     * Latencia sin cola, en nanosegundos (0 hasta la primera ventana).
+     */
+    private double rttSinCola;
+
+    /**
+     * Latencia media de la última ventana cerrada, en nanosegundos.
+     */
+    private double rttUltimaVentana;
+
+    /**
+     * Suma de las latencias de la ventana actual.
+     */
+    private long sumaVentana;
+
+    /**
+     * Muestras de la ventana actual.
+     */
+    private int muestrasVentana;
+
+    /**
+     * Últimas latencias de la ventana actual (circular).
+     */
+    private final long[] latenciasVentana = new long[MUESTRAS_GUARDADAS];
+
+    /**
+     * Inicio de la ventana actual (nanoTime).
+     */
+    private long inicioVentana = System.nanoTime();
+
+    /**
+     * Constructor con la configuración del límite.
+     *
+     * @param inicial Límite inicial
+     * @param minimo Límite mínimo
+     * @param maximo Límite máximo
+     * @param tolerancia Proporción que puede subir la latencia sin bajar el límite (1.5 = un 50 %)
+     * @param ventanaMs Duración mínima de cada ventana de medida
+     */
+    LimitadorConcurrencia(int inicial, int minimo, int maximo, double tolerancia, long ventanaMs) {
+        if (minimo < 1 || maximo < minimo || inicial < minimo || inicial > maximo) {
+            throw new IllegalArgumentException("Límites de concurrencia no válidos: inicial=" + inicial
+                    + ", mínimo=" + minimo + ", máximo=" + maximo);
+        }
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.tolerancia = tolerancia;
+        this.ventanaNanos = TimeUnit.MILLISECONDS.toNanos(ventanaMs);
+        this.limite = inicial;
+    }
+
+    /**
+     * Intenta ocupar un hueco sin esperar.
+     *
+     * @return true si hay hueco (hay que llamar después a {@link #liberar(long, boolean)}), false si se está en el límite
+     */
+    boolean adquirir() {
+        while (true) {
+            int actual = enCurso.get();
+            if (actual >= (int) limite) {
+                rechazadas.incrementAndGet();
+                return false;
+            }
+            if (enCurso.compareAndSet(actual, actual + 1)) {
+                maximoEnCurso.accumulateAndGet(actual + 1, Math::max);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Libera el hueco de una petición terminada y, si ha terminado bien, anota su latencia.
+     *
+     * @param rttNanos Duración de la petición
+     * @param correcta true si ha respondido 2xx o 3xx
+     */
+    void liberar(long rttNanos, boolean correcta) {
+        enCurso.decrementAndGet();
+        if (!correcta) {
+            return;
+        }
+        synchronized (this) {
+            latenciasVentana[muestrasVentana % MUESTRAS_GUARDADAS] = rttNanos;
+            sumaVentana += rttNanos;
+            muestrasVentana++;
+            long ahora = System.nanoTime();
+            if (muestrasVentana >= MUESTRAS_MINIMAS && ahora - inicioVentana >= ventanaNanos) {
+                recalcular();
+                sumaVentana = 0;
+                muestrasVentana = 0;
+                inicioVentana = ahora;
+            }
+        }
+    }
+
+    /**
+     * Recalcula el límite al cerrar una ventana.
+     */
+    private void recalcular() {
+        double rttCorto = sumaVentana / (double) muestrasVentana;
+        rttUltimaVentana = rttCorto;
+        double actual = limite;
+
+        // SI NI SIQUIERA SE HA LLEGADO A LA MITAD DEL LÍMITE, NO HAY COLA (Y TAMPOCO DATOS PARA SUBIR EL LÍMITE)
+        boolean holgado = maximoEnCurso.getAndSet(enCurso.get()) < actual / 2;
+
+        // LA LATENCIA SIN COLA BAJA EN CUANTO LA VENTANA VA MÁS RÁPIDO, Y SOLO SUBE SI NO PUEDE HABER COLA QUE LA INFLE
+        long percentilVentana = percentilVentana();
+        if (rttSinCola == 0 || percentilVentana < rttSinCola) {
+            rttSinCola = percentilVentana;
+        } else if (holgado || actual <= minimo) {
+            rttSinCola = rttSinCola * (1 - PESO_SIN_COLA) + rttCorto * PESO_SIN_COLA;
+        }
+
+        // GRADIENTE: 1 SI LA LATENCIA ESTÁ DENTRO DE LA TOLERANCIA, MENOS CUANTO MÁS HAYA SUBIDO (COMO MUCHO LA MITAD)
+        double gradiente = Math.max(0.5, Math.min(1.0, tolerancia * rttSinCola / rttCorto));
+        double nuevo = actual * gradiente + Math.sqrt(actual);
+        if (holgado) {
+            nuevo = Math.min(nuevo, actual);
+        }
+
+        nuevo = actual * (1 - SUAVIZADO) + nuevo * SUAVIZADO;
+        limite = Math.max(minimo, Math.min(maximo, nuevo));
+    }
+
+    /**
+     * Calcula el percentil bajo de las latencias guardadas de la ventana actual.
+     * Con el percentil en lugar del mínimo, una sola petición anormalmente rápida no hunde la referencia.
+     *
+     * @return Latencia del percentil {@link #PERCENTIL_SIN_COLA}, en nanosegundos
+     */
+    private long percentilVentana() {
+        int guardadas = Math.min(muestrasVentana, MUESTRAS_GUARDADAS);
+        long[] ordenadas = Arrays.copyOf(latenciasVentana, guardadas);
+        Arrays.sort(ordenadas);
+        return ordenadas[(int) (PERCENTIL_SIN_COLA * (guardadas - 1))];
+    }
+
+    /**
+     * Obtiene el límite actual.
+     *
+     * @return Peticiones simultáneas permitidas
+     */
+    int getLimite() {
+        return (int) limite;
+    }
+
+    /**
+     * Obtiene las peticiones en curso.
+     *
+     * @return Peticiones en curso
+     */
+    int getEnCurso() {
+        return enCurso.get();
+    }
+
+    /**
+     * Obtiene las peticiones rechazadas.
+     *
+     * @return Peticiones rechazadas desde el arranque
+     */
+    long getRechazadas() {
+        return rechazadas.get();
+    }
+
+    /**
+     * Obtiene las estadísticas del límite.
+     *
+     * @return Límite, peticiones en curso, rechazadas y latencias de referencia en milisegundos
+     */
+    synchronized Map<String, Object> getEstadisticas() {
+        Map<String, Object> estadisticas = new LinkedHashMap<>();
+        estadisticas.put("limite", getLimite());
+        estadisticas.put("enCurso", getEnCurso());
+        estadisticas.put("rechazadas", getRechazadas());
+        estadisticas.put("latenciaSinColaMs", rttSinCola / 1_000_000.0);
+        estadisticas.put("latenciaUltimaVentanaMs", rttUltimaVentana / 1_000_000.0);
+        return estadisticas;
+    }
+}
@@ -0,0 +1,94 @@
+package es.ubu.baloncesto.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración del límite adaptativo de peticiones simultáneas.
+ * Por defecto solo se limitan las escrituras de partidos, que esperan a Flask y
+ * a la base de datos y pueden acaparar los hilos de Tomcat que necesitan las lecturas.
+ * El registro de resultados no entra en ese grupo: ya tiene huecos reservados en su clase de
+ * prioridad, y si compartiera este límite una ráfaga de altas de partidos podría bajarlo y
+ * rechazar con 503 un resultado que ya había conseguido su hueco.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+@Configuration
+public class LimiteConcurrenciaConfig {
+
+    /**
+     * Grupos de endpoints con límite propio (vacío para no limitar nada).
+     */
+    @Value("${concurrencia.grupos:escrituras-partidos: POST /partidos/guardar, GET /partidos/eliminar/*}")
+    private String grupos;
+
+    /**
+     * Límite inicial de cada grupo.
+     */
+    @Value("${concurrencia.limite-inicial:10}")
+    private int limiteInicial;
+
+    /**
+     * Límite mínimo de cada grupo.
+     */
+    @Value("${concurrencia.limite-minimo:2}")
+    private int limiteMinimo;
+
+    /**
+     * Límite máximo de cada grupo.
+     */
+    @Value("${concurrencia.limite-maximo:100}")
+    private int limiteMaximo;
+
+    /**
+     * Proporción que puede subir la latencia sobre la de largo plazo sin bajar el límite.
+     */
+    @Value("${concurrencia.tolerancia:1.5}")
+    private double tolerancia;
+
+    /**
+     * Duración mínima de cada ventana de medida.
+     */
+    @Value("${concurrencia.ventana-ms:1000}")
+    private long ventanaMs;
+
+    /**
+     * Segundos de Retry-After en las peticiones rechazadas.
+     */
+    @Value("${concurrencia.retry-after-segundos:1}")
+    private int retryAfterSegundos;
+
+    /**
+     * Crea el filtro con los grupos configurados y publica sus métricas.
+     *
+     * @param meterRegistry Registro de métricas
+     * @return Filtro de límite de concurrencia
+     */
+    @Bean
+    public LimiteConcurrenciaFilter limiteConcurrencia(MeterRegistry meterRegistry) {
+        LimiteConcurrenciaFilter filtro = new LimiteConcurrenciaFilter(grupos, limiteInicial, limiteMinimo, limiteMaximo,
+                tolerancia, ventanaMs, retryAfterSegundos);
+        filtro.registrarMetricas(meterRegistry);
+        return filtro;
+    }
+
+    /**
+     * Registra el filtro. Con el orden por defecto queda detrás de Spring Security,
+     * así que las peticiones sin sesión o sin token CSRF no ocupan hueco.
+     *
+     * @param limiteConcurrencia Filtro de límite de concurrencia
+     * @return Registro del filtro
+     */
+    @Bean
+    public FilterRegistrationBean<LimiteConcurrenciaFilter> limiteConcurrenciaFilter(LimiteConcurrenciaFilter limiteConcurrencia) {
+        FilterRegistrationBean<LimiteConcurrenciaFilter> registro = new FilterRegistrationBean<>(limiteConcurrencia);
+        registro.addUrlPatterns("/*");
+        registro.setName("limiteConcurrenciaFilter");
+        return registro;
+    }
+}
@@ -0,0 +1,224 @@
+package es.ubu.baloncesto.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Filtro que limita las peticiones simultáneas de cada grupo de endpoints.
+ * Los grupos se escriben como {@code nombre: [METODO] RUTA, [METODO] RUTA; otro: ...}, por ejemplo
+ * {@code escrituras-partidos: POST /partidos/guardar, POST /partidos/resultado/*, GET /partidos/eliminar/*}.
+ * Cada grupo tiene su propio límite adaptativo; cuando está lleno la petición se responde
+ * enseguida con 503 y Retry-After en lugar de quedarse esperando un hilo de Tomcat.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+public class LimiteConcurrenciaFilter extends OncePerRequestFilter {
+
+    /**
+     * Logger para registrar operaciones.
+     */
+    private static final Logger LOGGER = Logger.getLogger(LimiteConcurrenciaFilter.class.getName());
+
+    /**
+     * Grupos de endpoints con su límite (se aplica el primero que encaje).
+     */
+    private final List<Grupo> grupos;
+
+    /**
+     * Segundos que se indican en Retry-After al rechazar una petición.
+     */
+    private final int reintentarSegundos;
+
+    /**
+     * Constructor con los grupos y la configuración de sus límites.
+     *
+     * @param texto Grupos de endpoints (vacío para no limitar nada)
+     * @param inicial Límite inicial de cada grupo
+     * @param minimo Límite mínimo de cada grupo
+     * @param maximo Límite máximo de cada grupo
+     * @param tolerancia Proporción que puede subir la latencia sin bajar el límite
+     * @param ventanaMs Duración mínima de cada ventana de medida
+     * @param reintentarSegundos Segundos de Retry-After
+     * @throws IllegalArgumentException Si algún grupo no es válido
+     */
+    public LimiteConcurrenciaFilter(String texto, int inicial, int minimo, int maximo, double tolerancia,
+                                    long ventanaMs, int reintentarSegundos) {
+        this.grupos = new ArrayList<>();
+        for (String grupo : texto.split(";")) {
+            if (!grupo.isBlank()) {
+                grupos.add(leerGrupo(grupo.trim(), new LimitadorConcurrencia(inicial, minimo, maximo, tolerancia, ventanaMs)));
+            }
+        }
+        this.reintentarSegundos = reintentarSegundos;
+    }
+
+    /**
+     * Lee un grupo.
+     *
+     * @param texto Grupo ({@code nombre: [METODO] RUTA, ...})
+     * @param limitador Límite del grupo
+     * @return Grupo leído
+     * @throws IllegalArgumentException Si no es válido
+     */
+    private static Grupo leerGrupo(String texto, LimitadorConcurrencia limitador) {
+        int dosPuntos = texto.indexOf(':');
+        if (dosPuntos <= 0) {
+            throw new IllegalArgumentException("Grupo de concurrencia sin nombre (nombre: RUTA, ...): " + texto);
+        }
+        String nombre = texto.substring(0, dosPuntos).trim();
+        RutasPeticion rutas = RutasPeticion.leer(texto.substring(dosPuntos + 1));
+        if (rutas.isEmpty()) {
+            throw new IllegalArgumentException("Grupo de concurrencia sin rutas: " + nombre);
+        }
+        return new Grupo(nombre, rutas, limitador);
+    }
+
+    /**
+     * Publica en las métricas el límite, las peticiones en curso y las rechazadas de cada grupo.
+     *
+     * @param registro Registro de métricas
+     */
+    public void registrarMetricas(MeterRegistry registro) {
+        for (Grupo grupo : grupos) {
+            Gauge.builder("baloncesto.concurrencia.limite", grupo.limitador, LimitadorConcurrencia::getLimite)
+                    .description("Peticiones simultáneas permitidas").tag("grupo", grupo.nombre).register(registro);
+            Gauge.builder("baloncesto.concurrencia.en-curso", grupo.limitador, LimitadorConcurrencia::getEnCurso)
+                    .description("Peticiones en curso").tag("grupo", grupo.nombre).register(registro);
+            FunctionCounter.builder("baloncesto.concurrencia.rechazadas", grupo.limitador, LimitadorConcurrencia::getRechazadas)
+                    .description("Peticiones rechazadas con 503 por estar en el límite").tag("grupo", grupo.nombre)
+                    .register(registro);
+        }
+    }
+
+    /**
+     * Obtiene las estadísticas de cada grupo.
+     *
+     * @return Por grupo: límite, peticiones en curso, rechazadas y latencias de referencia
+     */
+    public Map<String, Map<String, Object>> getEstadisticas() {
+        Map<String, Map<String, Object>> estadisticas = new LinkedHashMap<>();
+        for (Grupo grupo : grupos) {
+            estadisticas.put(grupo.nombre, grupo.limitador.getEstadisticas());
+        }
+        return estadisticas;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return grupos.isEmpty();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Grupo grupo = buscarGrupo(request);
+        if (grupo == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        // SI EL GRUPO ESTÁ LLENO RESPONDO YA: ESPERAR SOLO ALARGARÍA LA COLA DELANTE DE FLASK
+        if (!grupo.limitador.adquirir()) {
+            LOGGER.log(Level.FINE, "Petición rechazada por el límite de concurrencia del grupo {0}", grupo.nombre);
+            responderOcupado(response, reintentarSegundos);
+            return;
+        }
+
+        long inicio = System.nanoTime();
+        boolean terminada = false;
+        try {
+            chain.doFilter(request, response);
+            terminada = true;
+        } finally {
+            // SOLO LAS RESPUESTAS CORRECTAS MIDEN LA COLA: LOS FALLOS RÁPIDOS HUNDIRÍAN LA LATENCIA DE REFERENCIA
+            int estado = response.getStatus();
+            grupo.limitador.liberar(System.nanoTime() - inicio, terminada && estado >= 200 && estado < 400);
+        }
+    }
+
+    /**
+     * Busca el grupo de una petición.
+     *
+     * @param request Petición
+     * @return Primer grupo que encaja, o null si no está en ninguno
+     */
+    private Grupo buscarGrupo(HttpServletRequest request) {
+        for (Grupo grupo : grupos) {
+            if (grupo.rutas.encaja(request)) {
+                return grupo;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Responde 503 con Retry-After a una petición que no se atiende por falta de capacidad.
+     *
+     * @param response Respuesta
+     * @param reintentarSegundos Segundos de Retry-After
+     * @throws IOException Si no se puede escribir la respuesta
+     */
+    static void responderOcupado(HttpServletResponse response, int reintentarSegundos) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader("Retry-After", String.valueOf(reintentarSegundos));
+        response.setContentType("text/plain;charset=UTF-8");
+        response.getWriter().write("El servidor está ocupado, inténtalo de nuevo en unos segundos");
+    }
+
+    /**
+     * Grupo de endpoints que comparten un límite.
+     */
+    private static final class Grupo {
+
+        /**
+         * Nombre del grupo (etiqueta de las métricas).
+         */
+        private final String nombre;
+
+        /**
+         * Rutas del grupo.
+         */
+        private final RutasPeticion rutas;
+
+        /**
+         * Límite del grupo.
+         */
+        private final LimitadorConcurrencia limitador;
+
+        /**
+         * Constructor con todos los campos.
+         *
+         * @param nombre Nombre del grupo
+         * @param rutas Rutas del grupo
+         * @param limitador Límite del grupo
+         */
+        Grupo(String nombre, RutasPeticion rutas, LimitadorConcurrencia limitador) {
+            this.nombre = nombre;
+            this.rutas = rutas;
+            this.limitador = limitador;
+        }
+    }
+}
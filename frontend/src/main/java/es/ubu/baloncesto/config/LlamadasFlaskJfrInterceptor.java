@@ -0,0 +1,70 @@
+package es.ubu.baloncesto.config;
+
+import es.ubu.baloncesto.jfr.LlamadaFlaskEvent;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.util.regex.Pattern;
+
+/**
+ * Interceptor que emite un evento de Flight Recorder por cada llamada HTTP a la API Flask.
+ * Va detrás del de reintentos, así que cada intento tiene su propio evento.
+ * Si no hay ninguna grabación con el evento activado, solo cuesta comprobarlo.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+public class LlamadasFlaskJfrInterceptor implements ClientHttpRequestInterceptor {
+
+    /**
+     * Segmentos numéricos de la ruta (identificadores).
+     */
+    private static final Pattern IDENTIFICADOR = Pattern.compile("/\\d+(?=/|$)");
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        LlamadaFlaskEvent evento = new LlamadaFlaskEvent();
+        if (!evento.isEnabled()) {
+            return execution.execute(request, body);
+        }
+
+        evento.begin();
+        try {
+            ClientHttpResponse respuesta = execution.execute(request, body);
+            evento.estado = respuesta.getRawStatusCode();
+            evento.bytesRecibidos = respuesta.getHeaders().getContentLength();
+            return respuesta;
+        } catch (IOException | RuntimeException e) {
+            evento.excepcion = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            evento.end();
+            if (evento.shouldCommit()) {
+                evento.metodo = request.getMethodValue();
+                evento.url = plantilla(request);
+                evento.bytesEnviados = body.length;
+                evento.commit();
+            }
+        }
+    }
+
+    /**
+     * Obtiene la ruta de la petición sin consulta y con los identificadores sustituidos,
+     * para poder agrupar las llamadas por operación.
+     *
+     * @param request Petición
+     * @return Plantilla de la URL
+     */
+    static String plantilla(HttpRequest request) {
+        String ruta = request.getURI().getRawPath();
+        return IDENTIFICADOR.matcher(ruta != null ? ruta : "").replaceAll("/{id}");
+    }
+}
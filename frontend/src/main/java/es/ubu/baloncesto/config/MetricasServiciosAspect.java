@@ -0,0 +1,273 @@
+package es.ubu.baloncesto.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aspecto que mide todos los métodos públicos de los servicios de partidos y equipos
+ * y todas las consultas a los repositorios locales.
+ * Junto con las métricas del cliente HTTP de Flask (http.client.requests) permite ver
+ * cuánto tarda cada método y cada origen de datos, y cuántas veces falla y por qué.
+ * Las métricas de cada método se registran la primera vez que se llama y se guardan, para no
+ * construirlas ni buscarlas en el registro en cada llamada.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+@Aspect
+@Component
+public class MetricasServiciosAspect {
+
+    /**
+     * Valor de la etiqueta excepcion cuando el método termina bien.
+     */
+    private static final String SIN_EXCEPCION = "none";
+
+    /**
+     * Registro de métricas.
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Métricas ya registradas, por clase del objeto medido y método.
+     */
+    private final Map<Class<?>, Map<Method, Medidas>> registradas = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor que inicializa el registro mediante inyección de dependencias.
+     *
+     * @param meterRegistry Registro de métricas
+     */
+    @Autowired
+    public MetricasServiciosAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Mide un método público de los servicios de partidos o equipos.
+     *
+     * @param punto Método interceptado
+     * @return Resultado del método
+     * @throws Throwable La excepción del método, sin cambios
+     */
+    @Around("execution(public * es.ubu.baloncesto.service.PartidoServiceImpl.*(..))"
+            + " || execution(public * es.ubu.baloncesto.service.EquipoServiceImpl.*(..))")
+    public Object medirServicio(ProceedingJoinPoint punto) throws Throwable {
+        return medir(punto, "baloncesto.servicio", "servicio",
+                "Duración de los métodos de los servicios (con la API Flask y el respaldo local incluidos)");
+    }
+
+    /**
+     * Mide una consulta a un repositorio local.
+     *
+     * @param punto Método interceptado
+     * @return Resultado del método
+     * @throws Throwable La excepción del método, sin cambios
+     */
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object medirRepositorio(ProceedingJoinPoint punto) throws Throwable {
+        return medir(punto, "baloncesto.repositorio", "repositorio",
+                "Duración de las consultas a la base de datos local");
+    }
+
+    /**
+     * Ejecuta el método midiendo su duración y contando sus fallos por tipo de excepción.
+     *
+     * @param punto Método interceptado
+     * @param nombre Nombre de la métrica
+     * @param etiqueta Nombre de la etiqueta con la clase
+     * @param descripcion Descripción de la métrica
+     * @return Resultado del método
+     * @throws Throwable La excepción del método, sin cambios
+     */
+    private Object medir(ProceedingJoinPoint punto, String nombre, String etiqueta, String descripcion) throws Throwable {
+        Medidas medidas = buscarMedidas(punto, nombre, etiqueta, descripcion);
+        long inicio = System.nanoTime();
+        try {
+            Object resultado = punto.proceed();
+            medidas.correcto.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            return resultado;
+        } catch (Throwable e) {
+            long duracion = System.nanoTime() - inicio;
+            Medidas.Fallo fallo = medidas.fallo(e.getClass());
+            fallo.contador.increment();
+            fallo.duracion.record(duracion, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    /**
+     * Busca las métricas de un método, creándolas la primera vez que se llama.
+     * Van por clase del objeto (el proxy del repositorio) y método, porque los métodos heredados
+     * de Spring Data se comparten entre repositorios.
+     *
+     * @param punto Método interceptado
+     * @param nombre Nombre de la métrica
+     * @param etiqueta Nombre de la etiqueta con la clase
+     * @param descripcion Descripción de la métrica
+     * @return Métricas del método
+     */
+    private Medidas buscarMedidas(ProceedingJoinPoint punto, String nombre, String etiqueta, String descripcion) {
+        Class<?> tipo = punto.getThis().getClass();
+        Method metodo = ((MethodSignature) punto.getSignature()).getMethod();
+
+        // LO NORMAL ES QUE YA ESTÉN CREADAS: CONSULTO SIN LAMBDAS PARA NO RESERVAR MEMORIA EN CADA LLAMADA
+        Map<Method, Medidas> porMetodo = registradas.get(tipo);
+        if (porMetodo == null) {
+            porMetodo = registradas.computeIfAbsent(tipo, t -> new ConcurrentHashMap<>());
+        }
+        Medidas encontradas = porMetodo.get(metodo);
+        if (encontradas == null) {
+            Tags tags = Tags.of(etiqueta, nombreClase(punto), "metodo", metodo.getName());
+            encontradas = porMetodo.computeIfAbsent(metodo,
+                    m -> new Medidas(meterRegistry, nombre, descripcion, tags));
+        }
+        return encontradas;
+    }
+
+    /**
+     * Obtiene el nombre de la clase medida.
+     * En los repositorios, los métodos heredados (findAll, save...) se declaran en las interfaces
+     * de Spring Data, así que busco la interfaz propia entre las que implementa el proxy.
+     *
+     * @param punto Método interceptado
+     * @return Nombre simple de la clase, sin el sufijo Impl
+     */
+    private static String nombreClase(ProceedingJoinPoint punto) {
+        for (Class<?> interfaz : punto.getThis().getClass().getInterfaces()) {
+            if (interfaz.getName().startsWith("es.ubu.baloncesto.repository.")) {
+                return interfaz.getSimpleName();
+            }
+        }
+        return punto.getSignature().getDeclaringType().getSimpleName().replace("Impl", "");
+    }
+
+    /**
+     * Métricas de un método: el temporizador de las llamadas correctas y, por tipo de excepción,
+     * el contador de fallos y el temporizador de las llamadas que fallan.
+     */
+    private static final class Medidas {
+
+        /**
+         * Registro de métricas.
+         */
+        private final MeterRegistry registro;
+
+        /**
+         * Nombre de la métrica.
+         */
+        private final String nombre;
+
+        /**
+         * Descripción de la métrica.
+         */
+        private final String descripcion;
+
+        /**
+         * Etiquetas de clase y método.
+         */
+        private final Tags tags;
+
+        /**
+         * Duración de las llamadas que terminan bien.
+         */
+        private final Timer correcto;
+
+        /**
+         * Métricas de las llamadas que fallan, por tipo de excepción.
+         */
+        private final Map<Class<?>, Fallo> fallos = new ConcurrentHashMap<>();
+
+        /**
+         * Constructor que registra el temporizador de las llamadas correctas.
+         *
+         * @param registro Registro de métricas
+         * @param nombre Nombre de la métrica
+         * @param descripcion Descripción de la métrica
+         * @param tags Etiquetas de clase y método
+         */
+        Medidas(MeterRegistry registro, String nombre, String descripcion, Tags tags) {
+            this.registro = registro;
+            this.nombre = nombre;
+            this.descripcion = descripcion;
+            this.tags = tags;
+            this.correcto = temporizador(SIN_EXCEPCION);
+        }
+
+        /**
+         * Obtiene las métricas de un tipo de excepción, creándolas la primera vez.
+         *
+         * @param tipo Tipo de la excepción
+         * @return Contador y temporizador de los fallos de ese tipo
+         */
+        Fallo fallo(Class<?> tipo) {
+            Fallo fallo = fallos.get(tipo);
+            if (fallo == null) {
+                fallo = fallos.computeIfAbsent(tipo, t -> new Fallo(
+                        Counter.builder(nombre + ".fallos")
+                                .description("Fallos de " + nombre + " por tipo de excepción")
+                                .tags(tags)
+                                .tag("excepcion", t.getSimpleName())
+                                .register(registro),
+                        temporizador(t.getSimpleName())));
+            }
+            return fallo;
+        }
+
+        /**
+         * Registra el temporizador de la métrica para un valor de la etiqueta excepcion.
+         *
+         * @param excepcion Nombre de la excepción, o none si termina bien
+         * @return Temporizador
+         */
+        private Timer temporizador(String excepcion) {
+            return Timer.builder(nombre)
+                    .description(descripcion)
+                    .tags(tags)
+                    .tag("excepcion", excepcion)
+                    .publishPercentileHistogram()
+                    .register(registro);
+        }
+
+        /**
+         * Métricas de las llamadas que fallan con un tipo de excepción.
+         */
+        private static final class Fallo {
+
+            /**
+             * Fallos de este tipo.
+             */
+            private final Counter contador;
+
+            /**
+             * Duración de las llamadas que fallan con este tipo.
+             */
+            private final Timer duracion;
+
+            /**
+             * Constructor con todos los campos.
+             *
+             * @param contador Fallos de este tipo
+             * @param duracion Duración de las llamadas que fallan con este tipo
+             */
+            Fallo(Counter contador, Timer duracion) {
+                this.contador = contador;
+                this.duracion = duracion;
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package es.ubu.baloncesto.config;
+
+import es.ubu.baloncesto.exception.ApiException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plazo de la petición en curso.
+ * Empieza a contar cuando llega la petición ({@link PlazoPeticionFilter}) y se va
+ * consumiendo con cada llamada a la API Flask y con cada respaldo en la base de datos local,
+ * de forma que la suma de todos ellos nunca supera el plazo de la petición.
+ * Los hilos que no atienden peticiones (tareas de fondo) no tienen plazo.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+public final class PlazoPeticion {
+
+    /**
+     * Instante (nanoTime) en que vence el plazo del hilo actual, o null si no tiene.
+     */
+    private static final ThreadLocal<Long> LIMITE = new ThreadLocal<>();
+
+    /**
+     * Constructor privado: solo tiene métodos estáticos.
+     */
+    private PlazoPeticion() {
+    }
+
+    /**
+     * Empieza a contar el plazo del hilo actual.
+     *
+     * @param plazoMs Milisegundos disponibles desde ahora
+     */
+    public static void iniciar(long plazoMs) {
+        LIMITE.set(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(plazoMs));
+    }
+
+    /**
+     * Obtiene el límite del hilo actual, para pasarlo a otro hilo.
+     *
+     * @return Instante (nanoTime) en que vence el plazo, o null si no hay plazo
+     */
+    public static Long getLimite() {
+        return LIMITE.get();
+    }
+
+    /**
+     * Fija el límite del hilo actual (por ejemplo, el heredado de otro hilo).
+     *
+     * @param limite Instante (nanoTime) en que vence el plazo, o null para quitarlo
+     */
+    public static void setLimite(Long limite) {
+        if (limite == null) {
+            LIMITE.remove();
+        } else {
+            LIMITE.set(limite);
+        }
+    }
+
+    /**
+     * Quita el plazo del hilo actual.
+     */
+    public static void limpiar() {
+        LIMITE.remove();
+    }
+
+    /**
+     * Obtiene el tiempo que queda.
+     *
+     * @return Milisegundos que quedan (0 o negativo si ya ha vencido), o Long.MAX_VALUE si no hay plazo
+     */
+    public static long getRestanteMs() {
+        Long limite = LIMITE.get();
+        if (limite == null) {
+            return Long.MAX_VALUE;
+        }
+        return TimeUnit.NANOSECONDS.toMillis(limite - System.nanoTime());
+    }
+
+    /**
+     * Comprueba que aún queda tiempo antes de empezar una operación.
+     *
+     * @param operacion Descripción de la operación (para el mensaje de error)
+     * @throws ApiException Si el plazo ya ha vencido
+     */
+    public static void comprobar(String operacion) {
+        if (getRestanteMs() <= 0) {
+            throw new ApiException("Plazo de la petición agotado antes de " + operacion, null, operacion, 504);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package es.ubu.baloncesto.config;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Filtro que pone en marcha el plazo de cada petición en cuanto llega.
+ * Las tareas de administración quedan fuera porque son procesos largos a propósito.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+public class PlazoPeticionFilter extends OncePerRequestFilter {
+
+    /**
+     * Milisegundos de plazo de cada petición.
+     */
+    private final long plazoMs;
+
+    /**
+     * Constructor con el plazo.
+     *
+     * @param plazoMs Milisegundos de plazo de cada petición
+     */
+    public PlazoPeticionFilter(long plazoMs) {
+        this.plazoMs = plazoMs;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith(request.getContextPath() + "/admin/");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        PlazoPeticion.iniciar(plazoMs);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            // EL HILO VUELVE AL POOL DE TOMCAT: NO PUEDE LLEVARSE EL PLAZO A LA SIGUIENTE PETICIÓN
+            PlazoPeticion.limpiar();
+        }
+    }
+}
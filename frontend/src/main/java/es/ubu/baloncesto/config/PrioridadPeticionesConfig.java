@@ -0,0 +1,145 @@
+package es.ubu.baloncesto.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuración de las clases de prioridad de las peticiones.
+ * La clase de resultados (envío de resultados, solo con sesión iniciada) tiene huecos reservados
+ * y una cola larga que el tráfico anónimo no puede ocupar; la de login (solo el envío del formulario)
+ * tiene los suyos aparte; la baja (lista de partidos y página de prueba de la API) tiene pocos huecos
+ * y poca espera, para que en los picos del final de jornada sea la que se degrade primero.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+@Configuration
+public class PrioridadPeticionesConfig {
+
+    /**
+     * Rutas de la clase de resultados (vacío para no reservar nada).
+     */
+    @Value("${prioridad.resultados.rutas:POST /partidos/resultado/*}")
+    private String rutasResultados;
+
+    /**
+     * Peticiones de la clase de resultados que se atienden a la vez.
+     */
+    @Value("${prioridad.resultados.capacidad:15}")
+    private int capacidadResultados;
+
+    /**
+     * Peticiones de la clase de resultados que pueden esperar turno.
+     */
+    @Value("${prioridad.resultados.cola:100}")
+    private int colaResultados;
+
+    /**
+     * Espera máxima de turno de la clase de resultados.
+     */
+    @Value("${prioridad.resultados.espera-ms:5000}")
+    private long esperaResultadosMs;
+
+    /**
+     * Rutas de la clase de login (vacío para no reservar nada).
+     */
+    @Value("${prioridad.login.rutas:POST /login}")
+    private String rutasLogin;
+
+    /**
+     * Peticiones de la clase de login que se atienden a la vez.
+     */
+    @Value("${prioridad.login.capacidad:5}")
+    private int capacidadLogin;
+
+    /**
+     * Peticiones de la clase de login que pueden esperar turno.
+     */
+    @Value("${prioridad.login.cola:50}")
+    private int colaLogin;
+
+    /**
+     * Espera máxima de turno de la clase de login.
+     */
+    @Value("${prioridad.login.espera-ms:2000}")
+    private long esperaLoginMs;
+
+    /**
+     * Rutas de la clase baja (vacío para no limitar nada).
+     */
+    @Value("${prioridad.baja.rutas:GET /partidos, /api-test, /api-test/**}")
+    private String rutasBaja;
+
+    /**
+     * Peticiones de la clase baja que se atienden a la vez.
+     */
+    @Value("${prioridad.baja.capacidad:10}")
+    private int capacidadBaja;
+
+    /**
+     * Peticiones de la clase baja que pueden esperar turno.
+     */
+    @Value("${prioridad.baja.cola:20}")
+    private int colaBaja;
+
+    /**
+     * Espera máxima de turno de la clase baja.
+     */
+    @Value("${prioridad.baja.espera-ms:250}")
+    private long esperaBajaMs;
+
+    /**
+     * Segundos de Retry-After en las peticiones rechazadas.
+     */
+    @Value("${prioridad.retry-after-segundos:1}")
+    private int retryAfterSegundos;
+
+    /**
+     * Crea el filtro con las clases configuradas (las que no tienen rutas se omiten).
+     *
+     * @param meterRegistry Registro de métricas
+     * @return Filtro de prioridades
+     */
+    @Bean
+    public PrioridadPeticionesFilter prioridadPeticiones(MeterRegistry meterRegistry) {
+        List<Compartimento> clases = new ArrayList<>();
+        // LOS RESULTADOS SOLO CON SESIÓN: EL FILTRO VA ANTES QUE LA SEGURIDAD Y UN ANÓNIMO NO DEBE OCUPAR SUS HUECOS
+        RutasPeticion resultados = RutasPeticion.leer(rutasResultados);
+        if (!resultados.isEmpty()) {
+            clases.add(new Compartimento("resultados", resultados, true, capacidadResultados, colaResultados,
+                    esperaResultadosMs, meterRegistry));
+        }
+        RutasPeticion login = RutasPeticion.leer(rutasLogin);
+        if (!login.isEmpty()) {
+            clases.add(new Compartimento("login", login, false, capacidadLogin, colaLogin, esperaLoginMs, meterRegistry));
+        }
+        RutasPeticion baja = RutasPeticion.leer(rutasBaja);
+        if (!baja.isEmpty()) {
+            clases.add(new Compartimento("baja", baja, false, capacidadBaja, colaBaja, esperaBajaMs, meterRegistry));
+        }
+        return new PrioridadPeticionesFilter(clases, retryAfterSegundos);
+    }
+
+    /**
+     * Registra el filtro delante de Spring Security, para que el login también pase por su clase.
+     *
+     * @param prioridadPeticiones Filtro de prioridades
+     * @return Registro del filtro
+     */
+    @Bean
+    public FilterRegistrationBean<PrioridadPeticionesFilter> prioridadPeticionesFilter(PrioridadPeticionesFilter prioridadPeticiones) {
+        FilterRegistrationBean<PrioridadPeticionesFilter> registro = new FilterRegistrationBean<>(prioridadPeticiones);
+        registro.addUrlPatterns("/*");
+        registro.setName("prioridadPeticionesFilter");
+        registro.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registro;
+    }
+}
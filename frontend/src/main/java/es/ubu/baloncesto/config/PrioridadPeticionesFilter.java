@@ -0,0 +1,152 @@
+package es.ubu.baloncesto.config;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Filtro que reparte los hilos de Tomcat entre clases de prioridad.
+ * Cada clase tiene un compartimento con sus huecos, su cola y su espera máxima; las peticiones
+ * que no están en ninguna clase pasan sin límite. Si una clase no tiene huecos libres puede usar
+ * los de las clases de menos prioridad (sin esperar), y si tampoco los hay espera en su cola.
+ * Las de menos prioridad, con poca cola y poca espera, son las primeras en responder 503
+ * cuando la aplicación está saturada.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+public class PrioridadPeticionesFilter extends OncePerRequestFilter {
+
+    /**
+     * Logger para registrar operaciones.
+     */
+    private static final Logger LOGGER = Logger.getLogger(PrioridadPeticionesFilter.class.getName());
+
+    /**
+     * Clases de prioridad, de más a menos prioritaria.
+     */
+    private final List<Compartimento> clases;
+
+    /**
+     * Segundos que se indican en Retry-After al rechazar una petición.
+     */
+    private final int reintentarSegundos;
+
+    /**
+     * Constructor con las clases de prioridad.
+     *
+     * @param clases Clases, de más a menos prioritaria
+     * @param reintentarSegundos Segundos de Retry-After
+     */
+    PrioridadPeticionesFilter(List<Compartimento> clases, int reintentarSegundos) {
+        this.clases = clases;
+        this.reintentarSegundos = reintentarSegundos;
+    }
+
+    /**
+     * Obtiene las estadísticas de cada clase.
+     *
+     * @return Por clase: capacidad, huecos ocupados, cola, admitidas, prestados, rechazadas y espera de turno
+     */
+    public Map<String, Map<String, Object>> getEstadisticas() {
+        Map<String, Map<String, Object>> estadisticas = new LinkedHashMap<>();
+        for (Compartimento clase : clases) {
+            estadisticas.put(clase.getNombre(), clase.getEstadisticas());
+        }
+        return estadisticas;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return clases.isEmpty();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        int indice = buscarClase(request);
+        if (indice < 0) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        Compartimento clase = clases.get(indice);
+        Compartimento ocupado;
+        try {
+            ocupado = ocupar(indice);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            ocupado = null;
+        }
+        if (ocupado == null) {
+            LOGGER.log(Level.FINE, "Petición rechazada por falta de turno en la clase {0}", clase.getNombre());
+            LimiteConcurrenciaFilter.responderOcupado(response, reintentarSegundos);
+            return;
+        }
+
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ocupado.soltar();
+        }
+    }
+
+    /**
+     * Ocupa un hueco para una petición de una clase.
+     *
+     * @param indice Posición de la clase
+     * @return Compartimento del que se ha ocupado el hueco, o null si no hay turno
+     * @throws InterruptedException Si se interrumpe la espera
+     */
+    private Compartimento ocupar(int indice) throws InterruptedException {
+        Compartimento clase = clases.get(indice);
+
+        // PRIMERO UN HUECO PROPIO
+        if (clase.tomar()) {
+            return clase;
+        }
+
+        // DESPUÉS UNO LIBRE DE LAS CLASES DE MENOS PRIORIDAD, EMPEZANDO POR LA ÚLTIMA
+        for (int i = clases.size() - 1; i > indice; i--) {
+            Compartimento inferior = clases.get(i);
+            if (inferior.prestar()) {
+                clase.anotarPrestamo();
+                return inferior;
+            }
+        }
+
+        // SI NO, ESPERO TURNO EN MI COLA
+        return clase.esperar() ? clase : null;
+    }
+
+    /**
+     * Busca la clase de una petición.
+     *
+     * @param request Petición
+     * @return Posición de la primera clase que encaja, o -1 si no está en ninguna
+     */
+    private int buscarClase(HttpServletRequest request) {
+        for (int i = 0; i < clases.size(); i++) {
+            if (clases.get(i).encaja(request)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,31 @@
+package es.ubu.baloncesto.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración del servido de recursos estáticos (CSS y JS).
+ * El versionado por hash y las variantes precomprimidas se activan en application.properties;
+ * aquí solo se registra el filtro que ajusta sus cabeceras de caché.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+@Configuration
+public class RecursosEstaticosConfig {
+
+    /**
+     * Registra el filtro de cabeceras solo para las rutas de recursos estáticos.
+     *
+     * @return Registro del filtro
+     */
+    @Bean
+    public FilterRegistrationBean<CabecerasRecursosFilter> cabecerasRecursosFilter() {
+        FilterRegistrationBean<CabecerasRecursosFilter> registro = new FilterRegistrationBean<>(new CabecerasRecursosFilter());
+        registro.addUrlPatterns("/css/*", "/js/*");
+        registro.setName("cabecerasRecursosFilter");
+        return registro;
+    }
+}
@@ -0,0 +1,314 @@
+package es.ubu.baloncesto.config;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Regla del modo caos: qué llamadas a la API Flask afecta y qué fallos les inyecta.
+ * Se escribe como {@code [METODO] RUTA opcion=valor ...}, por ejemplo
+ * {@code GET /api/partidos/** latencia=lognormal:40:0.5 503=0.05 reset=0.01 lento=0.02:2000}.
+ * Opciones:
+ * <ul>
+ *     <li>{@code latencia}: espera antes de la llamada ({@code fija:MS}, {@code uniforme:MIN:MAX} o {@code lognormal:MEDIANA:SIGMA})</li>
+ *     <li>un código HTTP: proporción de llamadas que responden ese código sin llegar a Flask</li>
+ *     <li>{@code reset}: proporción de llamadas que fallan como una conexión reiniciada</li>
+ *     <li>{@code lento}: proporción de respuestas cuyo cuerpo tarda los milisegundos indicados en llegar</li>
+ * </ul>
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+final class ReglaCaos {
+
+    /**
+     * Comparador de rutas con comodines (el mismo estilo que los antMatchers de seguridad).
+     */
+    private static final AntPathMatcher RUTAS = new AntPathMatcher();
+
+    /**
+     * Método al que se aplica, o null para todos.
+     */
+    private final HttpMethod metodo;
+
+    /**
+     * Patrón de la ruta.
+     */
+    private final String patron;
+
+    /**
+     * Latencia inyectada, o null si no se añade.
+     */
+    private final Latencia latencia;
+
+    /**
+     * Proporción de respuestas con cada código de error.
+     */
+    private final Map<Integer, Double> estados;
+
+    /**
+     * Proporción de conexiones reiniciadas.
+     */
+    private final double reset;
+
+    /**
+     * Proporción de respuestas con el cuerpo lento.
+     */
+    private final double lento;
+
+    /**
+     * Milisegundos que tarda en llegar un cuerpo lento.
+     */
+    private final long lentoMs;
+
+    /**
+     * Constructor con todos los campos.
+     *
+     * @param metodo Método, o null para todos
+     * @param patron Patrón de la ruta
+     * @param latencia Latencia inyectada, o null
+     * @param estados Proporción de cada código de error
+     * @param reset Proporción de conexiones reiniciadas
+     * @param lento Proporción de cuerpos lentos
+     * @param lentoMs Milisegundos de cada cuerpo lento
+     */
+    private ReglaCaos(HttpMethod metodo, String patron, Latencia latencia, Map<Integer, Double> estados,
+                      double reset, double lento, long lentoMs) {
+        this.metodo = metodo;
+        this.patron = patron;
+        this.latencia = latencia;
+        this.estados = estados;
+        this.reset = reset;
+        this.lento = lento;
+        this.lentoMs = lentoMs;
+    }
+
+    /**
+     * Lee las reglas separadas por punto y coma.
+     *
+     * @param texto Reglas (vacío para ninguna)
+     * @return Reglas en el orden escrito (se aplica la primera que encaje)
+     * @throws IllegalArgumentException Si alguna regla no es válida
+     */
+    static List<ReglaCaos> leer(String texto) {
+        List<ReglaCaos> reglas = new ArrayList<>();
+        for (String regla : texto.split(";")) {
+            if (!regla.isBlank()) {
+                reglas.add(leerRegla(regla.trim()));
+            }
+        }
+        return reglas;
+    }
+
+    /**
+     * Lee una regla.
+     *
+     * @param texto Regla
+     * @return Regla leída
+     * @throws IllegalArgumentException Si no es válida
+     */
+    private static ReglaCaos leerRegla(String texto) {
+        String[] partes = texto.split("\\s+");
+        int i = 0;
+        HttpMethod metodo = HttpMethod.resolve(partes[0]);
+        if (metodo != null) {
+            i++;
+        }
+        if (i >= partes.length || !partes[i].startsWith("/")) {
+            throw new IllegalArgumentException("Regla de caos sin ruta: " + texto);
+        }
+        String patron = partes[i++];
+
+        Latencia latencia = null;
+        Map<Integer, Double> estados = new LinkedHashMap<>();
+        double reset = 0;
+        double lento = 0;
+        long lentoMs = 0;
+        for (; i < partes.length; i++) {
+            String[] opcion = partes[i].split("=", 2);
+            if (opcion.length != 2) {
+                throw new IllegalArgumentException("Opción de caos no válida (se esperaba clave=valor): " + partes[i]);
+            }
+            switch (opcion[0]) {
+                case "latencia":
+                    latencia = Latencia.leer(opcion[1]);
+                    break;
+                case "reset":
+                    reset = proporcion(opcion[1]);
+                    break;
+                case "lento":
+                    String[] valores = opcion[1].split(":");
+                    if (valores.length != 2) {
+                        throw new IllegalArgumentException("Se esperaba lento=PROPORCION:MS y se ha recibido " + partes[i]);
+                    }
+                    lento = proporcion(valores[0]);
+                    lentoMs = Long.parseLong(valores[1]);
+                    break;
+                default:
+                    int estado = Integer.parseInt(opcion[0]);
+                    HttpStatus conocido = HttpStatus.resolve(estado);
+                    if (conocido == null || !conocido.isError()) {
+                        throw new IllegalArgumentException("Solo se inyectan códigos de error (4xx y 5xx): " + estado);
+                    }
+                    estados.put(estado, proporcion(opcion[1]));
+                    break;
+            }
+        }
+        double total = reset + estados.values().stream().mapToDouble(Double::doubleValue).sum();
+        if (total > 1) {
+            throw new IllegalArgumentException("Las proporciones de errores de la regla suman más de 1: " + texto);
+        }
+        return new ReglaCaos(metodo, patron, latencia, estados, reset, lento, lentoMs);
+    }
+
+    /**
+     * Lee una proporción entre 0 y 1.
+     *
+     * @param texto Proporción
+     * @return Valor leído
+     * @throws IllegalArgumentException Si está fuera de rango
+     */
+    private static double proporcion(String texto) {
+        double valor = Double.parseDouble(texto);
+        if (valor < 0 || valor > 1) {
+            throw new IllegalArgumentException("La proporción debe estar entre 0 y 1: " + texto);
+        }
+        return valor;
+    }
+
+    /**
+     * Comprueba si la regla se aplica a una llamada.
+     *
+     * @param request Petición a la API Flask
+     * @return true si encaja el método y la ruta
+     */
+    boolean aplica(HttpRequest request) {
+        if (metodo != null && metodo != request.getMethod()) {
+            return false;
+        }
+        String ruta = request.getURI().getRawPath();
+        return ruta != null && RUTAS.match(patron, ruta);
+    }
+
+    /**
+     * Calcula la latencia que se inyecta en una llamada.
+     *
+     * @param aleatorio Generador de la llamada
+     * @return Milisegundos (0 si la regla no añade latencia)
+     */
+    long latenciaMs(SplittableRandom aleatorio) {
+        return (latencia != null) ? latencia.ms(aleatorio) : 0;
+    }
+
+    /**
+     * Decide si la llamada falla y cómo, con un único sorteo para que las proporciones no se solapen.
+     *
+     * @param aleatorio Generador de la llamada
+     * @return Código HTTP que se responde, -1 para reiniciar la conexión o 0 si la llamada sigue
+     */
+    int fallo(SplittableRandom aleatorio) {
+        double sorteo = aleatorio.nextDouble();
+        if (sorteo < reset) {
+            return -1;
+        }
+        double acumulado = reset;
+        for (Map.Entry<Integer, Double> estado : estados.entrySet()) {
+            acumulado += estado.getValue();
+            if (sorteo < acumulado) {
+                return estado.getKey();
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Decide si el cuerpo de la respuesta llega lento.
+     *
+     * @param aleatorio Generador de la llamada
+     * @return Milisegundos que tarda el cuerpo, o 0 si llega normal
+     */
+    long lentoMs(SplittableRandom aleatorio) {
+        return (lento > 0 && aleatorio.nextDouble() < lento) ? lentoMs : 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return ((metodo != null) ? metodo + " " : "") + patron;
+    }
+
+    /**
+     * Distribución de la latencia inyectada.
+     */
+    @FunctionalInterface
+    interface Latencia {
+
+        /**
+         * Calcula la latencia de una llamada.
+         *
+         * @param aleatorio Generador de la llamada
+         * @return Milisegundos
+         */
+        long ms(SplittableRandom aleatorio);
+
+        /**
+         * Lee una latencia: {@code fija:MS}, {@code uniforme:MIN:MAX} o {@code lognormal:MEDIANA:SIGMA}.
+         *
+         * @param texto Latencia
+         * @return Distribución leída
+         * @throws IllegalArgumentException Si no es válida
+         */
+        static Latencia leer(String texto) {
+            String[] partes = texto.split(":");
+            switch (partes[0]) {
+                case "fija":
+                    if (partes.length == 2) {
+                        long ms = Long.parseLong(partes[1]);
+                        return aleatorio -> ms;
+                    }
+                    break;
+                case "uniforme":
+                    if (partes.length == 3) {
+                        long minimo = Long.parseLong(partes[1]);
+                        long maximo = Long.parseLong(partes[2]);
+                        if (minimo < 0 || maximo < minimo) {
+                            throw new IllegalArgumentException("Latencia uniforme con un rango no válido: " + texto);
+                        }
+                        return aleatorio -> minimo + aleatorio.nextLong(maximo - minimo + 1);
+                    }
+                    break;
+                case "lognormal":
+                    if (partes.length == 3) {
+                        double mediana = Double.parseDouble(partes[1]);
+                        double sigma = Double.parseDouble(partes[2]);
+                        return aleatorio -> Math.round(mediana * Math.exp(sigma * normal(aleatorio)));
+                    }
+                    break;
+                default:
+                    break;
+            }
+            throw new IllegalArgumentException("Latencia no válida (fija:MS, uniforme:MIN:MAX o lognormal:MEDIANA:SIGMA): " + texto);
+        }
+
+        /**
+         * Genera un valor de una normal estándar (Box-Muller).
+         *
+         * @param aleatorio Generador
+         * @return Valor normal
+         */
+        private static double normal(SplittableRandom aleatorio) {
+            double u = 1.0 - aleatorio.nextDouble();
+            return Math.sqrt(-2 * Math.log(u)) * Math.cos(2 * Math.PI * aleatorio.nextDouble());
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package es.ubu.baloncesto.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Interceptor que reintenta las lecturas (GET) a la API Flask que fallan por un error transitorio.
+ * Espera entre intentos con retroceso exponencial y variación aleatoria completa, para que los
+ * clientes no reintenten todos a la vez. Los reintentos gastan un presupuesto común que solo se
+ * recarga con las peticiones que salen bien a la primera: si la API cae del todo, el presupuesto
+ * se agota enseguida y se deja de reintentar en vez de multiplicar la carga.
+ * Las escrituras nunca se reintentan porque no son idempotentes.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+public class ReintentosFlaskInterceptor implements ClientHttpRequestInterceptor {
+
+    /**
+     * Logger para registrar operaciones.
+     */
+    private static final Logger LOGGER = Logger.getLogger(ReintentosFlaskInterceptor.class.getName());
+
+    /**
+     * Milésimas de ficha en una ficha de presupuesto (el presupuesto se lleva en milésimas).
+     */
+    private static final long FICHA = 1000;
+
+    /**
+     * Intentos como máximo de cada lectura, contando el primero.
+     */
+    private final int maxIntentos;
+
+    /**
+     * Espera base antes del primer reintento, en milisegundos.
+     */
+    private final long esperaBaseMs;
+
+    /**
+     * Espera máxima entre intentos, en milisegundos.
+     */
+    private final long esperaMaximaMs;
+
+    /**
+     * Códigos HTTP que se consideran transitorios.
+     */
+    private final Set<Integer> estadosReintentables;
+
+    /**
+     * Milésimas de ficha que recarga cada petición que sale bien a la primera.
+     */
+    private final long recargaPorExito;
+
+    /**
+     * Máximo del presupuesto, en milésimas de ficha.
+     */
+    private final long presupuestoMaximo;
+
+    /**
+     * Presupuesto disponible, en milésimas de ficha. Cada reintento gasta una ficha entera.
+     */
+    private final AtomicLong presupuesto;
+
+    /**
+     * Reintentos hechos.
+     */
+    private final AtomicLong reintentos = new AtomicLong();
+
+    /**
+     * Lecturas que han salido bien después de algún reintento.
+     */
+    private final AtomicLong exitosTrasReintento = new AtomicLong();
+
+    /**
+     * Reintentos que no se han hecho por falta de presupuesto.
+     */
+    private final AtomicLong denegadosPorPresupuesto = new AtomicLong();
+
+    /**
+     * Reintentos que no se han hecho porque no quedaba plazo de la petición.
+     */
+    private final AtomicLong denegadosPorPlazo = new AtomicLong();
+
+    /**
+     * Lecturas que han fallado sin poder reintentarlas más (por intentos, presupuesto o plazo).
+     */
+    private final AtomicLong agotados = new AtomicLong();
+
+    /**
+     * Constructor con toda la configuración.
+     *
+     * @param maxIntentos Intentos como máximo, contando el primero
+     * @param esperaBaseMs Espera base antes del primer reintento
+     * @param esperaMaximaMs Espera máxima entre intentos
+     * @param estadosReintentables Códigos HTTP que se reintentan
+     * @param proporcion Reintentos que se permiten por cada petición correcta (por ejemplo 0.1)
+     * @param maximoFichas Reintentos que se pueden acumular como máximo
+     */
+    public ReintentosFlaskInterceptor(int maxIntentos, long esperaBaseMs, long esperaMaximaMs,
+                                      Set<Integer> estadosReintentables, double proporcion, int maximoFichas) {
+        this.maxIntentos = Math.max(1, maxIntentos);
+        this.esperaBaseMs = esperaBaseMs;
+        this.esperaMaximaMs = esperaMaximaMs;
+        this.estadosReintentables = Set.copyOf(estadosReintentables);
+        this.recargaPorExito = Math.round(proporcion * FICHA);
+        this.presupuestoMaximo = (long) maximoFichas * FICHA;
+        this.presupuesto = new AtomicLong(presupuestoMaximo);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        // SOLO REINTENTO LO QUE SE PUEDE REPETIR SIN EFECTOS
+        if (request.getMethod() != HttpMethod.GET) {
+            return execution.execute(request, body);
+        }
+
+        for (int intento = 1; ; intento++) {
+            ClientHttpResponse respuesta;
+            try {
+                respuesta = execution.execute(request, body);
+            } catch (IOException e) {
+                // FALLO DE RED O TIEMPO DE ESPERA AGOTADO
+                if (!puedeReintentar(intento)) {
+                    agotados.incrementAndGet();
+                    throw e;
+                }
+                esperar(request, intento, e.getMessage());
+                continue;
+            }
+
+            int estado = respuesta.getRawStatusCode();
+            if (!estadosReintentables.contains(estado)) {
+                registrarFin(intento);
+                return respuesta;
+            }
+            if (!puedeReintentar(intento)) {
+                // DEVUELVO LA ÚLTIMA RESPUESTA: EL SERVICIO DECIDE QUÉ HACER CON ELLA
+                agotados.incrementAndGet();
+                return respuesta;
+            }
+            respuesta.close();
+            esperar(request, intento, "HTTP " + estado);
+        }
+    }
+
+    /**
+     * Comprueba si se puede hacer otro intento y, si es así, gasta una ficha del presupuesto.
+     *
+     * @param intento Intento que acaba de fallar
+     * @return true si se puede reintentar
+     */
+    private boolean puedeReintentar(int intento) {
+        if (intento >= maxIntentos) {
+            return false;
+        }
+
+        // SI LA ESPERA MÁS LARGA POSIBLE YA NO CABE EN EL PLAZO, NO MERECE LA PENA
+        if (PlazoPeticion.getRestanteMs() <= espera(intento)) {
+            denegadosPorPlazo.incrementAndGet();
+            return false;
+        }
+
+        // GASTO UNA FICHA SI LA HAY
+        long disponible;
+        do {
+            disponible = presupuesto.get();
+            if (disponible < FICHA) {
+                denegadosPorPresupuesto.incrementAndGet();
+                return false;
+            }
+        } while (!presupuesto.compareAndSet(disponible, disponible - FICHA));
+        return true;
+    }
+
+    /**
+     * Espera antes del siguiente intento: un tiempo aleatorio entre 0 y la espera exponencial.
+     *
+     * @param request Petición que se va a reintentar
+     * @param intento Intento que acaba de fallar
+     * @param motivo Motivo del fallo (para el log)
+     * @throws InterruptedIOException Si se interrumpe la espera
+     */
+    private void esperar(HttpRequest request, int intento, String motivo) throws InterruptedIOException {
+        reintentos.incrementAndGet();
+        long ms = ThreadLocalRandom.current().nextLong(espera(intento) + 1);
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine("Reintento " + intento + " de " + request.getURI() + " en " + ms + " ms (" + motivo + ")");
+        }
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Reintento interrumpido");
+        }
+    }
+
+    /**
+     * Calcula la espera máxima antes del siguiente intento.
+     *
+     * @param intento Intento que acaba de fallar (1 para el primero)
+     * @return Milisegundos
+     */
+    private long espera(int intento) {
+        return Math.min(esperaMaximaMs, esperaBaseMs << Math.min(intento - 1, 20));
+    }
+
+    /**
+     * Anota una lectura terminada con una respuesta definitiva.
+     *
+     * @param intento Intento en que ha terminado
+     */
+    private void registrarFin(int intento) {
+        if (intento > 1) {
+            exitosTrasReintento.incrementAndGet();
+            return;
+        }
+
+        // SOLO LAS QUE SALEN A LA PRIMERA RECARGAN EL PRESUPUESTO
+        long disponible;
+        do {
+            disponible = presupuesto.get();
+            if (disponible >= presupuestoMaximo) {
+                return;
+            }
+        } while (!presupuesto.compareAndSet(disponible, Math.min(presupuestoMaximo, disponible + recargaPorExito)));
+    }
+
+    /**
+     * Publica los contadores y el presupuesto en el registro de métricas.
+     *
+     * @param registro Registro de métricas
+     */
+    public void registrarMetricas(MeterRegistry registro) {
+        contador(registro, "baloncesto.flask.reintentos", reintentos, "Reintentos de lecturas a la API Flask");
+        contador(registro, "baloncesto.flask.reintentos.exitos", exitosTrasReintento,
+                "Lecturas que han salido bien después de algún reintento");
+        contador(registro, "baloncesto.flask.reintentos.agotados", agotados,
+                "Lecturas que han fallado sin poder reintentarlas más");
+        FunctionCounter.builder("baloncesto.flask.reintentos.denegados", denegadosPorPresupuesto, AtomicLong::get)
+                .description("Reintentos no hechos").tag("motivo", "presupuesto").register(registro);
+        FunctionCounter.builder("baloncesto.flask.reintentos.denegados", denegadosPorPlazo, AtomicLong::get)
+                .description("Reintentos no hechos").tag("motivo", "plazo").register(registro);
+        Gauge.builder("baloncesto.flask.reintentos.presupuesto", presupuesto, p -> p.get() / (double) FICHA)
+                .description("Reintentos disponibles en el presupuesto común").register(registro);
+    }
+
+    /**
+     * Publica un contador.
+     *
+     * @param registro Registro de métricas
+     * @param nombre Nombre de la métrica
+     * @param valor Contador
+     * @param descripcion Descripción de la métrica
+     */
+    private static void contador(MeterRegistry registro, String nombre, AtomicLong valor, String descripcion) {
+        FunctionCounter.builder(nombre, valor, AtomicLong::get).description(descripcion).register(registro);
+    }
+
+    /**
+     * Obtiene las estadísticas de los reintentos.
+     *
+     * @return Reintentos, éxitos tras reintento, denegados y presupuesto disponible
+     */
+    public Map<String, Object> getEstadisticas() {
+        Map<String, Object> estadisticas = new LinkedHashMap<>();
+        estadisticas.put("reintentos", reintentos.get());
+        estadisticas.put("exitosTrasReintento", exitosTrasReintento.get());
+        estadisticas.put("agotados", agotados.get());
+        estadisticas.put("denegadosPorPresupuesto", denegadosPorPresupuesto.get());
+        estadisticas.put("denegadosPorPlazo", denegadosPorPlazo.get());
+        estadisticas.put("presupuestoDisponible", presupuesto.get() / (double) FICHA);
+        return estadisticas;
+    }
+}
@@ -0,0 +1,64 @@
+package es.ubu.baloncesto.config;
+
+import es.ubu.baloncesto.jfr.RenderizadoVistaEvent;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Interceptor que emite un evento de Flight Recorder por cada vista renderizada.
+ * El evento empieza cuando el controlador ya ha terminado (postHandle) y acaba
+ * al completar la petición, así que mide solo el renderizado de la plantilla.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+public class RenderizadoVistasJfrInterceptor implements HandlerInterceptor {
+
+    /**
+     * Atributo de la petición con el evento en curso.
+     */
+    private static final String ATRIBUTO = RenderizadoVistasJfrInterceptor.class.getName() + ".evento";
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        // LAS REDIRECCIONES Y LAS RESPUESTAS SIN VISTA NO RENDERIZAN NADA
+        if (modelAndView == null || !modelAndView.isReference()
+                || modelAndView.getViewName().startsWith("redirect:")) {
+            return;
+        }
+
+        RenderizadoVistaEvent evento = new RenderizadoVistaEvent();
+        if (evento.isEnabled()) {
+            evento.vista = modelAndView.getViewName();
+            request.setAttribute(ATRIBUTO, evento);
+            evento.begin();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        Object atributo = request.getAttribute(ATRIBUTO);
+        if (atributo instanceof RenderizadoVistaEvent) {
+            RenderizadoVistaEvent evento = (RenderizadoVistaEvent) atributo;
+            request.removeAttribute(ATRIBUTO);
+            evento.end();
+            if (evento.shouldCommit()) {
+                evento.ruta = request.getRequestURI();
+                evento.estado = response.getStatus();
+                evento.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package es.ubu.baloncesto.config;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.util.AntPathMatcher;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Conjunto de rutas de la aplicación con su método, escrito como {@code [METODO] RUTA, [METODO] RUTA, ...},
+ * por ejemplo {@code POST /partidos/guardar, GET /partidos/eliminar/*}. Sin método encaja cualquiera.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+final class RutasPeticion {
+
+    /**
+     * Comparador de rutas con comodines (el mismo estilo que los antMatchers de seguridad).
+     */
+    private static final AntPathMatcher RUTAS = new AntPathMatcher();
+
+    /**
+     * Método de cada ruta, o null para todos.
+     */
+    private final List<HttpMethod> metodos;
+
+    /**
+     * Patrón de cada ruta.
+     */
+    private final List<String> patrones;
+
+    /**
+     * Constructor con todos los campos.
+     *
+     * @param metodos Método de cada ruta
+     * @param patrones Patrón de cada ruta
+     */
+    private RutasPeticion(List<HttpMethod> metodos, List<String> patrones) {
+        this.metodos = metodos;
+        this.patrones = patrones;
+    }
+
+    /**
+     * Lee las rutas separadas por comas.
+     *
+     * @param texto Rutas (vacío para ninguna)
+     * @return Rutas leídas
+     * @throws IllegalArgumentException Si alguna ruta no es válida
+     */
+    static RutasPeticion leer(String texto) {
+        List<HttpMethod> metodos = new ArrayList<>();
+        List<String> patrones = new ArrayList<>();
+        for (String ruta : texto.split(",")) {
+            if (ruta.isBlank()) {
+                continue;
+            }
+            String[] partes = ruta.trim().split("\\s+");
+            HttpMethod metodo = (partes.length == 2) ? HttpMethod.resolve(partes[0]) : null;
+            String patron = partes[partes.length - 1];
+            if (partes.length > 2 || (partes.length == 2 && metodo == null) || !patron.startsWith("/")) {
+                throw new IllegalArgumentException("Ruta no válida (se esperaba [METODO] /ruta): " + ruta);
+            }
+            metodos.add(metodo);
+            patrones.add(patron);
+        }
+        return new RutasPeticion(metodos, patrones);
+    }
+
+    /**
+     * Comprueba si una petición encaja en alguna de las rutas.
+     *
+     * @param request Petición
+     * @return true si encaja el método y la ruta de alguna
+     */
+    boolean encaja(HttpServletRequest request) {
+        String ruta = request.getRequestURI().substring(request.getContextPath().length());
+        HttpMethod metodo = HttpMethod.resolve(request.getMethod());
+        for (int i = 0; i < patrones.size(); i++) {
+            HttpMethod esperado = metodos.get(i);
+            if ((esperado == null || esperado == metodo) && RUTAS.match(patrones.get(i), ruta)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Comprueba si no hay ninguna ruta.
+     *
+     * @return true si no encaja ninguna petición
+     */
+    boolean isEmpty() {
+        return patrones.isEmpty();
+    }
+}
@@ -1,8 +1,12 @@
 package es.ubu.baloncesto.config;
 
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.builders.WebSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
 import org.springframework.security.core.userdetails.User;
@@ -11,7 +15,9 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestHeaderRequestMatcher;
 
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -41,8 +47,13 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
         // CONFIGURO LAS REGLAS DE SEGURIDAD
         http
                 .authorizeRequests()
-                // PERMITO ACCESO PÚBLICO A RECURSOS ESTÁTICOS Y PÁGINA PRINCIPAL
-                .antMatchers("/css/**", "/js/**", "/", "/about", "/api/**").permitAll()
+                // PERMITO ACCESO PÚBLICO A LA PÁGINA PRINCIPAL (LOS RECURSOS ESTÁTICOS NI SIQUIERA PASAN POR AQUÍ)
+                .antMatchers("/", "/about", "/api/**").permitAll()
+                // LA SALUD ES PÚBLICA PARA LOS BALANCEADORES; LAS MÉTRICAS SOLO PARA MONITORIZACIÓN
+                .requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+                .requestMatchers(EndpointRequest.toAnyEndpoint()).hasAnyRole("MONITOR", "ADMIN")
+                // LAS TAREAS DE MANTENIMIENTO SOLO PARA ADMINISTRADORES
+                .antMatchers("/admin/**").hasRole("ADMIN")
                 // PIDO AUTENTICACIÓN PARA LAS DEMÁS RUTAS
                 .anyRequest().authenticated()
                 .and()
@@ -52,6 +63,9 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
                 .defaultSuccessUrl("/", true)
                 .permitAll()
                 .and()
+                // PROMETHEUS NO RELLENA FORMULARIOS: ACEPTO TAMBIÉN AUTENTICACIÓN BÁSICA
+                .httpBasic()
+                .and()
                 .logout()
                 // CONFIGURO EL LOGOUT
                 .logoutRequestMatcher(new AntPathRequestMatcher("/logout"))
@@ -65,12 +79,31 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
                 .accessDeniedPage("/access-denied");
 
         // DESACTIVO CSRF PARA LAS LLAMADAS A LA API
-        http.csrf().ignoringAntMatchers("/api/**");
+        // Y PARA LOS PROGRAMAS QUE ALIMENTAN EL MARCADOR EN VIVO CON AUTENTICACIÓN BÁSICA: NO TIENEN TOKEN,
+        // PERO UNA WEB AJENA NO PUEDE MANDAR SUS CREDENCIALES (UN NAVEGADOR CON SESIÓN SIGUE NECESITANDO EL TOKEN)
+        http.csrf()
+                .ignoringAntMatchers("/api/**")
+                .ignoringRequestMatchers(new AndRequestMatcher(
+                        new AntPathRequestMatcher("/partidos/*/marcador/**", "POST"),
+                        new RequestHeaderRequestMatcher(HttpHeaders.AUTHORIZATION)));
 
         // ACTIVO CORS PARA PERMITIR PETICIONES DESDE FLASK (PUERTO 5000)
         http.cors();
     }
 
+    /**
+     * Excluye los recursos estáticos de la cadena de filtros de seguridad.
+     * Son públicos y no dependen del usuario, así que no necesitan sesión,
+     * contexto de seguridad ni token CSRF.
+     *
+     * @param web Objeto WebSecurity para configurar las rutas ignoradas
+     */
+    @Override
+    public void configure(WebSecurity web) {
+        // LOS CSS Y JS SE SIRVEN DIRECTAMENTE
+        web.ignoring().antMatchers("/css/**", "/js/**");
+    }
+
     /**
      * Configura el codificador de contraseñas.
      *
@@ -104,8 +137,14 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
                 .roles("USER", "ADMIN")
                 .build();
 
+        UserDetails monitor = User.builder()
+                .username("monitor")
+                .password(passwordEncoder().encode("monitor"))
+                .roles("MONITOR")
+                .build();
+
         // DEVUELVO UN GESTOR DE USUARIOS EN MEMORIA
-        return new InMemoryUserDetailsManager(user, admin);
+        return new InMemoryUserDetailsManager(user, admin, monitor);
     }
 
     /**
@@ -0,0 +1,200 @@
+package es.ubu.baloncesto.controller;
+
+import es.ubu.baloncesto.config.LimiteConcurrenciaFilter;
+import es.ubu.baloncesto.config.PrioridadPeticionesFilter;
+import es.ubu.baloncesto.config.ReintentosFlaskInterceptor;
+import es.ubu.baloncesto.model.InformeRecalculo;
+import es.ubu.baloncesto.service.CacheTablaPartidosService;
+import es.ubu.baloncesto.service.CoberturaLlamadasService;
+import es.ubu.baloncesto.service.PokemonService;
+import es.ubu.baloncesto.service.RecalculoEquiposService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.Map;
+
+/**
+ * Controlador para las tareas de mantenimiento.
+ * Solo accesible para usuarios con rol ADMIN.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+@Controller
+@RequestMapping("/admin")
+public class AdminController {
+
+    /**
+     * Servicio de recálculo de victorias y derrotas.
+     */
+    private final RecalculoEquiposService recalculoEquiposService;
+
+    /**
+     * Caché de las filas de la tabla de partidos.
+     */
+    private final CacheTablaPartidosService cacheTablaPartidosService;
+
+    /**
+     * Política de reintentos de las lecturas a la API Flask.
+     */
+    private final ReintentosFlaskInterceptor reintentosFlask;
+
+    /**
+     * Servicio de llamadas con cobertura.
+     */
+    private final CoberturaLlamadasService coberturaLlamadasService;
+
+    /**
+     * Servicio de consultas de Pokémon (con caché).
+     */
+    private final PokemonService pokemonService;
+
+    /**
+     * Límite adaptativo de peticiones simultáneas.
+     */
+    private final LimiteConcurrenciaFilter limiteConcurrencia;
+
+    /**
+     * Clases de prioridad de las peticiones.
+     */
+    private final PrioridadPeticionesFilter prioridadPeticiones;
+
+    /**
+     * Constructor que inicializa los servicios mediante inyección de dependencias.
+     *
+     * @param recalculoEquiposService Servicio de recálculo
+     * @param cacheTablaPartidosService Caché de las filas de la tabla de partidos
+     * @param reintentosFlask Política de reintentos de las lecturas a la API Flask
+     * @param coberturaLlamadasService Servicio de llamadas con cobertura
+     * @param pokemonService Servicio de consultas de Pokémon
+     * @param limiteConcurrencia Límite adaptativo de peticiones simultáneas
+     * @param prioridadPeticiones Clases de prioridad de las peticiones
+     */
+    @Autowired
+    public AdminController(RecalculoEquiposService recalculoEquiposService,
+                           CacheTablaPartidosService cacheTablaPartidosService,
+                           ReintentosFlaskInterceptor reintentosFlask,
+                           CoberturaLlamadasService coberturaLlamadasService,
+                           PokemonService pokemonService,
+                           LimiteConcurrenciaFilter limiteConcurrencia,
+                           PrioridadPeticionesFilter prioridadPeticiones) {
+        // GUARDO LOS SERVICIOS INYECTADOS
+        this.recalculoEquiposService = recalculoEquiposService;
+        this.cacheTablaPartidosService = cacheTablaPartidosService;
+        this.reintentosFlask = reintentosFlask;
+        this.coberturaLlamadasService = coberturaLlamadasService;
+        this.pokemonService = pokemonService;
+        this.limiteConcurrencia = limiteConcurrencia;
+        this.prioridadPeticiones = prioridadPeticiones;
+    }
+
+    /**
+     * Recalcula las victorias y derrotas de todos los equipos a partir de los partidos finalizados.
+     *
+     * @param aplicar true para escribir las correcciones, false para solo informar (por defecto)
+     * @return Informe con la deriva encontrada
+     */
+    @PostMapping("/recalculo-equipos")
+    @ResponseBody
+    public ResponseEntity<InformeRecalculo> recalcularEquipos(
+            @RequestParam(defaultValue = "false") boolean aplicar) {
+        return ResponseEntity.ok(recalculoEquiposService.recalcular(aplicar));
+    }
+
+    /**
+     * Obtiene las estadísticas de la caché de la tabla de partidos.
+     *
+     * @return Aciertos, renderizados y tiempo de renderizado ahorrado
+     */
+    @GetMapping("/cache/tabla-partidos")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> getEstadisticasCacheTabla() {
+        return ResponseEntity.ok(cacheTablaPartidosService.getEstadisticas());
+    }
+
+    /**
+     * Descarta las filas guardadas de la tabla de partidos.
+     *
+     * @return Estadísticas de la caché tras vaciarla
+     */
+    @PostMapping("/cache/tabla-partidos/invalidar")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> invalidarCacheTabla() {
+        cacheTablaPartidosService.invalidar();
+        return ResponseEntity.ok(cacheTablaPartidosService.getEstadisticas());
+    }
+
+    /**
+     * Obtiene las estadísticas de la caché de Pokémon.
+     *
+     * @return Modo (red o fixture), aciertos, fallos, consultas compartidas y entradas guardadas
+     */
+    @GetMapping("/cache/pokemon")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> getEstadisticasCachePokemon() {
+        return ResponseEntity.ok(pokemonService.getEstadisticas());
+    }
+
+    /**
+     * Descarta los Pokémon guardados.
+     *
+     * @return Estadísticas de la caché tras vaciarla
+     */
+    @PostMapping("/cache/pokemon/vaciar")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> vaciarCachePokemon() {
+        pokemonService.vaciar();
+        return ResponseEntity.ok(pokemonService.getEstadisticas());
+    }
+
+    /**
+     * Obtiene las estadísticas de los reintentos de lecturas a la API Flask.
+     *
+     * @return Reintentos hechos, éxitos tras reintento, denegados y presupuesto disponible
+     */
+    @GetMapping("/flask/reintentos")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> getEstadisticasReintentos() {
+        return ResponseEntity.ok(reintentosFlask.getEstadisticas());
+    }
+
+    /**
+     * Obtiene las estadísticas de las llamadas con cobertura a la API Flask.
+     *
+     * @return Por operación: tasa de cobertura, retraso actual y p99 con y sin cobertura
+     */
+    @GetMapping("/flask/coberturas")
+    @ResponseBody
+    public ResponseEntity<Map<String, Map<String, Object>>> getEstadisticasCoberturas() {
+        return ResponseEntity.ok(coberturaLlamadasService.getEstadisticas());
+    }
+
+    /**
+     * Obtiene el estado de los límites de peticiones simultáneas.
+     *
+     * @return Por grupo: límite actual, peticiones en curso, rechazadas y latencias de referencia
+     */
+    @GetMapping("/concurrencia")
+    @ResponseBody
+    public ResponseEntity<Map<String, Map<String, Object>>> getEstadisticasConcurrencia() {
+        return ResponseEntity.ok(limiteConcurrencia.getEstadisticas());
+    }
+
+    /**
+     * Obtiene el estado de las clases de prioridad de las peticiones.
+     *
+     * @return Por clase: capacidad, huecos ocupados, cola, admitidas, prestados, rechazadas y espera de turno
+     */
+    @GetMapping("/prioridad")
+    @ResponseBody
+    public ResponseEntity<Map<String, Map<String, Object>>> getEstadisticasPrioridad() {
+        return ResponseEntity.ok(prioridadPeticiones.getEstadisticas());
+    }
+}
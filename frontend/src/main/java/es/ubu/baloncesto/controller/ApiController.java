@@ -1,7 +1,12 @@
 package es.ubu.baloncesto.controller;
 
 import es.ubu.baloncesto.exception.ApiException;
+import es.ubu.baloncesto.model.LotePokemon;
+import es.ubu.baloncesto.service.PokemonService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -14,7 +19,10 @@ import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Controlador que simula invocaciones a APIs de terceros.
@@ -41,11 +49,21 @@ public class ApiController {
     private final RestTemplate restTemplate;
 
     /**
-     * Constructor que inicializa el cliente REST.
+     * Servicio de consultas de Pokémon (con caché).
      */
-    public ApiController() {
-        // INICIALIZO EL CLIENTE REST
-        this.restTemplate = new RestTemplate();
+    private final PokemonService pokemonService;
+
+    /**
+     * Constructor que inicializa el cliente REST mediante inyección de dependencias.
+     *
+     * @param clientePokemon Cliente HTTP con los tiempos de espera de las consultas de Pokémon
+     * @param pokemonService Servicio de consultas de Pokémon
+     */
+    @Autowired
+    public ApiController(@Qualifier("clientePokemon") RestTemplate clientePokemon, PokemonService pokemonService) {
+        // GUARDO EL CLIENTE REST Y EL SERVICIO INYECTADOS
+        this.restTemplate = clientePokemon;
+        this.pokemonService = pokemonService;
     }
 
     /**
@@ -67,24 +85,35 @@ public class ApiController {
      * Obtiene información de un Pokémon por su nombre o ID.
      *
      * @param pokemonId Nombre o ID del Pokémon
-     * @return Respuesta con la información del Pokémon
+     * @return Respuesta con la información del Pokémon, o 404 si no existe
      */
     @GetMapping("/pokemon/{pokemonId}")
     @ResponseBody
     public ResponseEntity<Map<String, Object>> getPokemon(@PathVariable String pokemonId) {
-        try {
-            // Construyo la URL de la API local
-            String url = "http://localhost:5000/api/pokemon/" + pokemonId.toLowerCase();
+        // CONSULTO EL POKÉMON (LOS ERRORES DE LA API LLEGAN COMO ApiException)
+        Optional<Map<String, Object>> pokemon = pokemonService.buscar(pokemonId);
 
-            // Hago la petición HTTP
-            ResponseEntity<Map> response = restTemplate.getForEntity(url, Map.class);
+        // SI NO EXISTE DEVUELVO 404 EN LUGAR DE UN ERROR GENÉRICO
+        return pokemon.map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(Map.of("error", "No existe el Pokémon " + pokemonId)));
+    }
 
-            // Devuelvo los datos del Pokémon
-            return ResponseEntity.ok(response.getBody());
-        } catch (RestClientException e) {
-            // Si hay un error, lanzo una excepción personalizada
-            throw new ApiException("Error al obtener datos del Pokémon: " + e.getMessage(),
-                    e, "http://localhost:5000/api/pokemon/" + pokemonId);
+    /**
+     * Obtiene información de varios Pokémon en una sola petición.
+     *
+     * @param ids Nombres o IDs separados por comas
+     * @return Pokémon encontrados, no encontrados y los que han fallado, o 400 si se piden demasiados
+     */
+    @GetMapping("/pokemon")
+    @ResponseBody
+    public ResponseEntity<?> getVariosPokemon(@RequestParam String ids) {
+        List<String> lista = Arrays.asList(ids.split(","));
+        try {
+            LotePokemon lote = pokemonService.buscarVarios(lista);
+            return ResponseEntity.ok(lote);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
 
@@ -102,10 +131,10 @@ public class ApiController {
             int statusCode = (errorCode != null) ? errorCode : 500;
 
             // Construyo la URL de la API local
-            String url = "http://localhost:5000/api/errors/simulate/" + statusCode;
+            String url = "http://localhost:5000/api/errors/simulate/{statusCode}";
 
             // Hago la petición HTTP
-            restTemplate.postForEntity(url, null, Map.class);
+            restTemplate.postForEntity(url, null, Map.class, statusCode);
 
             // Esta línea no debería ejecutarse ya que la petición anterior debería lanzar una excepción. Si lo hace, "oh"
             return ResponseEntity.ok(Map.of("error", "No se ha producido el error esperado"));
@@ -0,0 +1,159 @@
+package es.ubu.baloncesto.controller;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.data.domain.Page;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Columnas que la API REST puede devolver de una entidad y escritor de páginas en JSON.
+ * Cada petición elige las columnas con el parámetro fields y solo se serializan esas;
+ * los elementos se escriben uno a uno directamente en la respuesta, sin construir
+ * antes el documento completo en memoria.
+ *
+ * @param <T> Tipo de la entidad
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+class CamposJson<T> {
+
+    /**
+     * Extractores de cada columna, en el orden en que se escriben.
+     */
+    private final Map<String, Function<T, Object>> columnas = new LinkedHashMap<>();
+
+    /**
+     * Mapper de Jackson, del que se sacan los generadores.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Escritor de los valores de cada columna. No vacía la salida tras cada valor:
+     * el generador ya la vacía cuando se llena su buffer.
+     */
+    private final ObjectWriter escritorValores;
+
+    /**
+     * Constructor con el mapper de la aplicación.
+     *
+     * @param objectMapper Mapper de Jackson
+     */
+    CamposJson(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.escritorValores = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Añade una columna.
+     *
+     * @param nombre Nombre de la columna en el JSON
+     * @param extractor Función que obtiene su valor
+     * @return Esta misma instancia, para encadenar llamadas
+     */
+    CamposJson<T> columna(String nombre, Function<T, Object> extractor) {
+        columnas.put(nombre, extractor);
+        return this;
+    }
+
+    /**
+     * Interpreta el parámetro fields.
+     *
+     * @param fields Columnas separadas por comas (null o vacío para todas)
+     * @return Columnas elegidas, en el orden pedido
+     * @throws IllegalArgumentException Si se pide una columna que no existe
+     */
+    List<String> elegir(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return new ArrayList<>(columnas.keySet());
+        }
+
+        List<String> elegidas = new ArrayList<>();
+        for (String campo : fields.split(",")) {
+            String nombre = campo.trim();
+            if (nombre.isEmpty() || elegidas.contains(nombre)) {
+                continue;
+            }
+            if (!columnas.containsKey(nombre)) {
+                throw new IllegalArgumentException("Campo desconocido: " + nombre + ". Disponibles: " + columnas.keySet());
+            }
+            elegidas.add(nombre);
+        }
+        return elegidas;
+    }
+
+    /**
+     * Construye la respuesta con una página de elementos ya filtrada y paginada en el origen de datos.
+     *
+     * @param pagina Página con sus elementos y el total que cumple los filtros
+     * @param campos Columnas a escribir
+     * @return Respuesta que escribe la página en streaming
+     */
+    ResponseEntity<StreamingResponseBody> pagina(Page<T> pagina, List<String> campos) {
+        List<T> contenido = pagina.getContent();
+        long total = pagina.getTotalElements();
+        int tamano = pagina.getSize();
+
+        StreamingResponseBody cuerpo = salida -> {
+            try (JsonGenerator json = objectMapper.getFactory().createGenerator(salida, JsonEncoding.UTF8)) {
+                json.writeStartObject();
+                json.writeNumberField("pagina", pagina.getNumber());
+                json.writeNumberField("tamano", tamano);
+                json.writeNumberField("total", total);
+                json.writeNumberField("paginas", pagina.getTotalPages());
+                json.writeArrayFieldStart("elementos");
+                for (T elemento : contenido) {
+                    escribir(json, elemento, campos);
+                }
+                json.writeEndArray();
+                json.writeEndObject();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(cuerpo);
+    }
+
+    /**
+     * Construye la respuesta con un único elemento.
+     *
+     * @param elemento Elemento
+     * @param campos Columnas a escribir
+     * @return Respuesta que escribe el elemento en streaming
+     */
+    ResponseEntity<StreamingResponseBody> uno(T elemento, List<String> campos) {
+        StreamingResponseBody cuerpo = salida -> {
+            try (JsonGenerator json = objectMapper.getFactory().createGenerator(salida, JsonEncoding.UTF8)) {
+                escribir(json, elemento, campos);
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(cuerpo);
+    }
+
+    /**
+     * Escribe las columnas elegidas de un elemento.
+     *
+     * @param json Generador JSON
+     * @param elemento Elemento
+     * @param campos Columnas a escribir
+     * @throws IOException Si falla la escritura
+     */
+    private void escribir(JsonGenerator json, T elemento, List<String> campos) throws IOException {
+        json.writeStartObject();
+        for (String campo : campos) {
+            json.writeFieldName(campo);
+            escritorValores.writeValue(json, columnas.get(campo).apply(elemento));
+        }
+        json.writeEndObject();
+    }
+}
@@ -0,0 +1,120 @@
+package es.ubu.baloncesto.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import es.ubu.baloncesto.model.Equipo;
+import es.ubu.baloncesto.service.EquipoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * API REST de solo lectura con los equipos en formato JSON.
+ * Permite paginar, filtrar por nombre y elegir las columnas de la respuesta
+ * con el parámetro fields. El filtro, el orden y la paginación se aplican en la
+ * consulta al origen de datos, que solo devuelve la página pedida.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+@RestController
+@RequestMapping("/rest/equipos")
+public class EquipoRestController {
+
+    /**
+     * Servicio de equipos.
+     */
+    private final EquipoService equipoService;
+
+    /**
+     * Columnas disponibles de un equipo.
+     */
+    private final CamposJson<Equipo> campos;
+
+    /**
+     * Máximo de equipos por página.
+     */
+    @Value("${rest.tamano-maximo:200}")
+    private int tamanoMaximo;
+
+    /**
+     * Constructor que inicializa el servicio mediante inyección de dependencias.
+     *
+     * @param equipoService Servicio de equipos
+     * @param objectMapper Mapper de Jackson
+     */
+    @Autowired
+    public EquipoRestController(EquipoService equipoService, ObjectMapper objectMapper) {
+        this.equipoService = equipoService;
+        this.campos = new CamposJson<Equipo>(objectMapper)
+                .columna("id", Equipo::getId)
+                .columna("nombre", Equipo::getNombre)
+                .columna("ciudad", Equipo::getCiudad)
+                .columna("entrenador", Equipo::getEntrenador)
+                .columna("victorias", Equipo::getVictorias)
+                .columna("derrotas", Equipo::getDerrotas);
+    }
+
+    /**
+     * Obtiene una página de equipos ordenados por ID.
+     *
+     * @param page Número de página, empezando en 0
+     * @param size Equipos por página
+     * @param nombre Solo los equipos cuyo nombre contenga este texto (sin distinguir mayúsculas)
+     * @param fields Columnas a devolver, separadas por comas
+     * @return Página de equipos
+     */
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> listar(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String nombre,
+            @RequestParam(required = false) String fields) {
+        // VALIDO LOS PARÁMETROS ANTES DE PEDIR NADA AL SERVICIO
+        if (page < 0 || size < 1 || size > tamanoMaximo) {
+            throw new IllegalArgumentException("page debe ser >= 0 y size estar entre 1 y " + tamanoMaximo);
+        }
+        List<String> elegidos = campos.elegir(fields);
+
+        String texto = (nombre != null && !nombre.isBlank()) ? nombre : null;
+        return campos.pagina(equipoService.buscarPagina(texto, page, size), elegidos);
+    }
+
+    /**
+     * Obtiene un equipo.
+     *
+     * @param id ID del equipo
+     * @param fields Columnas a devolver, separadas por comas
+     * @return Equipo, o 404 si no existe
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<StreamingResponseBody> obtener(@PathVariable Long id,
+                                                        @RequestParam(required = false) String fields) {
+        List<String> elegidos = campos.elegir(fields);
+        return equipoService.findById(id)
+                .map(equipo -> campos.uno(equipo, elegidos))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Responde 400 cuando los parámetros no son válidos.
+     *
+     * @param ex Excepción capturada
+     * @return Mensaje de error
+     */
+    @ExceptionHandler({IllegalArgumentException.class, MethodArgumentTypeMismatchException.class})
+    public ResponseEntity<Map<String, Object>> parametrosIncorrectos(Exception ex) {
+        return ResponseEntity.badRequest().body(Map.of("error", String.valueOf(ex.getMessage())));
+    }
+}
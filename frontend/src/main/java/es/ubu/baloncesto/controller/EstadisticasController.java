@@ -0,0 +1,154 @@
+package es.ubu.baloncesto.controller;
+
+import es.ubu.baloncesto.model.AnaliticaLiga;
+import es.ubu.baloncesto.model.CaraACara;
+import es.ubu.baloncesto.model.FormaEquipo;
+import es.ubu.baloncesto.model.Partido;
+import es.ubu.baloncesto.model.ResumenPuntos;
+import es.ubu.baloncesto.service.AnaliticaPuntosService;
+import es.ubu.baloncesto.service.EstadisticasEquipoService;
+import es.ubu.baloncesto.service.PartidoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.List;
+
+/**
+ * Controlador que expone las estadísticas de equipos y de anotación en formato JSON.
+ * Las respuestas salen de los índices en memoria, sin recorrer los partidos.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+@Controller
+@RequestMapping("/estadisticas")
+public class EstadisticasController {
+
+    /**
+     * Servicio con el índice de estadísticas por equipo.
+     */
+    private final EstadisticasEquipoService estadisticasEquipoService;
+
+    /**
+     * Servicio con las analíticas de anotación.
+     */
+    private final AnaliticaPuntosService analiticaPuntosService;
+
+    /**
+     * Servicio de partidos (solo para construir el índice la primera vez).
+     */
+    private final PartidoService partidoService;
+
+    /**
+     * Cerrojo para que las primeras consultas que llegan a la vez construyan los índices una sola vez.
+     */
+    private final Object inicializacion = new Object();
+
+    /**
+     * Constructor que inicializa los servicios mediante inyección de dependencias.
+     *
+     * @param estadisticasEquipoService Servicio de estadísticas por equipo
+     * @param analiticaPuntosService Servicio de analíticas de anotación
+     * @param partidoService Servicio de partidos
+     */
+    @Autowired
+    public EstadisticasController(EstadisticasEquipoService estadisticasEquipoService,
+                                  AnaliticaPuntosService analiticaPuntosService,
+                                  PartidoService partidoService) {
+        // GUARDO LOS SERVICIOS INYECTADOS
+        this.estadisticasEquipoService = estadisticasEquipoService;
+        this.analiticaPuntosService = analiticaPuntosService;
+        this.partidoService = partidoService;
+    }
+
+    /**
+     * Obtiene la forma reciente, la racha y los parciales de local y visitante de un equipo.
+     *
+     * @param equipoId ID del equipo
+     * @return Forma del equipo
+     */
+    @GetMapping("/equipos/{equipoId}/forma")
+    @ResponseBody
+    public ResponseEntity<FormaEquipo> getForma(@PathVariable Long equipoId) {
+        inicializarSiHaceFalta();
+        return ResponseEntity.ok(estadisticasEquipoService.getForma(equipoId));
+    }
+
+    /**
+     * Obtiene el historial de enfrentamientos entre dos equipos.
+     *
+     * @param equipoA ID del primer equipo
+     * @param equipoB ID del segundo equipo
+     * @return Historial visto desde el primer equipo
+     */
+    @GetMapping("/cara-a-cara")
+    @ResponseBody
+    public ResponseEntity<CaraACara> getCaraACara(@RequestParam Long equipoA, @RequestParam Long equipoB) {
+        // VERIFICO QUE LOS EQUIPOS NO SEAN EL MISMO
+        if (equipoA.equals(equipoB)) {
+            throw new IllegalArgumentException("Los equipos no pueden ser el mismo");
+        }
+
+        inicializarSiHaceFalta();
+        return ResponseEntity.ok(estadisticasEquipoService.getCaraACara(equipoA, equipoB));
+    }
+
+    /**
+     * Obtiene el resumen de anotación de toda la liga, el factor campo
+     * y los partidos con mayor diferencia de puntos.
+     *
+     * @return Analítica de la liga
+     */
+    @GetMapping("/puntos")
+    @ResponseBody
+    public ResponseEntity<AnaliticaLiga> getAnaliticaLiga() {
+        inicializarSiHaceFalta();
+        return ResponseEntity.ok(analiticaPuntosService.getAnaliticaLiga());
+    }
+
+    /**
+     * Obtiene el resumen de anotación de un equipo (medias, percentiles y mayores márgenes).
+     *
+     * @param equipoId ID del equipo
+     * @return Resumen de anotación del equipo
+     */
+    @GetMapping("/equipos/{equipoId}/puntos")
+    @ResponseBody
+    public ResponseEntity<ResumenPuntos> getResumenEquipo(@PathVariable Long equipoId) {
+        inicializarSiHaceFalta();
+        return ResponseEntity.ok(analiticaPuntosService.getResumenEquipo(equipoId));
+    }
+
+    /**
+     * Construye los índices con todo el historial la primera vez que se consultan.
+     * A partir de ahí se mantienen solo con los resultados nuevos.
+     */
+    private void inicializarSiHaceFalta() {
+        if (estadisticasEquipoService.isInicializado() && analiticaPuntosService.isInicializado()) {
+            return;
+        }
+
+        // LAS DEMÁS CONSULTAS ESPERAN A LA PRIMERA Y VUELVEN A COMPROBAR, EN LUGAR DE LEER TODO EL HISTORIAL OTRA VEZ
+        synchronized (inicializacion) {
+            if (estadisticasEquipoService.isInicializado() && analiticaPuntosService.isInicializado()) {
+                return;
+            }
+
+            // UNA SOLA CONSULTA DEL HISTORIAL SIRVE PARA LOS DOS ÍNDICES
+            List<Partido> partidos = partidoService.findAll();
+            if (!estadisticasEquipoService.isInicializado()) {
+                estadisticasEquipoService.reconstruir(partidos);
+            }
+            if (!analiticaPuntosService.isInicializado()) {
+                analiticaPuntosService.reconstruir(partidos);
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package es.ubu.baloncesto.controller;
+
+import es.ubu.baloncesto.model.EstadoMarcador;
+import es.ubu.baloncesto.model.EventoMarcador;
+import es.ubu.baloncesto.model.Partido;
+import es.ubu.baloncesto.service.MarcadorEnVivoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controlador del marcador en vivo de los partidos en juego.
+ * Recibe las anotaciones por lotes y expone el marcador compactado en formato JSON.
+ * Los POST los envían programas de anotación con autenticación básica (sin token CSRF);
+ * desde un navegador con sesión hay que enviar el token CSRF en la cabecera X-CSRF-TOKEN.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+@Controller
+@RequestMapping("/partidos/{partidoId}/marcador")
+public class MarcadorController {
+
+    /**
+     * Servicio del marcador en vivo.
+     */
+    private final MarcadorEnVivoService marcadorEnVivoService;
+
+    /**
+     * Constructor que inicializa el servicio mediante inyección de dependencias.
+     *
+     * @param marcadorEnVivoService Servicio del marcador en vivo
+     */
+    @Autowired
+    public MarcadorController(MarcadorEnVivoService marcadorEnVivoService) {
+        this.marcadorEnVivoService = marcadorEnVivoService;
+    }
+
+    /**
+     * Obtiene el marcador de un partido en juego.
+     *
+     * @param partidoId ID del partido
+     * @return Marcador, o 404 si el partido no está en juego
+     */
+    @GetMapping
+    @ResponseBody
+    public ResponseEntity<EstadoMarcador> getMarcador(@PathVariable Long partidoId) {
+        return marcadorEnVivoService.getEstado(partidoId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Empieza a seguir en vivo un partido.
+     *
+     * @param partidoId ID del partido
+     * @return Marcador inicial
+     */
+    @PostMapping("/iniciar")
+    @ResponseBody
+    public ResponseEntity<Object> iniciar(@PathVariable Long partidoId) {
+        try {
+            return ResponseEntity.ok(marcadorEnVivoService.iniciar(partidoId));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Registra un lote de anotaciones.
+     * Si el buffer del partido se llena, responde 503 con Retry-After e indica cuántas
+     * anotaciones se han aceptado para que el cliente reenvíe solo el resto.
+     *
+     * @param partidoId ID del partido
+     * @param eventos Anotaciones en orden
+     * @return Número de anotaciones aceptadas
+     */
+    @PostMapping("/eventos")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> registrar(@PathVariable Long partidoId,
+                                                         @RequestBody List<EventoMarcador> eventos) {
+        int aceptados;
+        try {
+            aceptados = marcadorEnVivoService.registrar(partidoId, eventos);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        }
+
+        // SI NO HA CABIDO TODO, PIDO AL CLIENTE QUE ESPERE UN POCO
+        if (aceptados < eventos.size()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(Map.of("aceptados", aceptados));
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of("aceptados", aceptados));
+    }
+
+    /**
+     * Finaliza el partido con el marcador actual como resultado.
+     *
+     * @param partidoId ID del partido
+     * @return Partido finalizado
+     */
+    @PostMapping("/finalizar")
+    @ResponseBody
+    public ResponseEntity<Object> finalizar(@PathVariable Long partidoId) {
+        try {
+            Partido partido = marcadorEnVivoService.finalizar(partidoId);
+            return ResponseEntity.ok(Map.of(
+                    "id", partidoId,
+                    "puntosLocal", partido.getPuntosLocal(),
+                    "puntosVisitante", partido.getPuntosVisitante(),
+                    "finalizado", partido.isFinalizado()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        }
+    }
+}
@@ -2,18 +2,32 @@ package es.ubu.baloncesto.controller;
 
 import es.ubu.baloncesto.exception.DatabaseException;
 import es.ubu.baloncesto.model.Equipo;
+import es.ubu.baloncesto.model.FilasPartidos;
 import es.ubu.baloncesto.model.Partido;
+import es.ubu.baloncesto.service.Abanico;
+import es.ubu.baloncesto.service.CacheTablaPartidosService;
 import es.ubu.baloncesto.service.EquipoService;
+import es.ubu.baloncesto.service.LlamadasParalelasService;
+import es.ubu.baloncesto.service.NotificacionPartidosService;
 import es.ubu.baloncesto.service.PartidoService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.web.csrf.CsrfToken;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.logging.Logger;
 
 /**
@@ -33,6 +47,18 @@ public class PartidoController {
      */
     private static final Logger LOGGER = Logger.getLogger(PartidoController.class.getName());
 
+    /**
+     * Identificador de esta ejecución, para que las ETags no coincidan tras un reinicio.
+     */
+    private static final String INSTANCIA = Long.toString(System.currentTimeMillis(), 36);
+
+    /**
+     * Segundos que como mucho se reutiliza una ETag aunque no cambie la versión
+     * (por si alguien escribe directamente en la API Flask). 0 para no caducarlas.
+     */
+    @Value("${partidos.etag.ventana-segundos:60}")
+    private long ventanaEtagSegundos;
+
     /**
      * Servicio de partidos.
      */
@@ -43,46 +69,94 @@ public class PartidoController {
      */
     private final EquipoService equipoService;
 
+    /**
+     * Servicio de notificaciones en vivo.
+     */
+    private final NotificacionPartidosService notificacionPartidosService;
+
+    /**
+     * Caché de las filas de la tabla de partidos.
+     */
+    private final CacheTablaPartidosService cacheTablaPartidosService;
+
+    /**
+     * Servicio de llamadas en paralelo.
+     */
+    private final LlamadasParalelasService llamadasParalelasService;
+
     /**
      * Constructor que inicializa los servicios mediante inyección de dependencias.
      *
      * @param partidoService Servicio de partidos
      * @param equipoService Servicio de equipos
+     * @param notificacionPartidosService Servicio de notificaciones en vivo
+     * @param cacheTablaPartidosService Caché de las filas de la tabla de partidos
+     * @param llamadasParalelasService Servicio de llamadas en paralelo
      */
     @Autowired
-    public PartidoController(PartidoService partidoService, EquipoService equipoService) {
+    public PartidoController(PartidoService partidoService, EquipoService equipoService,
+                             NotificacionPartidosService notificacionPartidosService,
+                             CacheTablaPartidosService cacheTablaPartidosService,
+                             LlamadasParalelasService llamadasParalelasService) {
         // GUARDO LOS SERVICIOS INYECTADOS
         this.partidoService = partidoService;
         this.equipoService = equipoService;
+        this.notificacionPartidosService = notificacionPartidosService;
+        this.cacheTablaPartidosService = cacheTablaPartidosService;
+        this.llamadasParalelasService = llamadasParalelasService;
     }
 
     /**
      * Muestra la lista de partidos.
      *
      * @param model Modelo para pasar datos a la vista
-     * @return Nombre de la vista a mostrar (partidos.html)
+     * @param request Petición (para responder 304 si la página no ha cambiado)
+     * @return Nombre de la vista a mostrar (partidos.html), o null si se responde 304
      */
     @GetMapping
-    public String listarPartidos(Model model) {
-        // OBTENGO TODOS LOS PARTIDOS
-        List<Partido> partidos = partidoService.findAll();
+    public String listarPartidos(Model model, ServletWebRequest request) {
+        // SI EL NAVEGADOR YA TIENE ESTA VERSIÓN, NO CONSULTO NI RENDERIZO NADA
+        if (sinCambios(request, "partidos")) {
+            return null;
+        }
+
+        // OBTENGO LAS FILAS DE LA TABLA (SOLO SE CONSULTAN Y RENDERIZAN SI HAN CAMBIADO LOS PARTIDOS)
+        FilasPartidos filasPartidos = cacheTablaPartidosService.getFilas(request.getRequest(), request.getResponse());
 
-        // AÑADO LOS PARTIDOS AL MODELO
-        model.addAttribute("partidos", partidos);
+        // AÑADO LAS FILAS AL MODELO
+        model.addAttribute("filasPartidos", filasPartidos);
         model.addAttribute("titulo", "Lista de Partidos");
 
         // DEVUELVO LA VISTA DE PARTIDOS
         return "partidos";
     }
 
+    /**
+     * Abre el canal de eventos en vivo de los partidos (Server-Sent Events).
+     * La tabla de partidos lo usa para actualizar marcadores sin recargar la página.
+     *
+     * @return Emisor SSE de la suscripción
+     */
+    @GetMapping(path = "/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    public SseEmitter suscribirEventos() {
+        return notificacionPartidosService.suscribir();
+    }
+
     /**
      * Muestra el formulario para crear un nuevo partido.
      *
      * @param model Modelo para pasar datos a la vista
-     * @return Nombre de la vista a mostrar (form-partido.html)
+     * @param request Petición (para responder 304 si el formulario no ha cambiado)
+     * @return Nombre de la vista a mostrar (form-partido.html), o null si se responde 304
      */
     @GetMapping("/nuevo")
-    public String mostrarFormularioNuevo(Model model) {
+    public String mostrarFormularioNuevo(Model model, ServletWebRequest request) {
+        // SI EL NAVEGADOR YA TIENE ESTA VERSIÓN, NO CONSULTO NI RENDERIZO NADA
+        if (sinCambios(request, "nuevo")) {
+            return null;
+        }
+
         // CREO UN PARTIDO VACÍO
         Partido partido = new Partido();
 
@@ -119,9 +193,13 @@ public class PartidoController {
                 throw new IllegalArgumentException("El equipo local y visitante no pueden ser el mismo");
             }
 
-            // OBTENGO LOS EQUIPOS
-            Optional<Equipo> equipoLocalOpt = equipoService.findById(equipoLocalId);
-            Optional<Equipo> equipoVisitanteOpt = equipoService.findById(equipoVisitanteId);
+            // OBTENGO LOS DOS EQUIPOS A LA VEZ
+            Abanico abanico = llamadasParalelasService.abrir();
+            Supplier<Optional<Equipo>> equipoLocalPedido = abanico.lanzar(() -> equipoService.findById(equipoLocalId));
+            Supplier<Optional<Equipo>> equipoVisitantePedido = abanico.lanzar(() -> equipoService.findById(equipoVisitanteId));
+            abanico.esperar();
+            Optional<Equipo> equipoLocalOpt = equipoLocalPedido.get();
+            Optional<Equipo> equipoVisitanteOpt = equipoVisitantePedido.get();
 
             // VERIFICO QUE AMBOS EQUIPOS EXISTAN
             if (equipoLocalOpt.isEmpty() || equipoVisitanteOpt.isEmpty()) {
@@ -151,10 +229,16 @@ public class PartidoController {
      *
      * @param id ID del partido
      * @param model Modelo para pasar datos a la vista
-     * @return Nombre de la vista a mostrar (form-resultado.html)
+     * @param request Petición (para responder 304 si el formulario no ha cambiado)
+     * @return Nombre de la vista a mostrar (form-resultado.html), o null si se responde 304
      */
     @GetMapping("/resultado/{id}")
-    public String mostrarFormularioResultado(@PathVariable Long id, Model model) {
+    public String mostrarFormularioResultado(@PathVariable Long id, Model model, ServletWebRequest request) {
+        // SI EL NAVEGADOR YA TIENE ESTA VERSIÓN, NO CONSULTO NI RENDERIZO NADA
+        if (sinCambios(request, "resultado-" + id)) {
+            return null;
+        }
+
         // BUSCO EL PARTIDO
         Optional<Partido> partidoOpt = partidoService.findById(id);
 
@@ -225,4 +309,39 @@ public class PartidoController {
             throw new DatabaseException("Error al eliminar partido: " + e.getMessage(), e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Comprueba si el navegador ya tiene la versión actual de una página.
+     * La ETag sale de los contadores de cambios de los servicios, así que se calcula
+     * sin llamar a la API Flask ni renderizar la plantilla.
+     *
+     * @param request Petición
+     * @param pagina Identificador de la página
+     * @return true si se ha respondido 304 y no hay que hacer nada más
+     */
+    private boolean sinCambios(ServletWebRequest request, String pagina) {
+        StringBuilder etag = new StringBuilder("W/\"")
+                .append(pagina).append('-').append(INSTANCIA)
+                .append('-').append(partidoService.getVersion())
+                .append('-').append(equipoService.getVersion());
+
+        // LA VENTANA ACOTA LO QUE PUEDE DURAR UNA PÁGINA ANTIGUA SI LOS DATOS CAMBIAN FUERA DE ESTA APLICACIÓN
+        if (ventanaEtagSegundos > 0) {
+            etag.append('-').append(System.currentTimeMillis() / (ventanaEtagSegundos * 1000));
+        }
+
+        // LAS PÁGINAS LLEVAN EL TOKEN CSRF DE LA SESIÓN, ASÍ QUE TAMBIÉN FORMA PARTE DE LA VERSIÓN
+        Object csrf = request.getAttribute(CsrfToken.class.getName(), RequestAttributes.SCOPE_REQUEST);
+        if (csrf instanceof CsrfToken) {
+            etag.append('-').append(Integer.toHexString(((CsrfToken) csrf).getToken().hashCode()));
+        }
+        etag.append('"');
+
+        // EL NAVEGADOR PUEDE GUARDAR LA PÁGINA PERO TIENE QUE REVALIDARLA SIEMPRE
+        if (request.getResponse() != null) {
+            request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL,
+                    CacheControl.noCache().cachePrivate().getHeaderValue());
+        }
+        return request.checkNotModified(etag.toString());
+    }
+}
@@ -0,0 +1,156 @@
+package es.ubu.baloncesto.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import es.ubu.baloncesto.model.Equipo;
+import es.ubu.baloncesto.model.Partido;
+import es.ubu.baloncesto.service.PartidoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * API REST de solo lectura con los partidos en formato JSON.
+ * Permite paginar, filtrar por equipo, rango de fechas y estado, y elegir
+ * las columnas de la respuesta con el parámetro fields. Los filtros, el orden y la
+ * paginación se aplican en la consulta al origen de datos, que solo devuelve la página pedida.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+@RestController
+@RequestMapping("/rest/partidos")
+public class PartidoRestController {
+
+    /**
+     * Servicio de partidos.
+     */
+    private final PartidoService partidoService;
+
+    /**
+     * Columnas disponibles de un partido.
+     */
+    private final CamposJson<Partido> campos;
+
+    /**
+     * Máximo de partidos por página.
+     */
+    @Value("${rest.tamano-maximo:200}")
+    private int tamanoMaximo;
+
+    /**
+     * Constructor que inicializa el servicio mediante inyección de dependencias.
+     *
+     * @param partidoService Servicio de partidos
+     * @param objectMapper Mapper de Jackson
+     */
+    @Autowired
+    public PartidoRestController(PartidoService partidoService, ObjectMapper objectMapper) {
+        this.partidoService = partidoService;
+        this.campos = new CamposJson<Partido>(objectMapper)
+                .columna("id", Partido::getId)
+                .columna("equipoLocalId", p -> idEquipo(p.getEquipoLocal()))
+                .columna("equipoLocal", p -> nombreEquipo(p.getEquipoLocal()))
+                .columna("equipoVisitanteId", p -> idEquipo(p.getEquipoVisitante()))
+                .columna("equipoVisitante", p -> nombreEquipo(p.getEquipoVisitante()))
+                .columna("fecha", Partido::getFecha)
+                .columna("puntosLocal", Partido::getPuntosLocal)
+                .columna("puntosVisitante", Partido::getPuntosVisitante)
+                .columna("finalizado", Partido::isFinalizado);
+    }
+
+    /**
+     * Obtiene una página de partidos ordenados por fecha.
+     *
+     * @param page Número de página, empezando en 0
+     * @param size Partidos por página
+     * @param equipoId Solo los partidos de este equipo (local o visitante)
+     * @param desde Solo los partidos desde este día (incluido)
+     * @param hasta Solo los partidos hasta este día (incluido)
+     * @param finalizado Solo los partidos finalizados (true) o pendientes (false)
+     * @param fields Columnas a devolver, separadas por comas
+     * @return Página de partidos
+     */
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> listar(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) Long equipoId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta,
+            @RequestParam(required = false) Boolean finalizado,
+            @RequestParam(required = false) String fields) {
+        // VALIDO LOS PARÁMETROS ANTES DE PEDIR NADA AL SERVICIO
+        if (page < 0 || size < 1 || size > tamanoMaximo) {
+            throw new IllegalArgumentException("page debe ser >= 0 y size estar entre 1 y " + tamanoMaximo);
+        }
+        List<String> elegidos = campos.elegir(fields);
+
+        // EL RANGO DE FECHAS INCLUYE LOS DOS DÍAS COMPLETOS
+        LocalDateTime inicio = (desde != null) ? desde.atStartOfDay() : null;
+        LocalDateTime fin = (hasta != null) ? hasta.plusDays(1).atStartOfDay() : null;
+
+        return campos.pagina(partidoService.buscarPagina(equipoId, inicio, fin, finalizado, page, size), elegidos);
+    }
+
+    /**
+     * Obtiene un partido.
+     *
+     * @param id ID del partido
+     * @param fields Columnas a devolver, separadas por comas
+     * @return Partido, o 404 si no existe
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<StreamingResponseBody> obtener(@PathVariable Long id,
+                                                        @RequestParam(required = false) String fields) {
+        List<String> elegidos = campos.elegir(fields);
+        return partidoService.findById(id)
+                .map(partido -> campos.uno(partido, elegidos))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Responde 400 cuando los parámetros no son válidos.
+     *
+     * @param ex Excepción capturada
+     * @return Mensaje de error
+     */
+    @ExceptionHandler({IllegalArgumentException.class, MethodArgumentTypeMismatchException.class})
+    public ResponseEntity<Map<String, Object>> parametrosIncorrectos(Exception ex) {
+        return ResponseEntity.badRequest().body(Map.of("error", String.valueOf(ex.getMessage())));
+    }
+
+    /**
+     * Obtiene el ID de un equipo que puede no estar cargado.
+     *
+     * @param equipo Equipo
+     * @return ID del equipo, o null
+     */
+    private static Long idEquipo(Equipo equipo) {
+        return (equipo != null) ? equipo.getId() : null;
+    }
+
+    /**
+     * Obtiene el nombre de un equipo que puede no estar cargado.
+     *
+     * @param equipo Equipo
+     * @return Nombre del equipo, o null
+     */
+    private static String nombreEquipo(Equipo equipo) {
+        return (equipo != null) ? equipo.getNombre() : null;
+    }
+}
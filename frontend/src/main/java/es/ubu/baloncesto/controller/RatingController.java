@@ -0,0 +1,109 @@
+package es.ubu.baloncesto.controller;
+
+import es.ubu.baloncesto.model.RegistroRating;
+import es.ubu.baloncesto.service.PartidoService;
+import es.ubu.baloncesto.service.RatingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controlador que expone los ratings tipo Elo de los equipos.
+ * Devuelve los datos en formato JSON.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+@Controller
+@RequestMapping("/ratings")
+public class RatingController {
+
+    /**
+     * Servicio de ratings.
+     */
+    private final RatingService ratingService;
+
+    /**
+     * Servicio de partidos (para el recálculo completo).
+     */
+    private final PartidoService partidoService;
+
+    /**
+     * Constructor que inicializa los servicios mediante inyección de dependencias.
+     *
+     * @param ratingService Servicio de ratings
+     * @param partidoService Servicio de partidos
+     */
+    @Autowired
+    public RatingController(RatingService ratingService, PartidoService partidoService) {
+        // GUARDO LOS SERVICIOS INYECTADOS
+        this.ratingService = ratingService;
+        this.partidoService = partidoService;
+    }
+
+    /**
+     * Obtiene el rating actual de todos los equipos, de mayor a menor.
+     *
+     * @return Lista con el ID de cada equipo y su rating
+     */
+    @GetMapping
+    @ResponseBody
+    public ResponseEntity<List<Map<String, Object>>> getRatings() {
+        // SI AÚN NO HAY RATINGS, LOS CALCULO CON TODO EL HISTORIAL
+        inicializarSiHaceFalta();
+
+        List<Map<String, Object>> resultado = new ArrayList<>();
+        for (Map.Entry<Long, Double> entry : ratingService.getRatings().entrySet()) {
+            Map<String, Object> fila = new LinkedHashMap<>();
+            fila.put("equipoId", entry.getKey());
+            fila.put("rating", entry.getValue());
+            resultado.add(fila);
+        }
+        return ResponseEntity.ok(resultado);
+    }
+
+    /**
+     * Obtiene el historial de rating de un equipo.
+     *
+     * @param equipoId ID del equipo
+     * @return Lista de cambios de rating del equipo
+     */
+    @GetMapping("/{equipoId}/historial")
+    @ResponseBody
+    public ResponseEntity<List<RegistroRating>> getHistorial(@PathVariable Long equipoId) {
+        inicializarSiHaceFalta();
+        return ResponseEntity.ok(ratingService.getHistorial(equipoId));
+    }
+
+    /**
+     * Recalcula todos los ratings a partir del historial completo de partidos.
+     *
+     * @return Número de partidos procesados
+     */
+    @PostMapping("/recalcular")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> recalcular() {
+        int procesados = ratingService.recalcular(partidoService.findAll());
+        return ResponseEntity.ok(Map.of("partidosProcesados", procesados));
+    }
+
+    /**
+     * Hace el recálculo completo la primera vez que se consultan los ratings.
+     */
+    private void inicializarSiHaceFalta() {
+        if (!ratingService.isInicializado()) {
+            ratingService.recalcular(partidoService.findAll());
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package es.ubu.baloncesto.controller;
+
+import es.ubu.baloncesto.model.PronosticoTemporada;
+import es.ubu.baloncesto.service.SimulacionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+/**
+ * Controlador que lanza la simulación Monte Carlo del final de temporada
+ * y publica la tabla de probabilidades en formato JSON.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+@Controller
+@RequestMapping("/simulacion")
+public class SimulacionController {
+
+    /**
+     * Número de temporadas a simular por defecto.
+     */
+    @Value("${simulacion.iteraciones:1000000}")
+    private long iteracionesPorDefecto;
+
+    /**
+     * Tiempo máximo de simulación por defecto, en milisegundos.
+     */
+    @Value("${simulacion.presupuesto-ms:2000}")
+    private long presupuestoPorDefecto;
+
+    /**
+     * Número máximo de temporadas que se puede pedir.
+     */
+    @Value("${simulacion.iteraciones-maximo:10000000}")
+    private long iteracionesMaximo;
+
+    /**
+     * Tiempo máximo de simulación que se puede pedir, en milisegundos.
+     */
+    @Value("${simulacion.presupuesto-maximo-ms:10000}")
+    private long presupuestoMaximo;
+
+    /**
+     * Servicio de simulación.
+     */
+    private final SimulacionService simulacionService;
+
+    /**
+     * Constructor que inicializa el servicio mediante inyección de dependencias.
+     *
+     * @param simulacionService Servicio de simulación
+     */
+    @Autowired
+    public SimulacionController(SimulacionService simulacionService) {
+        this.simulacionService = simulacionService;
+    }
+
+    /**
+     * Obtiene el último pronóstico publicado.
+     *
+     * @return Pronóstico, o 204 si aún no se ha simulado
+     */
+    @GetMapping
+    @ResponseBody
+    public ResponseEntity<PronosticoTemporada> getPronostico() {
+        return simulacionService.getUltimoPronostico()
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+    /**
+     * Lanza una nueva simulación y publica el resultado.
+     *
+     * @param iteraciones Número máximo de temporadas a simular (opcional, recortado al máximo configurado)
+     * @param presupuestoMs Tiempo máximo en milisegundos (opcional, recortado al máximo configurado)
+     * @return Pronóstico generado
+     */
+    @PostMapping
+    @ResponseBody
+    public ResponseEntity<PronosticoTemporada> simular(
+            @RequestParam(required = false) Long iteraciones,
+            @RequestParam(required = false) Long presupuestoMs) {
+        // USO LOS VALORES POR DEFECTO SI NO SE INDICAN
+        long n = (iteraciones != null) ? iteraciones : iteracionesPorDefecto;
+        long presupuesto = (presupuestoMs != null) ? presupuestoMs : presupuestoPorDefecto;
+
+        if (n <= 0 || presupuesto <= 0) {
+            throw new IllegalArgumentException("Las iteraciones y el presupuesto deben ser positivos");
+        }
+
+        // RECORTO LO QUE PIDA EL CLIENTE PARA QUE NADIE PUEDA OCUPAR EL POOL DE SIMULACIÓN INDEFINIDAMENTE
+        n = Math.min(n, iteracionesMaximo);
+        presupuesto = Math.min(presupuesto, presupuestoMaximo);
+
+        return ResponseEntity.ok(simulacionService.simular(n, presupuesto));
+    }
+}
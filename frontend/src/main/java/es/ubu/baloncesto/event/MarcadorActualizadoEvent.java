@@ -0,0 +1,36 @@
+package es.ubu.baloncesto.event;
+
+import es.ubu.baloncesto.model.EstadoMarcador;
+
+/**
+ * Evento que se publica cada vez que cambia el marcador de un partido en juego.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+public class MarcadorActualizadoEvent {
+
+    /**
+     * Marcador tras el cambio.
+     */
+    private final EstadoMarcador estado;
+
+    /**
+     * Constructor con el nuevo marcador.
+     *
+     * @param estado Marcador tras el cambio
+     */
+    public MarcadorActualizadoEvent(EstadoMarcador estado) {
+        this.estado = estado;
+    }
+
+    /**
+     * Obtiene el marcador tras el cambio.
+     *
+     * @return El marcador
+     */
+    public EstadoMarcador getEstado() {
+        return estado;
+    }
+}
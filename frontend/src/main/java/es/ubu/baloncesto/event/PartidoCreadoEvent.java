@@ -0,0 +1,36 @@
+package es.ubu.baloncesto.event;
+
+import es.ubu.baloncesto.model.Partido;
+
+/**
+ * Evento que se publica cuando se crea un partido nuevo.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+public class PartidoCreadoEvent {
+
+    /**
+     * Partido recién creado.
+     */
+    private final Partido partido;
+
+    /**
+     * Constructor con el partido creado.
+     *
+     * @param partido Partido creado
+     */
+    public PartidoCreadoEvent(Partido partido) {
+        this.partido = partido;
+    }
+
+    /**
+     * Obtiene el partido creado.
+     *
+     * @return El partido creado
+     */
+    public Partido getPartido() {
+        return partido;
+    }
+}
@@ -0,0 +1,34 @@
+package es.ubu.baloncesto.event;
+
+/**
+ * Evento que se publica cuando se elimina un partido.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+public class PartidoEliminadoEvent {
+
+    /**
+     * ID del partido eliminado.
+     */
+    private final Long partidoId;
+
+    /**
+     * Constructor con el ID del partido eliminado.
+     *
+     * @param partidoId ID del partido eliminado
+     */
+    public PartidoEliminadoEvent(Long partidoId) {
+        this.partidoId = partidoId;
+    }
+
+    /**
+     * Obtiene el ID del partido eliminado.
+     *
+     * @return El ID del partido
+     */
+    public Long getPartidoId() {
+        return partidoId;
+    }
+}
@@ -0,0 +1,38 @@
+package es.ubu.baloncesto.event;
+
+import es.ubu.baloncesto.model.Partido;
+
+/**
+ * Evento que se publica cuando se registra el resultado final de un partido.
+ * Permite que otros componentes (ratings, estadísticas...) se actualicen
+ * sin que el servicio de partidos tenga que conocerlos.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+public class ResultadoRegistradoEvent {
+
+    /**
+     * Partido ya finalizado con su resultado.
+     */
+    private final Partido partido;
+
+    /**
+     * Constructor con el partido finalizado.
+     *
+     * @param partido Partido cuyo resultado se ha registrado
+     */
+    public ResultadoRegistradoEvent(Partido partido) {
+        this.partido = partido;
+    }
+
+    /**
+     * Obtiene el partido cuyo resultado se ha registrado.
+     *
+     * @return El partido finalizado
+     */
+    public Partido getPartido() {
+        return partido;
+    }
+}
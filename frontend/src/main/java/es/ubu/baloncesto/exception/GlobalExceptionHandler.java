@@ -29,6 +29,12 @@ public class GlobalExceptionHandler {
      */
     private static final Logger LOGGER = Logger.getLogger(GlobalExceptionHandler.class.getName());
 
+    /**
+     * Registro de las excepciones con traza: de cada tipo de excepción escribe la traza
+     * como mucho una vez por minuto y cuenta las repeticiones.
+     */
+    private static final RegistroLimitado ERRORES = new RegistroLimitado(LOGGER, 60_000);
+
     /**
      * Maneja excepciones relacionadas con archivos.
      *
@@ -38,8 +44,8 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(FileException.class)
     public Object handleFileException(FileException ex, HttpServletRequest request) {
-        // REGISTRO LA EXCEPCIÓN EN EL LOG
-        LOGGER.log(Level.SEVERE, "Error de archivo: " + ex.getMessage(), ex);
+        // REGISTRO LA EXCEPCIÓN EN EL LOG (SIN REPETIR LA TRAZA SI SE PRODUCE MUCHAS VECES SEGUIDAS)
+        ERRORES.registrarConTraza(Level.SEVERE, ex.getClass().getName(), "Error de archivo", ex);
 
         // COMPRUEBO SI LA SOLICITUD ESPERA UNA RESPUESTA JSON
         if (isAjaxRequest(request)) {
@@ -72,8 +78,8 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(DatabaseException.class)
     public Object handleDatabaseException(DatabaseException ex, HttpServletRequest request) {
-        // REGISTRO LA EXCEPCIÓN EN EL LOG
-        LOGGER.log(Level.SEVERE, "Error de base de datos: " + ex.getMessage(), ex);
+        // REGISTRO LA EXCEPCIÓN EN EL LOG (SIN REPETIR LA TRAZA SI SE PRODUCE MUCHAS VECES SEGUIDAS)
+        ERRORES.registrarConTraza(Level.SEVERE, ex.getClass().getName(), "Error de base de datos", ex);
 
         // COMPRUEBO SI LA SOLICITUD ESPERA UNA RESPUESTA JSON
         if (isAjaxRequest(request)) {
@@ -110,8 +116,8 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(ApiException.class)
     public Object handleApiException(ApiException ex, HttpServletRequest request) {
-        // REGISTRO LA EXCEPCIÓN EN EL LOG
-        LOGGER.log(Level.SEVERE, "Error de API: " + ex.getMessage(), ex);
+        // REGISTRO LA EXCEPCIÓN EN EL LOG (SIN REPETIR LA TRAZA SI SE PRODUCE MUCHAS VECES SEGUIDAS)
+        ERRORES.registrarConTraza(Level.SEVERE, ex.getClass().getName(), "Error de API", ex);
 
         // DETERMINO EL CÓDIGO DE ESTADO HTTP A DEVOLVER
         HttpStatus status = HttpStatus.BAD_GATEWAY; // POR DEFECTO, ERROR DE PUERTA DE ENLACE
@@ -163,8 +169,8 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(Exception.class)
     public Object handleGenericException(Exception ex, HttpServletRequest request) {
-        // REGISTRO LA EXCEPCIÓN EN EL LOG
-        LOGGER.log(Level.SEVERE, "Error inesperado: " + ex.getMessage(), ex);
+        // REGISTRO LA EXCEPCIÓN EN EL LOG (SIN REPETIR LA TRAZA SI SE PRODUCE MUCHAS VECES SEGUIDAS)
+        ERRORES.registrarConTraza(Level.SEVERE, ex.getClass().getName(), "Error inesperado", ex);
 
         // COMPRUEBO SI LA SOLICITUD ESPERA UNA RESPUESTA JSON
         if (isAjaxRequest(request)) {
@@ -0,0 +1,162 @@
+package es.ubu.baloncesto.exception;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+/**
+ * Registro de errores repetidos con límite de frecuencia.
+ * De cada clave (normalmente una operación o un tipo de excepción) se escribe como mucho
+ * un mensaje por intervalo; los demás solo se cuentan y el siguiente mensaje indica
+ * cuántos se han omitido. Mientras se omiten, no se construye ningún texto.
+ * Las repeticiones omitidas se escriben en nivel FINE, sin traza, por si hace falta verlas todas.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+public final class RegistroLimitado {
+
+    /**
+     * Claves distintas que se vigilan como mucho (si se superan, se empieza de cero).
+     */
+    private static final int MAXIMO_CLAVES = 256;
+
+    /**
+     * Logger en el que se escribe.
+     */
+    private final Logger logger;
+
+    /**
+     * Intervalo mínimo entre dos mensajes de la misma clave, en nanosegundos.
+     */
+    private final long intervaloNanos;
+
+    /**
+     * Estado de cada clave.
+     */
+    private final ConcurrentHashMap<String, Ventana> ventanas = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor con el logger y el intervalo.
+     *
+     * @param logger Logger en el que se escribe
+     * @param intervaloMs Intervalo mínimo entre dos mensajes de la misma clave
+     */
+    public RegistroLimitado(Logger logger, long intervaloMs) {
+        this.logger = logger;
+        this.intervaloNanos = TimeUnit.MILLISECONDS.toNanos(intervaloMs);
+    }
+
+    /**
+     * Escribe un error sin traza si su clave no se ha escrito en el último intervalo.
+     *
+     * @param nivel Nivel del mensaje
+     * @param clave Clave con la que se agrupan las repeticiones
+     * @param mensaje Texto fijo del mensaje (se le añade el mensaje del error)
+     * @param error Error que se registra
+     */
+    public void registrar(Level nivel, String clave, String mensaje, Throwable error) {
+        escribir(nivel, clave, mensaje, error, false);
+    }
+
+    /**
+     * Escribe un error con su traza si su clave no se ha escrito en el último intervalo.
+     *
+     * @param nivel Nivel del mensaje
+     * @param clave Clave con la que se agrupan las repeticiones
+     * @param mensaje Texto fijo del mensaje (se le añade el mensaje del error)
+     * @param error Error que se registra
+     */
+    public void registrarConTraza(Level nivel, String clave, String mensaje, Throwable error) {
+        escribir(nivel, clave, mensaje, error, true);
+    }
+
+    /**
+     * Escribe el mensaje o cuenta la repetición.
+     *
+     * @param nivel Nivel del mensaje
+     * @param clave Clave con la que se agrupan las repeticiones
+     * @param mensaje Texto fijo del mensaje
+     * @param error Error que se registra
+     * @param conTraza Si se adjunta la traza
+     */
+    private void escribir(Level nivel, String clave, String mensaje, Throwable error, boolean conTraza) {
+        // SI EL NIVEL ESTÁ DESACTIVADO NO HAGO NADA MÁS
+        if (!logger.isLoggable(nivel)) {
+            return;
+        }
+
+        Ventana ventana = ventanas.get(clave);
+        if (ventana == null) {
+            if (ventanas.size() >= MAXIMO_CLAVES) {
+                ventanas.clear();
+            }
+            ventana = ventanas.computeIfAbsent(clave, k -> new Ventana());
+        }
+
+        // SOLO ESCRIBE QUIEN CONSIGUE ABRIR EL INTERVALO; LOS DEMÁS CUENTAN
+        long ahora = System.nanoTime();
+        long ultimo = ventana.ultimo.get();
+        boolean toca = (ultimo == Ventana.NUNCA || ahora - ultimo >= intervaloNanos)
+                && ventana.ultimo.compareAndSet(ultimo, ahora);
+        if (!toca) {
+            ventana.omitidos.increment();
+            if (logger.isLoggable(Level.FINE)) {
+                publicar(Level.FINE, clave, mensaje + " (repetido): " + error.getMessage(), null);
+            }
+            return;
+        }
+
+        long omitidos = ventana.omitidos.sumThenReset();
+        StringBuilder texto = new StringBuilder(mensaje).append(": ").append(error.getMessage());
+        if (omitidos > 0) {
+            texto.append(" (").append(omitidos).append(" veces más en los últimos ")
+                    .append(TimeUnit.NANOSECONDS.toSeconds(ahora - ultimo)).append(" s)");
+        }
+        publicar(nivel, clave, texto.toString(), conTraza ? error : null);
+    }
+
+    /**
+     * Escribe un mensaje en el logger con la clave como origen.
+     *
+     * @param nivel Nivel del mensaje
+     * @param clave Clave del mensaje
+     * @param texto Texto del mensaje
+     * @param traza Error con la traza, o null
+     */
+    private void publicar(Level nivel, String clave, String texto, Throwable traza) {
+        LogRecord registro = new LogRecord(nivel, texto);
+        registro.setLoggerName(logger.getName());
+        // INDICO EL ORIGEN PARA QUE NO SE CALCULE RECORRIENDO LA PILA
+        registro.setSourceClassName(logger.getName());
+        registro.setSourceMethodName(clave);
+        registro.setThrown(traza);
+        logger.log(registro);
+    }
+
+    /**
+     * Estado de una clave: último mensaje escrito y repeticiones omitidas desde entonces.
+     */
+    private static final class Ventana {
+
+        /**
+         * Valor de {@link #ultimo} antes del primer mensaje.
+         */
+        private static final long NUNCA = Long.MIN_VALUE;
+
+        /**
+         * Instante (nanoTime) del último mensaje escrito.
+         */
+        private final AtomicLong ultimo = new AtomicLong(NUNCA);
+
+        /**
+         * Repeticiones omitidas desde el último mensaje.
+         */
+        private final LongAdder omitidos = new LongAdder();
+    }
+}
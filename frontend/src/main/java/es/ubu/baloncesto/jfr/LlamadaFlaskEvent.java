@@ -0,0 +1,66 @@
+package es.ubu.baloncesto.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento de Flight Recorder de una llamada HTTP a la API Flask.
+ * Se emite una vez por intento (los reintentos y las coberturas aparecen por separado).
+ * Está desactivado por defecto: se activa con el perfil {@code jfr/baloncesto.jfc}.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+@Name("es.ubu.baloncesto.LlamadaFlask")
+@Label("Llamada a Flask")
+@Category({"Baloncesto", "HTTP"})
+@Description("Llamada HTTP a la API Flask")
+@Enabled(false)
+@StackTrace(false)
+public class LlamadaFlaskEvent extends Event {
+
+    /**
+     * Método HTTP.
+     */
+    @Label("Método")
+    public String metodo;
+
+    /**
+     * Plantilla de la URL (con los identificadores sustituidos por {id}).
+     */
+    @Label("URL")
+    public String url;
+
+    /**
+     * Código de estado de la respuesta (0 si no ha llegado respuesta).
+     */
+    @Label("Estado")
+    public int estado;
+
+    /**
+     * Bytes enviados en el cuerpo de la petición.
+     */
+    @Label("Bytes enviados")
+    @DataAmount
+    public long bytesEnviados;
+
+    /**
+     * Bytes de la respuesta según Content-Length (-1 si no se conocen).
+     */
+    @Label("Bytes recibidos")
+    @DataAmount
+    public long bytesRecibidos;
+
+    /**
+     * Excepción si la llamada ha fallado sin respuesta.
+     */
+    @Label("Excepción")
+    public String excepcion;
+}
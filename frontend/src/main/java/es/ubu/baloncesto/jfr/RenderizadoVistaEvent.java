@@ -0,0 +1,44 @@
+package es.ubu.baloncesto.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento de Flight Recorder del renderizado de una vista Thymeleaf.
+ * Está desactivado por defecto: se activa con el perfil {@code jfr/baloncesto.jfc}.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+@Name("es.ubu.baloncesto.RenderizadoVista")
+@Label("Renderizado de vista")
+@Category({"Baloncesto", "Vistas"})
+@Description("Renderizado de una plantilla Thymeleaf")
+@Enabled(false)
+@StackTrace(false)
+public class RenderizadoVistaEvent extends Event {
+
+    /**
+     * Nombre de la vista.
+     */
+    @Label("Vista")
+    public String vista;
+
+    /**
+     * Ruta de la petición.
+     */
+    @Label("Ruta")
+    public String ruta;
+
+    /**
+     * Código de estado de la respuesta.
+     */
+    @Label("Estado")
+    public int estado;
+}
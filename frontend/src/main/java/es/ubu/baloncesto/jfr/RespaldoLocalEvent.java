@@ -0,0 +1,46 @@
+package es.ubu.baloncesto.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento de Flight Recorder de una operación que se resuelve con el repositorio local
+ * porque ha fallado la API Flask. Es instantáneo: marca en la grabación el momento en que
+ * se cambia de origen, y las consultas que siguen en el mismo hilo son las del respaldo.
+ * Está desactivado por defecto: se activa con el perfil {@code jfr/baloncesto.jfc}.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+@Name("es.ubu.baloncesto.RespaldoLocal")
+@Label("Respaldo local")
+@Category({"Baloncesto", "Datos"})
+@Description("Operación resuelta con el repositorio local tras fallar la API Flask")
+@Enabled(false)
+@StackTrace(false)
+public class RespaldoLocalEvent extends Event {
+
+    /**
+     * Servicio (partidos o equipos).
+     */
+    @Label("Servicio")
+    public String servicio;
+
+    /**
+     * Método del servicio.
+     */
+    @Label("Método")
+    public String metodo;
+
+    /**
+     * Excepción de la API Flask que ha provocado el respaldo.
+     */
+    @Label("Causa")
+    public String causa;
+}
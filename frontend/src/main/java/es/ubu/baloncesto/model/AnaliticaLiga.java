@@ -0,0 +1,86 @@
+package es.ubu.baloncesto.model;
+
+import java.util.Map;
+
+/**
+ * Clase que resume la anotación de toda la liga y el factor campo.
+ * No es una entidad: se calcula en memoria de forma incremental.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+public class AnaliticaLiga {
+
+    /**
+     * Resumen visto desde el equipo local (a favor: puntos locales, en contra: puntos visitantes).
+     */
+    private final ResumenPuntos resumenLocal;
+
+    /**
+     * Diferencia media de puntos a favor del local.
+     */
+    private final double ventajaLocalPuntos;
+
+    /**
+     * Porcentaje de partidos ganados por el local, entre 0 y 1.
+     */
+    private final double porcentajeVictoriasLocal;
+
+    /**
+     * Partidos con mayor diferencia de puntos (ID del partido y diferencia), de mayor a menor.
+     */
+    private final Map<Long, Integer> mayoresDiferencias;
+
+    /**
+     * Constructor con todos los campos.
+     *
+     * @param resumenLocal Resumen visto desde el local
+     * @param ventajaLocalPuntos Diferencia media a favor del local
+     * @param porcentajeVictoriasLocal Porcentaje de victorias locales
+     * @param mayoresDiferencias Partidos con mayor diferencia de puntos
+     */
+    public AnaliticaLiga(ResumenPuntos resumenLocal, double ventajaLocalPuntos,
+                         double porcentajeVictoriasLocal, Map<Long, Integer> mayoresDiferencias) {
+        this.resumenLocal = resumenLocal;
+        this.ventajaLocalPuntos = ventajaLocalPuntos;
+        this.porcentajeVictoriasLocal = porcentajeVictoriasLocal;
+        this.mayoresDiferencias = mayoresDiferencias;
+    }
+
+    /**
+     * Obtiene el resumen visto desde el equipo local.
+     *
+     * @return Resumen de puntos local/visitante
+     */
+    public ResumenPuntos getResumenLocal() {
+        return resumenLocal;
+    }
+
+    /**
+     * Obtiene la diferencia media de puntos a favor del local.
+     *
+     * @return Ventaja local en puntos
+     */
+    public double getVentajaLocalPuntos() {
+        return ventajaLocalPuntos;
+    }
+
+    /**
+     * Obtiene el porcentaje de partidos ganados por el local.
+     *
+     * @return Porcentaje entre 0 y 1
+     */
+    public double getPorcentajeVictoriasLocal() {
+        return porcentajeVictoriasLocal;
+    }
+
+    /**
+     * Obtiene los partidos con mayor diferencia de puntos.
+     *
+     * @return Mapa ordenado con el ID del partido y la diferencia
+     */
+    public Map<Long, Integer> getMayoresDiferencias() {
+        return mayoresDiferencias;
+    }
+}
@@ -0,0 +1,148 @@
+package es.ubu.baloncesto.model;
+
+/**
+ * Clase que representa el historial de enfrentamientos entre dos equipos.
+ * No es una entidad: se mantiene en memoria a partir de los resultados registrados.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+public class CaraACara {
+
+    /**
+     * ID del primer equipo.
+     */
+    private final Long equipoA;
+
+    /**
+     * ID del segundo equipo.
+     */
+    private final Long equipoB;
+
+    /**
+     * Partidos jugados entre ambos.
+     */
+    private final int partidos;
+
+    /**
+     * Victorias del primer equipo.
+     */
+    private final int victoriasA;
+
+    /**
+     * Victorias del segundo equipo.
+     */
+    private final int victoriasB;
+
+    /**
+     * Puntos totales anotados por el primer equipo.
+     */
+    private final long puntosA;
+
+    /**
+     * Puntos totales anotados por el segundo equipo.
+     */
+    private final long puntosB;
+
+    /**
+     * ID del último partido entre ambos.
+     */
+    private final Long ultimoPartidoId;
+
+    /**
+     * Constructor con todos los campos.
+     *
+     * @param equipoA ID del primer equipo
+     * @param equipoB ID del segundo equipo
+     * @param partidos Partidos jugados
+     * @param victoriasA Victorias del primer equipo
+     * @param victoriasB Victorias del segundo equipo
+     * @param puntosA Puntos del primer equipo
+     * @param puntosB Puntos del segundo equipo
+     * @param ultimoPartidoId ID del último partido
+     */
+    public CaraACara(Long equipoA, Long equipoB, int partidos, int victoriasA, int victoriasB,
+                     long puntosA, long puntosB, Long ultimoPartidoId) {
+        this.equipoA = equipoA;
+        this.equipoB = equipoB;
+        this.partidos = partidos;
+        this.victoriasA = victoriasA;
+        this.victoriasB = victoriasB;
+        this.puntosA = puntosA;
+        this.puntosB = puntosB;
+        this.ultimoPartidoId = ultimoPartidoId;
+    }
+
+    /**
+     * Obtiene el ID del primer equipo.
+     *
+     * @return ID del primer equipo
+     */
+    public Long getEquipoA() {
+        return equipoA;
+    }
+
+    /**
+     * Obtiene el ID del segundo equipo.
+     *
+     * @return ID del segundo equipo
+     */
+    public Long getEquipoB() {
+        return equipoB;
+    }
+
+    /**
+     * Obtiene los partidos jugados entre ambos.
+     *
+     * @return Número de partidos
+     */
+    public int getPartidos() {
+        return partidos;
+    }
+
+    /**
+     * Obtiene las victorias del primer equipo.
+     *
+     * @return Victorias del primer equipo
+     */
+    public int getVictoriasA() {
+        return victoriasA;
+    }
+
+    /**
+     * Obtiene las victorias del segundo equipo.
+     *
+     * @return Victorias del segundo equipo
+     */
+    public int getVictoriasB() {
+        return victoriasB;
+    }
+
+    /**
+     * Obtiene los puntos totales del primer equipo.
+     *
+     * @return Puntos del primer equipo
+     */
+    public long getPuntosA() {
+        return puntosA;
+    }
+
+    /**
+     * Obtiene los puntos totales del segundo equipo.
+     *
+     * @return Puntos del segundo equipo
+     */
+    public long getPuntosB() {
+        return puntosB;
+    }
+
+    /**
+     * Obtiene el ID del último partido entre ambos.
+     *
+     * @return ID del último partido, o null si no se han enfrentado
+     */
+    public Long getUltimoPartidoId() {
+        return ultimoPartidoId;
+    }
+}
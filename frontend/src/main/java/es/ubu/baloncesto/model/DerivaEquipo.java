@@ -0,0 +1,100 @@
+package es.ubu.baloncesto.model;
+
+/**
+ * Clase que representa la diferencia entre los contadores guardados de un equipo
+ * y los que salen de recalcular su historial de partidos.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+public class DerivaEquipo {
+
+    /**
+     * ID del equipo.
+     */
+    private final Long equipoId;
+
+    /**
+     * Victorias guardadas antes del recálculo.
+     */
+    private final int victoriasAntes;
+
+    /**
+     * Victorias según el historial de partidos.
+     */
+    private final int victoriasDespues;
+
+    /**
+     * Derrotas guardadas antes del recálculo.
+     */
+    private final int derrotasAntes;
+
+    /**
+     * Derrotas según el historial de partidos.
+     */
+    private final int derrotasDespues;
+
+    /**
+     * Constructor con todos los campos.
+     *
+     * @param equipoId ID del equipo
+     * @param victoriasAntes Victorias guardadas
+     * @param victoriasDespues Victorias recalculadas
+     * @param derrotasAntes Derrotas guardadas
+     * @param derrotasDespues Derrotas recalculadas
+     */
+    public DerivaEquipo(Long equipoId, int victoriasAntes, int victoriasDespues,
+                        int derrotasAntes, int derrotasDespues) {
+        this.equipoId = equipoId;
+        this.victoriasAntes = victoriasAntes;
+        this.victoriasDespues = victoriasDespues;
+        this.derrotasAntes = derrotasAntes;
+        this.derrotasDespues = derrotasDespues;
+    }
+
+    /**
+     * Obtiene el ID del equipo.
+     *
+     * @return El ID del equipo
+     */
+    public Long getEquipoId() {
+        return equipoId;
+    }
+
+    /**
+     * Obtiene las victorias guardadas antes del recálculo.
+     *
+     * @return Victorias guardadas
+     */
+    public int getVictoriasAntes() {
+        return victoriasAntes;
+    }
+
+    /**
+     * Obtiene las victorias según el historial.
+     *
+     * @return Victorias recalculadas
+     */
+    public int getVictoriasDespues() {
+        return victoriasDespues;
+    }
+
+    /**
+     * Obtiene las derrotas guardadas antes del recálculo.
+     *
+     * @return Derrotas guardadas
+     */
+    public int getDerrotasAntes() {
+        return derrotasAntes;
+    }
+
+    /**
+     * Obtiene las derrotas según el historial.
+     *
+     * @return Derrotas recalculadas
+     */
+    public int getDerrotasDespues() {
+        return derrotasDespues;
+    }
+}
@@ -0,0 +1,116 @@
+package es.ubu.baloncesto.model;
+
+/**
+ * Clase que representa el marcador de un partido en juego en un instante dado.
+ * Es inmutable: cada compactación del marcador en vivo genera una nueva.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+public class EstadoMarcador {
+
+    /**
+     * ID del partido.
+     */
+    private final Long partidoId;
+
+    /**
+     * Puntos totales del equipo local.
+     */
+    private final int puntosLocal;
+
+    /**
+     * Puntos totales del equipo visitante.
+     */
+    private final int puntosVisitante;
+
+    /**
+     * Puntos del equipo local en cada cuarto (incluidas las prórrogas).
+     */
+    private final int[] parcialesLocal;
+
+    /**
+     * Puntos del equipo visitante en cada cuarto (incluidas las prórrogas).
+     */
+    private final int[] parcialesVisitante;
+
+    /**
+     * Eventos de anotación incorporados hasta ahora.
+     */
+    private final long eventos;
+
+    /**
+     * Constructor con todos los campos.
+     *
+     * @param partidoId ID del partido
+     * @param puntosLocal Puntos totales del local
+     * @param puntosVisitante Puntos totales del visitante
+     * @param parcialesLocal Puntos del local por cuarto
+     * @param parcialesVisitante Puntos del visitante por cuarto
+     * @param eventos Eventos incorporados
+     */
+    public EstadoMarcador(Long partidoId, int puntosLocal, int puntosVisitante,
+                          int[] parcialesLocal, int[] parcialesVisitante, long eventos) {
+        this.partidoId = partidoId;
+        this.puntosLocal = puntosLocal;
+        this.puntosVisitante = puntosVisitante;
+        this.parcialesLocal = parcialesLocal;
+        this.parcialesVisitante = parcialesVisitante;
+        this.eventos = eventos;
+    }
+
+    /**
+     * Obtiene el ID del partido.
+     *
+     * @return El ID del partido
+     */
+    public Long getPartidoId() {
+        return partidoId;
+    }
+
+    /**
+     * Obtiene los puntos totales del equipo local.
+     *
+     * @return Puntos del local
+     */
+    public int getPuntosLocal() {
+        return puntosLocal;
+    }
+
+    /**
+     * Obtiene los puntos totales del equipo visitante.
+     *
+     * @return Puntos del visitante
+     */
+    public int getPuntosVisitante() {
+        return puntosVisitante;
+    }
+
+    /**
+     * Obtiene los puntos del equipo local en cada cuarto.
+     *
+     * @return Parciales del local
+     */
+    public int[] getParcialesLocal() {
+        return parcialesLocal.clone();
+    }
+
+    /**
+     * Obtiene los puntos del equipo visitante en cada cuarto.
+     *
+     * @return Parciales del visitante
+     */
+    public int[] getParcialesVisitante() {
+        return parcialesVisitante.clone();
+    }
+
+    /**
+     * Obtiene el número de eventos de anotación incorporados.
+     *
+     * @return Eventos incorporados
+     */
+    public long getEventos() {
+        return eventos;
+    }
+}
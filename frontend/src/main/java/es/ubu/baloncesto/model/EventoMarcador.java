@@ -0,0 +1,100 @@
+package es.ubu.baloncesto.model;
+
+/**
+ * Clase que representa una anotación (o corrección) durante un partido en juego.
+ * Es el formato en el que llegan los eventos al endpoint del marcador en vivo.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+public class EventoMarcador {
+
+    /**
+     * Cuarto en el que se produce (1 a 4, y a partir de 5 las prórrogas).
+     */
+    private int cuarto;
+
+    /**
+     * Equipo que anota: true si es el local, false si es el visitante.
+     */
+    private boolean local;
+
+    /**
+     * Puntos anotados (de 1 a 3, o negativos para corregir un error).
+     */
+    private int puntos;
+
+    /**
+     * Constructor por defecto.
+     */
+    public EventoMarcador() {
+    }
+
+    /**
+     * Constructor con todos los campos.
+     *
+     * @param cuarto Cuarto del partido
+     * @param local true si anota el local
+     * @param puntos Puntos anotados
+     */
+    public EventoMarcador(int cuarto, boolean local, int puntos) {
+        this.cuarto = cuarto;
+        this.local = local;
+        this.puntos = puntos;
+    }
+
+    /**
+     * Obtiene el cuarto.
+     *
+     * @return El cuarto
+     */
+    public int getCuarto() {
+        return cuarto;
+    }
+
+    /**
+     * Establece el cuarto.
+     *
+     * @param cuarto El cuarto
+     */
+    public void setCuarto(int cuarto) {
+        this.cuarto = cuarto;
+    }
+
+    /**
+     * Indica si anota el equipo local.
+     *
+     * @return true si anota el local
+     */
+    public boolean isLocal() {
+        return local;
+    }
+
+    /**
+     * Establece si anota el equipo local.
+     *
+     * @param local true si anota el local
+     */
+    public void setLocal(boolean local) {
+        this.local = local;
+    }
+
+    /**
+     * Obtiene los puntos anotados.
+     *
+     * @return Los puntos
+     */
+    public int getPuntos() {
+        return puntos;
+    }
+
+    /**
+     * Establece los puntos anotados.
+     *
+     * @param puntos Los puntos
+     */
+    public void setPuntos(int puntos) {
+        this.puntos = puntos;
+    }
+}
@@ -0,0 +1,60 @@
+package es.ubu.baloncesto.model;
+
+/**
+ * Clase que representa las filas ya renderizadas de la tabla de partidos.
+ * Se guarda en caché mientras no cambien los partidos.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+public class FilasPartidos {
+
+    /**
+     * HTML de las filas.
+     */
+    private final String html;
+
+    /**
+     * Número de partidos de la tabla.
+     */
+    private final int numPartidos;
+
+    /**
+     * Constructor con todos los campos.
+     *
+     * @param html HTML de las filas
+     * @param numPartidos Número de partidos
+     */
+    public FilasPartidos(String html, int numPartidos) {
+        this.html = html;
+        this.numPartidos = numPartidos;
+    }
+
+    /**
+     * Obtiene el HTML de las filas.
+     *
+     * @return El HTML
+     */
+    public String getHtml() {
+        return html;
+    }
+
+    /**
+     * Obtiene el número de partidos.
+     *
+     * @return Número de partidos
+     */
+    public int getNumPartidos() {
+        return numPartidos;
+    }
+
+    /**
+     * Indica si la tabla no tiene partidos.
+     *
+     * @return true si no hay partidos
+     */
+    public boolean isVacia() {
+        return numPartidos == 0;
+    }
+}
@@ -0,0 +1,152 @@
+package es.ubu.baloncesto.model;
+
+import java.util.List;
+
+/**
+ * Clase que representa la forma reciente y los parciales de un equipo.
+ * No es una entidad: se mantiene en memoria a partir de los resultados registrados.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+public class FormaEquipo {
+
+    /**
+     * ID del equipo.
+     */
+    private final Long equipoId;
+
+    /**
+     * Victorias como local.
+     */
+    private final int victoriasLocal;
+
+    /**
+     * Derrotas como local.
+     */
+    private final int derrotasLocal;
+
+    /**
+     * Victorias como visitante.
+     */
+    private final int victoriasVisitante;
+
+    /**
+     * Derrotas como visitante.
+     */
+    private final int derrotasVisitante;
+
+    /**
+     * Racha actual: positiva si son victorias seguidas, negativa si son derrotas.
+     */
+    private final int racha;
+
+    /**
+     * Últimos resultados, del más reciente al más antiguo ("V" o "D").
+     */
+    private final List<String> ultimos;
+
+    /**
+     * Constructor con todos los campos.
+     *
+     * @param equipoId ID del equipo
+     * @param victoriasLocal Victorias como local
+     * @param derrotasLocal Derrotas como local
+     * @param victoriasVisitante Victorias como visitante
+     * @param derrotasVisitante Derrotas como visitante
+     * @param racha Racha actual
+     * @param ultimos Últimos resultados
+     */
+    public FormaEquipo(Long equipoId, int victoriasLocal, int derrotasLocal, int victoriasVisitante,
+                       int derrotasVisitante, int racha, List<String> ultimos) {
+        this.equipoId = equipoId;
+        this.victoriasLocal = victoriasLocal;
+        this.derrotasLocal = derrotasLocal;
+        this.victoriasVisitante = victoriasVisitante;
+        this.derrotasVisitante = derrotasVisitante;
+        this.racha = racha;
+        this.ultimos = ultimos;
+    }
+
+    /**
+     * Obtiene el ID del equipo.
+     *
+     * @return El ID del equipo
+     */
+    public Long getEquipoId() {
+        return equipoId;
+    }
+
+    /**
+     * Obtiene las victorias totales.
+     *
+     * @return Victorias como local más victorias como visitante
+     */
+    public int getVictorias() {
+        return victoriasLocal + victoriasVisitante;
+    }
+
+    /**
+     * Obtiene las derrotas totales.
+     *
+     * @return Derrotas como local más derrotas como visitante
+     */
+    public int getDerrotas() {
+        return derrotasLocal + derrotasVisitante;
+    }
+
+    /**
+     * Obtiene las victorias como local.
+     *
+     * @return Victorias como local
+     */
+    public int getVictoriasLocal() {
+        return victoriasLocal;
+    }
+
+    /**
+     * Obtiene las derrotas como local.
+     *
+     * @return Derrotas como local
+     */
+    public int getDerrotasLocal() {
+        return derrotasLocal;
+    }
+
+    /**
+     * Obtiene las victorias como visitante.
+     *
+     * @return Victorias como visitante
+     */
+    public int getVictoriasVisitante() {
+        return victoriasVisitante;
+    }
+
+    /**
+     * Obtiene las derrotas como visitante.
+     *
+     * @return Derrotas como visitante
+     */
+    public int getDerrotasVisitante() {
+        return derrotasVisitante;
+    }
+
+    /**
+     * Obtiene la racha actual.
+     *
+     * @return Positiva si son victorias seguidas, negativa si son derrotas, 0 si no ha jugado
+     */
+    public int getRacha() {
+        return racha;
+    }
+
+    /**
+     * Obtiene los últimos resultados.
+     *
+     * @return Lista del más reciente al más antiguo ("V" o "D")
+     */
+    public List<String> getUltimos() {
+        return ultimos;
+    }
+}
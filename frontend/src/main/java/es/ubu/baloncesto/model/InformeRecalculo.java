@@ -0,0 +1,117 @@
+package es.ubu.baloncesto.model;
+
+import java.util.List;
+
+/**
+ * Clase que representa el resultado del recálculo de victorias y derrotas de los equipos.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+public class InformeRecalculo {
+
+    /**
+     * Partidos finalizados procesados.
+     */
+    private final long partidosProcesados;
+
+    /**
+     * Bloques leídos (incluidos los recuperados de una ejecución anterior).
+     */
+    private final int bloques;
+
+    /**
+     * Indica si la ejecución ha continuado una ejecución anterior interrumpida.
+     */
+    private final boolean reanudado;
+
+    /**
+     * Indica si se han escrito las correcciones o solo se han calculado.
+     */
+    private final boolean aplicado;
+
+    /**
+     * Duración del recálculo en milisegundos.
+     */
+    private final long duracionMs;
+
+    /**
+     * Equipos cuyos contadores no coincidían con el historial.
+     */
+    private final List<DerivaEquipo> derivas;
+
+    /**
+     * Constructor con todos los campos.
+     *
+     * @param partidosProcesados Partidos procesados
+     * @param bloques Bloques leídos
+     * @param reanudado Si se ha reanudado una ejecución anterior
+     * @param aplicado Si se han escrito las correcciones
+     * @param duracionMs Duración en milisegundos
+     * @param derivas Equipos con contadores incorrectos
+     */
+    public InformeRecalculo(long partidosProcesados, int bloques, boolean reanudado, boolean aplicado,
+                            long duracionMs, List<DerivaEquipo> derivas) {
+        this.partidosProcesados = partidosProcesados;
+        this.bloques = bloques;
+        this.reanudado = reanudado;
+        this.aplicado = aplicado;
+        this.duracionMs = duracionMs;
+        this.derivas = derivas;
+    }
+
+    /**
+     * Obtiene los partidos finalizados procesados.
+     *
+     * @return Número de partidos
+     */
+    public long getPartidosProcesados() {
+        return partidosProcesados;
+    }
+
+    /**
+     * Obtiene los bloques leídos.
+     *
+     * @return Número de bloques
+     */
+    public int getBloques() {
+        return bloques;
+    }
+
+    /**
+     * Indica si la ejecución ha continuado una ejecución anterior interrumpida.
+     *
+     * @return true si se ha reanudado
+     */
+    public boolean isReanudado() {
+        return reanudado;
+    }
+
+    /**
+     * Indica si se han escrito las correcciones.
+     *
+     * @return true si se han aplicado, false si solo se ha informado
+     */
+    public boolean isAplicado() {
+        return aplicado;
+    }
+
+    /**
+     * Obtiene la duración del recálculo.
+     *
+     * @return Duración en milisegundos
+     */
+    public long getDuracionMs() {
+        return duracionMs;
+    }
+
+    /**
+     * Obtiene los equipos cuyos contadores no coincidían.
+     *
+     * @return Lista de derivas
+     */
+    public List<DerivaEquipo> getDerivas() {
+        return derivas;
+    }
+}
@@ -0,0 +1,70 @@
+package es.ubu.baloncesto.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Clase que representa el resultado de una consulta de varios Pokémon a la vez.
+ * Cada Pokémon pedido aparece en una sola de las tres partes.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+public class LotePokemon {
+
+    /**
+     * Datos de los Pokémon encontrados, por el nombre o ID con que se han pedido.
+     */
+    private final Map<String, Map<String, Object>> pokemon;
+
+    /**
+     * Pokémon pedidos que no existen.
+     */
+    private final List<String> noEncontrados;
+
+    /**
+     * Pokémon que no se han podido consultar, con el motivo.
+     */
+    private final Map<String, String> errores;
+
+    /**
+     * Constructor con todos los campos.
+     *
+     * @param pokemon Pokémon encontrados
+     * @param noEncontrados Pokémon que no existen
+     * @param errores Pokémon que no se han podido consultar
+     */
+    public LotePokemon(Map<String, Map<String, Object>> pokemon, List<String> noEncontrados, Map<String, String> errores) {
+        this.pokemon = pokemon;
+        this.noEncontrados = noEncontrados;
+        this.errores = errores;
+    }
+
+    /**
+     * Obtiene los Pokémon encontrados.
+     *
+     * @return Datos de cada Pokémon por el nombre o ID pedido
+     */
+    public Map<String, Map<String, Object>> getPokemon() {
+        return pokemon;
+    }
+
+    /**
+     * Obtiene los Pokémon que no existen.
+     *
+     * @return Nombres o IDs pedidos
+     */
+    public List<String> getNoEncontrados() {
+        return noEncontrados;
+    }
+
+    /**
+     * Obtiene los Pokémon que no se han podido consultar.
+     *
+     * @return Motivo por nombre o ID pedido
+     */
+    public Map<String, String> getErrores() {
+        return errores;
+    }
+}
@@ -72,6 +72,12 @@ public class Partido {
      */
     private boolean finalizado;
 
+    /**
+     * Fecha y hora en que se registró el resultado (null si no ha finalizado o se desconoce).
+     * La usa el recálculo de victorias y derrotas para separar los partidos de su corte.
+     */
+    private LocalDateTime finalizadoEn;
+
     /**
      * Constructor por defecto requerido por JPA.
      * No inicializa ningún campo.
@@ -257,6 +263,7 @@ public class Partido {
 
         // MARCO EL PARTIDO COMO FINALIZADO
         this.finalizado = true;
+        this.finalizadoEn = LocalDateTime.now();
 
         // ACTUALIZO LAS ESTADÍSTICAS DE LOS EQUIPOS
         if (puntosLocal > puntosVisitante) {
@@ -271,6 +278,28 @@ public class Partido {
         // NO CONTEMPLO EMPATES EN BALONCESTO
     }
 
+    /**
+     * Actualiza el marcador de un partido en juego sin finalizarlo
+     * (las estadísticas de los equipos solo cambian con el resultado final).
+     *
+     * @param puntosLocal Puntos del equipo local hasta el momento
+     * @param puntosVisitante Puntos del equipo visitante hasta el momento
+     */
+    public void actualizarMarcador(int puntosLocal, int puntosVisitante) {
+        // VERIFICO QUE LOS PUNTOS SEAN POSITIVOS
+        if (puntosLocal < 0 || puntosVisitante < 0) {
+            throw new IllegalArgumentException("Los puntos no pueden ser negativos");
+        }
+
+        // UN PARTIDO FINALIZADO YA NO ADMITE CAMBIOS EN EL MARCADOR
+        if (finalizado) {
+            throw new IllegalStateException("El partido ya está finalizado");
+        }
+
+        this.puntosLocal = puntosLocal;
+        this.puntosVisitante = puntosVisitante;
+    }
+
     /**
      * Verifica si el partido ya se puede jugar (la fecha programada ya ha pasado).
      *
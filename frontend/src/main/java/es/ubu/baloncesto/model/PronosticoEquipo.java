@@ -0,0 +1,116 @@
+package es.ubu.baloncesto.model;
+
+/**
+ * Clase que representa el pronóstico de final de temporada de un equipo.
+ * No es una entidad: se obtiene de la simulación Monte Carlo de los partidos pendientes.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+public class PronosticoEquipo {
+
+    /**
+     * ID del equipo.
+     */
+    private final Long equipoId;
+
+    /**
+     * Nombre del equipo.
+     */
+    private final String nombre;
+
+    /**
+     * Probabilidad de terminar primero.
+     */
+    private final double probabilidadPrimero;
+
+    /**
+     * Probabilidad de entrar en playoffs.
+     */
+    private final double probabilidadPlayoff;
+
+    /**
+     * Victorias medias al final de la temporada.
+     */
+    private final double victoriasMedias;
+
+    /**
+     * Posición media al final de la temporada.
+     */
+    private final double posicionMedia;
+
+    /**
+     * Constructor con todos los campos.
+     *
+     * @param equipoId ID del equipo
+     * @param nombre Nombre del equipo
+     * @param probabilidadPrimero Probabilidad de terminar primero
+     * @param probabilidadPlayoff Probabilidad de entrar en playoffs
+     * @param victoriasMedias Victorias medias
+     * @param posicionMedia Posición media
+     */
+    public PronosticoEquipo(Long equipoId, String nombre, double probabilidadPrimero,
+                            double probabilidadPlayoff, double victoriasMedias, double posicionMedia) {
+        this.equipoId = equipoId;
+        this.nombre = nombre;
+        this.probabilidadPrimero = probabilidadPrimero;
+        this.probabilidadPlayoff = probabilidadPlayoff;
+        this.victoriasMedias = victoriasMedias;
+        this.posicionMedia = posicionMedia;
+    }
+
+    /**
+     * Obtiene el ID del equipo.
+     *
+     * @return El ID del equipo
+     */
+    public Long getEquipoId() {
+        return equipoId;
+    }
+
+    /**
+     * Obtiene el nombre del equipo.
+     *
+     * @return El nombre del equipo
+     */
+    public String getNombre() {
+        return nombre;
+    }
+
+    /**
+     * Obtiene la probabilidad de terminar primero.
+     *
+     * @return Probabilidad entre 0 y 1
+     */
+    public double getProbabilidadPrimero() {
+        return probabilidadPrimero;
+    }
+
+    /**
+     * Obtiene la probabilidad de entrar en playoffs.
+     *
+     * @return Probabilidad entre 0 y 1
+     */
+    public double getProbabilidadPlayoff() {
+        return probabilidadPlayoff;
+    }
+
+    /**
+     * Obtiene las victorias medias al final de la temporada.
+     *
+     * @return Media de victorias
+     */
+    public double getVictoriasMedias() {
+        return victoriasMedias;
+    }
+
+    /**
+     * Obtiene la posición media al final de la temporada.
+     *
+     * @return Posición media (1 es el primero)
+     */
+    public double getPosicionMedia() {
+        return posicionMedia;
+    }
+}
@@ -0,0 +1,102 @@
+package es.ubu.baloncesto.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Clase que representa la tabla de probabilidades de una simulación de temporada.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+public class PronosticoTemporada {
+
+    /**
+     * Momento en el que se generó el pronóstico.
+     */
+    private final LocalDateTime generado;
+
+    /**
+     * Número de temporadas simuladas.
+     */
+    private final long simulaciones;
+
+    /**
+     * Duración de la simulación en milisegundos.
+     */
+    private final long duracionMs;
+
+    /**
+     * Número de partidos pendientes simulados.
+     */
+    private final int partidosPendientes;
+
+    /**
+     * Pronóstico de cada equipo, ordenado por posición media.
+     */
+    private final List<PronosticoEquipo> equipos;
+
+    /**
+     * Constructor con todos los campos.
+     *
+     * @param generado Momento de generación
+     * @param simulaciones Temporadas simuladas
+     * @param duracionMs Duración en milisegundos
+     * @param partidosPendientes Partidos pendientes simulados
+     * @param equipos Pronóstico de cada equipo
+     */
+    public PronosticoTemporada(LocalDateTime generado, long simulaciones, long duracionMs,
+                               int partidosPendientes, List<PronosticoEquipo> equipos) {
+        this.generado = generado;
+        this.simulaciones = simulaciones;
+        this.duracionMs = duracionMs;
+        this.partidosPendientes = partidosPendientes;
+        this.equipos = equipos;
+    }
+
+    /**
+     * Obtiene el momento en el que se generó el pronóstico.
+     *
+     * @return Fecha y hora de generación
+     */
+    public LocalDateTime getGenerado() {
+        return generado;
+    }
+
+    /**
+     * Obtiene el número de temporadas simuladas.
+     *
+     * @return Número de simulaciones
+     */
+    public long getSimulaciones() {
+        return simulaciones;
+    }
+
+    /**
+     * Obtiene la duración de la simulación.
+     *
+     * @return Duración en milisegundos
+     */
+    public long getDuracionMs() {
+        return duracionMs;
+    }
+
+    /**
+     * Obtiene el número de partidos pendientes simulados.
+     *
+     * @return Número de partidos pendientes
+     */
+    public int getPartidosPendientes() {
+        return partidosPendientes;
+    }
+
+    /**
+     * Obtiene el pronóstico de cada equipo.
+     *
+     * @return Lista ordenada por posición media
+     */
+    public List<PronosticoEquipo> getEquipos() {
+        return equipos;
+    }
+}
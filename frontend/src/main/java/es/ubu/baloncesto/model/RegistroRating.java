@@ -0,0 +1,85 @@
+package es.ubu.baloncesto.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Clase que representa un punto del historial de rating de un equipo.
+ * No es una entidad: se calcula en memoria a partir de los partidos finalizados.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+public class RegistroRating {
+
+    /**
+     * ID del partido que provocó el cambio de rating.
+     */
+    private final Long partidoId;
+
+    /**
+     * Fecha del partido.
+     */
+    private final LocalDateTime fecha;
+
+    /**
+     * Rating del equipo después del partido.
+     */
+    private final double rating;
+
+    /**
+     * Variación del rating respecto al valor anterior.
+     */
+    private final double variacion;
+
+    /**
+     * Constructor con todos los campos.
+     *
+     * @param partidoId ID del partido
+     * @param fecha Fecha del partido
+     * @param rating Rating tras el partido
+     * @param variacion Variación del rating
+     */
+    public RegistroRating(Long partidoId, LocalDateTime fecha, double rating, double variacion) {
+        this.partidoId = partidoId;
+        this.fecha = fecha;
+        this.rating = rating;
+        this.variacion = variacion;
+    }
+
+    /**
+     * Obtiene el ID del partido.
+     *
+     * @return El ID del partido
+     */
+    public Long getPartidoId() {
+        return partidoId;
+    }
+
+    /**
+     * Obtiene la fecha del partido.
+     *
+     * @return La fecha del partido
+     */
+    public LocalDateTime getFecha() {
+        return fecha;
+    }
+
+    /**
+     * Obtiene el rating del equipo tras el partido.
+     *
+     * @return El rating
+     */
+    public double getRating() {
+        return rating;
+    }
+
+    /**
+     * Obtiene la variación del rating provocada por el partido.
+     *
+     * @return La variación del rating
+     */
+    public double getVariacion() {
+        return variacion;
+    }
+}
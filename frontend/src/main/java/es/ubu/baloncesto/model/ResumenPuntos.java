@@ -0,0 +1,164 @@
+package es.ubu.baloncesto.model;
+
+/**
+ * Clase que resume la anotación de un equipo (puntos a favor y en contra).
+ * No es una entidad: se calcula en memoria de forma incremental.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+public class ResumenPuntos {
+
+    /**
+     * Partidos contabilizados.
+     */
+    private final long partidos;
+
+    /**
+     * Media de puntos a favor.
+     */
+    private final double mediaAFavor;
+
+    /**
+     * Media de puntos en contra.
+     */
+    private final double mediaEnContra;
+
+    /**
+     * Mediana de puntos a favor.
+     */
+    private final int p50AFavor;
+
+    /**
+     * Percentil 90 de puntos a favor.
+     */
+    private final int p90AFavor;
+
+    /**
+     * Mediana de puntos en contra.
+     */
+    private final int p50EnContra;
+
+    /**
+     * Percentil 90 de puntos en contra.
+     */
+    private final int p90EnContra;
+
+    /**
+     * Mayor diferencia de puntos en una victoria.
+     */
+    private final int mayorVictoria;
+
+    /**
+     * Mayor diferencia de puntos en una derrota.
+     */
+    private final int mayorDerrota;
+
+    /**
+     * Constructor con todos los campos.
+     *
+     * @param partidos Partidos contabilizados
+     * @param mediaAFavor Media de puntos a favor
+     * @param mediaEnContra Media de puntos en contra
+     * @param p50AFavor Mediana a favor
+     * @param p90AFavor Percentil 90 a favor
+     * @param p50EnContra Mediana en contra
+     * @param p90EnContra Percentil 90 en contra
+     * @param mayorVictoria Mayor margen de victoria
+     * @param mayorDerrota Mayor margen de derrota
+     */
+    public ResumenPuntos(long partidos, double mediaAFavor, double mediaEnContra, int p50AFavor, int p90AFavor,
+                         int p50EnContra, int p90EnContra, int mayorVictoria, int mayorDerrota) {
+        this.partidos = partidos;
+        this.mediaAFavor = mediaAFavor;
+        this.mediaEnContra = mediaEnContra;
+        this.p50AFavor = p50AFavor;
+        this.p90AFavor = p90AFavor;
+        this.p50EnContra = p50EnContra;
+        this.p90EnContra = p90EnContra;
+        this.mayorVictoria = mayorVictoria;
+        this.mayorDerrota = mayorDerrota;
+    }
+
+    /**
+     * Obtiene los partidos contabilizados.
+     *
+     * @return Número de partidos
+     */
+    public long getPartidos() {
+        return partidos;
+    }
+
+    /**
+     * Obtiene la media de puntos a favor.
+     *
+     * @return Media a favor
+     */
+    public double getMediaAFavor() {
+        return mediaAFavor;
+    }
+
+    /**
+     * Obtiene la media de puntos en contra.
+     *
+     * @return Media en contra
+     */
+    public double getMediaEnContra() {
+        return mediaEnContra;
+    }
+
+    /**
+     * Obtiene la mediana de puntos a favor.
+     *
+     * @return Mediana a favor
+     */
+    public int getP50AFavor() {
+        return p50AFavor;
+    }
+
+    /**
+     * Obtiene el percentil 90 de puntos a favor.
+     *
+     * @return Percentil 90 a favor
+     */
+    public int getP90AFavor() {
+        return p90AFavor;
+    }
+
+    /**
+     * Obtiene la mediana de puntos en contra.
+     *
+     * @return Mediana en contra
+     */
+    public int getP50EnContra() {
+        return p50EnContra;
+    }
+
+    /**
+     * Obtiene el percentil 90 de puntos en contra.
+     *
+     * @return Percentil 90 en contra
+     */
+    public int getP90EnContra() {
+        return p90EnContra;
+    }
+
+    /**
+     * Obtiene la mayor diferencia de puntos en una victoria.
+     *
+     * @return Mayor margen de victoria
+     */
+    public int getMayorVictoria() {
+        return mayorVictoria;
+    }
+
+    /**
+     * Obtiene la mayor diferencia de puntos en una derrota.
+     *
+     * @return Mayor margen de derrota
+     */
+    public int getMayorDerrota() {
+        return mayorDerrota;
+    }
+}
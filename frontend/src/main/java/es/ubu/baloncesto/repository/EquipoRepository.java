@@ -1,6 +1,8 @@
 package es.ubu.baloncesto.repository;
 
 import es.ubu.baloncesto.model.Equipo;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -47,4 +49,13 @@ public interface EquipoRepository extends JpaRepository<Equipo, Long> {
      * @return Lista de equipos ordenados por victorias
      */
     List<Equipo> findAllByOrderByVictoriasDesc();
+
+    /**
+     * Busca una página de equipos cuyo nombre contiene un texto, sin distinguir mayúsculas.
+     *
+     * @param nombre Texto a buscar en el nombre del equipo
+     * @param pagina Página y orden
+     * @return Página de equipos con el total que cumple el criterio
+     */
+    Page<Equipo> findByNombreContainingIgnoreCase(String nombre, Pageable pagina);
 }
\ No newline at end of file
@@ -2,7 +2,11 @@ package es.ubu.baloncesto.repository;
 
 import es.ubu.baloncesto.model.Equipo;
 import es.ubu.baloncesto.model.Partido;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -81,4 +85,21 @@ public interface PartidoRepository extends JpaRepository<Partido, Long> {
      * @return Lista de partidos ordenados por fecha
      */
     List<Partido> findAllByOrderByFechaAsc();
+
+    /**
+     * Busca una página de partidos filtrando en la consulta; los filtros nulos no se aplican.
+     *
+     * @param equipoId Solo los partidos de este equipo (local o visitante)
+     * @param inicio Solo los partidos desde esta fecha (incluida)
+     * @param fin Solo los partidos anteriores a esta fecha (excluida)
+     * @param finalizado Solo los partidos finalizados (true) o pendientes (false)
+     * @param pagina Página y orden
+     * @return Página de partidos con el total que cumple los filtros
+     */
+    @Query("SELECT p FROM Partido p "
+            + "WHERE (:equipoId IS NULL OR p.equipoLocal.id = :equipoId OR p.equipoVisitante.id = :equipoId) "
+            + "AND (:inicio IS NULL OR p.fecha >= :inicio) AND (:fin IS NULL OR p.fecha < :fin) "
+            + "AND (:finalizado IS NULL OR p.finalizado = :finalizado)")
+    Page<Partido> buscar(@Param("equipoId") Long equipoId, @Param("inicio") LocalDateTime inicio,
+                         @Param("fin") LocalDateTime fin, @Param("finalizado") Boolean finalizado, Pageable pagina);
 }
\ No newline at end of file
@@ -0,0 +1,159 @@
+package es.ubu.baloncesto.service;
+
+import es.ubu.baloncesto.config.PlazoPeticion;
+import es.ubu.baloncesto.exception.ApiException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Grupo de llamadas independientes que se ejecutan a la vez con un plazo común.
+ * Se lanzan las llamadas, se espera a que terminen todas y después se leen sus resultados.
+ * Si una falla o se agota el plazo, las que quedan se cancelan y la espera termina en ese momento.
+ * Si el hilo que lo abre tiene plazo de petición, el del grupo nunca es mayor y las llamadas lo heredan.
+ * No es seguro para hilos: lo usa solo el hilo que lo ha abierto.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+public final class Abanico {
+
+    /**
+     * Descripción que se usa en los errores (no hay una única URL detrás).
+     */
+    private static final String ORIGEN = "consultas en paralelo";
+
+    /**
+     * Ejecutor con aviso de cada llamada terminada.
+     */
+    private final ExecutorCompletionService<Object> ejecucion;
+
+    /**
+     * Instante (nanoTime) en que vence el plazo.
+     */
+    private final long limite;
+
+    /**
+     * Plazo de la petición que abre el grupo, que heredan las llamadas (null si no tiene).
+     */
+    private final Long limitePeticion;
+
+    /**
+     * Llamadas lanzadas.
+     */
+    private final List<Future<Object>> llamadas = new ArrayList<>();
+
+    /**
+     * true cuando ya se ha esperado con éxito a todas las llamadas.
+     */
+    private boolean terminado;
+
+    /**
+     * Constructor con el ejecutor y el plazo.
+     *
+     * @param ejecutor Ejecutor donde se lanzan las llamadas
+     * @param plazoMs Milisegundos que como mucho se espera, contados desde ahora
+     */
+    Abanico(Executor ejecutor, long plazoMs) {
+        this.ejecucion = new ExecutorCompletionService<>(ejecutor);
+        long propio = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(plazoMs);
+        this.limitePeticion = PlazoPeticion.getLimite();
+        this.limite = (limitePeticion != null && limitePeticion - propio < 0) ? limitePeticion : propio;
+    }
+
+    /**
+     * Lanza una llamada.
+     *
+     * @param llamada Llamada a un servicio
+     * @param <T> Tipo del resultado
+     * @return Acceso al resultado, válido después de {@link #esperar()}
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Supplier<T> lanzar(Supplier<T> llamada) {
+        Future<Object> futuro = ejecucion.submit(() -> {
+            // LA LLAMADA CORRE EN OTRO HILO: LE PASO EL PLAZO DE LA PETICIÓN Y LO QUITO AL TERMINAR
+            Long anterior = PlazoPeticion.getLimite();
+            PlazoPeticion.setLimite(limitePeticion);
+            try {
+                return llamada.get();
+            } finally {
+                PlazoPeticion.setLimite(anterior);
+            }
+        });
+        llamadas.add(futuro);
+        return () -> {
+            if (!terminado) {
+                throw new IllegalStateException("Hay que esperar a las llamadas antes de leer sus resultados");
+            }
+            try {
+                return (T) futuro.get();
+            } catch (InterruptedException | ExecutionException e) {
+                // NO PASA: SI ESPERAR() HA TERMINADO BIEN, TODAS LAS LLAMADAS HAN ACABADO SIN ERROR
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+
+    /**
+     * Espera a que terminen todas las llamadas lanzadas.
+     * La excepción de la primera llamada que falle se relanza tal cual.
+     *
+     * @throws ApiException Si se agota el plazo o se interrumpe la espera
+     */
+    public void esperar() {
+        try {
+            for (int pendientes = llamadas.size(); pendientes > 0; pendientes--) {
+                Future<Object> terminada = ejecucion.poll(limite - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (terminada == null) {
+                    throw new ApiException("Se ha agotado el plazo de las consultas en paralelo (" + pendientes + " sin terminar)",
+                            null, ORIGEN, 504);
+                }
+                // GET NO BLOQUEA: LA LLAMADA YA HA TERMINADO. SI FALLÓ, SALTA AQUÍ
+                terminada.get();
+            }
+            terminado = true;
+        } catch (ExecutionException e) {
+            throw relanzar(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiException("Espera interrumpida", e, ORIGEN);
+        } finally {
+            // SI NO HA IDO BIEN, NO DEJO TRABAJANDO LAS LLAMADAS QUE QUEDAN
+            if (!terminado) {
+                cancelar();
+            }
+        }
+    }
+
+    /**
+     * Cancela las llamadas que aún no han terminado.
+     */
+    private void cancelar() {
+        for (Future<Object> llamada : llamadas) {
+            llamada.cancel(true);
+        }
+    }
+
+    /**
+     * Prepara la excepción de una llamada fallida para relanzarla.
+     *
+     * @param causa Excepción lanzada por la llamada
+     * @return Excepción a lanzar
+     */
+    private static RuntimeException relanzar(Throwable causa) {
+        if (causa instanceof RuntimeException) {
+            return (RuntimeException) causa;
+        }
+        if (causa instanceof Error) {
+            throw (Error) causa;
+        }
+        return new ApiException("Error en una de las consultas en paralelo", causa, ORIGEN);
+    }
+}
@@ -0,0 +1,56 @@
+package es.ubu.baloncesto.service;
+
+import es.ubu.baloncesto.model.AnaliticaLiga;
+import es.ubu.baloncesto.model.Partido;
+import es.ubu.baloncesto.model.ResumenPuntos;
+
+import java.util.List;
+
+/**
+ * Interfaz que define las analíticas de anotación por equipo y de toda la liga.
+ * Los agregados se actualizan con cada resultado y ocupan memoria fija por equipo.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+public interface AnaliticaPuntosService {
+
+    /**
+     * Incorpora un partido finalizado a los agregados.
+     * Si el partido ya se había incorporado o no está finalizado, no hace nada.
+     *
+     * @param partido Partido finalizado
+     */
+    void registrarPartido(Partido partido);
+
+    /**
+     * Reconstruye los agregados desde cero a partir del historial de partidos.
+     *
+     * @param partidos Historial de partidos (se ignoran los no finalizados)
+     * @return Número de partidos incorporados
+     */
+    int reconstruir(List<Partido> partidos);
+
+    /**
+     * Indica si los agregados ya se han construido alguna vez.
+     *
+     * @return true si están construidos, false en caso contrario
+     */
+    boolean isInicializado();
+
+    /**
+     * Obtiene el resumen de anotación de un equipo.
+     *
+     * @param equipoId ID del equipo
+     * @return Resumen del equipo (con todo a cero si no ha jugado)
+     */
+    ResumenPuntos getResumenEquipo(Long equipoId);
+
+    /**
+     * Obtiene el resumen de anotación de toda la liga y el factor campo.
+     *
+     * @return Analítica de la liga
+     */
+    AnaliticaLiga getAnaliticaLiga();
+}
@@ -0,0 +1,334 @@
+package es.ubu.baloncesto.service;
+
+import es.ubu.baloncesto.event.ResultadoRegistradoEvent;
+import es.ubu.baloncesto.model.AnaliticaLiga;
+import es.ubu.baloncesto.model.Partido;
+import es.ubu.baloncesto.model.ResumenPuntos;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * Implementación de las analíticas de anotación.
+ * Cada equipo tiene dos histogramas de memoria fija (a favor y en contra) y la liga
+ * otros dos vistos desde el local, de forma que cada resultado se incorpora en O(1)
+ * y las consultas no dependen del número de partidos.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+@Service
+public class AnaliticaPuntosServiceImpl implements AnaliticaPuntosService {
+
+    /**
+     * Logger para registrar operaciones.
+     */
+    private static final Logger LOGGER = Logger.getLogger(AnaliticaPuntosServiceImpl.class.getName());
+
+    /**
+     * Número de partidos con mayor diferencia de puntos que se guardan.
+     */
+    static final int MAYORES_DIFERENCIAS = 10;
+
+    /**
+     * Agregados actuales.
+     */
+    private Agregados agregados = new Agregados();
+
+    /**
+     * Partidos incorporados uno a uno desde la última reconstrucción. Una reconstrucción trabaja
+     * sobre una lista de partidos leída antes de empezar, así que al terminar vuelve a incorporar
+     * los de aquí que no estuvieran en ella para no perder resultados registrados mientras tanto.
+     */
+    private List<Partido> aplicadosDesdeReconstruccion = new ArrayList<>();
+
+    /**
+     * Cerrojo que impide dos reconstrucciones a la vez.
+     */
+    private final Object reconstruccion = new Object();
+
+    /**
+     * Indica si ya se han construido los agregados.
+     */
+    private volatile boolean inicializado;
+
+    /**
+     * Incorpora los resultados que registra el servicio de partidos.
+     *
+     * @param event Evento con el partido finalizado
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onResultadoRegistrado(ResultadoRegistradoEvent event) {
+        registrarPartido(event.getPartido());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void registrarPartido(Partido partido) {
+        // LO APUNTO POR SI HAY UNA RECONSTRUCCIÓN EN MARCHA QUE NO LO INCLUYA (SIN ID NO SE PUEDE RECONOCER)
+        if (agregados.aplicar(partido) && partido.getId() != null) {
+            aplicadosDesdeReconstruccion.add(partido);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int reconstruir(List<Partido> partidos) {
+        synchronized (reconstruccion) {
+            return reconstruirSinConcurrencia(partidos);
+        }
+    }
+
+    /**
+     * Reconstruye los agregados. Solo puede haber una en marcha (lo asegura {@link #reconstruir(List)}).
+     *
+     * @param partidos Partidos a procesar
+     * @return Número de partidos finalizados incorporados
+     */
+    private int reconstruirSinConcurrencia(List<Partido> partidos) {
+        // CONSTRUYO LOS AGREGADOS APARTE Y LUEGO LOS SUSTITUYO DE GOLPE
+        Agregados nuevos = new Agregados();
+        int incorporados = 0;
+        for (Partido partido : partidos) {
+            if (nuevos.aplicar(partido)) {
+                incorporados++;
+            }
+        }
+
+        // SUSTITUYO LOS AGREGADOS Y VUELVO A INCORPORAR LO QUE HAYA LLEGADO UNO A UNO Y NO ESTUVIERA EN LA LISTA
+        int reaplicados = 0;
+        synchronized (this) {
+            List<Partido> pendientes = this.aplicadosDesdeReconstruccion;
+            this.agregados = nuevos;
+            this.aplicadosDesdeReconstruccion = new ArrayList<>();
+            for (Partido partido : pendientes) {
+                if (nuevos.aplicar(partido)) {
+                    reaplicados++;
+                }
+            }
+            this.inicializado = true;
+        }
+        if (reaplicados > 0) {
+            LOGGER.info("Reincorporados " + reaplicados + " resultados registrados durante la reconstrucción");
+        }
+
+        LOGGER.info("Analíticas de puntos reconstruidas con " + incorporados + " partidos");
+        return incorporados;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isInicializado() {
+        return inicializado;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized ResumenPuntos getResumenEquipo(Long equipoId) {
+        AgregadoEquipo agregado = agregados.equipos.get(equipoId);
+        return (agregado != null) ? agregado.resumen() : new AgregadoEquipo().resumen();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized AnaliticaLiga getAnaliticaLiga() {
+        Agregados a = agregados;
+        long partidos = a.liga.aFavor.getTotal();
+
+        // COPIO LOS PARTIDOS CON MAYOR DIFERENCIA, YA ORDENADOS DE MAYOR A MENOR
+        Map<Long, Integer> mayores = new LinkedHashMap<>();
+        for (int i = 0; i < a.numMayores; i++) {
+            mayores.put(a.mayoresIds[i], a.mayoresDiferencias[i]);
+        }
+
+        return new AnaliticaLiga(a.liga.resumen(),
+                partidos == 0 ? 0.0 : (double) a.sumaDiferenciaLocal / partidos,
+                partidos == 0 ? 0.0 : (double) a.victoriasLocal / partidos,
+                mayores);
+    }
+
+    /**
+     * Conjunto de agregados de la liga, para poder sustituirlos de golpe al reconstruir.
+     */
+    private static final class Agregados {
+
+        /**
+         * Agregados de cada equipo por su ID.
+         */
+        private final Map<Long, AgregadoEquipo> equipos = new HashMap<>();
+
+        /**
+         * Agregado de la liga visto desde el local.
+         */
+        private final AgregadoEquipo liga = new AgregadoEquipo();
+
+        /**
+         * Partidos ganados por el local.
+         */
+        private long victoriasLocal;
+
+        /**
+         * Suma de (puntos local - puntos visitante).
+         */
+        private long sumaDiferenciaLocal;
+
+        /**
+         * IDs de los partidos con mayor diferencia, de mayor a menor.
+         */
+        private final long[] mayoresIds = new long[MAYORES_DIFERENCIAS];
+
+        /**
+         * Diferencias de esos partidos.
+         */
+        private final int[] mayoresDiferencias = new int[MAYORES_DIFERENCIAS];
+
+        /**
+         * Cuántas posiciones de los arrays de mayores diferencias están ocupadas.
+         */
+        private int numMayores;
+
+        /**
+         * IDs de los partidos ya incorporados.
+         */
+        private final Set<Long> aplicados = new HashSet<>();
+
+        /**
+         * Incorpora un partido.
+         *
+         * @param partido Partido finalizado
+         * @return true si se ha incorporado, false si se ha ignorado
+         */
+        boolean aplicar(Partido partido) {
+            if (partido == null || !partido.isFinalizado()
+                    || partido.getEquipoLocal() == null || partido.getEquipoLocal().getId() == null
+                    || partido.getEquipoVisitante() == null || partido.getEquipoVisitante().getId() == null) {
+                return false;
+            }
+
+            // EVITO CONTAR DOS VECES EL MISMO PARTIDO
+            if (partido.getId() != null && !aplicados.add(partido.getId())) {
+                return false;
+            }
+
+            int local = partido.getPuntosLocal();
+            int visitante = partido.getPuntosVisitante();
+
+            // AGREGADOS DE CADA EQUIPO
+            equipos.computeIfAbsent(partido.getEquipoLocal().getId(), id -> new AgregadoEquipo())
+                    .registrar(local, visitante);
+            equipos.computeIfAbsent(partido.getEquipoVisitante().getId(), id -> new AgregadoEquipo())
+                    .registrar(visitante, local);
+
+            // AGREGADOS DE LA LIGA Y FACTOR CAMPO
+            liga.registrar(local, visitante);
+            sumaDiferenciaLocal += local - visitante;
+            if (local > visitante) {
+                victoriasLocal++;
+            }
+
+            // MANTENGO LOS PARTIDOS CON MAYOR DIFERENCIA
+            if (partido.getId() != null) {
+                insertarMayor(partido.getId(), partido.getDiferenciaPuntos());
+            }
+            return true;
+        }
+
+        /**
+         * Inserta un partido en la lista de mayores diferencias si le corresponde (O(K)).
+         *
+         * @param partidoId ID del partido
+         * @param diferencia Diferencia de puntos
+         */
+        private void insertarMayor(long partidoId, int diferencia) {
+            // SI LA LISTA ESTÁ LLENA Y NO SUPERA A LA ÚLTIMA, NO ENTRA
+            if (numMayores == MAYORES_DIFERENCIAS && diferencia <= mayoresDiferencias[numMayores - 1]) {
+                return;
+            }
+
+            // DESPLAZO HACIA ABAJO LAS MENORES Y LO COLOCO EN SU SITIO
+            int i = Math.min(numMayores, MAYORES_DIFERENCIAS - 1);
+            while (i > 0 && mayoresDiferencias[i - 1] < diferencia) {
+                mayoresDiferencias[i] = mayoresDiferencias[i - 1];
+                mayoresIds[i] = mayoresIds[i - 1];
+                i--;
+            }
+            mayoresDiferencias[i] = diferencia;
+            mayoresIds[i] = partidoId;
+            numMayores = Math.min(numMayores + 1, MAYORES_DIFERENCIAS);
+        }
+    }
+
+    /**
+     * Agregados de anotación de un equipo (o de la liga vista desde el local).
+     */
+    private static final class AgregadoEquipo {
+
+        /**
+         * Histograma de puntos a favor.
+         */
+        private final HistogramaPuntos aFavor = new HistogramaPuntos();
+
+        /**
+         * Histograma de puntos en contra.
+         */
+        private final HistogramaPuntos enContra = new HistogramaPuntos();
+
+        /**
+         * Mayor margen de victoria.
+         */
+        private int mayorVictoria;
+
+        /**
+         * Mayor margen de derrota.
+         */
+        private int mayorDerrota;
+
+        /**
+         * Registra un partido.
+         *
+         * @param puntosAFavor Puntos anotados
+         * @param puntosEnContra Puntos recibidos
+         */
+        void registrar(int puntosAFavor, int puntosEnContra) {
+            aFavor.registrar(puntosAFavor);
+            enContra.registrar(puntosEnContra);
+            int margen = puntosAFavor - puntosEnContra;
+            if (margen > 0) {
+                mayorVictoria = Math.max(mayorVictoria, margen);
+            } else if (margen < 0) {
+                mayorDerrota = Math.max(mayorDerrota, -margen);
+            }
+        }
+
+        /**
+         * Genera el resumen con medias y percentiles.
+         *
+         * @return Resumen de puntos
+         */
+        ResumenPuntos resumen() {
+            return new ResumenPuntos(aFavor.getTotal(), aFavor.media(), enContra.media(),
+                    aFavor.percentil(50), aFavor.percentil(90),
+                    enContra.percentil(50), enContra.percentil(90),
+                    mayorVictoria, mayorDerrota);
+        }
+    }
+}
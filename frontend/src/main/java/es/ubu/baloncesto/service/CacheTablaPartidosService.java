@@ -0,0 +1,40 @@
+package es.ubu.baloncesto.service;
+
+import es.ubu.baloncesto.model.FilasPartidos;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Map;
+
+/**
+ * Interfaz que define la caché de las filas renderizadas de la tabla de partidos.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+public interface CacheTablaPartidosService {
+
+    /**
+     * Obtiene las filas de la tabla de partidos.
+     * Si los partidos no han cambiado desde el último renderizado, se devuelven
+     * las mismas filas sin consultar los partidos ni procesar la plantilla.
+     *
+     * @param request Petición (para construir los enlaces)
+     * @param response Respuesta (para construir los enlaces)
+     * @return Filas renderizadas
+     */
+    FilasPartidos getFilas(HttpServletRequest request, HttpServletResponse response);
+
+    /**
+     * Descarta las filas guardadas.
+     */
+    void invalidar();
+
+    /**
+     * Obtiene las estadísticas de uso de la caché.
+     *
+     * @return Aciertos, renderizados y tiempo de renderizado ahorrado
+     */
+    Map<String, Object> getEstadisticas();
+}
@@ -0,0 +1,321 @@
+package es.ubu.baloncesto.service;
+
+import es.ubu.baloncesto.event.PartidoCreadoEvent;
+import es.ubu.baloncesto.event.PartidoEliminadoEvent;
+import es.ubu.baloncesto.event.ResultadoRegistradoEvent;
+import es.ubu.baloncesto.model.FilasPartidos;
+import es.ubu.baloncesto.model.Partido;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Implementación de la caché de las filas de la tabla de partidos.
+ * Guarda un único renderizado asociado a la versión de los datos de partidos:
+ * mientras la versión no cambie (ni caduque el renderizado), todas las visitas
+ * reutilizan el mismo HTML. Si varias peticiones encuentran la caché vacía a la vez,
+ * solo una renderiza y las demás esperan a su resultado; la espera es sobre el renderizado
+ * de esa versión, no sobre un cerrojo del servicio, así que una llamada lenta a Flask no
+ * bloquea a quien solo quiere leer las estadísticas.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+@Service
+public class CacheTablaPartidosServiceImpl implements CacheTablaPartidosService {
+
+    /**
+     * Logger para registrar operaciones.
+     */
+    private static final Logger LOGGER = Logger.getLogger(CacheTablaPartidosServiceImpl.class.getName());
+
+    /**
+     * Plantilla con el fragmento de las filas.
+     */
+    private static final String PLANTILLA = "fragments/tabla-partidos";
+
+    /**
+     * Fragmento de la plantilla que se renderiza.
+     */
+    private static final Set<String> FRAGMENTO = Set.of("filas");
+
+    /**
+     * Servicio de partidos.
+     */
+    private final PartidoService partidoService;
+
+    /**
+     * Motor de plantillas.
+     */
+    private final SpringTemplateEngine templateEngine;
+
+    /**
+     * Segundos que como mucho se reutiliza un renderizado aunque no cambie la versión
+     * (por si alguien escribe directamente en la API Flask). 0 para no caducarlo.
+     */
+    @Value("${partidos.fragmento.ttl-segundos:60}")
+    private long ttlSegundos;
+
+    /**
+     * Último renderizado (o el que está en marcha).
+     */
+    private final AtomicReference<Entrada> entrada = new AtomicReference<>();
+
+    /**
+     * Veces que se han servido las filas desde la caché.
+     */
+    private final AtomicLong aciertos = new AtomicLong();
+
+    /**
+     * Veces que se han renderizado las filas.
+     */
+    private final AtomicLong renderizados = new AtomicLong();
+
+    /**
+     * Tiempo total de renderizado, en nanosegundos.
+     */
+    private final AtomicLong nanosRenderizado = new AtomicLong();
+
+    /**
+     * Tiempo de renderizado ahorrado por los aciertos (la media de renderizado en cada uno), en nanosegundos.
+     */
+    private final AtomicLong nanosAhorrados = new AtomicLong();
+
+    /**
+     * Constructor que inicializa los servicios mediante inyección de dependencias.
+     *
+     * @param partidoService Servicio de partidos
+     * @param templateEngine Motor de plantillas
+     * @param meterRegistry Registro de métricas
+     */
+    @Autowired
+    public CacheTablaPartidosServiceImpl(PartidoService partidoService, SpringTemplateEngine templateEngine,
+                                         MeterRegistry meterRegistry) {
+        // GUARDO LOS SERVICIOS INYECTADOS
+        this.partidoService = partidoService;
+        this.templateEngine = templateEngine;
+
+        // PUBLICO LOS ACIERTOS Y LOS RENDERIZADOS COMO UNA SOLA MÉTRICA CON EL RESULTADO COMO ETIQUETA
+        FunctionCounter.builder("baloncesto.cache.tabla", aciertos, AtomicLong::get)
+                .description("Peticiones de la tabla de partidos").tag("resultado", "acierto").register(meterRegistry);
+        FunctionCounter.builder("baloncesto.cache.tabla", renderizados, AtomicLong::get)
+                .description("Peticiones de la tabla de partidos").tag("resultado", "renderizado").register(meterRegistry);
+        FunctionCounter.builder("baloncesto.cache.tabla.ahorrado", nanosAhorrados,
+                        n -> n.get() / (double) TimeUnit.SECONDS.toNanos(1))
+                .description("Tiempo de renderizado ahorrado por los aciertos de la caché")
+                .baseUnit("seconds").register(meterRegistry);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public FilasPartidos getFilas(HttpServletRequest request, HttpServletResponse response) {
+        long version = partidoService.getVersion();
+        while (true) {
+            // CAMINO RÁPIDO: LA VERSIÓN NO HA CAMBIADO (SI OTRA PETICIÓN ESTÁ RENDERIZANDO, ESPERO SU RESULTADO)
+            Entrada actual = entrada.get();
+            if (esValida(actual, version)) {
+                FilasPartidos filas = esperar(actual.filas);
+                anotarAcierto();
+                return filas;
+            }
+
+            // SOLO RENDERIZA QUIEN CONSIGUE COLOCAR SU ENTRADA; LOS DEMÁS VUELVEN A MIRAR Y ESPERAN A ESA
+            Entrada nueva = new Entrada(version, System.nanoTime(), new CompletableFuture<>());
+            if (entrada.compareAndSet(actual, nueva)) {
+                return renderizar(nueva, request, response);
+            }
+        }
+    }
+
+    /**
+     * Renderiza las filas de una entrada y completa su resultado para quienes lo esperan.
+     * Si falla, quita la entrada para que la siguiente petición lo vuelva a intentar.
+     *
+     * @param nueva Entrada que se ha colocado en la caché
+     * @param request Petición
+     * @param response Respuesta
+     * @return Filas renderizadas
+     */
+    private FilasPartidos renderizar(Entrada nueva, HttpServletRequest request, HttpServletResponse response) {
+        try {
+            long inicio = System.nanoTime();
+            List<Partido> partidos = partidoService.findAll();
+
+            // RENDERIZO SOLO EL FRAGMENTO DE LAS FILAS (EL CONTEXTO WEB HACE FALTA PARA LOS ENLACES @{...})
+            WebContext contexto = new WebContext(request, response, request.getServletContext(), request.getLocale());
+            contexto.setVariable("partidos", partidos);
+            String html = templateEngine.process(PLANTILLA, FRAGMENTO, contexto);
+
+            long nanos = System.nanoTime() - inicio;
+            renderizados.incrementAndGet();
+            nanosRenderizado.addAndGet(nanos);
+
+            FilasPartidos filas = new FilasPartidos(html, partidos.size());
+            nueva.filas.complete(filas);
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.fine("Tabla de partidos renderizada en " + TimeUnit.NANOSECONDS.toMillis(nanos) + " ms");
+            }
+            return filas;
+        } catch (RuntimeException | Error e) {
+            entrada.compareAndSet(nueva, null);
+            nueva.filas.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Espera el renderizado de una entrada.
+     *
+     * @param filas Resultado del renderizado
+     * @return Filas renderizadas
+     * @throws RuntimeException El mismo error que ha tenido quien renderizaba
+     */
+    private static FilasPartidos esperar(CompletableFuture<FilasPartidos> filas) {
+        try {
+            return filas.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Cuenta un acierto y el tiempo de renderizado medio que se ha ahorrado.
+     */
+    private void anotarAcierto() {
+        aciertos.incrementAndGet();
+        long renders = renderizados.get();
+        if (renders > 0) {
+            nanosAhorrados.addAndGet(nanosRenderizado.get() / renders);
+        }
+    }
+
+    /**
+     * Descarta las filas cuando se crea un partido.
+     *
+     * @param event Evento con el partido creado
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPartidoCreado(PartidoCreadoEvent event) {
+        invalidar();
+    }
+
+    /**
+     * Descarta las filas cuando se registra un resultado.
+     *
+     * @param event Evento con el partido finalizado
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onResultadoRegistrado(ResultadoRegistradoEvent event) {
+        invalidar();
+    }
+
+    /**
+     * Descarta las filas cuando se elimina un partido.
+     *
+     * @param event Evento con el ID del partido eliminado
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPartidoEliminado(PartidoEliminadoEvent event) {
+        invalidar();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void invalidar() {
+        entrada.set(null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Object> getEstadisticas() {
+        long hits = aciertos.get();
+        long renders = renderizados.get();
+        long mediaNanos = (renders == 0) ? 0 : nanosRenderizado.get() / renders;
+
+        Map<String, Object> estadisticas = new LinkedHashMap<>();
+        estadisticas.put("aciertos", hits);
+        estadisticas.put("renderizados", renders);
+        estadisticas.put("mediaRenderizadoMs", mediaNanos / 1_000_000.0);
+        estadisticas.put("tiempoAhorradoMs", nanosAhorrados.get() / 1_000_000.0);
+        Entrada actual = entrada.get();
+        estadisticas.put("versionEnCache", (actual != null) ? actual.version : null);
+        return estadisticas;
+    }
+
+    /**
+     * Comprueba si un renderizado sirve para la versión actual.
+     *
+     * @param actual Renderizado guardado
+     * @param version Versión actual de los datos
+     * @return true si se puede reutilizar
+     */
+    private boolean esValida(Entrada actual, long version) {
+        if (actual == null || actual.version != version || actual.filas.isCompletedExceptionally()) {
+            return false;
+        }
+        return ttlSegundos <= 0 || System.nanoTime() - actual.creado < TimeUnit.SECONDS.toNanos(ttlSegundos);
+    }
+
+    /**
+     * Renderizado guardado con la versión de los datos que se usó.
+     */
+    private static final class Entrada {
+
+        /**
+         * Versión de los datos de partidos.
+         */
+        private final long version;
+
+        /**
+         * Instante (nanoTime) en que empezó el renderizado.
+         */
+        private final long creado;
+
+        /**
+         * Filas renderizadas (sin completar mientras se renderizan).
+         */
+        private final CompletableFuture<FilasPartidos> filas;
+
+        /**
+         * Constructor con todos los campos.
+         *
+         * @param version Versión de los datos
+         * @param creado Instante del renderizado
+         * @param filas Filas renderizadas
+         */
+        Entrada(long version, long creado, CompletableFuture<FilasPartidos> filas) {
+            this.version = version;
+            this.creado = creado;
+            this.filas = filas;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package es.ubu.baloncesto.service;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Interfaz del servicio de llamadas con cobertura (hedged requests).
+ * Si una llamada idempotente tarda más de lo habitual, se lanza una segunda igual
+ * y se usa la primera respuesta que llegue.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+public interface CoberturaLlamadasService {
+
+    /**
+     * Ejecuta una llamada idempotente con cobertura.
+     * Las excepciones de la llamada se relanzan tal cual.
+     *
+     * @param operacion Nombre de la operación (las latencias se miden por operación)
+     * @param llamada Llamada; se puede ejecutar dos veces a la vez
+     * @param <T> Tipo del resultado
+     * @return Resultado de la primera llamada que termine bien
+     */
+    <T> T ejecutar(String operacion, Supplier<T> llamada);
+
+    /**
+     * Obtiene las estadísticas de cada operación.
+     *
+     * @return Por operación: llamadas, coberturas lanzadas y ganadas, retraso actual y p99 con y sin cobertura
+     */
+    Map<String, Map<String, Object>> getEstadisticas();
+}
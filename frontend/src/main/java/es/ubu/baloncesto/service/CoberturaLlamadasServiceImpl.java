@@ -0,0 +1,530 @@
+package es.ubu.baloncesto.service;
+
+import es.ubu.baloncesto.config.PlazoPeticion;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Implementación del servicio de llamadas con cobertura.
+ * El retraso antes de lanzar la segunda llamada es un percentil (p95 por defecto) de la
+ * latencia reciente de la misma operación, así que solo se cubre la cola lenta.
+ * Las coberturas gastan un presupuesto que se recarga con cada llamada, de forma que
+ * nunca superan una proporción fija de la carga (5 % por defecto).
+ * La llamada que pierde no se cancela (la conexión HTTP no se puede interrumpir):
+ * termina en segundo plano, acotada por los tiempos de espera del cliente, y su latencia
+ * se sigue midiendo para poder comparar el p99 con y sin cobertura.
+ * <p>
+ * Está desactivada por defecto porque se suma a los reintentos: cada una de las dos llamadas
+ * pasa por el interceptor de reintentos del cliente, así que una lectura puede llegar a hacer
+ * el doble de intentos. Los dos presupuestos son independientes (coberturas como mucho
+ * {@code flask.cobertura.proporcion-maxima} de las llamadas, reintentos como mucho
+ * {@code flask.reintentos.proporcion} de las peticiones correctas), de modo que con los valores
+ * por defecto la carga extra sobre Flask no pasa de un 5 % más un 10 %; las coberturas que salen
+ * bien además recargan un poco el presupuesto de reintentos. Al activarla conviene bajar
+ * la proporción de reintentos para que la suma quede dentro de lo que Flask aguanta.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+@Service
+public class CoberturaLlamadasServiceImpl implements CoberturaLlamadasService {
+
+    /**
+     * Logger para registrar operaciones.
+     */
+    private static final Logger LOGGER = Logger.getLogger(CoberturaLlamadasServiceImpl.class.getName());
+
+    /**
+     * Milésimas de ficha en una ficha de presupuesto.
+     */
+    private static final long FICHA = 1000;
+
+    /**
+     * Coberturas que se pueden acumular como máximo.
+     */
+    private static final long MAXIMO_FICHAS = 10;
+
+    /**
+     * Latencias que se guardan de cada operación.
+     */
+    private static final int MUESTRAS = 512;
+
+    /**
+     * Latencias mínimas para calcular el retraso (antes no se cubre nada).
+     */
+    private static final int MUESTRAS_MINIMAS = 50;
+
+    /**
+     * Si la cobertura está activa.
+     */
+    @Value("${flask.cobertura.activa:false}")
+    private boolean activa;
+
+    /**
+     * Percentil de la latencia que se usa como retraso.
+     */
+    @Value("${flask.cobertura.percentil:95}")
+    private double percentil;
+
+    /**
+     * Retraso mínimo, para no cubrir llamadas que ya son rápidas.
+     */
+    @Value("${flask.cobertura.retraso-minimo-ms:20}")
+    private long retrasoMinimoMs;
+
+    /**
+     * Proporción máxima de llamadas que se pueden cubrir.
+     */
+    @Value("${flask.cobertura.proporcion-maxima:0.05}")
+    private double proporcionMaxima;
+
+    /**
+     * Hilos para las llamadas (cuando están todos ocupados no se cubre).
+     */
+    @Value("${flask.cobertura.hilos:16}")
+    private int hilos;
+
+    /**
+     * Presupuesto de coberturas, en milésimas de ficha. Cada cobertura gasta una ficha.
+     */
+    private final AtomicLong presupuesto = new AtomicLong();
+
+    /**
+     * Estado de cada operación.
+     */
+    private final Map<String, Operacion> operaciones = new ConcurrentHashMap<>();
+
+    /**
+     * Ejecutor de las llamadas.
+     */
+    private ThreadPoolExecutor ejecutor;
+
+    /**
+     * Registro de métricas.
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Constructor que inicializa el registro de métricas mediante inyección de dependencias.
+     *
+     * @param meterRegistry Registro de métricas
+     */
+    @Autowired
+    public CoberturaLlamadasServiceImpl(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Crea el ejecutor.
+     */
+    @PostConstruct
+    public void iniciar() {
+        AtomicInteger contador = new AtomicInteger();
+        ejecutor = new ThreadPoolExecutor(0, hilos, 60, TimeUnit.SECONDS, new SynchronousQueue<>(), r -> {
+            Thread hilo = new Thread(r, "cobertura-" + contador.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        });
+
+        Gauge.builder("baloncesto.cobertura.hilos.ocupados", ejecutor, ThreadPoolExecutor::getActiveCount)
+                .description("Llamadas con cobertura en curso").register(meterRegistry);
+        Gauge.builder("baloncesto.cobertura.presupuesto", presupuesto, p -> p.get() / (double) FICHA)
+                .description("Coberturas disponibles en el presupuesto").register(meterRegistry);
+    }
+
+    /**
+     * Crea el estado de una operación y publica sus contadores.
+     *
+     * @param nombre Nombre de la operación
+     * @return Estado de la operación
+     */
+    private Operacion crearOperacion(String nombre) {
+        Operacion op = new Operacion();
+        contador("baloncesto.cobertura.llamadas", nombre, op.llamadas, "Llamadas recibidas");
+        contador("baloncesto.cobertura.coberturas", nombre, op.coberturas, "Segundas llamadas lanzadas");
+        contador("baloncesto.cobertura.ganadas", nombre, op.ganadasPorCobertura,
+                "Llamadas resueltas por la segunda llamada");
+        contador("baloncesto.cobertura.denegadas", nombre, op.denegadas,
+                "Coberturas no lanzadas por falta de presupuesto o de hilos");
+        return op;
+    }
+
+    /**
+     * Publica un contador de una operación.
+     *
+     * @param metrica Nombre de la métrica
+     * @param operacion Nombre de la operación
+     * @param valor Contador
+     * @param descripcion Descripción de la métrica
+     */
+    private void contador(String metrica, String operacion, AtomicLong valor, String descripcion) {
+        FunctionCounter.builder(metrica, valor, AtomicLong::get)
+                .description(descripcion).tag("operacion", operacion).register(meterRegistry);
+    }
+
+    /**
+     * Para el ejecutor al apagar la aplicación.
+     */
+    @PreDestroy
+    public void detener() {
+        ejecutor.shutdownNow();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> T ejecutar(String operacion, Supplier<T> llamada) {
+        if (!activa) {
+            return llamada.get();
+        }
+
+        Operacion op = operaciones.computeIfAbsent(operacion, this::crearOperacion);
+        op.llamadas.incrementAndGet();
+        recargar();
+        long inicio = System.nanoTime();
+
+        // LANZO LA PRIMERA LLAMADA EN OTRO HILO; SI NO HAY HILOS LIBRES, LA HAGO AQUÍ SIN COBERTURA
+        CompletableFuture<T> primera = lanzar(llamada, op);
+        if (primera == null) {
+            T resultado = medir(llamada, op);
+            op.efectiva.registrar(System.nanoTime() - inicio);
+            return resultado;
+        }
+
+        T resultado;
+        long retraso = op.retrasoMs;
+        if (retraso <= 0) {
+            resultado = esperar(primera);
+        } else {
+            try {
+                resultado = primera.get(retraso, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                resultado = cubrir(primera, llamada, op);
+            } catch (ExecutionException e) {
+                throw relanzar(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Llamada interrumpida", e);
+            }
+        }
+
+        op.efectiva.registrar(System.nanoTime() - inicio);
+        return resultado;
+    }
+
+    /**
+     * Lanza la segunda llamada, si hay presupuesto y plazo, y espera a la primera que termine bien.
+     *
+     * @param primera Primera llamada, aún en marcha
+     * @param llamada Llamada a repetir
+     * @param op Estado de la operación
+     * @param <T> Tipo del resultado
+     * @return Resultado de la primera llamada que termine bien
+     */
+    private <T> T cubrir(CompletableFuture<T> primera, Supplier<T> llamada, Operacion op) {
+        // SIN PRESUPUESTO O SIN PLAZO PARA UNA LLAMADA NUEVA, SIGO ESPERANDO A LA PRIMERA
+        if (PlazoPeticion.getRestanteMs() <= op.retrasoMs || !gastarFicha()) {
+            op.denegadas.incrementAndGet();
+            return esperar(primera);
+        }
+        CompletableFuture<T> segunda = lanzar(llamada, op);
+        if (segunda == null) {
+            devolverFicha();
+            op.denegadas.incrementAndGet();
+            return esperar(primera);
+        }
+        op.coberturas.incrementAndGet();
+
+        // GANA LA PRIMERA QUE TERMINE BIEN; SOLO FALLA SI FALLAN LAS DOS
+        CompletableFuture<T> ganadora = new CompletableFuture<>();
+        AtomicInteger fallos = new AtomicInteger();
+        primera.whenComplete((valor, error) -> resolver(ganadora, valor, error, fallos));
+        segunda.whenComplete((valor, error) -> {
+            if (resolver(ganadora, valor, error, fallos)) {
+                op.ganadasPorCobertura.incrementAndGet();
+            }
+        });
+        return esperar(ganadora);
+    }
+
+    /**
+     * Completa el resultado común con el de una de las llamadas.
+     *
+     * @param ganadora Resultado común
+     * @param valor Resultado de la llamada
+     * @param error Error de la llamada, o null
+     * @param fallos Llamadas que han fallado hasta ahora
+     * @param <T> Tipo del resultado
+     * @return true si esta llamada ha sido la que ha dado el resultado
+     */
+    private static <T> boolean resolver(CompletableFuture<T> ganadora, T valor, Throwable error, AtomicInteger fallos) {
+        if (error == null) {
+            return ganadora.complete(valor);
+        }
+        if (fallos.incrementAndGet() == 2) {
+            ganadora.completeExceptionally(error);
+        }
+        return false;
+    }
+
+    /**
+     * Lanza una llamada en el ejecutor, con el plazo de la petición actual.
+     *
+     * @param llamada Llamada
+     * @param op Estado de la operación (para medir su latencia)
+     * @param <T> Tipo del resultado
+     * @return Llamada en marcha, o null si no hay hilos libres
+     */
+    private <T> CompletableFuture<T> lanzar(Supplier<T> llamada, Operacion op) {
+        Long limite = PlazoPeticion.getLimite();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                PlazoPeticion.setLimite(limite);
+                try {
+                    return medir(llamada, op);
+                } finally {
+                    PlazoPeticion.limpiar();
+                }
+            }, ejecutor);
+        } catch (RejectedExecutionException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Ejecuta una llamada y anota su latencia si termina bien.
+     *
+     * @param llamada Llamada
+     * @param op Estado de la operación
+     * @param <T> Tipo del resultado
+     * @return Resultado de la llamada
+     */
+    private <T> T medir(Supplier<T> llamada, Operacion op) {
+        long inicio = System.nanoTime();
+        T resultado = llamada.get();
+        op.registrarIntento(System.nanoTime() - inicio, percentil, retrasoMinimoMs);
+        return resultado;
+    }
+
+    /**
+     * Espera a una llamada y relanza su excepción tal cual.
+     *
+     * @param futuro Llamada en marcha
+     * @param <T> Tipo del resultado
+     * @return Resultado de la llamada
+     */
+    private static <T> T esperar(CompletableFuture<T> futuro) {
+        try {
+            return futuro.join();
+        } catch (CompletionException e) {
+            throw relanzar(e.getCause());
+        }
+    }
+
+    /**
+     * Prepara la excepción de una llamada fallida para relanzarla.
+     *
+     * @param causa Excepción lanzada por la llamada
+     * @return Excepción a lanzar
+     */
+    private static RuntimeException relanzar(Throwable causa) {
+        if (causa instanceof RuntimeException) {
+            return (RuntimeException) causa;
+        }
+        if (causa instanceof Error) {
+            throw (Error) causa;
+        }
+        return new IllegalStateException(causa);
+    }
+
+    /**
+     * Recarga el presupuesto con la parte que corresponde a una llamada.
+     */
+    private void recargar() {
+        long maximo = FICHA * MAXIMO_FICHAS;
+        long recarga = Math.round(proporcionMaxima * FICHA);
+        long disponible;
+        do {
+            disponible = presupuesto.get();
+            if (disponible >= maximo) {
+                return;
+            }
+        } while (!presupuesto.compareAndSet(disponible, Math.min(maximo, disponible + recarga)));
+    }
+
+    /**
+     * Gasta una ficha del presupuesto si la hay.
+     *
+     * @return true si se ha podido gastar
+     */
+    private boolean gastarFicha() {
+        long disponible;
+        do {
+            disponible = presupuesto.get();
+            if (disponible < FICHA) {
+                return false;
+            }
+        } while (!presupuesto.compareAndSet(disponible, disponible - FICHA));
+        return true;
+    }
+
+    /**
+     * Devuelve una ficha que no se ha llegado a usar.
+     */
+    private void devolverFicha() {
+        presupuesto.addAndGet(FICHA);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Map<String, Object>> getEstadisticas() {
+        Map<String, Map<String, Object>> resultado = new TreeMap<>();
+        operaciones.forEach((nombre, op) -> {
+            long llamadas = op.llamadas.get();
+            Map<String, Object> datos = new LinkedHashMap<>();
+            datos.put("llamadas", llamadas);
+            datos.put("coberturas", op.coberturas.get());
+            datos.put("tasaCobertura", (llamadas == 0) ? 0.0 : op.coberturas.get() / (double) llamadas);
+            datos.put("ganadasPorCobertura", op.ganadasPorCobertura.get());
+            datos.put("denegadas", op.denegadas.get());
+            datos.put("retrasoMs", op.retrasoMs);
+            // P99 DE CADA INTENTO POR SEPARADO (LO QUE SE TARDARÍA SIN COBERTURA) Y DE LO QUE HA ESPERADO EL LLAMANTE
+            datos.put("p99SinCoberturaMs", op.intentos.percentilMs(99));
+            datos.put("p99ConCoberturaMs", op.efectiva.percentilMs(99));
+            resultado.put(nombre, datos);
+        });
+        return resultado;
+    }
+
+    /**
+     * Estado de una operación: contadores y latencias recientes.
+     */
+    private static final class Operacion {
+
+        /**
+         * Llamadas recibidas.
+         */
+        private final AtomicLong llamadas = new AtomicLong();
+
+        /**
+         * Segundas llamadas lanzadas.
+         */
+        private final AtomicLong coberturas = new AtomicLong();
+
+        /**
+         * Veces que la segunda llamada ha respondido antes.
+         */
+        private final AtomicLong ganadasPorCobertura = new AtomicLong();
+
+        /**
+         * Coberturas que no se han lanzado por falta de presupuesto, plazo o hilos.
+         */
+        private final AtomicLong denegadas = new AtomicLong();
+
+        /**
+         * Latencia de cada intento individual.
+         */
+        private final VentanaLatencias intentos = new VentanaLatencias();
+
+        /**
+         * Latencia que ha visto el llamante.
+         */
+        private final VentanaLatencias efectiva = new VentanaLatencias();
+
+        /**
+         * Retraso actual antes de cubrir, en milisegundos (0 mientras no haya muestras suficientes).
+         */
+        private volatile long retrasoMs;
+
+        /**
+         * Anota la latencia de un intento y recalcula el retraso cada cierto número de muestras.
+         *
+         * @param nanos Latencia del intento
+         * @param percentil Percentil del retraso
+         * @param minimoMs Retraso mínimo
+         */
+        void registrarIntento(long nanos, double percentil, long minimoMs) {
+            int total = intentos.registrar(nanos);
+            if (total >= MUESTRAS_MINIMAS && total % 32 == 0) {
+                retrasoMs = Math.max(minimoMs, Math.round(intentos.percentilMs(percentil)));
+                LOGGER.log(Level.FINE, "Nuevo retraso de cobertura: {0,number,#} ms", retrasoMs);
+            }
+        }
+    }
+
+    /**
+     * Últimas latencias de una operación.
+     */
+    private static final class VentanaLatencias {
+
+        /**
+         * Latencias en nanosegundos (buffer circular).
+         */
+        private final long[] muestras = new long[MUESTRAS];
+
+        /**
+         * Muestras registradas en total.
+         */
+        private int total;
+
+        /**
+         * Anota una latencia.
+         *
+         * @param nanos Latencia
+         * @return Muestras registradas en total
+         */
+        synchronized int registrar(long nanos) {
+            muestras[total % MUESTRAS] = nanos;
+            total = (total == Integer.MAX_VALUE) ? MUESTRAS : total + 1;
+            return total;
+        }
+
+        /**
+         * Calcula un percentil de las latencias guardadas.
+         *
+         * @param percentil Percentil (0-100)
+         * @return Percentil en milisegundos, o 0 si no hay muestras
+         */
+        double percentilMs(double percentil) {
+            long[] copia;
+            synchronized (this) {
+                copia = Arrays.copyOf(muestras, Math.min(total, MUESTRAS));
+            }
+            if (copia.length == 0) {
+                return 0;
+            }
+            Arrays.sort(copia);
+            int indice = (int) Math.ceil(percentil / 100.0 * copia.length) - 1;
+            return copia[Math.max(0, Math.min(indice, copia.length - 1))] / 1_000_000.0;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package es.ubu.baloncesto.service;
 
 import es.ubu.baloncesto.model.Equipo;
+import org.springframework.data.domain.Page;
+
 import java.util.List;
 import java.util.Optional;
 
@@ -37,6 +39,16 @@ public interface EquipoService {
      */
     List<Equipo> findByNombreContaining(String nombre);
 
+    /**
+     * Busca una página de equipos ordenados por ID, filtrando y paginando en el origen de datos.
+     *
+     * @param nombre Solo los equipos cuyo nombre contenga este texto, sin distinguir mayúsculas (null para todos)
+     * @param pagina Número de página, empezando en 0
+     * @param tamano Equipos por página
+     * @return Página de equipos con el total que cumple el criterio
+     */
+    Page<Equipo> buscarPagina(String nombre, int pagina, int tamano);
+
     /**
      * Guarda un equipo.
      *
@@ -76,4 +88,12 @@ public interface EquipoService {
      * @return Equipo actualizado
      */
     Equipo registrarDerrota(Long id);
-}
\ No newline at end of file
+
+    /**
+     * Obtiene la versión de los datos de equipos.
+     * Se incrementa con cada escritura hecha a través de este servicio.
+     *
+     * @return Versión actual de los datos
+     */
+    long getVersion();
+}
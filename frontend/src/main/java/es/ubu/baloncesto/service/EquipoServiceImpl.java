@@ -1,20 +1,35 @@
 package es.ubu.baloncesto.service;
 
+import es.ubu.baloncesto.config.PlazoPeticion;
 import es.ubu.baloncesto.exception.DatabaseException;
+import es.ubu.baloncesto.exception.RegistroLimitado;
 import es.ubu.baloncesto.model.Equipo;
 import es.ubu.baloncesto.repository.EquipoRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
@@ -33,6 +48,12 @@ public class EquipoServiceImpl implements EquipoService {
      */
     private static final Logger LOGGER = Logger.getLogger(EquipoServiceImpl.class.getName());
 
+    /**
+     * Registro de los errores de la API Flask y del repositorio local: de cada operación
+     * escribe como mucho un mensaje cada 30 segundos y cuenta el resto.
+     */
+    private static final RegistroLimitado FALLOS = new RegistroLimitado(LOGGER, 30_000);
+
     /**
      * URL de la API de Flask.
      */
@@ -43,20 +64,46 @@ public class EquipoServiceImpl implements EquipoService {
      */
     private final RestTemplate restTemplate;
 
+    /**
+     * Servicio de llamadas con cobertura (para las lecturas a la API).
+     */
+    private final CoberturaLlamadasService coberturaLlamadasService;
+
+    /**
+     * Recuento de las veces que se recurre al repositorio local.
+     */
+    private final RespaldosLocales respaldos;
+
     /**
      * Repositorio de equipos (usado como respaldo cuando la API no está disponible).
      */
     private final EquipoRepository equipoRepository;
 
+    /**
+     * Versión de los datos de equipos (cambia tras el commit de cada escritura).
+     */
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * Última lista de equipos recibida de la API, con su ETag.
+     */
+    private volatile RespuestaCondicional<Equipo> ultimosEquipos;
+
     /**
      * Constructor que inicializa el repositorio y el cliente HTTP.
      *
      * @param equipoRepository Repositorio de equipos
+     * @param clienteFlask Cliente HTTP de la API Flask
+     * @param coberturaLlamadasService Servicio de llamadas con cobertura
+     * @param meterRegistry Registro de métricas
      */
     @Autowired
-    public EquipoServiceImpl(EquipoRepository equipoRepository) {
+    public EquipoServiceImpl(EquipoRepository equipoRepository, @Qualifier("clienteFlask") RestTemplate clienteFlask,
+                             CoberturaLlamadasService coberturaLlamadasService, MeterRegistry meterRegistry) {
         this.equipoRepository = equipoRepository;
-        this.restTemplate = new RestTemplate();
+        this.restTemplate = clienteFlask;
+        this.coberturaLlamadasService = coberturaLlamadasService;
+        this.respaldos = new RespaldosLocales("equipos", meterRegistry);
     }
 
     /**
@@ -66,36 +113,60 @@ public class EquipoServiceImpl implements EquipoService {
     @Transactional(readOnly = true)
     public List<Equipo> findAll() {
         try {
-            LOGGER.info("Obteniendo todos los equipos desde la API Flask");
+            LOGGER.fine("Obteniendo todos los equipos desde la API Flask");
+
+            // SI YA TENGO UNA RESPUESTA ANTERIOR, LA PIDO SOLO SI HA CAMBIADO
+            RespuestaCondicional<Equipo> anterior = ultimosEquipos;
+            HttpHeaders cabeceras = new HttpHeaders();
+            if (anterior != null) {
+                cabeceras.setIfNoneMatch(anterior.getEtag());
+            }
 
             // Hacer petición HTTP a la API Flask
-            ResponseEntity<List<Map<String, Object>>> response = restTemplate.exchange(
-                    apiUrl + "/equipos",
-                    HttpMethod.GET,
-                    null,
-                    new ParameterizedTypeReference<List<Map<String, Object>>>() {}
-            );
+            // (CON COBERTURA: SI TARDA MÁS DE LO HABITUAL, SE LANZA OTRA IGUAL Y GANA LA PRIMERA)
+            ResponseEntity<List<Map<String, Object>>> response = coberturaLlamadasService.ejecutar("equipos.findAll",
+                    () -> restTemplate.exchange(
+                            apiUrl + "/equipos",
+                            HttpMethod.GET,
+                            new HttpEntity<>(cabeceras),
+                            new ParameterizedTypeReference<List<Map<String, Object>>>() {}
+                    ));
+
+            // SI NO HA CAMBIADO, REUTILIZO LA LISTA SIN VOLVER A CONVERTIRLA
+            if (response.getStatusCode() == HttpStatus.NOT_MODIFIED && anterior != null) {
+                LOGGER.fine("Los equipos no han cambiado en la API Flask");
+                return anterior.getElementos();
+            }
 
             // Convertir respuesta a objetos Equipo
             List<Equipo> equipos = new ArrayList<>();
             if (response.getBody() != null) {
                 for (Map<String, Object> equipoMap : response.getBody()) {
-                    Equipo equipo = mapToEquipo(equipoMap);
+                    Equipo equipo = MapeoFlask.mapToEquipo(equipoMap);
                     equipos.add(equipo);
                 }
             }
 
-            LOGGER.info("Se obtuvieron " + equipos.size() + " equipos desde la API Flask");
+            // GUARDO LA RESPUESTA PARA LA PRÓXIMA PETICIÓN CONDICIONAL
+            String etag = response.getHeaders().getETag();
+            ultimosEquipos = (etag != null) ? new RespuestaCondicional<>(etag, equipos) : null;
+
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.fine("Se obtuvieron " + equipos.size() + " equipos desde la API Flask");
+            }
             return equipos;
         } catch (Exception e) {
             // Si hay un error con la API, intentar con el repositorio local
-            LOGGER.warning("Error al obtener equipos desde la API Flask: " + e.getMessage());
-            LOGGER.info("Intentando obtener equipos desde el repositorio local");
+            FALLOS.registrar(Level.WARNING, "findAll", "Error al obtener equipos desde la API Flask", e);
+            respaldos.registrar("findAll", e);
+            LOGGER.fine("Intentando obtener equipos desde el repositorio local");
 
             try {
+                // EL RESPALDO TAMBIÉN CUENTA PARA EL PLAZO DE LA PETICIÓN
+                PlazoPeticion.comprobar("el respaldo en el repositorio local");
                 return equipoRepository.findAll();
             } catch (Exception ex) {
-                LOGGER.severe("Error al obtener equipos desde el repositorio local: " + ex.getMessage());
+                FALLOS.registrar(Level.SEVERE, "findAll.local", "Error al obtener equipos desde el repositorio local", ex);
                 throw new DatabaseException("Error al obtener todos los equipos", ex);
             }
         }
@@ -108,75 +179,43 @@ public class EquipoServiceImpl implements EquipoService {
     @Transactional(readOnly = true)
     public Optional<Equipo> findById(Long id) {
         try {
-            LOGGER.info("Buscando equipo con ID: " + id + " en la API Flask");
+            LOGGER.log(Level.FINE, "Buscando equipo con ID: {0,number,#} en la API Flask", id);
 
             // Hacer petición HTTP a la API Flask
-            String url = apiUrl + "/equipos/" + id;
-            ResponseEntity<Map> response = restTemplate.getForEntity(
-                    url,
-                    Map.class
-            );
+            // (URL CON PLANTILLA PARA QUE LAS MÉTRICAS AGRUPEN TODOS LOS IDS)
+            ResponseEntity<Map> response = coberturaLlamadasService.ejecutar("equipos.findById",
+                    () -> restTemplate.getForEntity(
+                            apiUrl + "/equipos/{id}",
+                            Map.class,
+                            id
+                    ));
 
             // Convertir respuesta a objeto Equipo
             if (response.getBody() != null) {
                 @SuppressWarnings("unchecked")
                 Map<String, Object> equipoMap = response.getBody();
-                Equipo equipo = mapToEquipo(equipoMap);
+                Equipo equipo = MapeoFlask.mapToEquipo(equipoMap);
                 return Optional.of(equipo);
             } else {
                 return Optional.empty();
             }
         } catch (Exception e) {
             // Si hay un error con la API, intentar con el repositorio local
-            LOGGER.warning("Error al buscar equipo con ID " + id + " en la API Flask: " + e.getMessage());
-            LOGGER.info("Intentando buscar equipo en el repositorio local");
+            FALLOS.registrar(Level.WARNING, "findById", "Error al buscar equipo por ID en la API Flask", e);
+            respaldos.registrar("findById", e);
+            LOGGER.fine("Intentando buscar equipo en el repositorio local");
 
             try {
+                // EL RESPALDO TAMBIÉN CUENTA PARA EL PLAZO DE LA PETICIÓN
+                PlazoPeticion.comprobar("el respaldo en el repositorio local");
                 return equipoRepository.findById(id);
             } catch (Exception ex) {
-                LOGGER.severe("Error al buscar equipo con ID " + id + " en el repositorio local: " + ex.getMessage());
+                FALLOS.registrar(Level.SEVERE, "findById.local", "Error al buscar equipo por ID en el repositorio local", ex);
                 throw new DatabaseException("Error al buscar equipo con ID " + id, ex);
             }
         }
     }
 
-    /**
-     * Convierte un mapa de datos a un objeto Equipo.
-     *
-     * @param equipoMap Mapa con datos del equipo
-     * @return Objeto Equipo
-     */
-    private Equipo mapToEquipo(Map<String, Object> equipoMap) {
-        Equipo equipo = new Equipo();
-
-        // Extraer el ID como Long
-        if (equipoMap.containsKey("id")) {
-            Object idObj = equipoMap.get("id");
-            if (idObj instanceof Integer) {
-                equipo.setId(((Integer) idObj).longValue());
-            } else if (idObj instanceof Long) {
-                equipo.setId((Long) idObj);
-            } else if (idObj instanceof String) {
-                equipo.setId(Long.parseLong((String) idObj));
-            }
-        }
-
-        // Extraer otros campos
-        if (equipoMap.containsKey("nombre")) {
-            equipo.setNombre((String) equipoMap.get("nombre"));
-        }
-
-        if (equipoMap.containsKey("ciudad")) {
-            equipo.setCiudad((String) equipoMap.get("ciudad"));
-        }
-
-        if (equipoMap.containsKey("entrenador")) {
-            equipo.setEntrenador((String) equipoMap.get("entrenador"));
-        }
-
-        return equipo;
-    }
-
     // El resto de métodos se mantienen igual utilizando el equipoRepository
 
     /**
@@ -187,15 +226,70 @@ public class EquipoServiceImpl implements EquipoService {
     public List<Equipo> findByNombreContaining(String nombre) {
         // BUSCO EQUIPOS POR NOMBRE
         try {
-            LOGGER.info("Buscando equipos con nombre que contiene: " + nombre);
+            LOGGER.log(Level.FINE, "Buscando equipos con nombre que contiene: {0}", nombre);
             return equipoRepository.findByNombreContaining(nombre);
         } catch (Exception e) {
             // SI HAY UN ERROR, LANZO UNA EXCEPCIÓN PERSONALIZADA
-            LOGGER.severe("Error al buscar equipos por nombre '" + nombre + "': " + e.getMessage());
+            FALLOS.registrar(Level.SEVERE, "findByNombre", "Error al buscar equipos por nombre", e);
             throw new DatabaseException("Error al buscar equipos por nombre '" + nombre + "'", e);
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Equipo> buscarPagina(String nombre, int pagina, int tamano) {
+        Pageable pageable = PageRequest.of(pagina, tamano, Sort.by("id"));
+        try {
+            LOGGER.fine("Obteniendo una página de equipos desde la API Flask");
+
+            // FILTRO Y PAGINO EN FLASK, ASÍ SOLO VIAJAN LOS EQUIPOS DE LA PÁGINA
+            Map<String, Object> parametros = new HashMap<>();
+            parametros.put("nombre", (nombre != null) ? nombre : "");
+            parametros.put("pagina", pagina);
+            parametros.put("tamano", tamano);
+            ResponseEntity<Map<String, Object>> response = coberturaLlamadasService.ejecutar("equipos.buscarPagina",
+                    () -> restTemplate.exchange(
+                            apiUrl + "/equipos/pagina?nombre={nombre}&pagina={pagina}&tamano={tamano}",
+                            HttpMethod.GET,
+                            null,
+                            new ParameterizedTypeReference<Map<String, Object>>() {},
+                            parametros
+                    ));
+
+            Map<String, Object> cuerpo = response.getBody();
+            if (cuerpo == null) {
+                throw new DatabaseException("No se recibió respuesta al obtener la página de equipos");
+            }
+            @SuppressWarnings("unchecked")
+            List<Map<String, Object>> elementos = (List<Map<String, Object>>) cuerpo.get("equipos");
+            List<Equipo> equipos = new ArrayList<>(elementos.size());
+            for (Map<String, Object> equipoMap : elementos) {
+                equipos.add(MapeoFlask.mapToEquipo(equipoMap));
+            }
+            return new PageImpl<>(equipos, pageable, ((Number) cuerpo.get("total")).longValue());
+        } catch (Exception e) {
+            // Si hay un error con la API, intentar con el repositorio local
+            FALLOS.registrar(Level.WARNING, "buscarPagina", "Error al obtener la página de equipos desde la API Flask", e);
+            respaldos.registrar("buscarPagina", e);
+            LOGGER.fine("Intentando obtener la página de equipos desde el repositorio local");
+
+            try {
+                // EL RESPALDO TAMBIÉN CUENTA PARA EL PLAZO DE LA PETICIÓN
+                PlazoPeticion.comprobar("el respaldo en el repositorio local");
+                return (nombre != null)
+                        ? equipoRepository.findByNombreContainingIgnoreCase(nombre, pageable)
+                        : equipoRepository.findAll(pageable);
+            } catch (Exception ex) {
+                FALLOS.registrar(Level.SEVERE, "buscarPagina.local",
+                        "Error al obtener la página de equipos desde el repositorio local", ex);
+                throw new DatabaseException("Error al obtener la página de equipos", ex);
+            }
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -204,11 +298,11 @@ public class EquipoServiceImpl implements EquipoService {
     public Equipo save(Equipo equipo) {
         // GUARDO UN NUEVO EQUIPO
         try {
-            LOGGER.info("Guardando equipo: " + equipo.getNombre());
-            return equipoRepository.save(equipo);
+            LOGGER.log(Level.INFO, "Guardando equipo: {0}", equipo.getNombre());
+            return marcarCambio(equipoRepository.save(equipo));
         } catch (Exception e) {
             // SI HAY UN ERROR, LANZO UNA EXCEPCIÓN PERSONALIZADA
-            LOGGER.severe("Error al guardar equipo '" + equipo.getNombre() + "': " + e.getMessage());
+            FALLOS.registrar(Level.SEVERE, "save", "Error al guardar equipo", e);
             throw new DatabaseException("Error al guardar equipo '" + equipo.getNombre() + "'", e);
         }
     }
@@ -221,11 +315,12 @@ public class EquipoServiceImpl implements EquipoService {
     public void deleteById(Long id) {
         // ELIMINO UN EQUIPO POR SU ID
         try {
-            LOGGER.info("Eliminando equipo con ID: " + id);
+            LOGGER.log(Level.INFO, "Eliminando equipo con ID: {0,number,#}", id);
             equipoRepository.deleteById(id);
+            TrasConfirmar.ejecutar(version::incrementAndGet);
         } catch (Exception e) {
             // SI HAY UN ERROR, LANZO UNA EXCEPCIÓN PERSONALIZADA
-            LOGGER.severe("Error al eliminar equipo con ID " + id + ": " + e.getMessage());
+            FALLOS.registrar(Level.SEVERE, "deleteById", "Error al eliminar equipo", e);
             throw new DatabaseException("Error al eliminar equipo con ID " + id, e);
         }
     }
@@ -238,7 +333,7 @@ public class EquipoServiceImpl implements EquipoService {
     public Equipo update(Long id, Equipo equipoDetails) {
         // ACTUALIZO UN EQUIPO EXISTENTE
         try {
-            LOGGER.info("Actualizando equipo con ID: " + id);
+            LOGGER.log(Level.INFO, "Actualizando equipo con ID: {0,number,#}", id);
 
             // BUSCO EL EQUIPO A ACTUALIZAR
             Optional<Equipo> equipoOpt = equipoRepository.findById(id);
@@ -251,10 +346,10 @@ public class EquipoServiceImpl implements EquipoService {
                 equipo.setEntrenador(equipoDetails.getEntrenador());
 
                 // GUARDO LOS CAMBIOS
-                return equipoRepository.save(equipo);
+                return marcarCambio(equipoRepository.save(equipo));
             } else {
                 // SI EL EQUIPO NO EXISTE, LANZO UNA EXCEPCIÓN
-                LOGGER.warning("No se encontró equipo con ID: " + id);
+                LOGGER.log(Level.WARNING, "No se encontró equipo con ID: {0,number,#}", id);
                 throw new DatabaseException("No se encontró equipo con ID: " + id);
             }
         } catch (DatabaseException e) {
@@ -262,7 +357,7 @@ public class EquipoServiceImpl implements EquipoService {
             throw e;
         } catch (Exception e) {
             // SI HAY UN ERROR, LANZO UNA EXCEPCIÓN PERSONALIZADA
-            LOGGER.severe("Error al actualizar equipo con ID " + id + ": " + e.getMessage());
+            FALLOS.registrar(Level.SEVERE, "update", "Error al actualizar equipo", e);
             throw new DatabaseException("Error al actualizar equipo con ID " + id, e);
         }
     }
@@ -275,7 +370,7 @@ public class EquipoServiceImpl implements EquipoService {
     public Equipo registrarVictoria(Long id) {
         // REGISTRO UNA VICTORIA PARA UN EQUIPO
         try {
-            LOGGER.info("Registrando victoria para equipo con ID: " + id);
+            LOGGER.log(Level.INFO, "Registrando victoria para equipo con ID: {0,number,#}", id);
 
             // BUSCO EL EQUIPO
             Optional<Equipo> equipoOpt = equipoRepository.findById(id);
@@ -286,10 +381,10 @@ public class EquipoServiceImpl implements EquipoService {
                 equipo.registrarVictoria();
 
                 // GUARDO LOS CAMBIOS
-                return equipoRepository.save(equipo);
+                return marcarCambio(equipoRepository.save(equipo));
             } else {
                 // SI EL EQUIPO NO EXISTE, LANZO UNA EXCEPCIÓN
-                LOGGER.warning("No se encontró equipo con ID: " + id);
+                LOGGER.log(Level.WARNING, "No se encontró equipo con ID: {0,number,#}", id);
                 throw new DatabaseException("No se encontró equipo con ID: " + id);
             }
         } catch (DatabaseException e) {
@@ -297,7 +392,7 @@ public class EquipoServiceImpl implements EquipoService {
             throw e;
         } catch (Exception e) {
             // SI HAY UN ERROR, LANZO UNA EXCEPCIÓN PERSONALIZADA
-            LOGGER.severe("Error al registrar victoria para equipo con ID " + id + ": " + e.getMessage());
+            FALLOS.registrar(Level.SEVERE, "registrarVictoria", "Error al registrar victoria", e);
             throw new DatabaseException("Error al registrar victoria para equipo con ID " + id, e);
         }
     }
@@ -310,7 +405,7 @@ public class EquipoServiceImpl implements EquipoService {
     public Equipo registrarDerrota(Long id) {
         // REGISTRO UNA DERROTA PARA UN EQUIPO
         try {
-            LOGGER.info("Registrando derrota para equipo con ID: " + id);
+            LOGGER.log(Level.INFO, "Registrando derrota para equipo con ID: {0,number,#}", id);
 
             // BUSCO EL EQUIPO
             Optional<Equipo> equipoOpt = equipoRepository.findById(id);
@@ -321,10 +416,10 @@ public class EquipoServiceImpl implements EquipoService {
                 equipo.registrarDerrota();
 
                 // GUARDO LOS CAMBIOS
-                return equipoRepository.save(equipo);
+                return marcarCambio(equipoRepository.save(equipo));
             } else {
                 // SI EL EQUIPO NO EXISTE, LANZO UNA EXCEPCIÓN
-                LOGGER.warning("No se encontró equipo con ID: " + id);
+                LOGGER.log(Level.WARNING, "No se encontró equipo con ID: {0,number,#}", id);
                 throw new DatabaseException("No se encontró equipo con ID: " + id);
             }
         } catch (DatabaseException e) {
@@ -332,8 +427,27 @@ public class EquipoServiceImpl implements EquipoService {
             throw e;
         } catch (Exception e) {
             // SI HAY UN ERROR, LANZO UNA EXCEPCIÓN PERSONALIZADA
-            LOGGER.severe("Error al registrar derrota para equipo con ID " + id + ": " + e.getMessage());
+            FALLOS.registrar(Level.SEVERE, "registrarDerrota", "Error al registrar derrota", e);
             throw new DatabaseException("Error al registrar derrota para equipo con ID " + id, e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Incrementa la versión de los datos cuando se confirma una escritura correcta.
+     *
+     * @param equipo Equipo escrito
+     * @return El mismo equipo
+     */
+    private Equipo marcarCambio(Equipo equipo) {
+        TrasConfirmar.ejecutar(version::incrementAndGet);
+        return equipo;
+    }
+}
@@ -0,0 +1,59 @@
+package es.ubu.baloncesto.service;
+
+import es.ubu.baloncesto.model.CaraACara;
+import es.ubu.baloncesto.model.FormaEquipo;
+import es.ubu.baloncesto.model.Partido;
+
+import java.util.List;
+
+/**
+ * Interfaz que define el índice de estadísticas por equipo y por pareja de equipos.
+ * El índice se mantiene en memoria y se actualiza con cada resultado, de forma que
+ * las consultas no tienen que recorrer los partidos.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+public interface EstadisticasEquipoService {
+
+    /**
+     * Incorpora un partido finalizado al índice.
+     * Si el partido ya se había incorporado o no está finalizado, no hace nada.
+     *
+     * @param partido Partido finalizado
+     */
+    void registrarPartido(Partido partido);
+
+    /**
+     * Reconstruye el índice desde cero a partir del historial de partidos.
+     *
+     * @param partidos Historial de partidos (se ignoran los no finalizados)
+     * @return Número de partidos incorporados
+     */
+    int reconstruir(List<Partido> partidos);
+
+    /**
+     * Indica si el índice ya se ha construido alguna vez.
+     *
+     * @return true si el índice está construido, false en caso contrario
+     */
+    boolean isInicializado();
+
+    /**
+     * Obtiene la forma reciente y los parciales de local y visitante de un equipo.
+     *
+     * @param equipoId ID del equipo
+     * @return Forma del equipo (con todo a cero si no ha jugado)
+     */
+    FormaEquipo getForma(Long equipoId);
+
+    /**
+     * Obtiene el historial de enfrentamientos entre dos equipos.
+     *
+     * @param equipoA ID del primer equipo
+     * @param equipoB ID del segundo equipo
+     * @return Historial visto desde el primer equipo
+     */
+    CaraACara getCaraACara(Long equipoA, Long equipoB);
+}
@@ -0,0 +1,378 @@
+package es.ubu.baloncesto.service;
+
+import es.ubu.baloncesto.event.ResultadoRegistradoEvent;
+import es.ubu.baloncesto.model.CaraACara;
+import es.ubu.baloncesto.model.FormaEquipo;
+import es.ubu.baloncesto.model.Partido;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Implementación del índice de estadísticas por equipo y por pareja de equipos.
+ * Cada resultado nuevo se incorpora en O(1) y cada consulta se responde en O(1)
+ * desde los mapas en memoria, sin consultar el repositorio.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+@Service
+public class EstadisticasEquipoServiceImpl implements EstadisticasEquipoService {
+
+    /**
+     * Logger para registrar operaciones.
+     */
+    private static final Logger LOGGER = Logger.getLogger(EstadisticasEquipoServiceImpl.class.getName());
+
+    /**
+     * Número de partidos recientes que se guardan para la forma.
+     */
+    static final int ULTIMOS_PARTIDOS = 10;
+
+    /**
+     * Máscara para quedarme solo con los bits de los últimos partidos.
+     */
+    private static final int MASCARA_ULTIMOS = (1 << ULTIMOS_PARTIDOS) - 1;
+
+    /**
+     * Forma de cada equipo por su ID.
+     */
+    private Map<Long, Forma> formas = new HashMap<>();
+
+    /**
+     * Enfrentamientos indexados por el ID menor y luego por el ID mayor de la pareja.
+     */
+    private Map<Long, Map<Long, Enfrentamiento>> enfrentamientos = new HashMap<>();
+
+    /**
+     * IDs de los partidos ya incorporados.
+     */
+    private Set<Long> partidosAplicados = new HashSet<>();
+
+    /**
+     * Partidos incorporados uno a uno desde la última reconstrucción. Una reconstrucción trabaja
+     * sobre una lista de partidos leída antes de empezar, así que al terminar vuelve a incorporar
+     * los de aquí que no estuvieran en ella para no perder resultados registrados mientras tanto.
+     */
+    private List<Partido> aplicadosDesdeReconstruccion = new ArrayList<>();
+
+    /**
+     * Cerrojo que impide dos reconstrucciones a la vez.
+     */
+    private final Object reconstruccion = new Object();
+
+    /**
+     * Indica si ya se ha construido el índice.
+     */
+    private volatile boolean inicializado;
+
+    /**
+     * Incorpora al índice los resultados que registra el servicio de partidos.
+     *
+     * @param event Evento con el partido finalizado
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onResultadoRegistrado(ResultadoRegistradoEvent event) {
+        registrarPartido(event.getPartido());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void registrarPartido(Partido partido) {
+        // LO APUNTO POR SI HAY UNA RECONSTRUCCIÓN EN MARCHA QUE NO LO INCLUYA (SIN ID NO SE PUEDE RECONOCER)
+        if (aplicar(partido, formas, enfrentamientos, partidosAplicados) && partido.getId() != null) {
+            aplicadosDesdeReconstruccion.add(partido);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int reconstruir(List<Partido> partidos) {
+        synchronized (reconstruccion) {
+            return reconstruirSinConcurrencia(partidos);
+        }
+    }
+
+    /**
+     * Reconstruye el índice. Solo puede haber una en marcha (lo asegura {@link #reconstruir(List)}).
+     *
+     * @param partidos Partidos a procesar
+     * @return Número de partidos finalizados incorporados
+     */
+    private int reconstruirSinConcurrencia(List<Partido> partidos) {
+        // ORDENO LOS PARTIDOS POR FECHA PARA QUE LA FORMA Y LAS RACHAS SALGAN BIEN
+        List<Partido> ordenados = partidos.stream()
+                .filter(EstadisticasEquipoServiceImpl::esValido)
+                .sorted(Comparator.comparing(Partido::getFecha, Comparator.nullsFirst(Comparator.naturalOrder())))
+                .collect(Collectors.toList());
+
+        // CONSTRUYO EL ÍNDICE NUEVO APARTE Y LUEGO LO SUSTITUYO DE GOLPE
+        Map<Long, Forma> nuevasFormas = new HashMap<>();
+        Map<Long, Map<Long, Enfrentamiento>> nuevosEnfrentamientos = new HashMap<>();
+        Set<Long> nuevosAplicados = new HashSet<>();
+        for (Partido partido : ordenados) {
+            aplicar(partido, nuevasFormas, nuevosEnfrentamientos, nuevosAplicados);
+        }
+
+        // SUSTITUYO EL ÍNDICE Y VUELVO A INCORPORAR LO QUE HAYA LLEGADO UNO A UNO Y NO ESTUVIERA EN LA LISTA
+        int reaplicados = 0;
+        synchronized (this) {
+            List<Partido> pendientes = this.aplicadosDesdeReconstruccion;
+            this.formas = nuevasFormas;
+            this.enfrentamientos = nuevosEnfrentamientos;
+            this.partidosAplicados = nuevosAplicados;
+            this.aplicadosDesdeReconstruccion = new ArrayList<>();
+            for (Partido partido : pendientes) {
+                if (aplicar(partido, formas, enfrentamientos, partidosAplicados)) {
+                    reaplicados++;
+                }
+            }
+            this.inicializado = true;
+        }
+        if (reaplicados > 0) {
+            LOGGER.info("Reincorporados " + reaplicados + " resultados registrados durante la reconstrucción");
+        }
+
+        LOGGER.info("Índice de estadísticas reconstruido con " + ordenados.size() + " partidos");
+        return ordenados.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isInicializado() {
+        return inicializado;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized FormaEquipo getForma(Long equipoId) {
+        Forma forma = formas.get(equipoId);
+        if (forma == null) {
+            return new FormaEquipo(equipoId, 0, 0, 0, 0, 0, new ArrayList<>());
+        }
+
+        // DESEMPAQUETO LOS BITS DE LOS ÚLTIMOS PARTIDOS (EL BIT 0 ES EL MÁS RECIENTE)
+        List<String> ultimos = new ArrayList<>(forma.numUltimos);
+        for (int i = 0; i < forma.numUltimos; i++) {
+            ultimos.add(((forma.ultimos >>> i) & 1) == 1 ? "V" : "D");
+        }
+
+        return new FormaEquipo(equipoId, forma.victoriasLocal, forma.derrotasLocal,
+                forma.victoriasVisitante, forma.derrotasVisitante, forma.racha, ultimos);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized CaraACara getCaraACara(Long equipoA, Long equipoB) {
+        boolean aEsMenor = equipoA <= equipoB;
+        Long menor = aEsMenor ? equipoA : equipoB;
+        Long mayor = aEsMenor ? equipoB : equipoA;
+
+        Map<Long, Enfrentamiento> porMayor = enfrentamientos.get(menor);
+        Enfrentamiento e = (porMayor != null) ? porMayor.get(mayor) : null;
+        if (e == null) {
+            return new CaraACara(equipoA, equipoB, 0, 0, 0, 0, 0, null);
+        }
+
+        // DEVUELVO EL HISTORIAL VISTO DESDE EL PRIMER EQUIPO PEDIDO
+        if (aEsMenor) {
+            return new CaraACara(equipoA, equipoB, e.partidos, e.victoriasMenor, e.victoriasMayor,
+                    e.puntosMenor, e.puntosMayor, e.ultimoPartidoId);
+        }
+        return new CaraACara(equipoA, equipoB, e.partidos, e.victoriasMayor, e.victoriasMenor,
+                e.puntosMayor, e.puntosMenor, e.ultimoPartidoId);
+    }
+
+    /**
+     * Incorpora un partido a las estructuras indicadas.
+     *
+     * @param partido Partido finalizado
+     * @param formas Forma de cada equipo
+     * @param enfrentamientos Enfrentamientos por pareja
+     * @param aplicados IDs de partidos ya incorporados
+     * @return true si se ha incorporado, false si no es válido o ya estaba incorporado
+     */
+    private static boolean aplicar(Partido partido, Map<Long, Forma> formas,
+                                Map<Long, Map<Long, Enfrentamiento>> enfrentamientos, Set<Long> aplicados) {
+        if (!esValido(partido)) {
+            return false;
+        }
+
+        // EVITO CONTAR DOS VECES EL MISMO PARTIDO
+        if (partido.getId() != null && !aplicados.add(partido.getId())) {
+            return false;
+        }
+
+        Long localId = partido.getEquipoLocal().getId();
+        Long visitanteId = partido.getEquipoVisitante().getId();
+        int puntosLocal = partido.getPuntosLocal();
+        int puntosVisitante = partido.getPuntosVisitante();
+
+        // ACTUALIZO LA FORMA DE CADA EQUIPO (LOS EMPATES NO CUENTAN)
+        if (puntosLocal != puntosVisitante) {
+            boolean ganaLocal = puntosLocal > puntosVisitante;
+            formas.computeIfAbsent(localId, id -> new Forma()).registrar(ganaLocal, true);
+            formas.computeIfAbsent(visitanteId, id -> new Forma()).registrar(!ganaLocal, false);
+        }
+
+        // ACTUALIZO EL CARA A CARA
+        boolean localEsMenor = localId <= visitanteId;
+        Long menor = localEsMenor ? localId : visitanteId;
+        Long mayor = localEsMenor ? visitanteId : localId;
+        Enfrentamiento e = enfrentamientos.computeIfAbsent(menor, id -> new HashMap<>())
+                .computeIfAbsent(mayor, id -> new Enfrentamiento());
+        int puntosMenor = localEsMenor ? puntosLocal : puntosVisitante;
+        int puntosMayor = localEsMenor ? puntosVisitante : puntosLocal;
+        e.partidos++;
+        e.puntosMenor += puntosMenor;
+        e.puntosMayor += puntosMayor;
+        if (puntosMenor > puntosMayor) {
+            e.victoriasMenor++;
+        } else if (puntosMayor > puntosMenor) {
+            e.victoriasMayor++;
+        }
+        e.ultimoPartidoId = partido.getId();
+        return true;
+    }
+
+    /**
+     * Comprueba si un partido se puede incorporar al índice.
+     *
+     * @param partido Partido a comprobar
+     * @return true si está finalizado y ambos equipos tienen ID
+     */
+    private static boolean esValido(Partido partido) {
+        return partido != null && partido.isFinalizado()
+                && partido.getEquipoLocal() != null && partido.getEquipoLocal().getId() != null
+                && partido.getEquipoVisitante() != null && partido.getEquipoVisitante().getId() != null;
+    }
+
+    /**
+     * Contadores internos de la forma de un equipo.
+     */
+    private static final class Forma {
+
+        /**
+         * Victorias como local.
+         */
+        private int victoriasLocal;
+
+        /**
+         * Derrotas como local.
+         */
+        private int derrotasLocal;
+
+        /**
+         * Victorias como visitante.
+         */
+        private int victoriasVisitante;
+
+        /**
+         * Derrotas como visitante.
+         */
+        private int derrotasVisitante;
+
+        /**
+         * Racha actual (positiva victorias, negativa derrotas).
+         */
+        private int racha;
+
+        /**
+         * Últimos resultados como bits (1 victoria, 0 derrota; el bit 0 es el más reciente).
+         */
+        private int ultimos;
+
+        /**
+         * Cuántos de los bits de últimos resultados son válidos.
+         */
+        private int numUltimos;
+
+        /**
+         * Registra un resultado.
+         *
+         * @param victoria true si el equipo ha ganado
+         * @param local true si el equipo jugaba como local
+         */
+        void registrar(boolean victoria, boolean local) {
+            if (local) {
+                if (victoria) {
+                    victoriasLocal++;
+                } else {
+                    derrotasLocal++;
+                }
+            } else {
+                if (victoria) {
+                    victoriasVisitante++;
+                } else {
+                    derrotasVisitante++;
+                }
+            }
+
+            // SI SIGUE LA RACHA LA ALARGO, SI NO EMPIEZA UNA NUEVA
+            if (victoria) {
+                racha = racha > 0 ? racha + 1 : 1;
+            } else {
+                racha = racha < 0 ? racha - 1 : -1;
+            }
+
+            ultimos = ((ultimos << 1) | (victoria ? 1 : 0)) & MASCARA_ULTIMOS;
+            numUltimos = Math.min(numUltimos + 1, ULTIMOS_PARTIDOS);
+        }
+    }
+
+    /**
+     * Contadores internos del enfrentamiento entre dos equipos.
+     */
+    private static final class Enfrentamiento {
+
+        /**
+         * Partidos jugados.
+         */
+        private int partidos;
+
+        /**
+         * Victorias del equipo con ID menor.
+         */
+        private int victoriasMenor;
+
+        /**
+         * Victorias del equipo con ID mayor.
+         */
+        private int victoriasMayor;
+
+        /**
+         * Puntos del equipo con ID menor.
+         */
+        private long puntosMenor;
+
+        /**
+         * Puntos del equipo con ID mayor.
+         */
+        private long puntosMayor;
+
+        /**
+         * ID del último partido.
+         */
+        private Long ultimoPartidoId;
+    }
+}
@@ -0,0 +1,88 @@
+package es.ubu.baloncesto.service;
+
+/**
+ * Histograma de puntos con memoria fija.
+ * Como los puntos de un partido son enteros pequeños, uso un cubo por valor
+ * (con un último cubo para los valores desbordados), así que los percentiles son exactos
+ * hasta {@link #MAXIMO} y cada registro es O(1). No es seguro para varios hilos.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+public final class HistogramaPuntos {
+
+    /**
+     * Mayor número de puntos con cubo propio.
+     */
+    public static final int MAXIMO = 250;
+
+    /**
+     * Contador de cada valor; el último cubo recoge todo lo que supera el máximo.
+     */
+    private final int[] cubos = new int[MAXIMO + 2];
+
+    /**
+     * Número de valores registrados.
+     */
+    private long total;
+
+    /**
+     * Suma de los valores registrados.
+     */
+    private long suma;
+
+    /**
+     * Registra un valor.
+     *
+     * @param puntos Puntos a registrar (los negativos se cuentan como 0)
+     */
+    public void registrar(int puntos) {
+        int cubo = Math.min(Math.max(puntos, 0), MAXIMO + 1);
+        cubos[cubo]++;
+        total++;
+        suma += Math.max(puntos, 0);
+    }
+
+    /**
+     * Obtiene el número de valores registrados.
+     *
+     * @return Número de valores
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Calcula la media de los valores registrados.
+     *
+     * @return Media, o 0 si no hay valores
+     */
+    public double media() {
+        return total == 0 ? 0.0 : (double) suma / total;
+    }
+
+    /**
+     * Calcula un percentil recorriendo los cubos (coste fijo, independiente del número de valores).
+     *
+     * @param percentil Percentil entre 0 y 100
+     * @return Valor del percentil, o 0 si no hay valores
+     */
+    public int percentil(double percentil) {
+        if (total == 0) {
+            return 0;
+        }
+
+        // BUSCO EL PRIMER CUBO EN EL QUE LA FRECUENCIA ACUMULADA LLEGA AL RANGO PEDIDO
+        long rango = (long) Math.ceil(percentil / 100.0 * total);
+        rango = Math.max(1, Math.min(rango, total));
+        long acumulado = 0;
+        for (int i = 0; i < cubos.length; i++) {
+            acumulado += cubos[i];
+            if (acumulado >= rango) {
+                return i;
+            }
+        }
+        return MAXIMO + 1;
+    }
+}
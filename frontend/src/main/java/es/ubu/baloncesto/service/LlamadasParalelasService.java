@@ -0,0 +1,27 @@
+package es.ubu.baloncesto.service;
+
+/**
+ * Interfaz del servicio que ejecuta a la vez llamadas independientes a otros servicios
+ * (por ejemplo, varias consultas a la API Flask que hoy se hacen una detrás de otra).
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+public interface LlamadasParalelasService {
+
+    /**
+     * Abre un grupo de llamadas con el plazo configurado.
+     *
+     * @return Grupo de llamadas vacío
+     */
+    Abanico abrir();
+
+    /**
+     * Abre un grupo de llamadas con un plazo concreto.
+     *
+     * @param plazoMs Milisegundos que como mucho se espera a todas las llamadas
+     * @return Grupo de llamadas vacío
+     */
+    Abanico abrir(long plazoMs);
+}
@@ -0,0 +1,151 @@
+package es.ubu.baloncesto.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * Implementación del servicio de llamadas en paralelo.
+ * Usa hilos virtuales si la JVM los tiene (Java 21 o posterior) y, si no, un pool
+ * acotado de hilos. Cuando el pool está lleno, la llamada se ejecuta en el propio
+ * hilo de la petición: la página tarda lo mismo que antes, pero no falla.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+@Service
+public class LlamadasParalelasServiceImpl implements LlamadasParalelasService {
+
+    /**
+     * Logger para registrar operaciones.
+     */
+    private static final Logger LOGGER = Logger.getLogger(LlamadasParalelasServiceImpl.class.getName());
+
+    /**
+     * Plazo por defecto de cada grupo de llamadas.
+     */
+    @Value("${paralelo.plazo-ms:5000}")
+    private long plazoMs;
+
+    /**
+     * Hilos del pool (si no hay hilos virtuales).
+     */
+    @Value("${paralelo.hilos:8}")
+    private int hilos;
+
+    /**
+     * Llamadas que pueden esperar turno en el pool.
+     */
+    @Value("${paralelo.cola:64}")
+    private int cola;
+
+    /**
+     * Si se usan hilos virtuales cuando la JVM los tiene.
+     */
+    @Value("${paralelo.hilos-virtuales:true}")
+    private boolean hilosVirtuales;
+
+    /**
+     * Ejecutor de las llamadas.
+     */
+    private ExecutorService ejecutor;
+
+    /**
+     * Registro de métricas.
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Constructor que inicializa el registro de métricas mediante inyección de dependencias.
+     *
+     * @param meterRegistry Registro de métricas
+     */
+    @Autowired
+    public LlamadasParalelasServiceImpl(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Crea el ejecutor.
+     */
+    @PostConstruct
+    public void iniciar() {
+        if (hilosVirtuales) {
+            ejecutor = crearEjecutorVirtual();
+        }
+        if (ejecutor == null) {
+            AtomicInteger contador = new AtomicInteger();
+            ejecutor = new ThreadPoolExecutor(hilos, hilos, 60, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(cola),
+                    r -> {
+                        Thread hilo = new Thread(r, "paralelo-" + contador.incrementAndGet());
+                        hilo.setDaemon(true);
+                        return hilo;
+                    },
+                    new ThreadPoolExecutor.CallerRunsPolicy());
+            ThreadPoolExecutor pool = (ThreadPoolExecutor) ejecutor;
+            pool.allowCoreThreadTimeOut(true);
+            LOGGER.info("Llamadas en paralelo con un pool de " + hilos + " hilos");
+
+            // CON HILOS VIRTUALES NO HAY POOL QUE VIGILAR: SOLO PUBLICO LA OCUPACIÓN DEL POOL ACOTADO
+            Gauge.builder("baloncesto.paralelo.hilos.ocupados", pool, ThreadPoolExecutor::getActiveCount)
+                    .description("Hilos del pool de llamadas en paralelo ocupados").register(meterRegistry);
+            Gauge.builder("baloncesto.paralelo.cola", pool, p -> p.getQueue().size())
+                    .description("Llamadas esperando turno en el pool").register(meterRegistry);
+        }
+    }
+
+    /**
+     * Para el ejecutor al apagar la aplicación.
+     */
+    @PreDestroy
+    public void detener() {
+        ejecutor.shutdownNow();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Abanico abrir() {
+        return new Abanico(ejecutor, plazoMs);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Abanico abrir(long plazoMs) {
+        return new Abanico(ejecutor, plazoMs);
+    }
+
+    /**
+     * Crea un ejecutor de hilos virtuales si la JVM los tiene.
+     * Se busca por reflexión porque el proyecto compila para Java 17.
+     *
+     * @return Ejecutor de hilos virtuales, o null si no están disponibles
+     */
+    private static ExecutorService crearEjecutorVirtual() {
+        try {
+            ExecutorService virtual = (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            LOGGER.info("Llamadas en paralelo con hilos virtuales");
+            return virtual;
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
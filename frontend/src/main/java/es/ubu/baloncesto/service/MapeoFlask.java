@@ -0,0 +1,143 @@
+package es.ubu.baloncesto.service;
+
+import es.ubu.baloncesto.model.Equipo;
+import es.ubu.baloncesto.model.Partido;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Conversión de las respuestas de la API Flask (ya leídas como mapas) a objetos del modelo.
+ * La usan los servicios de partidos y equipos, y es pública para poder medirla con los benchmarks.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+public final class MapeoFlask {
+
+    /**
+     * Constructor privado: solo tiene métodos estáticos.
+     */
+    private MapeoFlask() {
+    }
+
+    /**
+     * Convierte un mapa de datos a un objeto Partido.
+     *
+     * @param partidoMap Mapa con datos del partido
+     * @return Objeto Partido
+     */
+    public static Partido mapToPartido(Map<String, Object> partidoMap) {
+        Partido partido = new Partido();
+
+        // Extraer el ID como Long
+        if (partidoMap.containsKey("id")) {
+            Object idObj = partidoMap.get("id");
+            if (idObj instanceof Integer) {
+                partido.setId(((Integer) idObj).longValue());
+            } else if (idObj instanceof Long) {
+                partido.setId((Long) idObj);
+            } else if (idObj instanceof String) {
+                partido.setId(Long.parseLong((String) idObj));
+            }
+        }
+
+        // Extraer la fecha
+        if (partidoMap.containsKey("fecha")) {
+            String fechaStr = (String) partidoMap.get("fecha");
+            partido.setFecha(LocalDateTime.parse(fechaStr));
+        }
+
+        // Extraer equipos
+        if (partidoMap.containsKey("equipo_local")) {
+            Equipo equipoLocal = new Equipo();
+            if (partidoMap.containsKey("equipo_local_id")) {
+                Object idObj = partidoMap.get("equipo_local_id");
+                if (idObj instanceof Integer) {
+                    equipoLocal.setId(((Integer) idObj).longValue());
+                } else if (idObj instanceof Long) {
+                    equipoLocal.setId((Long) idObj);
+                }
+            }
+            equipoLocal.setNombre((String) partidoMap.get("equipo_local"));
+            partido.setEquipoLocal(equipoLocal);
+        }
+
+        if (partidoMap.containsKey("equipo_visitante")) {
+            Equipo equipoVisitante = new Equipo();
+            if (partidoMap.containsKey("equipo_visitante_id")) {
+                Object idObj = partidoMap.get("equipo_visitante_id");
+                if (idObj instanceof Integer) {
+                    equipoVisitante.setId(((Integer) idObj).longValue());
+                } else if (idObj instanceof Long) {
+                    equipoVisitante.setId((Long) idObj);
+                }
+            }
+            equipoVisitante.setNombre((String) partidoMap.get("equipo_visitante"));
+            partido.setEquipoVisitante(equipoVisitante);
+        }
+
+        // Extraer puntuación
+        if (partidoMap.containsKey("puntos_local")) {
+            Object puntosObj = partidoMap.get("puntos_local");
+            if (puntosObj instanceof Integer) {
+                partido.setPuntosLocal((Integer) puntosObj);
+            }
+        }
+
+        if (partidoMap.containsKey("puntos_visitante")) {
+            Object puntosObj = partidoMap.get("puntos_visitante");
+            if (puntosObj instanceof Integer) {
+                partido.setPuntosVisitante((Integer) puntosObj);
+            }
+        }
+
+        // Extraer finalizado
+        if (partidoMap.containsKey("finalizado")) {
+            Object finalizadoObj = partidoMap.get("finalizado");
+            if (finalizadoObj instanceof Boolean) {
+                partido.setFinalizado((Boolean) finalizadoObj);
+            }
+        }
+
+        return partido;
+    }
+
+    /**
+     * Convierte un mapa de datos a un objeto Equipo.
+     *
+     * @param equipoMap Mapa con datos del equipo
+     * @return Objeto Equipo
+     */
+    public static Equipo mapToEquipo(Map<String, Object> equipoMap) {
+        Equipo equipo = new Equipo();
+
+        // Extraer el ID como Long
+        if (equipoMap.containsKey("id")) {
+            Object idObj = equipoMap.get("id");
+            if (idObj instanceof Integer) {
+                equipo.setId(((Integer) idObj).longValue());
+            } else if (idObj instanceof Long) {
+                equipo.setId((Long) idObj);
+            } else if (idObj instanceof String) {
+                equipo.setId(Long.parseLong((String) idObj));
+            }
+        }
+
+        // Extraer otros campos
+        if (equipoMap.containsKey("nombre")) {
+            equipo.setNombre((String) equipoMap.get("nombre"));
+        }
+
+        if (equipoMap.containsKey("ciudad")) {
+            equipo.setCiudad((String) equipoMap.get("ciudad"));
+        }
+
+        if (equipoMap.containsKey("entrenador")) {
+            equipo.setEntrenador((String) equipoMap.get("entrenador"));
+        }
+
+        return equipo;
+    }
+}
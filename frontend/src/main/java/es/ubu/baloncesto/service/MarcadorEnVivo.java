@@ -0,0 +1,270 @@
+package es.ubu.baloncesto.service;
+
+import es.ubu.baloncesto.model.EstadoMarcador;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Marcador en vivo de un partido sobre un buffer circular sin bloqueos.
+ * Las peticiones HTTP reservan un hueco con un CAS y publican la anotación
+ * codificada en un long; un único hilo (el compactador) recorre los huecos
+ * publicados y es el único que modifica los parciales, así que el estado
+ * no necesita ningún cerrojo.
+ * La memoria es fija: si el compactador se queda atrás y el buffer se llena,
+ * las anotaciones se rechazan en lugar de acumularse.
+ * El cierre se marca en la propia secuencia de reservas, así que una anotación o bien
+ * se reserva antes del cierre (y el vaciado la espera) o bien se rechaza.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+public final class MarcadorEnVivo {
+
+    /**
+     * Número máximo de cuartos (4 más las prórrogas).
+     */
+    public static final int MAX_CUARTOS = 12;
+
+    /**
+     * Valor máximo de puntos de una anotación (en valor absoluto).
+     */
+    public static final int MAX_PUNTOS = 3;
+
+    /**
+     * Bit de la secuencia reservada que indica que el marcador está cerrado.
+     */
+    private static final long CERRADO = 1L << 62;
+
+    /**
+     * Anotaciones codificadas.
+     */
+    private final long[] anotaciones;
+
+    /**
+     * Secuencia publicada en cada hueco (-1 si aún no se ha escrito nunca).
+     */
+    private final AtomicLongArray publicadas;
+
+    /**
+     * Máscara para pasar de secuencia a hueco (la capacidad es potencia de 2).
+     */
+    private final int mascara;
+
+    /**
+     * Siguiente secuencia que se puede reservar (con el bit {@link #CERRADO} si ya no se aceptan anotaciones).
+     */
+    private final AtomicLong reservada = new AtomicLong();
+
+    /**
+     * Siguiente secuencia que va a leer el compactador.
+     */
+    private volatile long consumida;
+
+    /**
+     * Puntos por cuarto: fila 0 el local, fila 1 el visitante (solo los toca el compactador).
+     */
+    private final int[][] parciales = new int[2][MAX_CUARTOS];
+
+    /**
+     * Puntos que ya tenía el partido al empezar a seguirlo en vivo.
+     */
+    private final int arrastreLocal;
+
+    /**
+     * Puntos que ya tenía el visitante al empezar a seguirlo en vivo.
+     */
+    private final int arrastreVisitante;
+
+    /**
+     * Último cuarto con anotaciones.
+     */
+    private int ultimoCuarto;
+
+    /**
+     * Anotaciones incorporadas hasta ahora.
+     */
+    private long incorporadas;
+
+    /**
+     * Constructor que reserva el buffer.
+     *
+     * @param capacidad Número de huecos (potencia de 2)
+     * @param puntosLocal Puntos que ya tiene el local
+     * @param puntosVisitante Puntos que ya tiene el visitante
+     */
+    public MarcadorEnVivo(int capacidad, int puntosLocal, int puntosVisitante) {
+        if (capacidad <= 0 || Integer.bitCount(capacidad) != 1) {
+            throw new IllegalArgumentException("La capacidad debe ser una potencia de 2");
+        }
+
+        this.anotaciones = new long[capacidad];
+        this.publicadas = new AtomicLongArray(capacidad);
+        for (int i = 0; i < capacidad; i++) {
+            publicadas.set(i, -1L);
+        }
+        this.mascara = capacidad - 1;
+        this.arrastreLocal = puntosLocal;
+        this.arrastreVisitante = puntosVisitante;
+    }
+
+    /**
+     * Añade una anotación al buffer. Se puede llamar desde cualquier hilo.
+     *
+     * @param cuarto Cuarto del partido (desde 1)
+     * @param local true si anota el local
+     * @param puntos Puntos anotados (negativos para corregir)
+     * @return true si se ha aceptado, false si el buffer está lleno o el marcador está cerrado
+     */
+    public boolean registrar(int cuarto, boolean local, int puntos) {
+        // VALIDO LA ANOTACIÓN ANTES DE RESERVAR NADA
+        validar(cuarto, puntos);
+
+        // RESERVO UNA SECUENCIA SI ESTÁ ABIERTO Y QUEDA SITIO (SI NO, RECHAZO EN LUGAR DE ESPERAR)
+        long secuencia;
+        do {
+            secuencia = reservada.get();
+            if ((secuencia & CERRADO) != 0 || secuencia - consumida >= anotaciones.length) {
+                return false;
+            }
+        } while (!reservada.compareAndSet(secuencia, secuencia + 1));
+
+        // ESCRIBO LA ANOTACIÓN Y LA PUBLICO (LA ESCRITURA ORDENADA HACE VISIBLE EL DATO ANTES QUE LA SECUENCIA)
+        int hueco = (int) secuencia & mascara;
+        anotaciones[hueco] = codificar(cuarto, local, puntos);
+        publicadas.lazySet(hueco, secuencia);
+        return true;
+    }
+
+    /**
+     * Comprueba que una anotación sea válida.
+     *
+     * @param cuarto Cuarto del partido (desde 1)
+     * @param puntos Puntos anotados (negativos para corregir)
+     * @throws IllegalArgumentException Si el cuarto o los puntos están fuera de rango
+     */
+    public static void validar(int cuarto, int puntos) {
+        if (cuarto < 1 || cuarto > MAX_CUARTOS) {
+            throw new IllegalArgumentException("El cuarto debe estar entre 1 y " + MAX_CUARTOS);
+        }
+        if (puntos == 0 || Math.abs(puntos) > MAX_PUNTOS) {
+            throw new IllegalArgumentException("Los puntos de una anotación deben estar entre -3 y 3 (distintos de 0)");
+        }
+    }
+
+    /**
+     * Incorpora a los parciales las anotaciones publicadas.
+     * Solo debe llamarse desde un único hilo.
+     *
+     * @return Número de anotaciones incorporadas
+     */
+    public int compactar() {
+        long siguiente = consumida;
+        int leidas = 0;
+
+        // LEO EN ORDEN HASTA EL PRIMER HUECO QUE AÚN NO SE HA PUBLICADO
+        while (leidas < anotaciones.length) {
+            int hueco = (int) siguiente & mascara;
+            if (publicadas.get(hueco) != siguiente) {
+                break;
+            }
+            aplicar(anotaciones[hueco]);
+            siguiente++;
+            leidas++;
+        }
+
+        // LIBERO LOS HUECOS LEÍDOS DE UNA SOLA VEZ
+        if (leidas > 0) {
+            consumida = siguiente;
+            incorporadas += leidas;
+        }
+        return leidas;
+    }
+
+    /**
+     * Deja de aceptar anotaciones. Las ya reservadas se siguen publicando y hay que vaciarlas.
+     * Se puede llamar desde cualquier hilo.
+     *
+     * @return true si lo ha cerrado esta llamada, false si ya estaba cerrado
+     */
+    public boolean cerrar() {
+        return (reservada.getAndUpdate(s -> s | CERRADO) & CERRADO) == 0;
+    }
+
+    /**
+     * Vuelve a aceptar anotaciones tras un cierre que no se ha podido completar.
+     */
+    public void abrir() {
+        reservada.getAndUpdate(s -> s & ~CERRADO);
+    }
+
+    /**
+     * Indica si el marcador está cerrado.
+     *
+     * @return true si ya no acepta anotaciones
+     */
+    public boolean isCerrado() {
+        return (reservada.get() & CERRADO) != 0;
+    }
+
+    /**
+     * Indica si quedan anotaciones reservadas sin incorporar.
+     *
+     * @return true si hay anotaciones pendientes
+     */
+    public boolean hayPendientes() {
+        return (reservada.get() & ~CERRADO) != consumida;
+    }
+
+    /**
+     * Genera el estado actual del marcador.
+     * Solo debe llamarse desde el hilo que compacta.
+     *
+     * @param partidoId ID del partido
+     * @return Estado del marcador
+     */
+    public EstadoMarcador estado(Long partidoId) {
+        int cuartos = Math.max(ultimoCuarto, 1);
+        int[] local = Arrays.copyOf(parciales[0], cuartos);
+        int[] visitante = Arrays.copyOf(parciales[1], cuartos);
+
+        int totalLocal = arrastreLocal;
+        int totalVisitante = arrastreVisitante;
+        for (int i = 0; i < cuartos; i++) {
+            totalLocal += local[i];
+            totalVisitante += visitante[i];
+        }
+
+        return new EstadoMarcador(partidoId, totalLocal, totalVisitante, local, visitante, incorporadas);
+    }
+
+    /**
+     * Suma una anotación codificada a los parciales.
+     *
+     * @param anotacion Anotación codificada
+     */
+    private void aplicar(long anotacion) {
+        int cuarto = (int) (anotacion >>> 16);
+        int equipo = (int) (anotacion >>> 8) & 0xFF;
+        int puntos = (byte) anotacion;
+
+        // UNA CORRECCIÓN NUNCA DEJA EL PARCIAL EN NEGATIVO
+        int[] fila = parciales[equipo];
+        fila[cuarto - 1] = Math.max(0, fila[cuarto - 1] + puntos);
+        ultimoCuarto = Math.max(ultimoCuarto, cuarto);
+    }
+
+    /**
+     * Empaqueta una anotación en un long: cuarto en los bits 16+, equipo en 8-15 y puntos en 0-7.
+     *
+     * @param cuarto Cuarto del partido
+     * @param local true si anota el local
+     * @param puntos Puntos anotados
+     * @return Anotación codificada
+     */
+    private static long codificar(int cuarto, boolean local, int puntos) {
+        return ((long) cuarto << 16) | ((local ? 0L : 1L) << 8) | (puntos & 0xFFL);
+    }
+}
@@ -0,0 +1,54 @@
+package es.ubu.baloncesto.service;
+
+import es.ubu.baloncesto.model.EstadoMarcador;
+import es.ubu.baloncesto.model.EventoMarcador;
+import es.ubu.baloncesto.model.Partido;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Interfaz que define el seguimiento en vivo del marcador de los partidos en juego.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+public interface MarcadorEnVivoService {
+
+    /**
+     * Empieza a seguir en vivo un partido pendiente.
+     * Si ya se estaba siguiendo, devuelve su marcador actual.
+     *
+     * @param partidoId ID del partido
+     * @return Marcador actual del partido
+     */
+    EstadoMarcador iniciar(Long partidoId);
+
+    /**
+     * Registra un lote de anotaciones de un partido en juego.
+     * Se aceptan en orden hasta que el buffer del partido se llena o el partido se finaliza;
+     * las aceptadas entran siempre en el marcador final.
+     *
+     * @param partidoId ID del partido
+     * @param eventos Anotaciones a registrar
+     * @return Número de anotaciones aceptadas (las siguientes hay que reenviarlas)
+     */
+    int registrar(Long partidoId, List<EventoMarcador> eventos);
+
+    /**
+     * Obtiene el marcador de un partido en juego.
+     *
+     * @param partidoId ID del partido
+     * @return Marcador del partido, o vacío si no se está siguiendo en vivo
+     */
+    Optional<EstadoMarcador> getEstado(Long partidoId);
+
+    /**
+     * Deja de seguir el partido y registra su marcador como resultado final.
+     *
+     * @param partidoId ID del partido
+     * @return Partido finalizado
+     */
+    Partido finalizar(Long partidoId);
+}
@@ -0,0 +1,399 @@
+package es.ubu.baloncesto.service;
+
+import es.ubu.baloncesto.event.MarcadorActualizadoEvent;
+import es.ubu.baloncesto.exception.DatabaseException;
+import es.ubu.baloncesto.model.EstadoMarcador;
+import es.ubu.baloncesto.model.EventoMarcador;
+import es.ubu.baloncesto.model.Partido;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Implementación del marcador en vivo.
+ * Cada partido en juego tiene su propio buffer circular de memoria fija. Un único hilo
+ * compacta periódicamente todos los buffers, publica un solo evento por partido con el
+ * marcador acumulado (así los clientes reciben unas pocas actualizaciones por segundo
+ * aunque lleguen miles de anotaciones) y, cada cierto tiempo, guarda el marcador en el
+ * origen de datos desde otro hilo para no frenar la compactación.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+@Service
+public class MarcadorEnVivoServiceImpl implements MarcadorEnVivoService {
+
+    /**
+     * Logger para registrar operaciones.
+     */
+    private static final Logger LOGGER = Logger.getLogger(MarcadorEnVivoServiceImpl.class.getName());
+
+    /**
+     * Partidos en juego por su ID.
+     */
+    private final Map<Long, EnJuego> enJuego = new ConcurrentHashMap<>();
+
+    /**
+     * Plazas de partido en juego ocupadas (incluye las reservadas por un inicio que aún no ha terminado).
+     */
+    private final AtomicInteger plazas = new AtomicInteger();
+
+    /**
+     * Hilo que compacta los buffers (es el único que lee de ellos).
+     */
+    private final ScheduledExecutorService compactador = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread hilo = new Thread(r, "marcador-compactador");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+
+    /**
+     * Hilo que guarda los marcadores en el origen de datos.
+     */
+    private final ExecutorService persistidor = Executors.newSingleThreadExecutor(r -> {
+        Thread hilo = new Thread(r, "marcador-persistidor");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+
+    /**
+     * Servicio de partidos.
+     */
+    private final PartidoService partidoService;
+
+    /**
+     * Publicador de eventos para avisar de los cambios de marcador.
+     */
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Huecos del buffer de cada partido (potencia de 2).
+     */
+    @Value("${marcador.capacidad:4096}")
+    private int capacidad;
+
+    /**
+     * Milisegundos entre compactaciones.
+     */
+    @Value("${marcador.compactacion-ms:100}")
+    private long compactacionMs;
+
+    /**
+     * Milisegundos mínimos entre dos guardados del marcador de un partido.
+     */
+    @Value("${marcador.persistencia-ms:5000}")
+    private long persistenciaMs;
+
+    /**
+     * Número máximo de partidos en juego a la vez.
+     */
+    @Value("${marcador.max-partidos:64}")
+    private int maxPartidos;
+
+    /**
+     * Constructor que inicializa los servicios mediante inyección de dependencias.
+     *
+     * @param partidoService Servicio de partidos
+     * @param eventPublisher Publicador de eventos de la aplicación
+     */
+    @Autowired
+    public MarcadorEnVivoServiceImpl(PartidoService partidoService, ApplicationEventPublisher eventPublisher) {
+        // GUARDO LOS SERVICIOS INYECTADOS
+        this.partidoService = partidoService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Programa la compactación periódica.
+     */
+    @PostConstruct
+    public void arrancar() {
+        compactador.scheduleWithFixedDelay(this::compactarTodos, compactacionMs, compactacionMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Para los hilos al apagar la aplicación.
+     */
+    @PreDestroy
+    public void detener() {
+        compactador.shutdownNow();
+        persistidor.shutdownNow();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public EstadoMarcador iniciar(Long partidoId) {
+        // SI YA ESTÁ EN JUEGO DEVUELVO SU MARCADOR
+        EnJuego existente = enJuego.get(partidoId);
+        if (existente != null) {
+            return existente.estado;
+        }
+
+        // LIMITO LOS PARTIDOS EN JUEGO PARA QUE LA MEMORIA QUEDE ACOTADA: RESERVO LA PLAZA ANTES DE CREAR NADA
+        reservarPlaza();
+        boolean insertado = false;
+        try {
+            Partido partido = partidoService.findById(partidoId)
+                    .orElseThrow(() -> new DatabaseException("No se encontró partido con ID: " + partidoId));
+            if (partido.isFinalizado()) {
+                throw new IllegalStateException("El partido con ID " + partidoId + " ya está finalizado");
+            }
+
+            // PARTO DE LOS PUNTOS QUE YA TENGA GUARDADOS (POR SI SE HA REINICIADO LA APLICACIÓN)
+            EnJuego nuevo = new EnJuego(partidoId,
+                    new MarcadorEnVivo(capacidad, partido.getPuntosLocal(), partido.getPuntosVisitante()));
+            EnJuego actual = enJuego.putIfAbsent(partidoId, nuevo);
+            if (actual != null) {
+                return actual.estado;
+            }
+            insertado = true;
+
+            LOGGER.info("Partido " + partidoId + " en juego");
+            return nuevo.estado;
+        } finally {
+            // SI NO HE LLEGADO A METER EL PARTIDO (FALLO O LO HA INICIADO OTRO A LA VEZ), DEVUELVO LA PLAZA
+            if (!insertado) {
+                plazas.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Reserva una plaza de partido en juego.
+     *
+     * @throws IllegalStateException Si ya están todas ocupadas
+     */
+    private void reservarPlaza() {
+        while (true) {
+            int ocupadas = plazas.get();
+            if (ocupadas >= maxPartidos) {
+                throw new IllegalStateException("Se ha alcanzado el máximo de " + maxPartidos + " partidos en juego");
+            }
+            if (plazas.compareAndSet(ocupadas, ocupadas + 1)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int registrar(Long partidoId, List<EventoMarcador> eventos) {
+        EnJuego partido = enJuego.get(partidoId);
+        if (partido == null || partido.marcador.isCerrado()) {
+            throw new IllegalStateException("El partido con ID " + partidoId + " no está en juego");
+        }
+
+        // VALIDO TODO EL LOTE ANTES DE ACEPTAR NADA
+        for (EventoMarcador evento : eventos) {
+            MarcadorEnVivo.validar(evento.getCuarto(), evento.getPuntos());
+        }
+
+        // ACEPTO EN ORDEN HASTA QUE EL BUFFER SE LLENE O SE CIERRE EL PARTIDO
+        int aceptados = 0;
+        for (EventoMarcador evento : eventos) {
+            if (!partido.marcador.registrar(evento.getCuarto(), evento.isLocal(), evento.getPuntos())) {
+                break;
+            }
+            aceptados++;
+        }
+
+        // SI SE HA CERRADO ANTES DE ACEPTAR NADA, EL LOTE NO CUENTA: LO DIGO IGUAL QUE SI YA ESTUVIERA CERRADO
+        if (aceptados == 0 && partido.marcador.isCerrado()) {
+            throw new IllegalStateException("El partido con ID " + partidoId + " no está en juego");
+        }
+        return aceptados;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<EstadoMarcador> getEstado(Long partidoId) {
+        EnJuego partido = enJuego.get(partidoId);
+        return (partido != null) ? Optional.of(partido.estado) : Optional.empty();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Partido finalizar(Long partidoId) {
+        EnJuego partido = enJuego.get(partidoId);
+        if (partido == null) {
+            throw new IllegalStateException("El partido con ID " + partidoId + " no está en juego");
+        }
+
+        // DEJO DE ACEPTAR ANOTACIONES (SOLO UNA PETICIÓN PUEDE CERRARLO) Y VACÍO EL BUFFER DESDE EL HILO COMPACTADOR
+        if (!partido.marcador.cerrar()) {
+            throw new IllegalStateException("El partido con ID " + partidoId + " ya se está finalizando");
+        }
+        EstadoMarcador estado;
+        try {
+            estado = compactador.submit(() -> vaciar(partido)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            partido.marcador.abrir();
+            throw new IllegalStateException("Se ha interrumpido el cierre del partido " + partidoId, e);
+        } catch (ExecutionException e) {
+            partido.marcador.abrir();
+            throw new DatabaseException("Error al cerrar el marcador del partido " + partidoId, e.getCause());
+        }
+
+        // EL MARCADOR FINAL PASA A SER EL RESULTADO (ESTO AVISA A RATINGS, ESTADÍSTICAS Y NAVEGADORES)
+        Partido finalizado;
+        try {
+            finalizado = partidoService.registrarResultado(partidoId, estado.getPuntosLocal(), estado.getPuntosVisitante());
+        } catch (RuntimeException e) {
+            partido.marcador.abrir();
+            throw e;
+        }
+
+        if (enJuego.remove(partidoId, partido)) {
+            plazas.decrementAndGet();
+        }
+        LOGGER.info("Partido " + partidoId + " finalizado con " + estado.getEventos() + " anotaciones en vivo");
+        return finalizado;
+    }
+
+    /**
+     * Compacta todos los partidos en juego, avisa de los cambios y guarda los marcadores pendientes.
+     */
+    private void compactarTodos() {
+        long ahora = System.nanoTime();
+        long intervaloPersistencia = TimeUnit.MILLISECONDS.toNanos(persistenciaMs);
+
+        for (EnJuego partido : enJuego.values()) {
+            // UN FALLO EN UN PARTIDO NO PUEDE PARAR LA COMPACTACIÓN DE LOS DEMÁS
+            try {
+                if (partido.marcador.compactar() > 0) {
+                    partido.estado = partido.marcador.estado(partido.partidoId);
+                    partido.sucio = true;
+                    eventPublisher.publishEvent(new MarcadorActualizadoEvent(partido.estado));
+                }
+
+                // GUARDO EL MARCADOR COMO MUCHO UNA VEZ POR INTERVALO Y SIN SOLAPAR GUARDADOS
+                if (partido.sucio && !partido.marcador.isCerrado()
+                        && ahora - partido.ultimaPersistencia >= intervaloPersistencia
+                        && partido.persistiendo.compareAndSet(false, true)) {
+                    partido.sucio = false;
+                    partido.ultimaPersistencia = ahora;
+                    EstadoMarcador estado = partido.estado;
+                    persistidor.execute(() -> persistir(partido, estado));
+                }
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Error al compactar el marcador del partido " + partido.partidoId, e);
+            }
+        }
+    }
+
+    /**
+     * Vacía el buffer de un partido cerrado y devuelve su marcador final.
+     * Espera a que se publiquen todas las anotaciones reservadas antes del cierre: no puede
+     * reservarse ninguna más, y entre reservar y publicar solo hay dos escrituras, así que la espera es corta.
+     *
+     * @param partido Partido en juego
+     * @return Marcador final
+     */
+    private EstadoMarcador vaciar(EnJuego partido) {
+        partido.marcador.compactar();
+        while (partido.marcador.hayPendientes()) {
+            Thread.onSpinWait();
+            partido.marcador.compactar();
+        }
+
+        partido.estado = partido.marcador.estado(partido.partidoId);
+        return partido.estado;
+    }
+
+    /**
+     * Guarda el marcador de un partido en el origen de datos.
+     *
+     * @param partido Partido en juego
+     * @param estado Marcador a guardar
+     */
+    private void persistir(EnJuego partido, EstadoMarcador estado) {
+        try {
+            // SI YA SE HA CERRADO, EL RESULTADO FINAL SE GUARDA AL FINALIZAR
+            if (!partido.marcador.isCerrado()) {
+                partidoService.actualizarMarcador(partido.partidoId, estado.getPuntosLocal(), estado.getPuntosVisitante());
+            }
+        } catch (RuntimeException e) {
+            // LO VUELVO A MARCAR PARA REINTENTARLO EN EL SIGUIENTE INTERVALO
+            LOGGER.warning("No se ha podido guardar el marcador del partido " + partido.partidoId + ": " + e.getMessage());
+            partido.sucio = true;
+        } finally {
+            partido.persistiendo.set(false);
+        }
+    }
+
+    /**
+     * Datos de un partido en juego.
+     */
+    private static final class EnJuego {
+
+        /**
+         * ID del partido.
+         */
+        private final Long partidoId;
+
+        /**
+         * Buffer y parciales del partido.
+         */
+        private final MarcadorEnVivo marcador;
+
+        /**
+         * Último marcador compactado (lo leen las consultas).
+         */
+        private volatile EstadoMarcador estado;
+
+        /**
+         * Indica si hay cambios sin guardar.
+         */
+        private volatile boolean sucio;
+
+        /**
+         * Instante (nanoTime) del último guardado.
+         */
+        private long ultimaPersistencia;
+
+        /**
+         * Indica si hay un guardado en curso.
+         */
+        private final AtomicBoolean persistiendo = new AtomicBoolean();
+
+        /**
+         * Constructor con el partido y su buffer.
+         *
+         * @param partidoId ID del partido
+         * @param marcador Buffer del partido
+         */
+        EnJuego(Long partidoId, MarcadorEnVivo marcador) {
+            this.partidoId = partidoId;
+            this.marcador = marcador;
+            this.estado = marcador.estado(partidoId);
+            this.ultimaPersistencia = System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package es.ubu.baloncesto.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Interfaz que define el canal de notificaciones en vivo de los partidos (Server-Sent Events).
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+public interface NotificacionPartidosService {
+
+    /**
+     * Da de alta un nuevo suscriptor.
+     * La conexión queda abierta de forma asíncrona, sin ocupar un hilo mientras está inactiva.
+     *
+     * @return Emisor SSE del suscriptor
+     */
+    SseEmitter suscribir();
+
+    /**
+     * Obtiene el número de suscriptores conectados.
+     *
+     * @return Número de suscriptores
+     */
+    int getNumeroSuscriptores();
+}
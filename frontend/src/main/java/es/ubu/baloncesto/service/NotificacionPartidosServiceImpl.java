@@ -0,0 +1,450 @@
+package es.ubu.baloncesto.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import es.ubu.baloncesto.event.MarcadorActualizadoEvent;
+import es.ubu.baloncesto.event.PartidoCreadoEvent;
+import es.ubu.baloncesto.event.PartidoEliminadoEvent;
+import es.ubu.baloncesto.event.ResultadoRegistradoEvent;
+import es.ubu.baloncesto.model.EstadoMarcador;
+import es.ubu.baloncesto.model.Partido;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Implementación del canal de notificaciones en vivo de los partidos.
+ * Cada cambio se serializa una sola vez y se deja en la cola de cada suscriptor, sin esperar;
+ * un grupo pequeño de hilos vacía esas colas, cada una en orden, de forma que las peticiones
+ * que originan el cambio no esperan a los clientes y un cliente lento solo se retrasa a sí mismo.
+ * Las colas tienen un tamaño máximo: si la de un suscriptor se llena (no lee al ritmo de los
+ * eventos) se cierra su conexión, y el navegador vuelve a conectarse y recarga la tabla.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+@Service
+public class NotificacionPartidosServiceImpl implements NotificacionPartidosService {
+
+    /**
+     * Logger para registrar operaciones.
+     */
+    private static final Logger LOGGER = Logger.getLogger(NotificacionPartidosServiceImpl.class.getName());
+
+    /**
+     * Formato de fecha igual al de la tabla de partidos.
+     */
+    private static final DateTimeFormatter FORMATO_FECHA = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+
+    /**
+     * Evento de latido (un comentario que el navegador ignora).
+     */
+    private static final Evento LATIDO = new Evento(null, null, null);
+
+    /**
+     * Suscriptores conectados, con su cola de eventos pendientes.
+     */
+    private final Map<SseEmitter, Suscriptor> suscriptores = new ConcurrentHashMap<>();
+
+    /**
+     * Identificador creciente de los eventos enviados.
+     */
+    private final AtomicLong secuencia = new AtomicLong();
+
+    /**
+     * Suscriptores cerrados por no leer al ritmo de los eventos.
+     */
+    private final AtomicLong descartados = new AtomicLong();
+
+    /**
+     * Hilos que vacían las colas de los suscriptores (se crean al arrancar).
+     */
+    private ThreadPoolExecutor envio;
+
+    /**
+     * Hilo que envía los latidos para detectar conexiones caídas.
+     */
+    private final ScheduledExecutorService latidos = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread hilo = new Thread(r, "sse-latido");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+
+    /**
+     * Mapper para serializar los eventos.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Tiempo máximo que se mantiene abierta una suscripción (el navegador reconecta solo).
+     */
+    @Value("${partidos.eventos.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    /**
+     * Segundos entre latidos.
+     */
+    @Value("${partidos.eventos.latido-segundos:25}")
+    private long latidoSegundos;
+
+    /**
+     * Eventos pendientes que se guardan por suscriptor antes de cerrar su conexión.
+     */
+    @Value("${partidos.eventos.cola-suscriptor:64}")
+    private int colaSuscriptor;
+
+    /**
+     * Hilos que envían los eventos.
+     */
+    @Value("${partidos.eventos.hilos-envio:4}")
+    private int hilosEnvio;
+
+    /**
+     * Suscriptores que pueden esperar hilo de envío a la vez; si hay más, se cierran.
+     */
+    @Value("${partidos.eventos.cola-envio:1000}")
+    private int colaEnvio;
+
+    /**
+     * Constructor que inicializa el mapper mediante inyección de dependencias.
+     *
+     * @param objectMapper Mapper de Jackson
+     * @param meterRegistry Registro de métricas
+     */
+    @Autowired
+    public NotificacionPartidosServiceImpl(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        Gauge.builder("baloncesto.eventos.suscriptores", suscriptores, Map::size)
+                .description("Suscriptores conectados a los eventos de partidos").register(meterRegistry);
+        FunctionCounter.builder("baloncesto.eventos.descartados", descartados, AtomicLong::get)
+                .description("Suscriptores cerrados por no leer al ritmo de los eventos").register(meterRegistry);
+    }
+
+    /**
+     * Crea los hilos de envío y programa el envío periódico de latidos.
+     */
+    @PostConstruct
+    public void iniciar() {
+        AtomicInteger contador = new AtomicInteger();
+        envio = new ThreadPoolExecutor(hilosEnvio, hilosEnvio, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(colaEnvio), r -> {
+                    Thread hilo = new Thread(r, "sse-envio-" + contador.incrementAndGet());
+                    hilo.setDaemon(true);
+                    return hilo;
+                });
+        latidos.scheduleAtFixedRate(() -> encolarATodos(LATIDO), latidoSegundos, latidoSegundos, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Cierra las suscripciones y para los hilos al apagar la aplicación.
+     */
+    @PreDestroy
+    public void detener() {
+        latidos.shutdownNow();
+        envio.shutdownNow();
+        for (SseEmitter emisor : suscriptores.keySet()) {
+            emisor.complete();
+        }
+        suscriptores.clear();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SseEmitter suscribir() {
+        SseEmitter emisor = new SseEmitter(timeoutMs);
+
+        // CUANDO SE CIERRA LA CONEXIÓN (POR CUALQUIER MOTIVO) DEJO DE ENVIARLE EVENTOS
+        emisor.onCompletion(() -> suscriptores.remove(emisor));
+        emisor.onTimeout(() -> {
+            suscriptores.remove(emisor);
+            emisor.complete();
+        });
+        emisor.onError(e -> suscriptores.remove(emisor));
+
+        suscriptores.put(emisor, new Suscriptor(emisor, colaSuscriptor));
+        LOGGER.log(Level.FINE, "Nuevo suscriptor de partidos ({0,number,#} conectados)", suscriptores.size());
+        return emisor;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getNumeroSuscriptores() {
+        return suscriptores.size();
+    }
+
+    /**
+     * Avisa de un partido nuevo.
+     *
+     * @param event Evento con el partido creado
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPartidoCreado(PartidoCreadoEvent event) {
+        publicar("creado", datosPartido(event.getPartido()));
+    }
+
+    /**
+     * Avisa de un resultado registrado.
+     *
+     * @param event Evento con el partido finalizado
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onResultadoRegistrado(ResultadoRegistradoEvent event) {
+        publicar("resultado", datosPartido(event.getPartido()));
+    }
+
+    /**
+     * Avisa de un partido eliminado.
+     *
+     * @param event Evento con el ID del partido eliminado
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPartidoEliminado(PartidoEliminadoEvent event) {
+        Map<String, Object> datos = new LinkedHashMap<>();
+        datos.put("id", event.getPartidoId());
+        publicar("eliminado", datos);
+    }
+
+    /**
+     * Avisa del marcador de un partido en juego (como mucho una vez por compactación).
+     *
+     * @param event Evento con el marcador actualizado
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMarcadorActualizado(MarcadorActualizadoEvent event) {
+        EstadoMarcador estado = event.getEstado();
+        Map<String, Object> datos = new LinkedHashMap<>();
+        datos.put("id", estado.getPartidoId());
+        datos.put("puntosLocal", estado.getPuntosLocal());
+        datos.put("puntosVisitante", estado.getPuntosVisitante());
+        datos.put("parcialesLocal", estado.getParcialesLocal());
+        datos.put("parcialesVisitante", estado.getParcialesVisitante());
+        publicar("marcador", datos);
+    }
+
+    /**
+     * Serializa un evento una sola vez y lo deja en la cola de cada suscriptor.
+     *
+     * @param tipo Nombre del evento
+     * @param datos Datos del evento
+     */
+    private void publicar(String tipo, Map<String, Object> datos) {
+        // SI NO HAY NADIE ESCUCHANDO NO HAGO NADA
+        if (suscriptores.isEmpty()) {
+            return;
+        }
+
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(datos);
+        } catch (JsonProcessingException e) {
+            LOGGER.log(Level.WARNING, "No se ha podido serializar el evento " + tipo, e);
+            return;
+        }
+
+        // NUMERO Y ENCOLO A LA VEZ PARA QUE CADA SUSCRIPTOR RECIBA LOS EVENTOS EN ORDEN
+        synchronized (secuencia) {
+            encolarATodos(new Evento(tipo, String.valueOf(secuencia.incrementAndGet()), json));
+        }
+    }
+
+    /**
+     * Deja un evento en la cola de todos los suscriptores.
+     * Los latidos mantienen viva la conexión y detectan los clientes que se han ido sin cerrar.
+     *
+     * @param evento Evento
+     */
+    private void encolarATodos(Evento evento) {
+        for (Suscriptor suscriptor : suscriptores.values()) {
+            // SI SU COLA ESTÁ LLENA EL CLIENTE NO DA ABASTO: LO CIERRO PARA QUE RECONECTE Y RECARGUE
+            if (!suscriptor.cola.offer(evento)) {
+                descartados.incrementAndGet();
+                LOGGER.fine("Suscriptor de partidos cerrado por no leer al ritmo de los eventos");
+                descartar(suscriptor);
+                continue;
+            }
+            programar(suscriptor);
+        }
+    }
+
+    /**
+     * Encarga a un hilo de envío vaciar la cola de un suscriptor, si no lo tiene ya encargado.
+     *
+     * @param suscriptor Suscriptor
+     */
+    private void programar(Suscriptor suscriptor) {
+        if (!suscriptor.programado.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            envio.execute(() -> vaciar(suscriptor));
+        } catch (RejectedExecutionException e) {
+            // DEMASIADOS SUSCRIPTORES ESPERANDO HILO: CIERRO ESTE EN LUGAR DE ACUMULAR TRABAJO
+            descartados.incrementAndGet();
+            descartar(suscriptor);
+        }
+    }
+
+    /**
+     * Envía en orden los eventos pendientes de un suscriptor, descartándolo si ya no responde.
+     *
+     * @param suscriptor Suscriptor
+     */
+    private void vaciar(Suscriptor suscriptor) {
+        Evento evento;
+        while ((evento = suscriptor.cola.poll()) != null) {
+            try {
+                suscriptor.emisor.send(evento.construir());
+            } catch (IOException | IllegalStateException e) {
+                descartar(suscriptor);
+                return;
+            }
+        }
+        suscriptor.programado.set(false);
+
+        // SI HA LLEGADO ALGO DESPUÉS DEL ÚLTIMO poll, NADIE LO HABRÁ ENCARGADO: LO ENCARGO YO
+        if (!suscriptor.cola.isEmpty()) {
+            programar(suscriptor);
+        }
+    }
+
+    /**
+     * Quita un suscriptor cuya conexión ha fallado o que no lee al ritmo de los eventos.
+     *
+     * @param suscriptor Suscriptor
+     */
+    private void descartar(Suscriptor suscriptor) {
+        suscriptores.remove(suscriptor.emisor);
+        suscriptor.cola.clear();
+        try {
+            suscriptor.emisor.complete();
+        } catch (IllegalStateException e) {
+            // YA ESTABA CERRADO
+        }
+    }
+
+    /**
+     * Extrae los datos de un partido que necesita la tabla.
+     *
+     * @param partido Partido
+     * @return Datos del partido
+     */
+    private static Map<String, Object> datosPartido(Partido partido) {
+        Map<String, Object> datos = new LinkedHashMap<>();
+        datos.put("id", partido.getId());
+        datos.put("equipoLocal", partido.getEquipoLocal() != null ? partido.getEquipoLocal().getNombre() : null);
+        datos.put("equipoVisitante", partido.getEquipoVisitante() != null ? partido.getEquipoVisitante().getNombre() : null);
+        datos.put("fecha", partido.getFecha() != null ? partido.getFecha().format(FORMATO_FECHA) : null);
+        datos.put("puntosLocal", partido.getPuntosLocal());
+        datos.put("puntosVisitante", partido.getPuntosVisitante());
+        datos.put("finalizado", partido.isFinalizado());
+        return datos;
+    }
+
+    /**
+     * Suscriptor conectado con su cola de eventos pendientes.
+     */
+    private static final class Suscriptor {
+
+        /**
+         * Emisor de la conexión.
+         */
+        private final SseEmitter emisor;
+
+        /**
+         * Eventos pendientes de enviar, en orden.
+         */
+        private final BlockingQueue<Evento> cola;
+
+        /**
+         * Indica si ya hay un hilo encargado de vaciar la cola.
+         */
+        private final AtomicBoolean programado = new AtomicBoolean();
+
+        /**
+         * Constructor con el emisor y el tamaño de la cola.
+         *
+         * @param emisor Emisor de la conexión
+         * @param capacidad Eventos pendientes como máximo
+         */
+        Suscriptor(SseEmitter emisor, int capacidad) {
+            this.emisor = emisor;
+            this.cola = new ArrayBlockingQueue<>(capacidad);
+        }
+    }
+
+    /**
+     * Evento ya serializado, compartido por todas las colas.
+     */
+    private static final class Evento {
+
+        /**
+         * Nombre del evento (null en los latidos).
+         */
+        private final String tipo;
+
+        /**
+         * Identificador del evento.
+         */
+        private final String id;
+
+        /**
+         * Datos ya serializados.
+         */
+        private final String json;
+
+        /**
+         * Constructor con todos los campos.
+         *
+         * @param tipo Nombre del evento
+         * @param id Identificador del evento
+         * @param json Datos ya serializados
+         */
+        Evento(String tipo, String id, String json) {
+            this.tipo = tipo;
+            this.id = id;
+            this.json = json;
+        }
+
+        /**
+         * Construye el evento para un envío (el constructor de Spring no se puede reutilizar).
+         *
+         * @return Evento listo para enviar
+         */
+        SseEmitter.SseEventBuilder construir() {
+            if (tipo == null) {
+                return SseEmitter.event().comment("latido");
+            }
+            return SseEmitter.event().id(id).name(tipo).data(json);
+        }
+    }
+}
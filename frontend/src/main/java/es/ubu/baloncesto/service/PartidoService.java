@@ -2,6 +2,8 @@ package es.ubu.baloncesto.service;
 
 import es.ubu.baloncesto.model.Equipo;
 import es.ubu.baloncesto.model.Partido;
+import org.springframework.data.domain.Page;
+
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -61,6 +63,21 @@ public interface PartidoService {
      */
     List<Partido> findByFinalizadoFalse();
 
+    /**
+     * Busca una página de partidos ordenados por fecha, filtrando y paginando en el origen de datos.
+     * Los filtros nulos no se aplican.
+     *
+     * @param equipoId Solo los partidos de este equipo (local o visitante)
+     * @param inicio Solo los partidos desde esta fecha (incluida)
+     * @param fin Solo los partidos anteriores a esta fecha (excluida)
+     * @param finalizado Solo los partidos finalizados (true) o pendientes (false)
+     * @param pagina Número de página, empezando en 0
+     * @param tamano Partidos por página
+     * @return Página de partidos con el total que cumple los filtros
+     */
+    Page<Partido> buscarPagina(Long equipoId, LocalDateTime inicio, LocalDateTime fin, Boolean finalizado,
+                               int pagina, int tamano);
+
     /**
      * Guarda un partido.
      *
@@ -85,4 +102,22 @@ public interface PartidoService {
      * @return Partido actualizado
      */
     Partido registrarResultado(Long id, int puntosLocal, int puntosVisitante);
-}
\ No newline at end of file
+
+    /**
+     * Actualiza el marcador de un partido en juego sin finalizarlo.
+     *
+     * @param id ID del partido
+     * @param puntosLocal Puntos del equipo local hasta el momento
+     * @param puntosVisitante Puntos del equipo visitante hasta el momento
+     * @return Partido actualizado
+     */
+    Partido actualizarMarcador(Long id, int puntosLocal, int puntosVisitante);
+
+    /**
+     * Obtiene la versión de los datos de partidos.
+     * Se incrementa con cada escritura hecha a través de este servicio.
+     *
+     * @return Versión actual de los datos
+     */
+    long getVersion();
+}
@@ -1,13 +1,28 @@
 package es.ubu.baloncesto.service;
 
+import es.ubu.baloncesto.event.PartidoCreadoEvent;
+import es.ubu.baloncesto.event.PartidoEliminadoEvent;
+import es.ubu.baloncesto.event.ResultadoRegistradoEvent;
+import es.ubu.baloncesto.config.PlazoPeticion;
 import es.ubu.baloncesto.exception.DatabaseException;
+import es.ubu.baloncesto.exception.RegistroLimitado;
 import es.ubu.baloncesto.model.Equipo;
 import es.ubu.baloncesto.model.Partido;
 import es.ubu.baloncesto.repository.PartidoRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -19,6 +34,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
@@ -37,6 +54,12 @@ public class PartidoServiceImpl implements PartidoService {
      */
     private static final Logger LOGGER = Logger.getLogger(PartidoServiceImpl.class.getName());
 
+    /**
+     * Registro de los errores de la API Flask y del repositorio local: de cada operación
+     * escribe como mucho un mensaje cada 30 segundos y cuenta el resto.
+     */
+    private static final RegistroLimitado FALLOS = new RegistroLimitado(LOGGER, 30_000);
+
     /**
      * URL de la API de Flask.
      */
@@ -47,21 +70,55 @@ public class PartidoServiceImpl implements PartidoService {
      */
     private final RestTemplate restTemplate;
 
+    /**
+     * Servicio de llamadas con cobertura (para las lecturas a la API).
+     */
+    private final CoberturaLlamadasService coberturaLlamadasService;
+
+    /**
+     * Recuento de las veces que se recurre al repositorio local.
+     */
+    private final RespaldosLocales respaldos;
+
     /**
      * Repositorio de partidos (usado como respaldo cuando la API no está disponible).
      */
     private final PartidoRepository partidoRepository;
 
+    /**
+     * Publicador de eventos para avisar de los cambios en los partidos.
+     */
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Versión de los datos de partidos (cambia tras el commit de cada escritura).
+     */
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * Última lista de partidos recibida de la API, con su ETag.
+     */
+    private volatile RespuestaCondicional<Partido> ultimosPartidos;
+
     /**
      * Constructor que inicializa el repositorio y el cliente HTTP.
      *
      * @param partidoRepository Repositorio de partidos
+     * @param eventPublisher Publicador de eventos de la aplicación
+     * @param clienteFlask Cliente HTTP de la API Flask
+     * @param coberturaLlamadasService Servicio de llamadas con cobertura
+     * @param meterRegistry Registro de métricas
      */
     @Autowired
-    public PartidoServiceImpl(PartidoRepository partidoRepository) {
+    public PartidoServiceImpl(PartidoRepository partidoRepository, ApplicationEventPublisher eventPublisher,
+                              @Qualifier("clienteFlask") RestTemplate clienteFlask,
+                              CoberturaLlamadasService coberturaLlamadasService, MeterRegistry meterRegistry) {
         // GUARDO EL REPOSITORIO INYECTADO
         this.partidoRepository = partidoRepository;
-        this.restTemplate = new RestTemplate();
+        this.eventPublisher = eventPublisher;
+        this.restTemplate = clienteFlask;
+        this.coberturaLlamadasService = coberturaLlamadasService;
+        this.respaldos = new RespaldosLocales("partidos", meterRegistry);
     }
 
     /**
@@ -71,36 +128,60 @@ public class PartidoServiceImpl implements PartidoService {
     @Transactional(readOnly = true)
     public List<Partido> findAll() {
         try {
-            LOGGER.info("Obteniendo todos los partidos desde la API Flask");
+            LOGGER.fine("Obteniendo todos los partidos desde la API Flask");
+
+            // SI YA TENGO UNA RESPUESTA ANTERIOR, LA PIDO SOLO SI HA CAMBIADO
+            RespuestaCondicional<Partido> anterior = ultimosPartidos;
+            HttpHeaders cabeceras = new HttpHeaders();
+            if (anterior != null) {
+                cabeceras.setIfNoneMatch(anterior.getEtag());
+            }
 
             // Hacer petición HTTP a la API Flask
-            ResponseEntity<List<Map<String, Object>>> response = restTemplate.exchange(
-                    apiUrl + "/partidos",
-                    HttpMethod.GET,
-                    null,
-                    new ParameterizedTypeReference<List<Map<String, Object>>>() {}
-            );
+            // (CON COBERTURA: SI TARDA MÁS DE LO HABITUAL, SE LANZA OTRA IGUAL Y GANA LA PRIMERA)
+            ResponseEntity<List<Map<String, Object>>> response = coberturaLlamadasService.ejecutar("partidos.findAll",
+                    () -> restTemplate.exchange(
+                            apiUrl + "/partidos",
+                            HttpMethod.GET,
+                            new HttpEntity<>(cabeceras),
+                            new ParameterizedTypeReference<List<Map<String, Object>>>() {}
+                    ));
+
+            // SI NO HA CAMBIADO, REUTILIZO LA LISTA SIN VOLVER A CONVERTIRLA
+            if (response.getStatusCode() == HttpStatus.NOT_MODIFIED && anterior != null) {
+                LOGGER.fine("Los partidos no han cambiado en la API Flask");
+                return anterior.getElementos();
+            }
 
             // Convertir respuesta a objetos Partido
             List<Partido> partidos = new ArrayList<>();
             if (response.getBody() != null) {
                 for (Map<String, Object> partidoMap : response.getBody()) {
-                    Partido partido = mapToPartido(partidoMap);
+                    Partido partido = MapeoFlask.mapToPartido(partidoMap);
                     partidos.add(partido);
                 }
             }
 
-            LOGGER.info("Se obtuvieron " + partidos.size() + " partidos desde la API Flask");
+            // GUARDO LA RESPUESTA PARA LA PRÓXIMA PETICIÓN CONDICIONAL
+            String etag = response.getHeaders().getETag();
+            ultimosPartidos = (etag != null) ? new RespuestaCondicional<>(etag, partidos) : null;
+
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.fine("Se obtuvieron " + partidos.size() + " partidos desde la API Flask");
+            }
             return partidos;
         } catch (Exception e) {
             // Si hay un error con la API, intentar con el repositorio local
-            LOGGER.warning("Error al obtener partidos desde la API Flask: " + e.getMessage());
-            LOGGER.info("Intentando obtener partidos desde el repositorio local");
+            FALLOS.registrar(Level.WARNING, "findAll", "Error al obtener partidos desde la API Flask", e);
+            respaldos.registrar("findAll", e);
+            LOGGER.fine("Intentando obtener partidos desde el repositorio local");
 
             try {
+                // EL RESPALDO TAMBIÉN CUENTA PARA EL PLAZO DE LA PETICIÓN
+                PlazoPeticion.comprobar("el respaldo en el repositorio local");
                 return partidoRepository.findAll();
             } catch (Exception ex) {
-                LOGGER.severe("Error al obtener partidos desde el repositorio local: " + ex.getMessage());
+                FALLOS.registrar(Level.SEVERE, "findAll.local", "Error al obtener partidos desde el repositorio local", ex);
                 throw new DatabaseException("Error al obtener todos los partidos", ex);
             }
         }
@@ -113,33 +194,38 @@ public class PartidoServiceImpl implements PartidoService {
     @Transactional(readOnly = true)
     public Optional<Partido> findById(Long id) {
         try {
-            LOGGER.info("Buscando partido con ID: " + id + " en la API Flask");
+            LOGGER.log(Level.FINE, "Buscando partido con ID: {0,number,#} en la API Flask", id);
 
             // Hacer petición HTTP a la API Flask
-            String url = apiUrl + "/partidos/" + id;
-            ResponseEntity<Map> response = restTemplate.getForEntity(
-                    url,
-                    Map.class
-            );
+            // (URL CON PLANTILLA PARA QUE LAS MÉTRICAS AGRUPEN TODOS LOS IDS)
+            ResponseEntity<Map> response = coberturaLlamadasService.ejecutar("partidos.findById",
+                    () -> restTemplate.getForEntity(
+                            apiUrl + "/partidos/{id}",
+                            Map.class,
+                            id
+                    ));
 
             // Convertir respuesta a objeto Partido
             if (response.getBody() != null) {
                 @SuppressWarnings("unchecked")
                 Map<String, Object> partidoMap = response.getBody();
-                Partido partido = mapToPartido(partidoMap);
+                Partido partido = MapeoFlask.mapToPartido(partidoMap);
                 return Optional.of(partido);
             } else {
                 return Optional.empty();
             }
         } catch (Exception e) {
             // Si hay un error con la API, intentar con el repositorio local
-            LOGGER.warning("Error al buscar partido con ID " + id + " en la API Flask: " + e.getMessage());
-            LOGGER.info("Intentando buscar partido en el repositorio local");
+            FALLOS.registrar(Level.WARNING, "findById", "Error al buscar partido por ID en la API Flask", e);
+            respaldos.registrar("findById", e);
+            LOGGER.fine("Intentando buscar partido en el repositorio local");
 
             try {
+                // EL RESPALDO TAMBIÉN CUENTA PARA EL PLAZO DE LA PETICIÓN
+                PlazoPeticion.comprobar("el respaldo en el repositorio local");
                 return partidoRepository.findById(id);
             } catch (Exception ex) {
-                LOGGER.severe("Error al buscar partido con ID " + id + " en el repositorio local: " + ex.getMessage());
+                FALLOS.registrar(Level.SEVERE, "findById.local", "Error al buscar partido por ID en el repositorio local", ex);
                 throw new DatabaseException("Error al buscar partido con ID " + id, ex);
             }
         }
@@ -151,9 +237,27 @@ public class PartidoServiceImpl implements PartidoService {
     @Override
     @Transactional
     public Partido save(Partido partido) {
+        Partido guardado = guardarEnOrigen(partido);
+        TrasConfirmar.ejecutar(version::incrementAndGet);
+
+        // AVISO DEL NUEVO PARTIDO FUERA DEL TRY PARA QUE UN FALLO AQUÍ NO PROVOQUE EL RESPALDO LOCAL
+        // (LOS OYENTES LO RECIBEN TRAS EL COMMIT, CUANDO LA VERSIÓN YA HA SUBIDO)
+        eventPublisher.publishEvent(new PartidoCreadoEvent(guardado));
+        return guardado;
+    }
+
+    /**
+     * Guarda el partido en la API Flask o, si falla, en el repositorio local.
+     *
+     * @param partido Partido a guardar
+     * @return Partido guardado
+     */
+    private Partido guardarEnOrigen(Partido partido) {
         try {
-            LOGGER.info("Guardando partido entre " + partido.getEquipoLocal().getNombre() +
-                    " y " + partido.getEquipoVisitante().getNombre() + " en la API Flask");
+            if (LOGGER.isLoggable(Level.INFO)) {
+                LOGGER.info("Guardando partido entre " + partido.getEquipoLocal().getNombre() +
+                        " y " + partido.getEquipoVisitante().getNombre() + " en la API Flask");
+            }
 
             // Preparar los datos para enviar a la API
             Map<String, Object> partidoData = new HashMap<>();
@@ -173,19 +277,22 @@ public class PartidoServiceImpl implements PartidoService {
             if (response.getBody() != null) {
                 @SuppressWarnings("unchecked")
                 Map<String, Object> partidoMap = response.getBody();
-                return mapToPartido(partidoMap);
+                return MapeoFlask.mapToPartido(partidoMap);
             } else {
                 throw new DatabaseException("No se recibió respuesta al guardar el partido");
             }
         } catch (Exception e) {
             // Si hay un error con la API, intentar con el repositorio local
-            LOGGER.warning("Error al guardar partido en la API Flask: " + e.getMessage());
+            FALLOS.registrar(Level.WARNING, "save", "Error al guardar partido en la API Flask", e);
+            respaldos.registrar("save", e);
             LOGGER.info("Intentando guardar partido en el repositorio local");
 
             try {
+                // EL RESPALDO TAMBIÉN CUENTA PARA EL PLAZO DE LA PETICIÓN
+                PlazoPeticion.comprobar("el respaldo en el repositorio local");
                 return partidoRepository.save(partido);
             } catch (Exception ex) {
-                LOGGER.severe("Error al guardar partido en el repositorio local: " + ex.getMessage());
+                FALLOS.registrar(Level.SEVERE, "save.local", "Error al guardar partido en el repositorio local", ex);
                 throw new DatabaseException("Error al guardar partido", ex);
             }
         }
@@ -197,8 +304,26 @@ public class PartidoServiceImpl implements PartidoService {
     @Override
     @Transactional
     public Partido registrarResultado(Long id, int puntosLocal, int puntosVisitante) {
+        Partido partido = registrarResultadoEnOrigen(id, puntosLocal, puntosVisitante);
+        TrasConfirmar.ejecutar(version::incrementAndGet);
+
+        // AVISO DEL NUEVO RESULTADO FUERA DEL TRY PARA QUE UN FALLO AQUÍ NO PROVOQUE EL RESPALDO LOCAL
+        // (LOS OYENTES LO RECIBEN TRAS EL COMMIT, CUANDO LA VERSIÓN YA HA SUBIDO)
+        eventPublisher.publishEvent(new ResultadoRegistradoEvent(partido));
+        return partido;
+    }
+
+    /**
+     * Registra el resultado en la API Flask o, si falla, en el repositorio local.
+     *
+     * @param id ID del partido
+     * @param puntosLocal Puntos anotados por el equipo local
+     * @param puntosVisitante Puntos anotados por el equipo visitante
+     * @return Partido actualizado
+     */
+    private Partido registrarResultadoEnOrigen(Long id, int puntosLocal, int puntosVisitante) {
         try {
-            LOGGER.info("Registrando resultado para partido con ID: " + id + " en la API Flask");
+            LOGGER.log(Level.INFO, "Registrando resultado para partido con ID: {0,number,#} en la API Flask", id);
 
             // Preparar los datos para enviar a la API
             Map<String, Object> resultadoData = new HashMap<>();
@@ -208,31 +333,35 @@ public class PartidoServiceImpl implements PartidoService {
             // Hacer petición HTTP a la API Flask
             HttpEntity<Map<String, Object>> requestEntity = new HttpEntity<>(resultadoData);
             ResponseEntity<Map> response = restTemplate.postForEntity(
-                    apiUrl + "/partidos/" + id + "/resultado",
+                    apiUrl + "/partidos/{id}/resultado",
                     requestEntity,
-                    Map.class
+                    Map.class,
+                    id
             );
 
             // Convertir respuesta a objeto Partido
             if (response.getBody() != null) {
                 @SuppressWarnings("unchecked")
                 Map<String, Object> partidoMap = response.getBody();
-                return mapToPartido(partidoMap);
+                return MapeoFlask.mapToPartido(partidoMap);
             } else {
                 throw new DatabaseException("No se recibió respuesta al registrar el resultado");
             }
         } catch (Exception e) {
             // Si hay un error con la API, intentar con el repositorio local
-            LOGGER.warning("Error al registrar resultado en la API Flask: " + e.getMessage());
+            FALLOS.registrar(Level.WARNING, "registrarResultado", "Error al registrar resultado en la API Flask", e);
+            respaldos.registrar("registrarResultado", e);
             LOGGER.info("Intentando registrar resultado en el repositorio local");
 
             try {
+                // EL RESPALDO TAMBIÉN CUENTA PARA EL PLAZO DE LA PETICIÓN
+                PlazoPeticion.comprobar("el respaldo en el repositorio local");
                 // BUSCO EL PARTIDO
                 Optional<Partido> partidoOpt = partidoRepository.findById(id);
 
                 if (partidoOpt.isEmpty()) {
                     // SI EL PARTIDO NO EXISTE, LANZO UNA EXCEPCIÓN
-                    LOGGER.warning("No se encontró partido con ID: " + id);
+                    LOGGER.log(Level.WARNING, "No se encontró partido con ID: {0,number,#}", id);
                     throw new DatabaseException("No se encontró partido con ID: " + id);
                 }
 
@@ -240,7 +369,7 @@ public class PartidoServiceImpl implements PartidoService {
 
                 // VERIFICO QUE EL PARTIDO NO ESTÉ YA FINALIZADO
                 if (partido.isFinalizado()) {
-                    LOGGER.warning("El partido con ID " + id + " ya está finalizado");
+                    LOGGER.log(Level.WARNING, "El partido con ID {0,number,#} ya está finalizado", id);
                     throw new DatabaseException("El partido con ID " + id + " ya está finalizado");
                 }
 
@@ -250,92 +379,78 @@ public class PartidoServiceImpl implements PartidoService {
                 // GUARDO LOS CAMBIOS
                 return partidoRepository.save(partido);
             } catch (Exception ex) {
-                LOGGER.severe("Error al registrar resultado en el repositorio local: " + ex.getMessage());
+                FALLOS.registrar(Level.SEVERE, "registrarResultado.local", "Error al registrar resultado en el repositorio local", ex);
                 throw new DatabaseException("Error al registrar resultado para partido con ID " + id, ex);
             }
         }
     }
 
     /**
-     * Convierte un mapa de datos a un objeto Partido.
-     *
-     * @param partidoMap Mapa con datos del partido
-     * @return Objeto Partido
+     * {@inheritDoc}
      */
-    private Partido mapToPartido(Map<String, Object> partidoMap) {
-        Partido partido = new Partido();
-
-        // Extraer el ID como Long
-        if (partidoMap.containsKey("id")) {
-            Object idObj = partidoMap.get("id");
-            if (idObj instanceof Integer) {
-                partido.setId(((Integer) idObj).longValue());
-            } else if (idObj instanceof Long) {
-                partido.setId((Long) idObj);
-            } else if (idObj instanceof String) {
-                partido.setId(Long.parseLong((String) idObj));
-            }
-        }
+    @Override
+    @Transactional
+    public Partido actualizarMarcador(Long id, int puntosLocal, int puntosVisitante) {
+        Partido partido = actualizarMarcadorEnOrigen(id, puntosLocal, puntosVisitante);
+        TrasConfirmar.ejecutar(version::incrementAndGet);
+        return partido;
+    }
 
-        // Extraer la fecha
-        if (partidoMap.containsKey("fecha")) {
-            String fechaStr = (String) partidoMap.get("fecha");
-            partido.setFecha(LocalDateTime.parse(fechaStr));
-        }
+    /**
+     * Actualiza el marcador en la API Flask o, si falla, en el repositorio local.
+     *
+     * @param id ID del partido
+     * @param puntosLocal Puntos del equipo local hasta el momento
+     * @param puntosVisitante Puntos del equipo visitante hasta el momento
+     * @return Partido actualizado
+     */
+    private Partido actualizarMarcadorEnOrigen(Long id, int puntosLocal, int puntosVisitante) {
+        try {
+            LOGGER.log(Level.FINE, "Actualizando marcador del partido con ID: {0,number,#} en la API Flask", id);
 
-        // Extraer equipos
-        if (partidoMap.containsKey("equipo_local")) {
-            Equipo equipoLocal = new Equipo();
-            if (partidoMap.containsKey("equipo_local_id")) {
-                Object idObj = partidoMap.get("equipo_local_id");
-                if (idObj instanceof Integer) {
-                    equipoLocal.setId(((Integer) idObj).longValue());
-                } else if (idObj instanceof Long) {
-                    equipoLocal.setId((Long) idObj);
-                }
-            }
-            equipoLocal.setNombre((String) partidoMap.get("equipo_local"));
-            partido.setEquipoLocal(equipoLocal);
-        }
+            // Preparar los datos para enviar a la API
+            Map<String, Object> marcadorData = new HashMap<>();
+            marcadorData.put("puntos_local", puntosLocal);
+            marcadorData.put("puntos_visitante", puntosVisitante);
 
-        if (partidoMap.containsKey("equipo_visitante")) {
-            Equipo equipoVisitante = new Equipo();
-            if (partidoMap.containsKey("equipo_visitante_id")) {
-                Object idObj = partidoMap.get("equipo_visitante_id");
-                if (idObj instanceof Integer) {
-                    equipoVisitante.setId(((Integer) idObj).longValue());
-                } else if (idObj instanceof Long) {
-                    equipoVisitante.setId((Long) idObj);
-                }
-            }
-            equipoVisitante.setNombre((String) partidoMap.get("equipo_visitante"));
-            partido.setEquipoVisitante(equipoVisitante);
-        }
+            // Hacer petición HTTP a la API Flask
+            HttpEntity<Map<String, Object>> requestEntity = new HttpEntity<>(marcadorData);
+            ResponseEntity<Map> response = restTemplate.exchange(
+                    apiUrl + "/partidos/{id}/marcador",
+                    HttpMethod.PUT,
+                    requestEntity,
+                    Map.class,
+                    id
+            );
 
-        // Extraer puntuación
-        if (partidoMap.containsKey("puntos_local")) {
-            Object puntosObj = partidoMap.get("puntos_local");
-            if (puntosObj instanceof Integer) {
-                partido.setPuntosLocal((Integer) puntosObj);
+            // Convertir respuesta a objeto Partido
+            if (response.getBody() != null) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> partidoMap = response.getBody();
+                return MapeoFlask.mapToPartido(partidoMap);
+            } else {
+                throw new DatabaseException("No se recibió respuesta al actualizar el marcador");
             }
-        }
+        } catch (Exception e) {
+            // Si hay un error con la API, intentar con el repositorio local
+            FALLOS.registrar(Level.WARNING, "actualizarMarcador", "Error al actualizar marcador en la API Flask", e);
+            respaldos.registrar("actualizarMarcador", e);
+            LOGGER.fine("Intentando actualizar marcador en el repositorio local");
 
-        if (partidoMap.containsKey("puntos_visitante")) {
-            Object puntosObj = partidoMap.get("puntos_visitante");
-            if (puntosObj instanceof Integer) {
-                partido.setPuntosVisitante((Integer) puntosObj);
-            }
-        }
+            try {
+                // EL RESPALDO TAMBIÉN CUENTA PARA EL PLAZO DE LA PETICIÓN
+                PlazoPeticion.comprobar("el respaldo en el repositorio local");
+                Partido partido = partidoRepository.findById(id)
+                        .orElseThrow(() -> new DatabaseException("No se encontró partido con ID: " + id));
 
-        // Extraer finalizado
-        if (partidoMap.containsKey("finalizado")) {
-            Object finalizadoObj = partidoMap.get("finalizado");
-            if (finalizadoObj instanceof Boolean) {
-                partido.setFinalizado((Boolean) finalizadoObj);
+                // ACTUALIZO EL MARCADOR Y GUARDO LOS CAMBIOS
+                partido.actualizarMarcador(puntosLocal, puntosVisitante);
+                return partidoRepository.save(partido);
+            } catch (Exception ex) {
+                FALLOS.registrar(Level.SEVERE, "actualizarMarcador.local", "Error al actualizar marcador en el repositorio local", ex);
+                throw new DatabaseException("Error al actualizar marcador para partido con ID " + id, ex);
             }
         }
-
-        return partido;
     }
 
     /**
@@ -346,11 +461,13 @@ public class PartidoServiceImpl implements PartidoService {
     public List<Partido> findByEquipo(Equipo equipo) {
         // BUSCO PARTIDOS POR EQUIPO (desde el repositorio local por simplicidad)
         try {
-            LOGGER.info("Buscando partidos del equipo: " + equipo.getNombre());
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.fine("Buscando partidos del equipo: " + equipo.getNombre());
+            }
             return partidoRepository.findByEquipoLocalOrEquipoVisitante(equipo, equipo);
         } catch (Exception e) {
             // SI HAY UN ERROR, LANZO UNA EXCEPCIÓN PERSONALIZADA
-            LOGGER.severe("Error al buscar partidos del equipo '" + equipo.getNombre() + "': " + e.getMessage());
+            FALLOS.registrar(Level.SEVERE, "findByEquipo", "Error al buscar partidos de un equipo", e);
             throw new DatabaseException("Error al buscar partidos del equipo '" + equipo.getNombre() + "'", e);
         }
     }
@@ -363,7 +480,7 @@ public class PartidoServiceImpl implements PartidoService {
     public List<Partido> findByFecha(LocalDateTime fecha) {
         // BUSCO PARTIDOS POR FECHA (desde el repositorio local por simplicidad)
         try {
-            LOGGER.info("Buscando partidos con fecha: " + fecha);
+            LOGGER.log(Level.FINE, "Buscando partidos con fecha: {0}", fecha);
 
             // OBTENGO EL INICIO Y FIN DEL DÍA
             LocalDateTime inicioDia = fecha.toLocalDate().atStartOfDay();
@@ -373,7 +490,7 @@ public class PartidoServiceImpl implements PartidoService {
             return partidoRepository.findByFechaBetween(inicioDia, finDia);
         } catch (Exception e) {
             // SI HAY UN ERROR, LANZO UNA EXCEPCIÓN PERSONALIZADA
-            LOGGER.severe("Error al buscar partidos con fecha " + fecha + ": " + e.getMessage());
+            FALLOS.registrar(Level.SEVERE, "findByFecha", "Error al buscar partidos por fecha", e);
             throw new DatabaseException("Error al buscar partidos con fecha " + fecha, e);
         }
     }
@@ -386,11 +503,11 @@ public class PartidoServiceImpl implements PartidoService {
     public List<Partido> findByFinalizadoTrue() {
         // BUSCO PARTIDOS FINALIZADOS (desde el repositorio local por simplicidad)
         try {
-            LOGGER.info("Buscando partidos finalizados");
+            LOGGER.fine("Buscando partidos finalizados");
             return partidoRepository.findByFinalizadoTrue();
         } catch (Exception e) {
             // SI HAY UN ERROR, LANZO UNA EXCEPCIÓN PERSONALIZADA
-            LOGGER.severe("Error al buscar partidos finalizados: " + e.getMessage());
+            FALLOS.registrar(Level.SEVERE, "findFinalizados", "Error al buscar partidos finalizados", e);
             throw new DatabaseException("Error al buscar partidos finalizados", e);
         }
     }
@@ -403,15 +520,74 @@ public class PartidoServiceImpl implements PartidoService {
     public List<Partido> findByFinalizadoFalse() {
         // BUSCO PARTIDOS PENDIENTES (desde el repositorio local por simplicidad)
         try {
-            LOGGER.info("Buscando partidos pendientes");
+            LOGGER.fine("Buscando partidos pendientes");
             return partidoRepository.findByFinalizadoFalse();
         } catch (Exception e) {
             // SI HAY UN ERROR, LANZO UNA EXCEPCIÓN PERSONALIZADA
-            LOGGER.severe("Error al buscar partidos pendientes: " + e.getMessage());
+            FALLOS.registrar(Level.SEVERE, "findPendientes", "Error al buscar partidos pendientes", e);
             throw new DatabaseException("Error al buscar partidos pendientes", e);
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Partido> buscarPagina(Long equipoId, LocalDateTime inicio, LocalDateTime fin, Boolean finalizado,
+                                      int pagina, int tamano) {
+        Pageable pageable = PageRequest.of(pagina, tamano, Sort.by("fecha", "id"));
+        try {
+            LOGGER.fine("Obteniendo una página de partidos desde la API Flask");
+
+            // FILTRO Y PAGINO EN FLASK, ASÍ SOLO VIAJAN LOS PARTIDOS DE LA PÁGINA
+            // (LOS FILTROS VACÍOS NO SE APLICAN; URL CON PLANTILLA PARA QUE LAS MÉTRICAS NO SE DISPAREN)
+            Map<String, Object> parametros = new HashMap<>();
+            parametros.put("equipoId", (equipoId != null) ? equipoId : "");
+            parametros.put("desde", (inicio != null) ? inicio : "");
+            parametros.put("hasta", (fin != null) ? fin : "");
+            parametros.put("finalizado", (finalizado != null) ? finalizado : "");
+            parametros.put("pagina", pagina);
+            parametros.put("tamano", tamano);
+            ResponseEntity<Map<String, Object>> response = coberturaLlamadasService.ejecutar("partidos.buscarPagina",
+                    () -> restTemplate.exchange(
+                            apiUrl + "/partidos/pagina?equipo_id={equipoId}&desde={desde}&hasta={hasta}"
+                                    + "&finalizado={finalizado}&pagina={pagina}&tamano={tamano}",
+                            HttpMethod.GET,
+                            null,
+                            new ParameterizedTypeReference<Map<String, Object>>() {},
+                            parametros
+                    ));
+
+            Map<String, Object> cuerpo = response.getBody();
+            if (cuerpo == null) {
+                throw new DatabaseException("No se recibió respuesta al obtener la página de partidos");
+            }
+            @SuppressWarnings("unchecked")
+            List<Map<String, Object>> elementos = (List<Map<String, Object>>) cuerpo.get("partidos");
+            List<Partido> partidos = new ArrayList<>(elementos.size());
+            for (Map<String, Object> partidoMap : elementos) {
+                partidos.add(MapeoFlask.mapToPartido(partidoMap));
+            }
+            return new PageImpl<>(partidos, pageable, ((Number) cuerpo.get("total")).longValue());
+        } catch (Exception e) {
+            // Si hay un error con la API, intentar con el repositorio local
+            FALLOS.registrar(Level.WARNING, "buscarPagina", "Error al obtener la página de partidos desde la API Flask", e);
+            respaldos.registrar("buscarPagina", e);
+            LOGGER.fine("Intentando obtener la página de partidos desde el repositorio local");
+
+            try {
+                // EL RESPALDO TAMBIÉN CUENTA PARA EL PLAZO DE LA PETICIÓN
+                PlazoPeticion.comprobar("el respaldo en el repositorio local");
+                return partidoRepository.buscar(equipoId, inicio, fin, finalizado, pageable);
+            } catch (Exception ex) {
+                FALLOS.registrar(Level.SEVERE, "buscarPagina.local",
+                        "Error al obtener la página de partidos desde el repositorio local", ex);
+                throw new DatabaseException("Error al obtener la página de partidos", ex);
+            }
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -419,21 +595,36 @@ public class PartidoServiceImpl implements PartidoService {
     @Transactional
     public void deleteById(Long id) {
         try {
-            LOGGER.info("Eliminando partido con ID: " + id + " en la API Flask");
+            LOGGER.log(Level.INFO, "Eliminando partido con ID: {0,number,#} en la API Flask", id);
 
             // Hacer petición HTTP a la API Flask
-            restTemplate.delete(apiUrl + "/partidos/" + id);
+            restTemplate.delete(apiUrl + "/partidos/{id}", id);
         } catch (Exception e) {
             // Si hay un error con la API, intentar con el repositorio local
-            LOGGER.warning("Error al eliminar partido en la API Flask: " + e.getMessage());
+            FALLOS.registrar(Level.WARNING, "deleteById", "Error al eliminar partido en la API Flask", e);
+            respaldos.registrar("deleteById", e);
             LOGGER.info("Intentando eliminar partido en el repositorio local");
 
             try {
+                // EL RESPALDO TAMBIÉN CUENTA PARA EL PLAZO DE LA PETICIÓN
+                PlazoPeticion.comprobar("el respaldo en el repositorio local");
                 partidoRepository.deleteById(id);
             } catch (Exception ex) {
-                LOGGER.severe("Error al eliminar partido en el repositorio local: " + ex.getMessage());
+                FALLOS.registrar(Level.SEVERE, "deleteById.local", "Error al eliminar partido en el repositorio local", ex);
                 throw new DatabaseException("Error al eliminar partido con ID " + id, ex);
             }
         }
+
+        // AVISO DE LA ELIMINACIÓN (SOLO LLEGO AQUÍ SI SE HA BORRADO EN ALGÚN ORIGEN)
+        TrasConfirmar.ejecutar(version::incrementAndGet);
+        eventPublisher.publishEvent(new PartidoEliminadoEvent(id));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getVersion() {
+        return version.get();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,49 @@
+package es.ubu.baloncesto.service;
+
+import es.ubu.baloncesto.model.LotePokemon;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Interfaz que define las consultas de Pokémon a través de la API Flask.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+public interface PokemonService {
+
+    /**
+     * Busca un Pokémon por su nombre o ID.
+     * Las respuestas se guardan un tiempo (también las de los Pokémon que no existen) y,
+     * si varias peticiones piden a la vez el mismo Pokémon, solo una llega a Flask.
+     *
+     * @param pokemon Nombre o ID del Pokémon
+     * @return Datos del Pokémon, o vacío si no existe
+     * @throws es.ubu.baloncesto.exception.ApiException Si no se puede consultar
+     */
+    Optional<Map<String, Object>> buscar(String pokemon);
+
+    /**
+     * Busca varios Pokémon a la vez, con un número limitado de consultas en paralelo.
+     * Un Pokémon que falla no impide devolver los demás.
+     *
+     * @param pokemon Nombres o IDs de los Pokémon
+     * @return Pokémon encontrados, no encontrados y con error
+     */
+    LotePokemon buscarVarios(List<String> pokemon);
+
+    /**
+     * Descarta todas las respuestas guardadas.
+     */
+    void vaciar();
+
+    /**
+     * Obtiene las estadísticas de uso de la caché.
+     *
+     * @return Aciertos, fallos, consultas compartidas y entradas guardadas
+     */
+    Map<String, Object> getEstadisticas();
+}
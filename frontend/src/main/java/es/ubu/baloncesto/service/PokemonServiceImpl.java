@@ -0,0 +1,530 @@
+package es.ubu.baloncesto.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import es.ubu.baloncesto.config.PlazoPeticion;
+import es.ubu.baloncesto.exception.ApiException;
+import es.ubu.baloncesto.model.LotePokemon;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Implementación de las consultas de Pokémon.
+ * Cada consulta pasa por Flask y de ahí a pokeapi.co, así que las respuestas se guardan
+ * en memoria: las de Pokémon existentes durante más tiempo (sus datos no cambian) y las
+ * de Pokémon que no existen durante menos, para no repetir consultas que siempre fallan.
+ * Si varias peticiones piden a la vez un Pokémon que no está guardado, solo la primera
+ * llama a Flask y las demás esperan su respuesta.
+ * Con {@code pokemon.fixture} los datos salen de un fichero JSON en lugar de la red,
+ * para pruebas y benchmarks sin conexión.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+@Service
+@SuppressWarnings({"unchecked", "rawtypes"})
+public class PokemonServiceImpl implements PokemonService {
+
+    /**
+     * Logger para registrar operaciones.
+     */
+    private static final Logger LOGGER = Logger.getLogger(PokemonServiceImpl.class.getName());
+
+    /**
+     * URL de la API local (con plantilla para que las métricas agrupen todos los Pokémon).
+     */
+    private static final String URL = "http://localhost:5000/api/pokemon/{pokemonId}";
+
+    /**
+     * URL que se indica en los errores.
+     */
+    private static final String ORIGEN = "http://localhost:5000/api/pokemon";
+
+    /**
+     * Cliente HTTP con los tiempos de espera de las consultas de Pokémon.
+     */
+    private final RestTemplate restTemplate;
+
+    /**
+     * Mapper para leer el fichero de datos sin red.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Servicio de llamadas en paralelo (para las consultas de varios Pokémon).
+     */
+    private final LlamadasParalelasService llamadasParalelasService;
+
+    /**
+     * Segundos que se guarda un Pokémon encontrado. 0 para no guardarlos.
+     */
+    @Value("${pokemon.cache.ttl-segundos:86400}")
+    private long ttlSegundos;
+
+    /**
+     * Segundos que se recuerda que un Pokémon no existe. 0 para no recordarlo.
+     */
+    @Value("${pokemon.cache.ttl-no-encontrados-segundos:300}")
+    private long ttlNoEncontradosSegundos;
+
+    /**
+     * Entradas que se guardan como mucho (cada Pokémon ocupa dos: por ID y por nombre).
+     */
+    @Value("${pokemon.cache.maximo:4000}")
+    private int maximo;
+
+    /**
+     * Pokémon que se pueden pedir como mucho en una consulta de varios.
+     */
+    @Value("${pokemon.lote.maximo:50}")
+    private int loteMaximo;
+
+    /**
+     * Consultas a Flask en paralelo como mucho en una consulta de varios.
+     */
+    @Value("${pokemon.lote.paralelismo:4}")
+    private int paralelismo;
+
+    /**
+     * Fichero JSON con los Pokémon que se usan en lugar de la red (vacío para consultar Flask).
+     */
+    @Value("${pokemon.fixture:}")
+    private String fixture;
+
+    /**
+     * Respuestas guardadas por nombre o ID en minúsculas.
+     */
+    private final ConcurrentHashMap<String, Entrada> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Consultas a Flask en curso, para que las peticiones simultáneas del mismo Pokémon la compartan.
+     */
+    private final ConcurrentHashMap<String, CompletableFuture<Optional<Map<String, Object>>>> enCurso = new ConcurrentHashMap<>();
+
+    /**
+     * Pokémon del fichero por nombre e ID, o null si se consulta Flask.
+     */
+    private volatile Map<String, Map<String, Object>> datosFixture;
+
+    /**
+     * Consultas respondidas con un Pokémon guardado.
+     */
+    private final AtomicLong aciertos = new AtomicLong();
+
+    /**
+     * Consultas respondidas con un "no existe" guardado.
+     */
+    private final AtomicLong aciertosNoEncontrados = new AtomicLong();
+
+    /**
+     * Consultas que han llegado a Flask (o al fichero).
+     */
+    private final AtomicLong fallos = new AtomicLong();
+
+    /**
+     * Consultas que han esperado a la de otra petición en lugar de llamar a Flask.
+     */
+    private final AtomicLong compartidas = new AtomicLong();
+
+    /**
+     * Consultas a Flask que han fallado.
+     */
+    private final AtomicLong errores = new AtomicLong();
+
+    /**
+     * Constructor que inicializa los servicios mediante inyección de dependencias.
+     *
+     * @param clientePokemon Cliente HTTP con los tiempos de espera de las consultas de Pokémon
+     * @param objectMapper Mapper de Jackson
+     * @param llamadasParalelasService Servicio de llamadas en paralelo
+     * @param meterRegistry Registro de métricas
+     */
+    @Autowired
+    public PokemonServiceImpl(@Qualifier("clientePokemon") RestTemplate clientePokemon, ObjectMapper objectMapper,
+                              LlamadasParalelasService llamadasParalelasService, MeterRegistry meterRegistry) {
+        // GUARDO LOS SERVICIOS INYECTADOS
+        this.restTemplate = clientePokemon;
+        this.objectMapper = objectMapper;
+        this.llamadasParalelasService = llamadasParalelasService;
+
+        // PUBLICO LOS RESULTADOS DE LA CACHÉ COMO UNA SOLA MÉTRICA CON EL RESULTADO COMO ETIQUETA
+        contador(meterRegistry, "acierto", aciertos);
+        contador(meterRegistry, "acierto-no-encontrado", aciertosNoEncontrados);
+        contador(meterRegistry, "fallo", fallos);
+        contador(meterRegistry, "compartida", compartidas);
+        Gauge.builder("baloncesto.pokemon.cache.entradas", cache, Map::size)
+                .description("Entradas guardadas en la caché de Pokémon").register(meterRegistry);
+    }
+
+    /**
+     * Carga el fichero de Pokémon si está configurado el modo sin red.
+     *
+     * @throws IOException Si no se puede leer el fichero
+     */
+    @PostConstruct
+    public void cargarFixture() throws IOException {
+        if (fixture == null || fixture.isBlank()) {
+            return;
+        }
+
+        Resource recurso = new DefaultResourceLoader().getResource(fixture);
+        List<Map<String, Object>> lista;
+        try (InputStream entrada = recurso.getInputStream()) {
+            lista = objectMapper.readValue(entrada, new TypeReference<List<Map<String, Object>>>() { });
+        }
+
+        // CADA POKÉMON SE PUEDE PEDIR POR ID O POR NOMBRE
+        Map<String, Map<String, Object>> datos = new HashMap<>();
+        for (Map<String, Object> pokemon : lista) {
+            for (String clave : claves(pokemon)) {
+                datos.put(clave, pokemon);
+            }
+        }
+        datosFixture = datos;
+        LOGGER.info("Modo sin red: " + lista.size() + " Pokémon cargados de " + fixture);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<Map<String, Object>> buscar(String pokemon) {
+        String clave = normalizar(pokemon);
+
+        // CAMINO RÁPIDO: YA LO TENGO GUARDADO
+        Optional<Map<String, Object>> guardado = guardado(clave);
+        if (guardado != null) {
+            return guardado;
+        }
+
+        // SI OTRA PETICIÓN YA LO ESTÁ CONSULTANDO, ESPERO A SU RESPUESTA
+        CompletableFuture<Optional<Map<String, Object>>> propia = new CompletableFuture<>();
+        CompletableFuture<Optional<Map<String, Object>>> otra = enCurso.putIfAbsent(clave, propia);
+        if (otra != null) {
+            compartidas.incrementAndGet();
+            return esperar(otra, clave);
+        }
+
+        try {
+            // PUEDE HABERSE GUARDADO ENTRE LA PRIMERA COMPROBACIÓN Y AHORA
+            guardado = guardado(clave);
+            if (guardado == null) {
+                fallos.incrementAndGet();
+                guardado = consultar(clave);
+                guardar(clave, guardado);
+            }
+            propia.complete(guardado);
+            return guardado;
+        } catch (RuntimeException e) {
+            propia.completeExceptionally(e);
+            throw e;
+        } finally {
+            enCurso.remove(clave, propia);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LotePokemon buscarVarios(List<String> pokemon) {
+        if (pokemon.size() > loteMaximo) {
+            throw new IllegalArgumentException("Como mucho se pueden pedir " + loteMaximo + " Pokémon a la vez");
+        }
+
+        // QUITO LOS REPETIDOS Y RESUELVO SIN HILOS LO QUE YA ESTÁ GUARDADO
+        Set<String> claves = new LinkedHashSet<>();
+        for (String nombre : pokemon) {
+            if (nombre != null && !nombre.isBlank()) {
+                claves.add(normalizar(nombre));
+            }
+        }
+        Map<String, Optional<Map<String, Object>>> resueltos = new ConcurrentHashMap<>();
+        Map<String, String> fallidos = new ConcurrentHashMap<>();
+        Queue<String> pendientes = new ConcurrentLinkedQueue<>();
+        for (String clave : claves) {
+            Optional<Map<String, Object>> guardado = guardado(clave);
+            if (guardado != null) {
+                resueltos.put(clave, guardado);
+            } else {
+                pendientes.add(clave);
+            }
+        }
+
+        // EL RESTO LO CONSULTAN COMO MUCHO "PARALELISMO" TRABAJADORES QUE SE REPARTEN LA COLA
+        if (!pendientes.isEmpty()) {
+            Runnable trabajador = () -> {
+                String clave;
+                while ((clave = pendientes.poll()) != null) {
+                    try {
+                        resueltos.put(clave, buscar(clave));
+                    } catch (ApiException e) {
+                        fallidos.put(clave, e.getMessage());
+                    }
+                }
+            };
+            int trabajadores = Math.min(Math.max(1, paralelismo), pendientes.size());
+            if (trabajadores == 1) {
+                trabajador.run();
+            } else {
+                Abanico abanico = llamadasParalelasService.abrir();
+                for (int i = 0; i < trabajadores; i++) {
+                    abanico.lanzar(() -> {
+                        trabajador.run();
+                        return null;
+                    });
+                }
+                try {
+                    abanico.esperar();
+                } catch (ApiException e) {
+                    // SE HA AGOTADO EL PLAZO: DEVUELVO LO QUE HAYA DADO TIEMPO A CONSULTAR
+                    LOGGER.log(Level.FINE, "Consulta de varios Pokémon incompleta: {0}", e.getMessage());
+                }
+            }
+        }
+
+        // MONTO EL RESULTADO EN EL ORDEN PEDIDO
+        Map<String, Map<String, Object>> encontrados = new LinkedHashMap<>();
+        List<String> noEncontrados = new ArrayList<>();
+        Map<String, String> conError = new LinkedHashMap<>();
+        for (String clave : claves) {
+            Optional<Map<String, Object>> resuelto = resueltos.get(clave);
+            if (resuelto == null) {
+                conError.put(clave, fallidos.getOrDefault(clave, "Sin respuesta dentro del plazo"));
+            } else if (resuelto.isPresent()) {
+                encontrados.put(clave, resuelto.get());
+            } else {
+                noEncontrados.add(clave);
+            }
+        }
+        return new LotePokemon(encontrados, noEncontrados, conError);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void vaciar() {
+        cache.clear();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Object> getEstadisticas() {
+        Map<String, Object> estadisticas = new LinkedHashMap<>();
+        estadisticas.put("modo", (datosFixture != null) ? "fixture" : "red");
+        estadisticas.put("aciertos", aciertos.get());
+        estadisticas.put("aciertosNoEncontrados", aciertosNoEncontrados.get());
+        estadisticas.put("fallos", fallos.get());
+        estadisticas.put("compartidas", compartidas.get());
+        estadisticas.put("errores", errores.get());
+        estadisticas.put("entradas", cache.size());
+        return estadisticas;
+    }
+
+    /**
+     * Busca una respuesta vigente en la caché.
+     *
+     * @param clave Nombre o ID normalizado
+     * @return Respuesta guardada (vacía si se sabe que no existe), o null si no hay ninguna vigente
+     */
+    private Optional<Map<String, Object>> guardado(String clave) {
+        Entrada entrada = cache.get(clave);
+        if (entrada == null) {
+            return null;
+        }
+        if (System.nanoTime() - entrada.caduca >= 0) {
+            cache.remove(clave, entrada);
+            return null;
+        }
+        (entrada.datos.isPresent() ? aciertos : aciertosNoEncontrados).incrementAndGet();
+        return entrada.datos;
+    }
+
+    /**
+     * Consulta un Pokémon a Flask (o al fichero en el modo sin red).
+     *
+     * @param clave Nombre o ID normalizado
+     * @return Datos del Pokémon, o vacío si no existe
+     * @throws ApiException Si la consulta falla por otro motivo
+     */
+    private Optional<Map<String, Object>> consultar(String clave) {
+        Map<String, Map<String, Object>> datos = datosFixture;
+        if (datos != null) {
+            return Optional.ofNullable(datos.get(clave));
+        }
+
+        try {
+            ResponseEntity<Map> response = restTemplate.getForEntity(URL, Map.class, clave);
+            return Optional.ofNullable(response.getBody());
+        } catch (HttpClientErrorException.NotFound e) {
+            return Optional.empty();
+        } catch (RestClientException e) {
+            errores.incrementAndGet();
+            throw new ApiException("Error al obtener datos del Pokémon: " + e.getMessage(), e, ORIGEN + "/" + clave);
+        }
+    }
+
+    /**
+     * Guarda una respuesta; si es un Pokémon, también bajo su ID y su nombre.
+     *
+     * @param clave Nombre o ID con que se ha pedido
+     * @param datos Respuesta
+     */
+    private void guardar(String clave, Optional<Map<String, Object>> datos) {
+        long ttl = datos.isPresent() ? ttlSegundos : ttlNoEncontradosSegundos;
+        if (ttl <= 0) {
+            return;
+        }
+
+        Entrada entrada = new Entrada(datos, System.nanoTime() + TimeUnit.SECONDS.toNanos(ttl));
+        cache.put(clave, entrada);
+        datos.ifPresent(pokemon -> claves(pokemon).forEach(otra -> cache.put(otra, entrada)));
+
+        if (cache.size() > maximo) {
+            purgar();
+        }
+    }
+
+    /**
+     * Quita las entradas caducadas y, si aun así sobran, las que haga falta hasta volver al máximo.
+     */
+    private void purgar() {
+        long ahora = System.nanoTime();
+        cache.values().removeIf(entrada -> ahora - entrada.caduca >= 0);
+        Iterator<String> claves = cache.keySet().iterator();
+        while (cache.size() > maximo && claves.hasNext()) {
+            claves.next();
+            claves.remove();
+        }
+    }
+
+    /**
+     * Espera a la consulta de otra petición.
+     *
+     * @param consulta Consulta en curso
+     * @param clave Nombre o ID normalizado
+     * @return Su respuesta
+     * @throws ApiException Si la consulta falla o se agota el plazo de la petición
+     */
+    private Optional<Map<String, Object>> esperar(CompletableFuture<Optional<Map<String, Object>>> consulta, String clave) {
+        long restante = PlazoPeticion.getRestanteMs();
+        try {
+            return (restante == Long.MAX_VALUE) ? consulta.get() : consulta.get(Math.max(restante, 0), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ApiException("Se ha agotado el plazo esperando los datos del Pokémon " + clave, e, ORIGEN + "/" + clave, 504);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ApiException) {
+                throw (ApiException) e.getCause();
+            }
+            throw new ApiException("Error al obtener datos del Pokémon: " + e.getCause().getMessage(), e.getCause(), ORIGEN + "/" + clave);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiException("Espera interrumpida", e, ORIGEN + "/" + clave);
+        }
+    }
+
+    /**
+     * Obtiene las claves con las que se puede pedir un Pokémon.
+     *
+     * @param pokemon Datos del Pokémon
+     * @return ID y nombre normalizados (los que tenga)
+     */
+    private static List<String> claves(Map<String, Object> pokemon) {
+        List<String> claves = new ArrayList<>(2);
+        if (pokemon.get("id") != null) {
+            claves.add(normalizar(String.valueOf(pokemon.get("id"))));
+        }
+        if (pokemon.get("name") != null) {
+            claves.add(normalizar(String.valueOf(pokemon.get("name"))));
+        }
+        return claves;
+    }
+
+    /**
+     * Normaliza un nombre o ID como lo hace pokeapi.co.
+     *
+     * @param pokemon Nombre o ID
+     * @return Clave en minúsculas y sin espacios alrededor
+     */
+    private static String normalizar(String pokemon) {
+        return pokemon.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Publica un contador de la caché.
+     *
+     * @param registro Registro de métricas
+     * @param resultado Etiqueta del resultado
+     * @param valor Contador
+     */
+    private static void contador(MeterRegistry registro, String resultado, AtomicLong valor) {
+        FunctionCounter.builder("baloncesto.pokemon.cache", valor, AtomicLong::get)
+                .description("Consultas de Pokémon").tag("resultado", resultado).register(registro);
+    }
+
+    /**
+     * Respuesta guardada con su caducidad.
+     */
+    private static final class Entrada {
+
+        /**
+         * Datos del Pokémon, o vacío si no existe.
+         */
+        private final Optional<Map<String, Object>> datos;
+
+        /**
+         * Instante (nanoTime) en que caduca.
+         */
+        private final long caduca;
+
+        /**
+         * Constructor con todos los campos.
+         *
+         * @param datos Datos del Pokémon, o vacío si no existe
+         * @param caduca Instante en que caduca
+         */
+        Entrada(Optional<Map<String, Object>> datos, long caduca) {
+            this.datos = datos;
+            this.caduca = caduca;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package es.ubu.baloncesto.service;
+
+import es.ubu.baloncesto.model.Partido;
+import es.ubu.baloncesto.model.RegistroRating;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interfaz que define las operaciones del sistema de rating tipo Elo.
+ * A diferencia del porcentaje de victorias, el rating tiene en cuenta
+ * la fuerza del rival, el factor campo y la diferencia de puntos.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+public interface RatingService {
+
+    /**
+     * Actualiza en O(1) los ratings de los dos equipos de un partido finalizado.
+     * Si el partido ya se había aplicado o no está finalizado, no hace nada.
+     *
+     * @param partido Partido finalizado
+     */
+    void actualizarRating(Partido partido);
+
+    /**
+     * Recalcula todos los ratings desde cero a partir del historial de partidos.
+     *
+     * @param partidos Historial de partidos (se ignoran los no finalizados)
+     * @return Número de partidos procesados
+     */
+    int recalcular(List<Partido> partidos);
+
+    /**
+     * Indica si los ratings ya se han calculado alguna vez.
+     *
+     * @return true si hay ratings calculados, false en caso contrario
+     */
+    boolean isInicializado();
+
+    /**
+     * Obtiene el rating actual de un equipo.
+     *
+     * @param equipoId ID del equipo
+     * @return Rating del equipo o el rating inicial si aún no ha jugado
+     */
+    double getRating(Long equipoId);
+
+    /**
+     * Calcula la probabilidad de que gane el equipo local según los ratings actuales.
+     *
+     * @param equipoLocalId ID del equipo local
+     * @param equipoVisitanteId ID del equipo visitante
+     * @return Probabilidad de victoria local entre 0 y 1
+     */
+    double probabilidadVictoriaLocal(Long equipoLocalId, Long equipoVisitanteId);
+
+    /**
+     * Obtiene los ratings actuales de todos los equipos.
+     *
+     * @return Mapa con el ID del equipo y su rating
+     */
+    Map<Long, Double> getRatings();
+
+    /**
+     * Obtiene el historial de rating de un equipo.
+     *
+     * @param equipoId ID del equipo
+     * @return Lista de registros ordenada por fecha del partido
+     */
+    List<RegistroRating> getHistorial(Long equipoId);
+}
@@ -0,0 +1,385 @@
+package es.ubu.baloncesto.service;
+
+import es.ubu.baloncesto.event.ResultadoRegistradoEvent;
+import es.ubu.baloncesto.model.Partido;
+import es.ubu.baloncesto.model.RegistroRating;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+import java.util.stream.IntStream;
+
+/**
+ * Implementación del sistema de rating tipo Elo.
+ * Los ratings se guardan en arrays primitivos indexados por equipo, de forma que
+ * cada resultado nuevo se aplica en O(1) y el recálculo completo trabaja sobre arrays primitivos.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+@Service
+public class RatingServiceImpl implements RatingService {
+
+    /**
+     * Logger para registrar operaciones.
+     */
+    private static final Logger LOGGER = Logger.getLogger(RatingServiceImpl.class.getName());
+
+    /**
+     * Rating con el que empieza cualquier equipo.
+     */
+    static final double RATING_INICIAL = 1500.0;
+
+    /**
+     * Factor K: cuánto puede mover un partido el rating.
+     */
+    static final double FACTOR_K = 20.0;
+
+    /**
+     * Ventaja en puntos de rating que se concede al equipo local.
+     */
+    static final double VENTAJA_LOCAL = 100.0;
+
+    /**
+     * Capacidad inicial de los arrays de equipos.
+     */
+    private static final int CAPACIDAD_INICIAL = 32;
+
+    /**
+     * Posición de cada equipo (por su ID) en los arrays.
+     */
+    private Map<Long, Integer> indices = new HashMap<>();
+
+    /**
+     * Rating actual de cada equipo.
+     */
+    private double[] ratings = new double[CAPACIDAD_INICIAL];
+
+    /**
+     * Historial de rating de cada equipo.
+     */
+    private List<List<RegistroRating>> historial = new ArrayList<>();
+
+    /**
+     * IDs de los partidos ya aplicados, para no contar dos veces el mismo resultado.
+     */
+    private Set<Long> partidosAplicados = new HashSet<>();
+
+    /**
+     * Partidos aplicados uno a uno desde el último recálculo completo. Un recálculo trabaja
+     * sobre una lista de partidos leída antes de empezar, así que al terminar vuelve a aplicar
+     * los de aquí que no estuvieran en ella para no perder resultados registrados mientras tanto.
+     */
+    private List<Partido> aplicadosDesdeRecalculo = new ArrayList<>();
+
+    /**
+     * Cerrojo que impide dos recálculos completos a la vez.
+     */
+    private final Object recalculo = new Object();
+
+    /**
+     * Indica si ya se ha hecho algún recálculo completo.
+     */
+    private volatile boolean inicializado;
+
+    /**
+     * Actualiza los ratings cuando el servicio de partidos registra un resultado.
+     *
+     * @param event Evento con el partido finalizado
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onResultadoRegistrado(ResultadoRegistradoEvent event) {
+        actualizarRating(event.getPartido());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void actualizarRating(Partido partido) {
+        // SOLO TENGO EN CUENTA PARTIDOS FINALIZADOS CON AMBOS EQUIPOS IDENTIFICADOS
+        if (!esValido(partido)) {
+            return;
+        }
+
+        // LO APUNTO POR SI HAY UN RECÁLCULO EN MARCHA QUE NO LO INCLUYA (SIN ID NO SE PUEDE RECONOCER)
+        if (aplicar(partido) && partido.getId() != null) {
+            aplicadosDesdeRecalculo.add(partido);
+        }
+    }
+
+    /**
+     * Aplica un partido sobre los ratings actuales. Debe llamarse con el monitor adquirido.
+     *
+     * @param partido Partido finalizado y válido
+     * @return true si se ha aplicado, false si ya estaba aplicado
+     */
+    private boolean aplicar(Partido partido) {
+        // EVITO APLICAR DOS VECES EL MISMO PARTIDO
+        if (partido.getId() != null && !partidosAplicados.add(partido.getId())) {
+            return false;
+        }
+
+        int local = indiceDe(partido.getEquipoLocal().getId());
+        int visitante = indiceDe(partido.getEquipoVisitante().getId());
+
+        double delta = calcularDelta(ratings[local], ratings[visitante],
+                partido.getPuntosLocal(), partido.getPuntosVisitante());
+        ratings[local] += delta;
+        ratings[visitante] -= delta;
+
+        historial.get(local).add(new RegistroRating(partido.getId(), partido.getFecha(), ratings[local], delta));
+        historial.get(visitante).add(new RegistroRating(partido.getId(), partido.getFecha(), ratings[visitante], -delta));
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int recalcular(List<Partido> partidos) {
+        synchronized (recalculo) {
+            return recalcularSinConcurrencia(partidos);
+        }
+    }
+
+    /**
+     * Recalcula todos los ratings. Solo puede haber uno en marcha (lo asegura {@link #recalcular(List)}).
+     *
+     * @param partidos Partidos a procesar
+     * @return Número de partidos finalizados procesados
+     */
+    private int recalcularSinConcurrencia(List<Partido> partidos) {
+        long inicio = System.nanoTime();
+
+        // ORDENO LOS PARTIDOS FINALIZADOS POR FECHA, EN PARALELO
+        Partido[] finalizados = partidos.parallelStream()
+                .filter(RatingServiceImpl::esValido)
+                .toArray(Partido[]::new);
+        Arrays.parallelSort(finalizados, Comparator.comparing(Partido::getFecha,
+                Comparator.nullsFirst(Comparator.naturalOrder())));
+        int n = finalizados.length;
+
+        // ASIGNO UN ÍNDICE A CADA EQUIPO
+        Map<Long, Integer> nuevosIndices = new HashMap<>();
+        for (Partido partido : finalizados) {
+            nuevosIndices.putIfAbsent(partido.getEquipoLocal().getId(), nuevosIndices.size());
+            nuevosIndices.putIfAbsent(partido.getEquipoVisitante().getId(), nuevosIndices.size());
+        }
+
+        // PASO LOS PARTIDOS A ARRAYS PRIMITIVOS EN PARALELO (CADA POSICIÓN ES INDEPENDIENTE)
+        int[] locales = new int[n];
+        int[] visitantes = new int[n];
+        int[] puntosLocal = new int[n];
+        int[] puntosVisitante = new int[n];
+        IntStream.range(0, n).parallel().forEach(i -> {
+            Partido partido = finalizados[i];
+            locales[i] = nuevosIndices.get(partido.getEquipoLocal().getId());
+            visitantes[i] = nuevosIndices.get(partido.getEquipoVisitante().getId());
+            puntosLocal[i] = partido.getPuntosLocal();
+            puntosVisitante[i] = partido.getPuntosVisitante();
+        });
+
+        // APLICO LOS PARTIDOS EN ORDEN (EL ELO DEPENDE DEL ORDEN, ASÍ QUE ESTE PASO ES SECUENCIAL)
+        int numEquipos = nuevosIndices.size();
+        double[] nuevosRatings = new double[Math.max(CAPACIDAD_INICIAL, numEquipos)];
+        Arrays.fill(nuevosRatings, RATING_INICIAL);
+        double[] deltas = new double[n];
+        double[] ratingLocalTras = new double[n];
+        double[] ratingVisitanteTras = new double[n];
+        for (int i = 0; i < n; i++) {
+            double delta = calcularDelta(nuevosRatings[locales[i]], nuevosRatings[visitantes[i]],
+                    puntosLocal[i], puntosVisitante[i]);
+            nuevosRatings[locales[i]] += delta;
+            nuevosRatings[visitantes[i]] -= delta;
+            deltas[i] = delta;
+            ratingLocalTras[i] = nuevosRatings[locales[i]];
+            ratingVisitanteTras[i] = nuevosRatings[visitantes[i]];
+        }
+
+        // RECONSTRUYO EL HISTORIAL Y LOS PARTIDOS APLICADOS
+        List<List<RegistroRating>> nuevoHistorial = new ArrayList<>(numEquipos);
+        for (int i = 0; i < numEquipos; i++) {
+            nuevoHistorial.add(new ArrayList<>());
+        }
+        Set<Long> nuevosAplicados = new HashSet<>();
+        for (int i = 0; i < n; i++) {
+            Partido partido = finalizados[i];
+            nuevoHistorial.get(locales[i]).add(
+                    new RegistroRating(partido.getId(), partido.getFecha(), ratingLocalTras[i], deltas[i]));
+            nuevoHistorial.get(visitantes[i]).add(
+                    new RegistroRating(partido.getId(), partido.getFecha(), ratingVisitanteTras[i], -deltas[i]));
+            if (partido.getId() != null) {
+                nuevosAplicados.add(partido.getId());
+            }
+        }
+
+        // SUSTITUYO EL ESTADO DE GOLPE Y VUELVO A APLICAR LO QUE HAYA LLEGADO UNO A UNO Y NO ESTUVIERA EN LA LISTA
+        int reaplicados = 0;
+        synchronized (this) {
+            List<Partido> pendientes = this.aplicadosDesdeRecalculo;
+            this.indices = nuevosIndices;
+            this.ratings = nuevosRatings;
+            this.historial = nuevoHistorial;
+            this.partidosAplicados = nuevosAplicados;
+            this.aplicadosDesdeRecalculo = new ArrayList<>();
+            for (Partido partido : pendientes) {
+                if (aplicar(partido)) {
+                    reaplicados++;
+                }
+            }
+            this.inicializado = true;
+        }
+        if (reaplicados > 0) {
+            LOGGER.info("Recálculo de ratings: " + reaplicados + " resultados llegados durante el recálculo aplicados después");
+        }
+
+        LOGGER.info("Ratings recalculados: " + n + " partidos, " + numEquipos + " equipos en "
+                + (System.nanoTime() - inicio) / 1_000_000 + " ms");
+        return n;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isInicializado() {
+        return inicializado;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized double getRating(Long equipoId) {
+        Integer indice = indices.get(equipoId);
+        return indice != null ? ratings[indice] : RATING_INICIAL;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized double probabilidadVictoriaLocal(Long equipoLocalId, Long equipoVisitanteId) {
+        return esperanzaLocal(getRating(equipoLocalId), getRating(equipoVisitanteId));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized Map<Long, Double> getRatings() {
+        // DEVUELVO UNA COPIA ORDENADA DE MAYOR A MENOR RATING
+        Map<Long, Double> resultado = new LinkedHashMap<>();
+        indices.entrySet().stream()
+                .sorted((a, b) -> Double.compare(ratings[b.getValue()], ratings[a.getValue()]))
+                .forEach(e -> resultado.put(e.getKey(), ratings[e.getValue()]));
+        return resultado;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized List<RegistroRating> getHistorial(Long equipoId) {
+        Integer indice = indices.get(equipoId);
+        if (indice == null) {
+            return Collections.emptyList();
+        }
+        return new ArrayList<>(historial.get(indice));
+    }
+
+    /**
+     * Calcula cuánto gana el equipo local (y pierde el visitante) en un partido.
+     * Usa la expectativa Elo clásica con ventaja de campo y un multiplicador
+     * por diferencia de puntos que se amortigua cuando gana el favorito.
+     *
+     * @param ratingLocal Rating del local antes del partido
+     * @param ratingVisitante Rating del visitante antes del partido
+     * @param puntosLocal Puntos del local
+     * @param puntosVisitante Puntos del visitante
+     * @return Variación del rating del local
+     */
+    static double calcularDelta(double ratingLocal, double ratingVisitante, int puntosLocal, int puntosVisitante) {
+        // PROBABILIDAD ESPERADA DE VICTORIA LOCAL
+        double diferencia = ratingLocal + VENTAJA_LOCAL - ratingVisitante;
+        double esperado = esperanzaLocal(ratingLocal, ratingVisitante);
+
+        // RESULTADO REAL (NO CONTEMPLO EMPATES EN BALONCESTO, PERO SI LOS HAY CUENTAN COMO 0.5)
+        double real;
+        if (puntosLocal > puntosVisitante) {
+            real = 1.0;
+        } else if (puntosVisitante > puntosLocal) {
+            real = 0.0;
+        } else {
+            real = 0.5;
+        }
+
+        // MULTIPLICADOR POR MARGEN DE VICTORIA
+        int margen = Math.abs(puntosLocal - puntosVisitante);
+        double diferenciaGanador = real >= 0.5 ? diferencia : -diferencia;
+        double multiplicador = Math.pow(margen + 3, 0.8) / Math.max(1.0, 7.5 + 0.006 * diferenciaGanador);
+
+        return FACTOR_K * multiplicador * (real - esperado);
+    }
+
+    /**
+     * Probabilidad Elo de victoria local teniendo en cuenta la ventaja de campo.
+     *
+     * @param ratingLocal Rating del local
+     * @param ratingVisitante Rating del visitante
+     * @return Probabilidad entre 0 y 1
+     */
+    static double esperanzaLocal(double ratingLocal, double ratingVisitante) {
+        double diferencia = ratingLocal + VENTAJA_LOCAL - ratingVisitante;
+        return 1.0 / (1.0 + Math.pow(10.0, -diferencia / 400.0));
+    }
+
+    /**
+     * Comprueba si un partido se puede usar para calcular ratings.
+     *
+     * @param partido Partido a comprobar
+     * @return true si está finalizado y ambos equipos tienen ID
+     */
+    private static boolean esValido(Partido partido) {
+        return partido != null && partido.isFinalizado()
+                && partido.getEquipoLocal() != null && partido.getEquipoLocal().getId() != null
+                && partido.getEquipoVisitante() != null && partido.getEquipoVisitante().getId() != null;
+    }
+
+    /**
+     * Obtiene el índice de un equipo en los arrays, dándolo de alta si no existía.
+     * Debe llamarse con el monitor adquirido.
+     *
+     * @param equipoId ID del equipo
+     * @return Índice del equipo
+     */
+    private int indiceDe(Long equipoId) {
+        Integer indice = indices.get(equipoId);
+        if (indice != null) {
+            return indice;
+        }
+
+        // DOY DE ALTA EL EQUIPO Y AMPLÍO LOS ARRAYS SI HACE FALTA
+        int nuevo = indices.size();
+        if (nuevo >= ratings.length) {
+            int capacidad = ratings.length * 2;
+            ratings = Arrays.copyOf(ratings, capacidad);
+        }
+        ratings[nuevo] = RATING_INICIAL;
+        historial.add(new ArrayList<>());
+        indices.put(equipoId, nuevo);
+        return nuevo;
+    }
+}
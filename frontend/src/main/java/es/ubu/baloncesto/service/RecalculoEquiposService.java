@@ -0,0 +1,23 @@
+package es.ubu.baloncesto.service;
+
+import es.ubu.baloncesto.model.InformeRecalculo;
+
+/**
+ * Interfaz que define el proceso por lotes que recalcula las victorias y derrotas
+ * de los equipos a partir del historial de partidos finalizados.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+public interface RecalculoEquiposService {
+
+    /**
+     * Recalcula los contadores de todos los equipos.
+     * Si una ejecución anterior se interrumpió, continúa desde el último bloque completado.
+     *
+     * @param aplicar true para escribir las correcciones, false para solo informar de la deriva
+     * @return Informe con la deriva encontrada
+     */
+    InformeRecalculo recalcular(boolean aplicar);
+}
@@ -0,0 +1,600 @@
+package es.ubu.baloncesto.service;
+
+import es.ubu.baloncesto.exception.DatabaseException;
+import es.ubu.baloncesto.model.DerivaEquipo;
+import es.ubu.baloncesto.model.InformeRecalculo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import java.util.stream.IntStream;
+
+/**
+ * Implementación del recálculo por lotes de victorias y derrotas.
+ * Lee los partidos finalizados por bloques ordenados por ID (paginación por clave),
+ * agrega cada bloque en paralelo sobre arrays primitivos indexados por equipo mientras
+ * se lee el siguiente y, al terminar, escribe las correcciones en lotes JDBC.
+ * <p>
+ * Al empezar se fija un corte: los bloques solo cuentan los partidos finalizados hasta el corte,
+ * y al final, en una única transacción REPEATABLE READ, se suman los finalizados después
+ * (aunque tengan un ID menor que el último leído), se comparan con los contadores guardados y se
+ * escriben las diferencias como incrementos, para no pisar los resultados que registre el respaldo
+ * local mientras tanto. El corte queda un margen por detrás del inicio, para que los partidos cuya
+ * transacción aún no había terminado al empezar entren en la parte final y no se pierdan.
+ * <p>
+ * Tras cada bloque se guarda un punto de control (corte, último ID y contadores) en tablas de la
+ * propia base de datos, de forma que si la ejecución falla la siguiente continúa desde ese bloque
+ * con el mismo corte en lugar de empezar de cero.
+ * <p>
+ * Solo se recalcula la base de datos local: la API Flask no guarda victorias ni derrotas (las deduce
+ * de sus partidos cada vez), así que los únicos contadores que pueden desviarse son los de aquí,
+ * que solo cambian con los resultados que registra el respaldo local.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+@Service
+public class RecalculoEquiposServiceImpl implements RecalculoEquiposService {
+
+    /**
+     * Logger para registrar operaciones.
+     */
+    private static final Logger LOGGER = Logger.getLogger(RecalculoEquiposServiceImpl.class.getName());
+
+    /**
+     * Creación de la tabla del punto de control (una sola fila).
+     */
+    private static final String SQL_CREAR_PUNTO_CONTROL =
+            "CREATE TABLE IF NOT EXISTS recalculo_punto_control (id INT PRIMARY KEY, corte TIMESTAMP NOT NULL, "
+            + "ultimo_id BIGINT NOT NULL, partidos BIGINT NOT NULL, bloques INT NOT NULL)";
+
+    /**
+     * Creación de la tabla de contadores acumulados del punto de control.
+     */
+    private static final String SQL_CREAR_CONTADORES =
+            "CREATE TABLE IF NOT EXISTS recalculo_contadores (equipo_id BIGINT PRIMARY KEY, "
+            + "victorias INT NOT NULL, derrotas INT NOT NULL)";
+
+    /**
+     * Consulta del punto de control.
+     */
+    private static final String SQL_LEER_PUNTO_CONTROL =
+            "SELECT corte, ultimo_id, partidos, bloques FROM recalculo_punto_control WHERE id = 1";
+
+    /**
+     * Consulta de los contadores acumulados del punto de control.
+     */
+    private static final String SQL_LEER_CONTADORES =
+            "SELECT equipo_id, victorias, derrotas FROM recalculo_contadores ORDER BY equipo_id";
+
+    /**
+     * Escritura del punto de control.
+     */
+    private static final String SQL_GUARDAR_PUNTO_CONTROL =
+            "MERGE INTO recalculo_punto_control (id, corte, ultimo_id, partidos, bloques) KEY (id) VALUES (1, ?, ?, ?, ?)";
+
+    /**
+     * Escritura de los contadores acumulados de un equipo.
+     */
+    private static final String SQL_GUARDAR_CONTADORES =
+            "MERGE INTO recalculo_contadores (equipo_id, victorias, derrotas) KEY (equipo_id) VALUES (?, ?, ?)";
+
+    /**
+     * Borrado del punto de control.
+     */
+    private static final String SQL_BORRAR_PUNTO_CONTROL = "DELETE FROM recalculo_punto_control";
+
+    /**
+     * Borrado de los contadores acumulados del punto de control.
+     */
+    private static final String SQL_BORRAR_CONTADORES = "DELETE FROM recalculo_contadores";
+
+    /**
+     * Consulta de un bloque de partidos finalizados hasta el corte a partir de un ID.
+     */
+    private static final String SQL_BLOQUE =
+            "SELECT id, equipo_local_id, equipo_visitante_id, puntos_local, puntos_visitante FROM partidos "
+            + "WHERE finalizado = TRUE AND (finalizado_en IS NULL OR finalizado_en <= ?) AND id > ? ORDER BY id LIMIT ?";
+
+    /**
+     * Consulta de los partidos finalizados después del corte.
+     */
+    private static final String SQL_TARDIOS =
+            "SELECT equipo_local_id, equipo_visitante_id, puntos_local, puntos_visitante FROM partidos "
+            + "WHERE finalizado = TRUE AND finalizado_en > ?";
+
+    /**
+     * Consulta de los contadores actuales de los equipos.
+     */
+    private static final String SQL_EQUIPOS = "SELECT id, victorias, derrotas FROM equipos ORDER BY id";
+
+    /**
+     * Corrección de los contadores de un equipo (como incremento, para no pisar escrituras concurrentes).
+     */
+    private static final String SQL_ACTUALIZAR =
+            "UPDATE equipos SET victorias = victorias + ?, derrotas = derrotas + ? WHERE id = ?";
+
+    /**
+     * Partidos leídos por bloque.
+     */
+    @Value("${recalculo.tamano-bloque:10000}")
+    private int tamanoBloque;
+
+    /**
+     * Actualizaciones por lote JDBC.
+     */
+    @Value("${recalculo.tamano-lote:500}")
+    private int tamanoLote;
+
+    /**
+     * Segundos que el corte queda por detrás del inicio (más que la transacción más larga que registre un resultado).
+     */
+    @Value("${recalculo.margen-corte-segundos:60}")
+    private long margenCorteSegundos;
+
+    /**
+     * Plantilla JDBC sobre la base de datos local.
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Transacciones para guardar el punto de control.
+     */
+    private final TransactionTemplate transaccion;
+
+    /**
+     * Transacción REPEATABLE READ para la parte final (partidos tardíos, comparación y correcciones).
+     */
+    private final TransactionTemplate transaccionFinal;
+
+    /**
+     * Constructor que inicializa la plantilla JDBC y las transacciones mediante inyección de dependencias.
+     *
+     * @param jdbcTemplate Plantilla JDBC
+     * @param gestorTransacciones Gestor de transacciones
+     */
+    @Autowired
+    public RecalculoEquiposServiceImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager gestorTransacciones) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaccion = new TransactionTemplate(gestorTransacciones);
+        this.transaccionFinal = new TransactionTemplate(gestorTransacciones);
+        this.transaccionFinal.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    /**
+     * Crea las tablas del punto de control si no existen.
+     */
+    @PostConstruct
+    public void iniciar() {
+        jdbcTemplate.execute(SQL_CREAR_PUNTO_CONTROL);
+        jdbcTemplate.execute(SQL_CREAR_CONTADORES);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized InformeRecalculo recalcular(boolean aplicar) {
+        long inicio = System.nanoTime();
+        try {
+            // SI HAY UNA EJECUCIÓN A MEDIAS LA CONTINÚO CON SU CORTE; SI NO, EMPIEZO CON LOS EQUIPOS ACTUALES
+            PuntoControl pc = cargarPuntoControl();
+            boolean reanudado = pc != null;
+            if (!reanudado) {
+                LocalDateTime corte = LocalDateTime.now().minusSeconds(margenCorteSegundos);
+                pc = new PuntoControl(cargarIndicesEquipos(), corte);
+                guardarPuntoControl(pc);
+            } else {
+                LOGGER.info("Reanudando recálculo desde el partido " + pc.ultimoId + " con corte " + pc.corte);
+            }
+            PuntoControl control = pc;
+
+            // VUELVO A LEER DESDE EL ÚLTIMO BLOQUE FUSIONADO (EL QUE ESTABA EN VUELO SE PERDIÓ)
+            pc.ultimoIdLeido = pc.ultimoId;
+
+            // LEO UN BLOQUE MIENTRAS SE AGREGA EL ANTERIOR
+            CompletableFuture<Parcial> pendiente = null;
+            while (true) {
+                Bloque bloque = leerBloque(pc.corte, pc.ultimoIdLeido, tamanoBloque);
+                if (pendiente != null) {
+                    pc.fusionar(pendiente.join());
+                    guardarPuntoControl(pc);
+                }
+                if (bloque.n == 0) {
+                    break;
+                }
+                pc.ultimoIdLeido = bloque.ultimoId;
+                pendiente = CompletableFuture.supplyAsync(() -> agregar(bloque, control.indices, control.victorias.length));
+            }
+
+            // SUMO LOS TARDÍOS, COMPARO Y CORRIJO EN UNA SOLA FOTO DE LA BASE DE DATOS; EL PUNTO DE CONTROL
+            // SE BORRA EN LA MISMA TRANSACCIÓN, ASÍ QUE SI FALLA LA SIGUIENTE EJECUCIÓN REPITE SOLO ESTA PARTE
+            List<DerivaEquipo> derivas = transaccionFinal.execute(estado -> terminar(control, aplicar));
+
+            long duracionMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+            LOGGER.info("Recálculo de equipos terminado: " + pc.partidos + " partidos, " + derivas.size()
+                    + " equipos con deriva, " + duracionMs + " ms");
+            return new InformeRecalculo(pc.partidos, pc.bloques, reanudado, aplicar, duracionMs, derivas);
+        } catch (CompletionException e) {
+            // DEJO EL PUNTO DE CONTROL PARA LA SIGUIENTE EJECUCIÓN
+            LOGGER.severe("Error al agregar un bloque de partidos: " + e.getCause().getMessage());
+            throw new DatabaseException("Error al recalcular las estadísticas de los equipos", e.getCause());
+        } catch (Exception e) {
+            LOGGER.severe("Error al recalcular las estadísticas de los equipos: " + e.getMessage());
+            throw new DatabaseException("Error al recalcular las estadísticas de los equipos", e);
+        }
+    }
+
+    /**
+     * Lee el punto de control de una ejecución interrumpida.
+     *
+     * @return Punto de control, o null si no hay ninguna ejecución a medias
+     */
+    private PuntoControl cargarPuntoControl() {
+        List<Object[]> filas = jdbcTemplate.query(SQL_LEER_PUNTO_CONTROL, (rs, fila) -> new Object[] {
+                rs.getTimestamp(1).toLocalDateTime(), rs.getLong(2), rs.getLong(3), rs.getInt(4)});
+        if (filas.isEmpty()) {
+            return null;
+        }
+
+        // LOS EQUIPOS SE NUMERAN EN EL MISMO ORDEN QUE AL EMPEZAR (POR ID)
+        Map<Long, Integer> indices = new HashMap<>();
+        List<int[]> contadores = new ArrayList<>();
+        jdbcTemplate.query(SQL_LEER_CONTADORES, rs -> {
+            indices.put(rs.getLong(1), indices.size());
+            contadores.add(new int[] {rs.getInt(2), rs.getInt(3)});
+        });
+
+        Object[] fila = filas.get(0);
+        PuntoControl pc = new PuntoControl(indices, (LocalDateTime) fila[0]);
+        for (int k = 0; k < contadores.size(); k++) {
+            pc.victorias[k] = contadores.get(k)[0];
+            pc.derrotas[k] = contadores.get(k)[1];
+        }
+        pc.ultimoId = (Long) fila[1];
+        pc.partidos = (Long) fila[2];
+        pc.bloques = (Integer) fila[3];
+        return pc;
+    }
+
+    /**
+     * Guarda el punto de control (corte, último ID fusionado y contadores) en una transacción.
+     *
+     * @param pc Punto de control
+     */
+    private void guardarPuntoControl(PuntoControl pc) {
+        List<Map.Entry<Long, Integer>> equipos = new ArrayList<>(pc.indices.entrySet());
+        transaccion.executeWithoutResult(estado -> {
+            jdbcTemplate.update(SQL_GUARDAR_PUNTO_CONTROL, Timestamp.valueOf(pc.corte), pc.ultimoId, pc.partidos,
+                    pc.bloques);
+            jdbcTemplate.batchUpdate(SQL_GUARDAR_CONTADORES, equipos, tamanoLote, (ps, equipo) -> {
+                ps.setLong(1, equipo.getKey());
+                ps.setInt(2, pc.victorias[equipo.getValue()]);
+                ps.setInt(3, pc.derrotas[equipo.getValue()]);
+            });
+        });
+    }
+
+    /**
+     * Parte final del recálculo, dentro de la transacción REPEATABLE READ: suma los partidos finalizados
+     * después del corte, compara con los contadores guardados, escribe las correcciones si procede
+     * y borra el punto de control.
+     *
+     * @param pc Punto de control con los contadores hasta el corte
+     * @param aplicar true para escribir las correcciones
+     * @return Equipos cuyos contadores no coinciden
+     */
+    private List<DerivaEquipo> terminar(PuntoControl pc, boolean aplicar) {
+        // PARTO DE LOS CONTADORES HASTA EL CORTE (LOS EQUIPOS CREADOS DESPUÉS SE AÑADEN AL VERLOS)
+        Map<Long, int[]> totales = new HashMap<>();
+        pc.indices.forEach((equipoId, indice) ->
+                totales.put(equipoId, new int[] {pc.victorias[indice], pc.derrotas[indice]}));
+
+        // SUMO LOS FINALIZADOS DESPUÉS DEL CORTE, SEA CUAL SEA SU ID
+        jdbcTemplate.query(SQL_TARDIOS, rs -> {
+            pc.partidos++;
+            long local = rs.getLong(1);
+            long visitante = rs.getLong(2);
+            if (rs.getInt(3) > rs.getInt(4)) {
+                totales.computeIfAbsent(local, id -> new int[2])[0]++;
+                totales.computeIfAbsent(visitante, id -> new int[2])[1]++;
+            } else if (rs.getInt(4) > rs.getInt(3)) {
+                totales.computeIfAbsent(visitante, id -> new int[2])[0]++;
+                totales.computeIfAbsent(local, id -> new int[2])[1]++;
+            }
+        }, Timestamp.valueOf(pc.corte));
+
+        // COMPARO CON LOS CONTADORES GUARDADOS Y, SI PROCEDE, ESCRIBO LAS CORRECCIONES
+        List<DerivaEquipo> derivas = calcularDerivas(totales);
+        if (aplicar && !derivas.isEmpty()) {
+            escribirCorrecciones(derivas);
+        }
+
+        // TERMINADO: YA NO HAY NADA QUE REANUDAR
+        jdbcTemplate.update(SQL_BORRAR_CONTADORES);
+        jdbcTemplate.update(SQL_BORRAR_PUNTO_CONTROL);
+        return derivas;
+    }
+
+    /**
+     * Asigna un índice a cada equipo existente.
+     *
+     * @return Mapa con el ID del equipo y su índice
+     */
+    private Map<Long, Integer> cargarIndicesEquipos() {
+        Map<Long, Integer> indices = new HashMap<>();
+        jdbcTemplate.query("SELECT id FROM equipos ORDER BY id",
+                rs -> {
+                    indices.put(rs.getLong(1), indices.size());
+                });
+        return indices;
+    }
+
+    /**
+     * Lee un bloque de partidos finalizados hasta el corte en arrays primitivos.
+     *
+     * @param corte Corte de la ejecución
+     * @param desdeId Último ID ya leído
+     * @param limite Máximo de partidos a leer
+     * @return Bloque leído
+     */
+    private Bloque leerBloque(LocalDateTime corte, long desdeId, int limite) {
+        Bloque bloque = new Bloque(limite);
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SQL_BLOQUE);
+            ps.setFetchSize(limite);
+            ps.setTimestamp(1, Timestamp.valueOf(corte));
+            ps.setLong(2, desdeId);
+            ps.setInt(3, limite);
+            return ps;
+        }, rs -> {
+            int i = bloque.n++;
+            bloque.ultimoId = rs.getLong(1);
+            bloque.locales[i] = rs.getLong(2);
+            bloque.visitantes[i] = rs.getLong(3);
+            bloque.puntosLocal[i] = rs.getInt(4);
+            bloque.puntosVisitante[i] = rs.getInt(5);
+        });
+        return bloque;
+    }
+
+    /**
+     * Agrega un bloque en paralelo: cada hilo cuenta sobre su propio array y al final se suman.
+     *
+     * @param bloque Bloque de partidos
+     * @param indices Índice de cada equipo
+     * @param numEquipos Número de equipos
+     * @return Contadores parciales del bloque
+     */
+    private static Parcial agregar(Bloque bloque, Map<Long, Integer> indices, int numEquipos) {
+        // EN UN ÚNICO ARRAY: [0, n) VICTORIAS Y [n, 2n) DERROTAS
+        int[] contadores = IntStream.range(0, bloque.n).parallel().collect(
+                () -> new int[2 * numEquipos],
+                (acc, i) -> {
+                    Integer local = indices.get(bloque.locales[i]);
+                    Integer visitante = indices.get(bloque.visitantes[i]);
+                    if (local == null || visitante == null) {
+                        return;
+                    }
+                    if (bloque.puntosLocal[i] > bloque.puntosVisitante[i]) {
+                        acc[local]++;
+                        acc[numEquipos + visitante]++;
+                    } else if (bloque.puntosVisitante[i] > bloque.puntosLocal[i]) {
+                        acc[visitante]++;
+                        acc[numEquipos + local]++;
+                    }
+                },
+                (a, b) -> {
+                    for (int k = 0; k < a.length; k++) {
+                        a[k] += b[k];
+                    }
+                });
+        return new Parcial(contadores, bloque.n, bloque.ultimoId);
+    }
+
+    /**
+     * Compara los contadores recalculados con los guardados.
+     *
+     * @param totales Victorias y derrotas recalculadas de cada equipo
+     * @return Equipos cuyos contadores no coinciden
+     */
+    private List<DerivaEquipo> calcularDerivas(Map<Long, int[]> totales) {
+        List<DerivaEquipo> derivas = new ArrayList<>();
+        jdbcTemplate.query(SQL_EQUIPOS, rs -> {
+            int[] total = totales.get(rs.getLong(1));
+            int victorias = (total != null) ? total[0] : 0;
+            int derrotas = (total != null) ? total[1] : 0;
+            if (rs.getInt(2) != victorias || rs.getInt(3) != derrotas) {
+                derivas.add(new DerivaEquipo(rs.getLong(1), rs.getInt(2), victorias, rs.getInt(3), derrotas));
+            }
+        });
+        return derivas;
+    }
+
+    /**
+     * Escribe las correcciones como incrementos en lotes JDBC.
+     *
+     * @param derivas Equipos a corregir
+     */
+    private void escribirCorrecciones(List<DerivaEquipo> derivas) {
+        jdbcTemplate.batchUpdate(SQL_ACTUALIZAR, derivas, tamanoLote, (ps, deriva) -> {
+            ps.setInt(1, deriva.getVictoriasDespues() - deriva.getVictoriasAntes());
+            ps.setInt(2, deriva.getDerrotasDespues() - deriva.getDerrotasAntes());
+            ps.setLong(3, deriva.getEquipoId());
+        });
+    }
+
+    /**
+     * Estado acumulado de una ejecución, que se guarda tras cada bloque para poder reanudarla.
+     */
+    private static final class PuntoControl {
+
+        /**
+         * Índice de cada equipo.
+         */
+        private final Map<Long, Integer> indices;
+
+        /**
+         * Corte de la ejecución: los bloques cuentan los partidos finalizados hasta aquí.
+         */
+        private final LocalDateTime corte;
+
+        /**
+         * Victorias acumuladas de cada equipo.
+         */
+        private final int[] victorias;
+
+        /**
+         * Derrotas acumuladas de cada equipo.
+         */
+        private final int[] derrotas;
+
+        /**
+         * Último ID leído (puede ir un bloque por delante del último fusionado).
+         */
+        private long ultimoIdLeido;
+
+        /**
+         * Último ID cuyo bloque ya está fusionado en los contadores.
+         */
+        private long ultimoId;
+
+        /**
+         * Partidos fusionados.
+         */
+        private long partidos;
+
+        /**
+         * Bloques fusionados.
+         */
+        private int bloques;
+
+        /**
+         * Constructor con los equipos a recalcular y el corte.
+         *
+         * @param indices Índice de cada equipo
+         * @param corte Corte de la ejecución
+         */
+        PuntoControl(Map<Long, Integer> indices, LocalDateTime corte) {
+            this.indices = indices;
+            this.corte = corte;
+            this.victorias = new int[indices.size()];
+            this.derrotas = new int[indices.size()];
+        }
+
+        /**
+         * Suma un bloque agregado a los contadores y avanza el punto de control.
+         *
+         * @param parcial Contadores del bloque
+         */
+        void fusionar(Parcial parcial) {
+            int n = victorias.length;
+            for (int k = 0; k < n; k++) {
+                victorias[k] += parcial.contadores[k];
+                derrotas[k] += parcial.contadores[n + k];
+            }
+            partidos += parcial.partidos;
+            bloques++;
+            ultimoId = parcial.ultimoId;
+        }
+    }
+
+    /**
+     * Bloque de partidos leído en arrays primitivos.
+     */
+    private static final class Bloque {
+
+        /**
+         * Partidos leídos.
+         */
+        private int n;
+
+        /**
+         * ID del último partido leído.
+         */
+        private long ultimoId;
+
+        /**
+         * ID del equipo local de cada partido.
+         */
+        private final long[] locales;
+
+        /**
+         * ID del equipo visitante de cada partido.
+         */
+        private final long[] visitantes;
+
+        /**
+         * Puntos del local de cada partido.
+         */
+        private final int[] puntosLocal;
+
+        /**
+         * Puntos del visitante de cada partido.
+         */
+        private final int[] puntosVisitante;
+
+        /**
+         * Constructor con la capacidad del bloque.
+         *
+         * @param capacidad Máximo de partidos
+         */
+        Bloque(int capacidad) {
+            this.locales = new long[capacidad];
+            this.visitantes = new long[capacidad];
+            this.puntosLocal = new int[capacidad];
+            this.puntosVisitante = new int[capacidad];
+        }
+    }
+
+    /**
+     * Contadores agregados de un bloque.
+     */
+    private static final class Parcial {
+
+        /**
+         * Victorias en [0, n) y derrotas en [n, 2n).
+         */
+        private final int[] contadores;
+
+        /**
+         * Partidos del bloque.
+         */
+        private final int partidos;
+
+        /**
+         * ID del último partido del bloque.
+         */
+        private final long ultimoId;
+
+        /**
+         * Constructor con todos los campos.
+         *
+         * @param contadores Contadores del bloque
+         * @param partidos Partidos del bloque
+         * @param ultimoId ID del último partido del bloque
+         */
+        Parcial(int[] contadores, int partidos, long ultimoId) {
+            this.contadores = contadores;
+            this.partidos = partidos;
+            this.ultimoId = ultimoId;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package es.ubu.baloncesto.service;
+
+import es.ubu.baloncesto.jfr.RespaldoLocalEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cuenta las veces que un servicio recurre al repositorio local porque ha fallado la API Flask,
+ * por método y tipo de excepción, y lo anota en la grabación de Flight Recorder si hay alguna activa.
+ * Los contadores se registran la primera vez que aparece cada combinación y se guardan, para no
+ * construirlos ni buscarlos en el registro en cada respaldo (que llegan todos juntos cuando Flask cae).
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+final class RespaldosLocales {
+
+    /**
+     * Nombre del servicio (etiqueta de la métrica y campo del evento).
+     */
+    private final String servicio;
+
+    /**
+     * Registro de métricas.
+     */
+    private final MeterRegistry registro;
+
+    /**
+     * Contadores ya registrados, por método y tipo de excepción.
+     */
+    private final Map<String, Map<Class<?>, Counter>> contadores = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor con el servicio y el registro de métricas.
+     *
+     * @param servicio Nombre del servicio
+     * @param registro Registro de métricas
+     */
+    RespaldosLocales(String servicio, MeterRegistry registro) {
+        this.servicio = servicio;
+        this.registro = registro;
+    }
+
+    /**
+     * Cuenta un respaldo y lo anota en Flight Recorder.
+     *
+     * @param metodo Método del servicio
+     * @param e Error de la API Flask
+     */
+    void registrar(String metodo, Exception e) {
+        contador(metodo, e.getClass()).increment();
+
+        // SOLO MONTO EL EVENTO SI HAY UNA GRABACIÓN QUE LO RECOJA
+        RespaldoLocalEvent evento = new RespaldoLocalEvent();
+        if (evento.shouldCommit()) {
+            evento.servicio = servicio;
+            evento.metodo = metodo;
+            evento.causa = e.getClass().getSimpleName() + ": " + e.getMessage();
+            evento.commit();
+        }
+    }
+
+    /**
+     * Obtiene el contador de un método y un tipo de excepción, creándolo la primera vez.
+     *
+     * @param metodo Método del servicio
+     * @param tipo Tipo de la excepción
+     * @return Contador
+     */
+    private Counter contador(String metodo, Class<?> tipo) {
+        Map<Class<?>, Counter> porTipo = contadores.get(metodo);
+        if (porTipo == null) {
+            porTipo = contadores.computeIfAbsent(metodo, m -> new ConcurrentHashMap<>());
+        }
+        Counter contador = porTipo.get(tipo);
+        if (contador == null) {
+            contador = porTipo.computeIfAbsent(tipo, t -> Counter.builder("baloncesto.respaldos")
+                    .description("Operaciones resueltas con el repositorio local porque ha fallado la API Flask")
+                    .tag("servicio", servicio)
+                    .tag("metodo", metodo)
+                    .tag("excepcion", t.getSimpleName())
+                    .register(registro));
+        }
+        return contador;
+    }
+}
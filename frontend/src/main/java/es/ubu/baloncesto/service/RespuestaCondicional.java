@@ -0,0 +1,55 @@
+package es.ubu.baloncesto.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Última respuesta de una lista de la API Flask junto con su ETag.
+ * Permite pedir la lista con If-None-Match y reutilizarla si la API responde 304.
+ *
+ * @param <T> Tipo de los elementos de la lista
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+final class RespuestaCondicional<T> {
+
+    /**
+     * ETag que devolvió la API.
+     */
+    private final String etag;
+
+    /**
+     * Elementos ya convertidos.
+     */
+    private final List<T> elementos;
+
+    /**
+     * Constructor con el ETag y los elementos.
+     *
+     * @param etag ETag de la respuesta
+     * @param elementos Elementos de la respuesta
+     */
+    RespuestaCondicional(String etag, List<T> elementos) {
+        this.etag = etag;
+        this.elementos = new ArrayList<>(elementos);
+    }
+
+    /**
+     * Obtiene el ETag de la respuesta.
+     *
+     * @return El ETag
+     */
+    String getEtag() {
+        return etag;
+    }
+
+    /**
+     * Obtiene una copia de los elementos (para que quien la reciba pueda modificar la lista).
+     *
+     * @return Copia de los elementos
+     */
+    List<T> getElementos() {
+        return new ArrayList<>(elementos);
+    }
+}
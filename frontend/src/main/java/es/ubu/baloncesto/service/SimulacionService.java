@@ -0,0 +1,32 @@
+package es.ubu.baloncesto.service;
+
+import es.ubu.baloncesto.model.PronosticoTemporada;
+
+import java.util.Optional;
+
+/**
+ * Interfaz que define las operaciones del simulador de final de temporada.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+public interface SimulacionService {
+
+    /**
+     * Simula el resto de la temporada a partir de los partidos pendientes
+     * y publica la tabla de probabilidades resultante.
+     *
+     * @param simulaciones Número máximo de temporadas a simular
+     * @param presupuestoMs Tiempo máximo de simulación en milisegundos
+     * @return Pronóstico generado
+     */
+    PronosticoTemporada simular(long simulaciones, long presupuestoMs);
+
+    /**
+     * Obtiene el último pronóstico publicado.
+     *
+     * @return Último pronóstico, u Optional vacío si aún no se ha simulado
+     */
+    Optional<PronosticoTemporada> getUltimoPronostico();
+}
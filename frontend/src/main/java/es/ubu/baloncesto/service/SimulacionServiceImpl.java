@@ -0,0 +1,235 @@
+package es.ubu.baloncesto.service;
+
+import es.ubu.baloncesto.model.Equipo;
+import es.ubu.baloncesto.model.Partido;
+import es.ubu.baloncesto.model.PronosticoEquipo;
+import es.ubu.baloncesto.model.PronosticoTemporada;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Implementación del simulador de final de temporada.
+ * Convierte los equipos y los partidos pendientes a arrays y delega la
+ * simulación en {@link SimuladorTemporada}.
+ * Las victorias de partida se cuentan con los partidos ya finalizados, porque los equipos que
+ * devuelve Flask no traen victorias ni derrotas; con esos mismos partidos se calculan los ratings
+ * si todavía no se ha hecho, para que las probabilidades no salgan todas del rating inicial.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+@Service
+public class SimulacionServiceImpl implements SimulacionService {
+
+    /**
+     * Logger para registrar operaciones.
+     */
+    private static final Logger LOGGER = Logger.getLogger(SimulacionServiceImpl.class.getName());
+
+    /**
+     * Plazas que dan acceso a los playoffs.
+     */
+    @Value("${simulacion.plazas-playoff:8}")
+    private int plazasPlayoff;
+
+    /**
+     * Hilos del pool de simulación (0 para la mitad de los núcleos).
+     */
+    @Value("${simulacion.hilos:0}")
+    private int hilos;
+
+    /**
+     * Pool propio de la simulación, para que una simulación larga no ocupe el pool común
+     * que usan los streams paralelos del resto de la aplicación.
+     */
+    private ForkJoinPool pool;
+
+    /**
+     * Servicio de partidos.
+     */
+    private final PartidoService partidoService;
+
+    /**
+     * Servicio de equipos.
+     */
+    private final EquipoService equipoService;
+
+    /**
+     * Servicio de ratings (para la probabilidad de cada partido).
+     */
+    private final RatingService ratingService;
+
+    /**
+     * Servicio de llamadas en paralelo.
+     */
+    private final LlamadasParalelasService llamadasParalelasService;
+
+    /**
+     * Último pronóstico publicado.
+     */
+    private volatile PronosticoTemporada ultimoPronostico;
+
+    /**
+     * Constructor que inicializa los servicios mediante inyección de dependencias.
+     *
+     * @param partidoService Servicio de partidos
+     * @param equipoService Servicio de equipos
+     * @param ratingService Servicio de ratings
+     * @param llamadasParalelasService Servicio de llamadas en paralelo
+     */
+    @Autowired
+    public SimulacionServiceImpl(PartidoService partidoService, EquipoService equipoService,
+                                 RatingService ratingService, LlamadasParalelasService llamadasParalelasService) {
+        this.partidoService = partidoService;
+        this.equipoService = equipoService;
+        this.ratingService = ratingService;
+        this.llamadasParalelasService = llamadasParalelasService;
+    }
+
+    /**
+     * Crea el pool de simulación.
+     */
+    @PostConstruct
+    public void iniciar() {
+        int paralelismo = (hilos > 0) ? hilos : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        pool = new ForkJoinPool(paralelismo, p -> {
+            ForkJoinWorkerThread hilo = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            hilo.setName("simulacion-" + hilo.getPoolIndex());
+            hilo.setDaemon(true);
+            return hilo;
+        }, null, false);
+        LOGGER.info("Simulación con un pool de " + paralelismo + " hilos");
+    }
+
+    /**
+     * Para el pool al apagar la aplicación.
+     */
+    @PreDestroy
+    public void detener() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PronosticoTemporada simular(long simulaciones, long presupuestoMs) {
+        long inicio = System.nanoTime();
+
+        // PIDO A LA VEZ LOS EQUIPOS, LOS PARTIDOS FINALIZADOS Y LOS PENDIENTES (NO DEPENDEN UNOS DE OTROS)
+        Abanico abanico = llamadasParalelasService.abrir();
+        Supplier<List<Equipo>> equiposPedidos = abanico.lanzar(equipoService::findAll);
+        Supplier<List<Partido>> finalizadosPedidos = abanico.lanzar(partidoService::findByFinalizadoTrue);
+        Supplier<List<Partido>> pendientesPedidos = abanico.lanzar(partidoService::findByFinalizadoFalse);
+        abanico.esperar();
+
+        // SIN RATINGS CALCULADOS TODOS LOS EQUIPOS ESTARÍAN EN EL INICIAL Y LOS PARTIDOS SERÍAN A CARA O CRUZ
+        List<Partido> finalizados = finalizadosPedidos.get();
+        if (!ratingService.isInicializado()) {
+            ratingService.recalcular(finalizados);
+        }
+
+        // ASIGNO UN ÍNDICE A CADA EQUIPO
+        List<Equipo> equipos = equiposPedidos.get();
+        Map<Long, Integer> indices = new HashMap<>();
+        for (int i = 0; i < equipos.size(); i++) {
+            indices.put(equipos.get(i).getId(), i);
+        }
+
+        // CUENTO LAS VICTORIAS QUE YA LLEVA CADA EQUIPO
+        int[] victoriasBase = new int[equipos.size()];
+        for (Partido partido : finalizados) {
+            Equipo ganador = partido.getGanador();
+            Integer indice = (ganador != null) ? indices.get(ganador.getId()) : null;
+            if (indice != null) {
+                victoriasBase[indice]++;
+            }
+        }
+
+        // EL DESEMPATE LO DECIDE EL RATING: EL MEJOR RATING QUEDA DELANTE
+        int[] desempate = new int[equipos.size()];
+        List<Integer> porRating = new ArrayList<>();
+        for (int i = 0; i < equipos.size(); i++) {
+            porRating.add(i);
+        }
+        porRating.sort(Comparator.comparingDouble(
+                (Integer i) -> ratingService.getRating(equipos.get(i).getId())).reversed());
+        for (int orden = 0; orden < porRating.size(); orden++) {
+            desempate[porRating.get(orden)] = orden;
+        }
+
+        // PASO LOS PARTIDOS PENDIENTES A ARRAYS, IGNORANDO LOS DE EQUIPOS DESCONOCIDOS
+        List<Partido> pendientes = pendientesPedidos.get();
+        int[] locales = new int[pendientes.size()];
+        int[] visitantes = new int[pendientes.size()];
+        double[] probabilidades = new double[pendientes.size()];
+        int numPartidos = 0;
+        for (Partido partido : pendientes) {
+            Integer local = partido.getEquipoLocal() != null ? indices.get(partido.getEquipoLocal().getId()) : null;
+            Integer visitante = partido.getEquipoVisitante() != null
+                    ? indices.get(partido.getEquipoVisitante().getId()) : null;
+            if (local == null || visitante == null) {
+                continue;
+            }
+            locales[numPartidos] = local;
+            visitantes[numPartidos] = visitante;
+            probabilidades[numPartidos] = ratingService.probabilidadVictoriaLocal(
+                    partido.getEquipoLocal().getId(), partido.getEquipoVisitante().getId());
+            numPartidos++;
+        }
+
+        // SIMULO EN EL POOL PROPIO
+        SimuladorTemporada simulador = new SimuladorTemporada(victoriasBase,
+                Arrays.copyOf(locales, numPartidos),
+                Arrays.copyOf(visitantes, numPartidos),
+                Arrays.copyOf(probabilidades, numPartidos),
+                desempate, plazasPlayoff);
+        SimuladorTemporada.Resultado resultado = simulador.simular(simulaciones,
+                TimeUnit.MILLISECONDS.toNanos(presupuestoMs), System.nanoTime(), pool);
+
+        // CONSTRUYO LA TABLA DE PROBABILIDADES
+        List<PronosticoEquipo> tabla = new ArrayList<>();
+        for (int i = 0; i < equipos.size(); i++) {
+            tabla.add(new PronosticoEquipo(equipos.get(i).getId(), equipos.get(i).getNombre(),
+                    resultado.probabilidadPrimero(i), resultado.probabilidadPlayoff(i),
+                    resultado.victoriasMedias(i), resultado.posicionMedia(i)));
+        }
+        tabla.sort(Comparator.comparingDouble(PronosticoEquipo::getPosicionMedia));
+
+        long duracionMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+        PronosticoTemporada pronostico = new PronosticoTemporada(LocalDateTime.now(),
+                resultado.getSimulaciones(), duracionMs, numPartidos, tabla);
+        ultimoPronostico = pronostico;
+
+        LOGGER.info("Simuladas " + resultado.getSimulaciones() + " temporadas con " + numPartidos
+                + " partidos pendientes en " + duracionMs + " ms");
+        return pronostico;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<PronosticoTemporada> getUltimoPronostico() {
+        return Optional.ofNullable(ultimoPronostico);
+    }
+}
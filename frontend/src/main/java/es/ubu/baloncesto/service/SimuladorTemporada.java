@@ -0,0 +1,324 @@
+package es.ubu.baloncesto.service;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Simulador Monte Carlo del resto de la temporada.
+ * Trabaja solo con arrays primitivos indexados por equipo y reparte las simulaciones
+ * entre todos los núcleos con fork-join. Cada hoja tiene su propio generador aleatorio
+ * y sus propios contadores, de forma que el bucle de simulación no reserva memoria.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+public class SimuladorTemporada {
+
+    /**
+     * Número máximo de simulaciones que hace una hoja antes de dividirse.
+     */
+    private static final long TAMANO_BLOQUE = 8192;
+
+    /**
+     * Cada cuántas simulaciones se comprueba si se ha agotado el tiempo (potencia de 2).
+     */
+    private static final int MASCARA_TIEMPO = 1023;
+
+    /**
+     * Número de equipos.
+     */
+    private final int numEquipos;
+
+    /**
+     * Victorias que ya tiene cada equipo.
+     */
+    private final int[] victoriasBase;
+
+    /**
+     * Índice del equipo local de cada partido pendiente.
+     */
+    private final int[] locales;
+
+    /**
+     * Índice del equipo visitante de cada partido pendiente.
+     */
+    private final int[] visitantes;
+
+    /**
+     * Probabilidad de que gane el local en cada partido pendiente.
+     */
+    private final double[] probabilidadesLocal;
+
+    /**
+     * Orden de desempate de cada equipo (menor es mejor).
+     */
+    private final int[] desempate;
+
+    /**
+     * Número de plazas que dan acceso a los playoffs.
+     */
+    private final int plazasPlayoff;
+
+    /**
+     * Constructor con los datos de la temporada ya convertidos a arrays.
+     *
+     * @param victoriasBase Victorias actuales de cada equipo
+     * @param locales Índice del local de cada partido pendiente
+     * @param visitantes Índice del visitante de cada partido pendiente
+     * @param probabilidadesLocal Probabilidad de victoria local de cada partido pendiente
+     * @param desempate Orden de desempate de cada equipo (menor es mejor)
+     * @param plazasPlayoff Plazas de playoff
+     */
+    public SimuladorTemporada(int[] victoriasBase, int[] locales, int[] visitantes,
+                              double[] probabilidadesLocal, int[] desempate, int plazasPlayoff) {
+        // VERIFICO QUE LOS ARRAYS SEAN COHERENTES
+        if (locales.length != visitantes.length || locales.length != probabilidadesLocal.length) {
+            throw new IllegalArgumentException("Los arrays de partidos deben tener la misma longitud");
+        }
+        if (victoriasBase.length != desempate.length) {
+            throw new IllegalArgumentException("Los arrays de equipos deben tener la misma longitud");
+        }
+
+        this.numEquipos = victoriasBase.length;
+        this.victoriasBase = victoriasBase;
+        this.locales = locales;
+        this.visitantes = visitantes;
+        this.probabilidadesLocal = probabilidadesLocal;
+        this.desempate = desempate;
+        this.plazasPlayoff = plazasPlayoff;
+    }
+
+    /**
+     * Ejecuta simulaciones hasta llegar al número pedido o hasta agotar el tiempo.
+     *
+     * @param simulaciones Número máximo de temporadas a simular
+     * @param presupuestoNanos Tiempo máximo en nanosegundos
+     * @param semilla Semilla del generador aleatorio
+     * @param pool Pool fork-join en el que ejecutar
+     * @return Contadores acumulados de todas las simulaciones
+     */
+    public Resultado simular(long simulaciones, long presupuestoNanos, long semilla, ForkJoinPool pool) {
+        long limite = System.nanoTime() + presupuestoNanos;
+        return pool.invoke(new Tarea(simulaciones, new SplittableRandom(semilla), limite));
+    }
+
+    /**
+     * Simula un bloque de temporadas sobre contadores propios.
+     *
+     * @param simulaciones Número de temporadas del bloque
+     * @param random Generador aleatorio propio del bloque
+     * @param limite Instante (System.nanoTime) a partir del cual hay que parar
+     * @return Contadores del bloque
+     */
+    private Resultado simularBloque(long simulaciones, SplittableRandom random, long limite) {
+        Resultado resultado = new Resultado(numEquipos);
+        int[] victorias = new int[numEquipos];
+        int numPartidos = locales.length;
+
+        for (long s = 0; s < simulaciones; s++) {
+            // COMPRUEBO EL TIEMPO DE VEZ EN CUANDO, NO EN CADA ITERACIÓN
+            if ((s & MASCARA_TIEMPO) == 0 && System.nanoTime() > limite) {
+                break;
+            }
+
+            // PARTO DE LAS VICTORIAS ACTUALES Y JUEGO LOS PARTIDOS PENDIENTES
+            System.arraycopy(victoriasBase, 0, victorias, 0, numEquipos);
+            for (int m = 0; m < numPartidos; m++) {
+                if (random.nextDouble() < probabilidadesLocal[m]) {
+                    victorias[locales[m]]++;
+                } else {
+                    victorias[visitantes[m]]++;
+                }
+            }
+
+            // CALCULO LA POSICIÓN FINAL DE CADA EQUIPO SIN ORDENAR NI RESERVAR MEMORIA
+            for (int i = 0; i < numEquipos; i++) {
+                int posicion = 0;
+                for (int j = 0; j < numEquipos; j++) {
+                    if (victorias[j] > victorias[i]
+                            || (victorias[j] == victorias[i] && desempate[j] < desempate[i])) {
+                        posicion++;
+                    }
+                }
+                resultado.sumaPosiciones[i] += posicion + 1;
+                resultado.sumaVictorias[i] += victorias[i];
+                if (posicion == 0) {
+                    resultado.primeros[i]++;
+                }
+                if (posicion < plazasPlayoff) {
+                    resultado.playoffs[i]++;
+                }
+            }
+            resultado.simulaciones++;
+        }
+
+        return resultado;
+    }
+
+    /**
+     * Tarea fork-join que divide las simulaciones hasta llegar a bloques pequeños.
+     */
+    private final class Tarea extends RecursiveTask<Resultado> {
+
+        /**
+         * Identificador para la serialización.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Simulaciones que le tocan a esta tarea.
+         */
+        private final long simulaciones;
+
+        /**
+         * Generador aleatorio de esta tarea.
+         */
+        private final SplittableRandom random;
+
+        /**
+         * Instante límite.
+         */
+        private final long limite;
+
+        /**
+         * Constructor de la tarea.
+         *
+         * @param simulaciones Simulaciones de la tarea
+         * @param random Generador propio
+         * @param limite Instante límite
+         */
+        Tarea(long simulaciones, SplittableRandom random, long limite) {
+            this.simulaciones = simulaciones;
+            this.random = random;
+            this.limite = limite;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected Resultado compute() {
+            if (simulaciones <= TAMANO_BLOQUE) {
+                return simularBloque(simulaciones, random, limite);
+            }
+
+            // DIVIDO EN DOS MITADES, CADA UNA CON SU PROPIO GENERADOR
+            long mitad = simulaciones / 2;
+            Tarea izquierda = new Tarea(mitad, random.split(), limite);
+            Tarea derecha = new Tarea(simulaciones - mitad, random, limite);
+            izquierda.fork();
+            Resultado resultado = derecha.compute();
+            resultado.sumar(izquierda.join());
+            return resultado;
+        }
+    }
+
+    /**
+     * Contadores acumulados de un conjunto de simulaciones.
+     */
+    public static final class Resultado {
+
+        /**
+         * Número de temporadas simuladas.
+         */
+        private long simulaciones;
+
+        /**
+         * Veces que cada equipo termina primero.
+         */
+        private final long[] primeros;
+
+        /**
+         * Veces que cada equipo entra en playoffs.
+         */
+        private final long[] playoffs;
+
+        /**
+         * Suma de las victorias finales de cada equipo.
+         */
+        private final long[] sumaVictorias;
+
+        /**
+         * Suma de las posiciones finales de cada equipo.
+         */
+        private final long[] sumaPosiciones;
+
+        /**
+         * Constructor con todos los contadores a cero.
+         *
+         * @param numEquipos Número de equipos
+         */
+        Resultado(int numEquipos) {
+            this.primeros = new long[numEquipos];
+            this.playoffs = new long[numEquipos];
+            this.sumaVictorias = new long[numEquipos];
+            this.sumaPosiciones = new long[numEquipos];
+        }
+
+        /**
+         * Suma los contadores de otro resultado a este.
+         *
+         * @param otro Resultado a sumar
+         */
+        void sumar(Resultado otro) {
+            simulaciones += otro.simulaciones;
+            for (int i = 0; i < primeros.length; i++) {
+                primeros[i] += otro.primeros[i];
+                playoffs[i] += otro.playoffs[i];
+                sumaVictorias[i] += otro.sumaVictorias[i];
+                sumaPosiciones[i] += otro.sumaPosiciones[i];
+            }
+        }
+
+        /**
+         * Obtiene el número de temporadas simuladas.
+         *
+         * @return Número de simulaciones
+         */
+        public long getSimulaciones() {
+            return simulaciones;
+        }
+
+        /**
+         * Probabilidad de que un equipo termine primero.
+         *
+         * @param equipo Índice del equipo
+         * @return Probabilidad entre 0 y 1
+         */
+        public double probabilidadPrimero(int equipo) {
+            return simulaciones == 0 ? 0.0 : (double) primeros[equipo] / simulaciones;
+        }
+
+        /**
+         * Probabilidad de que un equipo entre en playoffs.
+         *
+         * @param equipo Índice del equipo
+         * @return Probabilidad entre 0 y 1
+         */
+        public double probabilidadPlayoff(int equipo) {
+            return simulaciones == 0 ? 0.0 : (double) playoffs[equipo] / simulaciones;
+        }
+
+        /**
+         * Victorias medias al final de la temporada.
+         *
+         * @param equipo Índice del equipo
+         * @return Media de victorias
+         */
+        public double victoriasMedias(int equipo) {
+            return simulaciones == 0 ? 0.0 : (double) sumaVictorias[equipo] / simulaciones;
+        }
+
+        /**
+         * Posición media al final de la temporada.
+         *
+         * @param equipo Índice del equipo
+         * @return Media de la posición (1 es el primero)
+         */
+        public double posicionMedia(int equipo) {
+            return simulaciones == 0 ? 0.0 : (double) sumaPosiciones[equipo] / simulaciones;
+        }
+    }
+}
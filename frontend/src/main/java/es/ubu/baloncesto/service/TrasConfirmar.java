@@ -0,0 +1,40 @@
+package es.ubu.baloncesto.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Ejecuta una acción cuando se confirma la transacción en curso, o enseguida si no hay ninguna.
+ * Sirve para que los cambios de versión de los datos no se vean antes que los datos: si la versión
+ * sube antes del commit, otra petición puede leer las filas antiguas y guardarlas con la versión nueva.
+ *
+ * @author Mario Flores
+ * @version 1.0
+ * @since 2025-05-04
+ */
+final class TrasConfirmar {
+
+    /**
+     * Constructor privado: solo tiene métodos estáticos.
+     */
+    private TrasConfirmar() {
+    }
+
+    /**
+     * Ejecuta la acción tras el commit de la transacción en curso (no se ejecuta si se deshace).
+     *
+     * @param accion Acción a ejecutar
+     */
+    static void ejecutar(Runnable accion) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            accion.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                accion.run();
+            }
+        });
+    }
+}
@@ -16,6 +16,9 @@ document.addEventListener('DOMContentLoaded', function() {
 
     // CONFIGURO LA VALIDACIÓN DE FORMULARIOS
     setupFormValidation();
+
+    // ME SUSCRIBO A LOS CAMBIOS EN VIVO DE LOS PARTIDOS
+    setupLiveFeed();
 });
 
 /**
@@ -73,6 +76,135 @@ function setupFormValidation() {
     });
 }
 
+/**
+ * Actualiza la tabla de partidos en vivo con los eventos del servidor (Server-Sent Events).
+ * Solo se modifican las filas afectadas; el navegador reconecta solo si se corta la conexión.
+ * Los eventos van numerados seguidos, así que si después de un corte llega uno con un salto
+ * en la numeración (el servidor también cierra la conexión de los clientes que no leen al ritmo
+ * de los eventos) se recarga la página para no quedarse con una tabla incompleta.
+ * La dirección de los eventos viene de la plantilla, para que funcione con cualquier context path.
+ */
+function setupLiveFeed() {
+    const container = document.querySelector('.partidos-container[data-eventos]');
+    if (!container || typeof EventSource === 'undefined') {
+        return;
+    }
+
+    const table = container.querySelector('.partidos-table');
+    const tbody = table.querySelector('tbody');
+    const source = new EventSource(container.getAttribute('data-eventos'));
+
+    // COMPRUEBO QUE NO FALTE NINGÚN EVENTO ENTRE EL ANTERIOR Y ESTE; SI FALTA, RECARGO LA TABLA COMPLETA
+    let ultimoId = null;
+    function enOrden(event) {
+        const id = Number(event.lastEventId);
+        if (!event.lastEventId || isNaN(id)) {
+            return true;
+        }
+        const seguido = ultimoId === null || id === ultimoId + 1;
+        ultimoId = id;
+        if (!seguido) {
+            source.close();
+            window.location.reload();
+        }
+        return seguido;
+    }
+
+    // RESULTADO REGISTRADO: ACTUALIZO EL MARCADOR Y EL ESTADO DE LA FILA
+    source.addEventListener('resultado', function(event) {
+        if (!enOrden(event)) {
+            return;
+        }
+        const partido = JSON.parse(event.data);
+        const row = tbody.querySelector('tr[data-partido-id="' + partido.id + '"]');
+        if (!row) {
+            return;
+        }
+
+        row.querySelector('.resultado').textContent = partido.puntosLocal + ' - ' + partido.puntosVisitante;
+        row.querySelector('.estado').textContent = partido.finalizado ? 'Finalizado' : 'Pendiente';
+
+        // YA NO SE PUEDE REGISTRAR EL RESULTADO
+        const registrar = row.querySelector('.btn-registrar');
+        if (registrar && partido.finalizado) {
+            registrar.remove();
+        }
+    });
+
+    // MARCADOR EN VIVO: ACTUALIZO EL MARCADOR MIENTRAS SE JUEGA
+    source.addEventListener('marcador', function(event) {
+        if (!enOrden(event)) {
+            return;
+        }
+        const marcador = JSON.parse(event.data);
+        const row = tbody.querySelector('tr[data-partido-id="' + marcador.id + '"]');
+        if (!row) {
+            return;
+        }
+
+        row.querySelector('.resultado').textContent = marcador.puntosLocal + ' - ' + marcador.puntosVisitante;
+        row.querySelector('.estado').textContent = 'En juego (' + marcador.parcialesLocal.length + 'º cuarto)';
+    });
+
+    // PARTIDO NUEVO: AÑADO LA FILA AL FINAL (Y MUESTRO LA TABLA SI ERA EL PRIMERO)
+    source.addEventListener('creado', function(event) {
+        if (!enOrden(event)) {
+            return;
+        }
+        const partido = JSON.parse(event.data);
+        if (tbody.querySelector('tr[data-partido-id="' + partido.id + '"]')) {
+            return;
+        }
+
+        const row = document.createElement('tr');
+        row.setAttribute('data-partido-id', partido.id);
+        [partido.id, partido.equipoLocal, partido.equipoVisitante, partido.fecha].forEach(function(value) {
+            const cell = document.createElement('td');
+            cell.textContent = value != null ? value : '';
+            row.appendChild(cell);
+        });
+
+        const resultado = document.createElement('td');
+        resultado.className = 'resultado';
+        resultado.textContent = partido.finalizado ? partido.puntosLocal + ' - ' + partido.puntosVisitante : '-';
+        row.appendChild(resultado);
+
+        const estado = document.createElement('td');
+        estado.className = 'estado';
+        estado.textContent = partido.finalizado ? 'Finalizado' : 'Pendiente';
+        row.appendChild(estado);
+
+        // LAS ACCIONES SE VEN AL RECARGAR LA PÁGINA
+        const acciones = document.createElement('td');
+        acciones.className = 'actions';
+        row.appendChild(acciones);
+
+        tbody.appendChild(row);
+        table.hidden = false;
+        const vacio = container.querySelector('.empty-message');
+        if (vacio) {
+            vacio.remove();
+        }
+    });
+
+    // PARTIDO ELIMINADO: QUITO LA FILA
+    source.addEventListener('eliminado', function(event) {
+        if (!enOrden(event)) {
+            return;
+        }
+        const partido = JSON.parse(event.data);
+        const row = tbody.querySelector('tr[data-partido-id="' + partido.id + '"]');
+        if (row) {
+            row.remove();
+        }
+    });
+
+    // AL SALIR DE LA PÁGINA CIERRO LA CONEXIÓN
+    window.addEventListener('beforeunload', function() {
+        source.close();
+    });
+}
+
 /**
  * Formatea una fecha para mostrarla en un formato legible.
  *